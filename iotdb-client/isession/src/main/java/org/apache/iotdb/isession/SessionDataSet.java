@@ -235,6 +235,17 @@ public class SessionDataSet implements ISessionDataSet {
     return new DataIterator();
   }
 
+  /**
+   * Get a DataIterator which keeps at most maxInFlightFetches fetch requests in flight, so that the
+   * server streams the results continuously and the round trips are hidden behind consuming the
+   * results, which suits exporting large results. The session shall not be used for other
+   * operations until the iterator is exhausted or this data set is closed.
+   */
+  public DataIterator streamingIterator(int maxInFlightFetches) {
+    ioTDBRpcDataSet.enablePipelinedFetching(maxInFlightFetches);
+    return new DataIterator();
+  }
+
   @Override
   public void close() throws IoTDBConnectionException, StatementExecutionException {
     closeOperationHandle();
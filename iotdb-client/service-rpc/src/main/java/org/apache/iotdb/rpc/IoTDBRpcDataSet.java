@@ -77,6 +77,10 @@ public class IoTDBRpcDataSet {
   // indicates that there is still more data in server side and we can call fetchResult to get more
   private boolean moreData;
 
+  // sends fetch requests ahead of consuming the results if not null
+  private PipelinedFetchClient pipelinedFetchClient;
+  private int maxInFlightFetches;
+
   private List<ByteBuffer> queryResult;
   private TsBlock curTsBlock;
   private int queryResultSize; // the length of queryResult
@@ -211,6 +215,9 @@ public class IoTDBRpcDataSet {
     }
     if (client != null) {
       try {
+        if (pipelinedFetchClient != null) {
+          pipelinedFetchClient.drain();
+        }
         TSCloseOperationReq closeReq = new TSCloseOperationReq(sessionId);
         closeReq.setStatementId(statementId);
         closeReq.setQueryId(queryId);
@@ -254,15 +261,30 @@ public class IoTDBRpcDataSet {
     }
   }
 
+  /**
+   * Keep at most maxInFlightFetches fetch requests in flight on the connection, so that the server
+   * streams the results continuously instead of waiting for the client to ask for each batch. The
+   * connection shall not be used for other requests until this data set is consumed or closed.
+   */
+  public void enablePipelinedFetching(int maxInFlightFetches) {
+    if (maxInFlightFetches <= 0) {
+      return;
+    }
+    if (pipelinedFetchClient == null) {
+      pipelinedFetchClient = PipelinedFetchClient.of(client);
+    }
+    this.maxInFlightFetches = maxInFlightFetches;
+  }
+
   public boolean fetchResults() throws StatementExecutionException, IoTDBConnectionException {
     if (isClosed) {
       throw new IoTDBConnectionException("This DataSet is already closed");
     }
-    TSFetchResultsReq req = new TSFetchResultsReq(sessionId, sql, fetchSize, queryId, true);
-    req.setStatementId(statementId);
-    req.setTimeout(timeout);
     try {
-      TSFetchResultsResp resp = client.fetchResultsV2(req);
+      TSFetchResultsResp resp =
+          pipelinedFetchClient != null
+              ? fetchResultsPipelined()
+              : client.fetchResultsV2(createFetchResultsReq());
       RpcUtils.verifySuccess(resp.getStatus());
       moreData = resp.moreData;
       if (!resp.hasResultSet) {
@@ -284,6 +306,38 @@ public class IoTDBRpcDataSet {
     }
   }
 
+  private TSFetchResultsResp fetchResultsPipelined() throws TException {
+    try {
+      sendFetchRequests();
+      TSFetchResultsResp resp = pipelinedFetchClient.receive();
+      if (resp.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()
+          && resp.moreData) {
+        // request the following results before the current ones are consumed
+        sendFetchRequests();
+      } else {
+        // the requests after the last or failed one are answered with errors
+        pipelinedFetchClient.drain();
+      }
+      return resp;
+    } catch (TException e) {
+      pipelinedFetchClient.recover(e);
+      throw e;
+    }
+  }
+
+  private void sendFetchRequests() throws TException {
+    while (pipelinedFetchClient.getInFlightCount() < maxInFlightFetches) {
+      pipelinedFetchClient.send(createFetchResultsReq());
+    }
+  }
+
+  private TSFetchResultsReq createFetchResultsReq() {
+    TSFetchResultsReq req = new TSFetchResultsReq(sessionId, sql, fetchSize, queryId, true);
+    req.setStatementId(statementId);
+    req.setTimeout(timeout);
+    return req;
+  }
+
   public boolean hasCachedBlock() {
     return (curTsBlock != null && tsBlockIndex < tsBlockSize - 1);
   }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.rpc;
+
+import org.apache.iotdb.service.rpc.thrift.IClientRPCService;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsReq;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsResp;
+
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Send fetchResultsV2 requests on the connection of a session client without waiting for their
+ * responses, so that the server keeps producing results while the client is consuming the former
+ * ones. The server handles the requests of a connection in order, thus the responses are received
+ * in the same order as the requests are sent.
+ *
+ * <p>The connection shall not be used for other requests while there are requests in flight.
+ */
+class PipelinedFetchClient extends IClientRPCService.Client {
+
+  // the lock of the synchronized client wrapping the connection
+  private final Object lock;
+
+  private final Deque<Integer> inFlightSeqIds = new ArrayDeque<>();
+
+  private PipelinedFetchClient(IClientRPCService.Client client) {
+    super(client.getInputProtocol(), client.getOutputProtocol());
+    this.lock = client;
+  }
+
+  /**
+   * Return null if the client is not a thrift client of a connection, e.g. a mocked one in tests.
+   */
+  static PipelinedFetchClient of(IClientRPCService.Iface client) {
+    IClientRPCService.Iface rawClient = RpcUtils.unwrapSynchronizedClient(client);
+    return rawClient instanceof IClientRPCService.Client
+        ? new PipelinedFetchClient((IClientRPCService.Client) rawClient)
+        : null;
+  }
+
+  void send(TSFetchResultsReq req) throws TException {
+    synchronized (lock) {
+      send_fetchResultsV2(req);
+      inFlightSeqIds.addLast(seqid_);
+    }
+  }
+
+  TSFetchResultsResp receive() throws TException {
+    synchronized (lock) {
+      // the response to check is the earliest one in flight, and the next request to send shall
+      // follow the latest one
+      int lastSentSeqId = seqid_;
+      seqid_ = inFlightSeqIds.removeFirst();
+      try {
+        return recv_fetchResultsV2();
+      } finally {
+        seqid_ = lastSentSeqId;
+      }
+    }
+  }
+
+  int getInFlightCount() {
+    return inFlightSeqIds.size();
+  }
+
+  /** Receive and drop the responses of all the requests in flight. */
+  void drain() throws TException {
+    while (!inFlightSeqIds.isEmpty()) {
+      receive();
+    }
+  }
+
+  /**
+   * Keep the connection in sync after sending or receiving failed. The response of an exception
+   * thrown by the server is read completely, thus the responses following it are drained. Otherwise
+   * the responses in flight can not be located in the stream, so the connection is closed to make
+   * the session reconnect instead of reading stale responses.
+   */
+  void recover(TException e) {
+    synchronized (lock) {
+      if (e instanceof TApplicationException
+          && ((TApplicationException) e).getType() != TApplicationException.BAD_SEQUENCE_ID) {
+        try {
+          drain();
+          return;
+        } catch (TException drainException) {
+          e.addSuppressed(drainException);
+        }
+      }
+      inFlightSeqIds.clear();
+      getInputProtocol().getTransport().close();
+      getOutputProtocol().getTransport().close();
+    }
+  }
+}
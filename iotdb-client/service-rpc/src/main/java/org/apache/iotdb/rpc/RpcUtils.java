@@ -29,6 +29,7 @@ import org.apache.iotdb.service.rpc.thrift.TSOpenSessionResp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.nio.ByteBuffer;
 import java.sql.Timestamp;
@@ -90,6 +91,17 @@ public class RpcUtils {
             new SynchronizedHandler(client));
   }
 
+  /** Return the client wrapped by {@link #newSynchronizedClient}, or the client itself. */
+  public static IClientRPCService.Iface unwrapSynchronizedClient(IClientRPCService.Iface client) {
+    if (client != null && Proxy.isProxyClass(client.getClass())) {
+      InvocationHandler handler = Proxy.getInvocationHandler(client);
+      if (handler instanceof SynchronizedHandler) {
+        return ((SynchronizedHandler) handler).getClient();
+      }
+    }
+    return client;
+  }
+
   /**
    * verify success.
    *
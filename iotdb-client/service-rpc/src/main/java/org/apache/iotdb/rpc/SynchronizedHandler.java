@@ -35,6 +35,10 @@ public class SynchronizedHandler implements InvocationHandler {
     this.client = client;
   }
 
+  public IClientRPCService.Iface getClient() {
+    return client;
+  }
+
   @Override
   public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
     try {
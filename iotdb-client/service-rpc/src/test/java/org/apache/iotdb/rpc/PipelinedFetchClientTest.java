@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.rpc;
+
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.service.rpc.thrift.IClientRPCService;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsReq;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsResp;
+
+import org.apache.thrift.TApplicationException;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TMemoryBuffer;
+import org.apache.thrift.transport.TTransportException;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PipelinedFetchClientTest {
+
+  private static final int FAILED_FETCH_SIZE = -1;
+
+  @Test
+  public void testResponsesInOrder() throws TException {
+    TMemoryBuffer requests = new TMemoryBuffer(1024);
+    TMemoryBuffer responses = new TMemoryBuffer(1024);
+    TProtocol serverInput = new TBinaryProtocol(requests);
+    TProtocol serverOutput = new TBinaryProtocol(responses);
+    IClientRPCService.Client rawClient =
+        new IClientRPCService.Client(new TBinaryProtocol(responses), new TBinaryProtocol(requests));
+    IClientRPCService.Processor<IClientRPCService.Iface> processor =
+        new IClientRPCService.Processor<>(createServerHandler());
+
+    PipelinedFetchClient client =
+        PipelinedFetchClient.of(RpcUtils.newSynchronizedClient(rawClient));
+    assertNotNull(client);
+
+    // all the requests are sent before the server handles any of them
+    for (int fetchSize = 1; fetchSize <= 3; fetchSize++) {
+      client.send(new TSFetchResultsReq(1, "sql", fetchSize, 1, true));
+    }
+    assertEquals(3, client.getInFlightCount());
+    for (int i = 0; i < 3; i++) {
+      processor.process(serverInput, serverOutput);
+    }
+    for (int fetchSize = 1; fetchSize <= 3; fetchSize++) {
+      assertEquals(String.valueOf(fetchSize), client.receive().getStatus().getMessage());
+    }
+    assertEquals(0, client.getInFlightCount());
+
+    // the session client works as usual afterwards
+    rawClient.send_fetchResultsV2(new TSFetchResultsReq(1, "sql", 4, 1, true));
+    processor.process(serverInput, serverOutput);
+    assertEquals("4", rawClient.recv_fetchResultsV2().getStatus().getMessage());
+
+    client.send(new TSFetchResultsReq(1, "sql", 5, 1, true));
+    processor.process(serverInput, serverOutput);
+    client.drain();
+    assertEquals(0, client.getInFlightCount());
+  }
+
+  @Test
+  public void testFailedFetchInFlight() throws TException {
+    TMemoryBuffer requests = new TMemoryBuffer(1024);
+    TMemoryBuffer responses = new TMemoryBuffer(1024);
+    TProtocol serverInput = new TBinaryProtocol(requests);
+    TProtocol serverOutput = new TBinaryProtocol(responses);
+    IClientRPCService.Client rawClient =
+        new IClientRPCService.Client(new TBinaryProtocol(responses), new TBinaryProtocol(requests));
+    IClientRPCService.Processor<IClientRPCService.Iface> processor =
+        new IClientRPCService.Processor<>(createServerHandler());
+
+    PipelinedFetchClient client =
+        PipelinedFetchClient.of(RpcUtils.newSynchronizedClient(rawClient));
+    assertNotNull(client);
+
+    // the server fails the second of the three requests in flight
+    for (int fetchSize = 1; fetchSize <= 3; fetchSize++) {
+      client.send(
+          new TSFetchResultsReq(1, "sql", fetchSize == 2 ? FAILED_FETCH_SIZE : fetchSize, 1, true));
+    }
+    for (int i = 0; i < 3; i++) {
+      processor.process(serverInput, serverOutput);
+    }
+    assertEquals("1", client.receive().getStatus().getMessage());
+    try {
+      client.receive();
+      fail();
+    } catch (TApplicationException e) {
+      client.recover(e);
+    }
+    assertEquals(0, client.getInFlightCount());
+
+    // the response of the third request is dropped, so the next one gets its own response
+    rawClient.send_fetchResultsV2(new TSFetchResultsReq(1, "sql", 4, 1, true));
+    processor.process(serverInput, serverOutput);
+    assertEquals("4", rawClient.recv_fetchResultsV2().getStatus().getMessage());
+  }
+
+  @Test
+  public void testBrokenConnection() throws TException {
+    AtomicBoolean closed = new AtomicBoolean(false);
+    TMemoryBuffer requests =
+        new TMemoryBuffer(1024) {
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+    TMemoryBuffer responses = new TMemoryBuffer(1024);
+    PipelinedFetchClient client =
+        PipelinedFetchClient.of(
+            RpcUtils.newSynchronizedClient(
+                new IClientRPCService.Client(
+                    new TBinaryProtocol(responses), new TBinaryProtocol(requests))));
+    assertNotNull(client);
+
+    client.send(new TSFetchResultsReq(1, "sql", 1, 1, true));
+    client.send(new TSFetchResultsReq(1, "sql", 2, 1, true));
+    // the connection is broken before any response arrives
+    try {
+      client.receive();
+      fail();
+    } catch (TTransportException e) {
+      client.recover(e);
+    }
+    assertEquals(0, client.getInFlightCount());
+    assertTrue(closed.get());
+  }
+
+  @Test
+  public void testNotThriftClient() {
+    assertNull(PipelinedFetchClient.of(createServerHandler()));
+  }
+
+  private IClientRPCService.Iface createServerHandler() {
+    // echo the fetch size of the request
+    return (IClientRPCService.Iface)
+        Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class[] {IClientRPCService.Iface.class},
+            (proxy, method, args) -> {
+              TSFetchResultsReq req = (TSFetchResultsReq) args[0];
+              if (req.getFetchSize() == FAILED_FETCH_SIZE) {
+                throw new IllegalStateException("failed to fetch");
+              }
+              TSStatus status = RpcUtils.getStatus(TSStatusCode.SUCCESS_STATUS);
+              status.setMessage(String.valueOf(req.getFetchSize()));
+              return new TSFetchResultsResp(status, false, true);
+            });
+  }
+}
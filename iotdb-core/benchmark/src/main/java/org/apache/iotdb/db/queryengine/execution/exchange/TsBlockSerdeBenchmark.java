@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.exchange;
+
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.TsBlockSerde;
+import org.apache.tsfile.utils.Binary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Serialization and deserialization of the TsBlocks transferred between fragment instances. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TsBlockSerdeBenchmark {
+
+  private static final List<TSDataType> DATA_TYPES =
+      Arrays.asList(TSDataType.INT64, TSDataType.DOUBLE, TSDataType.INT32, TSDataType.TEXT);
+
+  @Param({"1000", "10000"})
+  private int positionCount;
+
+  @Param({"0.0", "0.2"})
+  private double nullRatio;
+
+  private final TsBlockSerde serde = new TsBlockSerdeFactory().get();
+
+  private TsBlock tsBlock;
+  private ByteBuffer serialized;
+
+  @Setup
+  public void prepareData() throws IOException {
+    Random random = new Random(0);
+    TsBlockBuilder builder = new TsBlockBuilder(positionCount, DATA_TYPES);
+    ColumnBuilder timeColumnBuilder = builder.getTimeColumnBuilder();
+    ColumnBuilder[] valueColumnBuilders = builder.getValueColumnBuilders();
+    for (int i = 0; i < positionCount; i++) {
+      timeColumnBuilder.writeLong(i);
+      for (int j = 0; j < valueColumnBuilders.length; j++) {
+        if (nullRatio > 0 && random.nextDouble() < nullRatio) {
+          valueColumnBuilders[j].appendNull();
+          continue;
+        }
+        switch (DATA_TYPES.get(j)) {
+          case INT64:
+            valueColumnBuilders[j].writeLong(random.nextLong());
+            break;
+          case DOUBLE:
+            valueColumnBuilders[j].writeDouble(random.nextDouble());
+            break;
+          case INT32:
+            valueColumnBuilders[j].writeInt(random.nextInt());
+            break;
+          default:
+            valueColumnBuilders[j].writeBinary(
+                new Binary("value" + random.nextInt(100), StandardCharsets.UTF_8));
+            break;
+        }
+      }
+      builder.declarePosition();
+    }
+    tsBlock = builder.build();
+    serialized = serde.serialize(tsBlock);
+  }
+
+  @Benchmark
+  public ByteBuffer serialize() throws IOException {
+    return serde.serialize(tsBlock);
+  }
+
+  @Benchmark
+  public TsBlock deserialize() {
+    // deserialize moves the position of the buffer
+    return serde.deserialize(serialized.duplicate());
+  }
+}
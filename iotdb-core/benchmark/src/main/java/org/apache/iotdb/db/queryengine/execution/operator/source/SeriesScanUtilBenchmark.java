@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source;
+
+import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
+import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.exception.write.WriteProcessException;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.write.TsFileWriter;
+import org.apache.tsfile.write.record.TSRecord;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full scan of one series by {@link SeriesScanUtil} over generated TsFiles. The sequence files are
+ * consecutive in time, and each unsequence file overlaps with the whole time range of one sequence
+ * file so that the merge reader is exercised. ChunkCache and TimeSeriesMetadataCache are warmed up
+ * after the first invocation, so the result is the cost of decoding and merging rather than disk
+ * IO.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeriesScanUtilBenchmark {
+
+  private static final String DEVICE = "root.benchmark.d1";
+  private static final String MEASUREMENT = "s1";
+  private static final MeasurementSchema SCHEMA =
+      new MeasurementSchema(
+          MEASUREMENT, TSDataType.INT64, TSEncoding.TS_2DIFF, CompressionType.LZ4);
+
+  @Param({"10"})
+  private int seqFileNum;
+
+  @Param({"0", "2"})
+  private int unseqFileNum;
+
+  @Param({"100000"})
+  private int pointNumPerFile;
+
+  @Param({"ASC", "DESC"})
+  private Ordering scanOrder;
+
+  private final IDeviceID deviceId = IDeviceID.Factory.DEFAULT_FACTORY.create(DEVICE);
+
+  private File directory;
+  private final List<TsFileResource> seqResources = new ArrayList<>();
+  private final List<TsFileResource> unseqResources = new ArrayList<>();
+  private long queryId;
+
+  @Setup(Level.Trial)
+  public void prepareData() throws IOException, WriteProcessException {
+    directory = Files.createTempDirectory("series-scan-benchmark").toFile();
+    long version = 0;
+    for (int i = 0; i < seqFileNum; i++) {
+      seqResources.add(writeTsFile(++version, (long) i * pointNumPerFile, pointNumPerFile, 0));
+    }
+    for (int i = 0; i < unseqFileNum; i++) {
+      // overwrite every other point of the i-th sequence file
+      unseqResources.add(
+          writeTsFile(++version, (long) i * pointNumPerFile, pointNumPerFile / 2, 1));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void clear() throws IOException {
+    FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+    seqResources.clear();
+    unseqResources.clear();
+    FileUtils.deleteFileOrDirectory(directory, true);
+  }
+
+  @Benchmark
+  public void scan(Blackhole blackhole) throws IOException {
+    SeriesScanOptions.Builder scanOptionsBuilder = new SeriesScanOptions.Builder();
+    scanOptionsBuilder.withAllSensors(Collections.singleton(MEASUREMENT));
+    FragmentInstanceContext context =
+        FragmentInstanceContext.createFragmentInstanceContextForCompaction(queryId++);
+    SeriesScanUtil seriesScanUtil =
+        new SeriesScanUtil(
+            new NonAlignedFullPath(deviceId, SCHEMA),
+            scanOrder,
+            scanOptionsBuilder.build(),
+            context);
+    seriesScanUtil.initQueryDataSource(new QueryDataSource(seqResources, unseqResources));
+
+    // same order as AbstractSeriesScanOperator: page data first, then chunk data, then next file
+    while (true) {
+      if (seriesScanUtil.hasNextPage()) {
+        blackhole.consume(seriesScanUtil.nextPage());
+        continue;
+      }
+      Optional<Boolean> b = seriesScanUtil.hasNextChunk();
+      if (!b.isPresent() || b.get()) {
+        continue;
+      }
+      b = seriesScanUtil.hasNextFile();
+      if (!b.isPresent() || b.get()) {
+        continue;
+      }
+      break;
+    }
+  }
+
+  private TsFileResource writeTsFile(long version, long startTime, int pointNum, int timeInterval)
+      throws IOException, WriteProcessException {
+    // file name is {systemTime}-{version}-{innerCompactionCount}-{crossCompactionCount}.tsfile
+    File file = new File(directory, version + "-" + version + "-0-0.tsfile");
+    long step = timeInterval + 1;
+    long endTime = startTime + (pointNum - 1) * step;
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      writer.registerTimeseries(deviceId, SCHEMA);
+      for (long time = startTime; time <= endTime; time += step) {
+        TSRecord record = new TSRecord(deviceId, time);
+        record.addPoint(MEASUREMENT, time * version);
+        writer.writeRecord(record);
+      }
+    }
+    TsFileResource resource = new TsFileResource(file, TsFileResourceStatus.NORMAL);
+    resource.updateStartTime(deviceId, startTime);
+    resource.updateEndTime(deviceId, endTime);
+    return resource;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.hash;
+
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.UpdateMemory;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.read.common.type.BinaryType;
+import org.apache.tsfile.read.common.type.LongType;
+import org.apache.tsfile.read.common.type.Type;
+import org.apache.tsfile.utils.Binary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.hash.GroupByHash.DEFAULT_GROUP_NUMBER;
+
+/**
+ * Group id assignment of {@link FlatGroupByHash}, which is the per row cost of hash aggregation
+ * before the accumulators are updated. Each invocation starts from an empty hash table, so the cost
+ * of rehashing is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlatGroupByHashBenchmark {
+
+  @Param({"INT64", "TEXT", "INT64_TEXT"})
+  private String keyTypes;
+
+  @Param({"100", "100000"})
+  private int groupCount;
+
+  @Param({"10"})
+  private int pageCount;
+
+  @Param({"10000"})
+  private int positionCount;
+
+  private List<Type> types;
+  private Column[][] pages;
+
+  @Setup
+  public void prepareData() {
+    switch (keyTypes) {
+      case "INT64":
+        types = Collections.singletonList(LongType.INT64);
+        break;
+      case "TEXT":
+        types = Collections.singletonList(BinaryType.TEXT);
+        break;
+      default:
+        types = Arrays.asList(LongType.INT64, BinaryType.TEXT);
+        break;
+    }
+
+    Random random = new Random(0);
+    pages = new Column[pageCount][types.size()];
+    for (int i = 0; i < pageCount; i++) {
+      ColumnBuilder[] builders = new ColumnBuilder[types.size()];
+      for (int j = 0; j < builders.length; j++) {
+        builders[j] = types.get(j).createColumnBuilder(positionCount);
+      }
+      for (int position = 0; position < positionCount; position++) {
+        int key = random.nextInt(groupCount);
+        for (int j = 0; j < builders.length; j++) {
+          if (types.get(j) == LongType.INT64) {
+            builders[j].writeLong(key);
+          } else {
+            builders[j].writeBinary(new Binary("device_" + key, StandardCharsets.UTF_8));
+          }
+        }
+      }
+      for (int j = 0; j < builders.length; j++) {
+        pages[i][j] = builders[j].build();
+      }
+    }
+  }
+
+  @Benchmark
+  public int getGroupIds() {
+    GroupByHash groupByHash =
+        GroupByHash.createGroupByHash(types, false, DEFAULT_GROUP_NUMBER, UpdateMemory.NOOP);
+    for (Column[] page : pages) {
+      groupByHash.getGroupIds(page);
+    }
+    return groupByHash.getGroupCount();
+  }
+}
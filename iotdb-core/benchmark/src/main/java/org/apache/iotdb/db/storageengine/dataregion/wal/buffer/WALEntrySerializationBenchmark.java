@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.wal.buffer;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertTabletNode;
+
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of {@link WALEntry}s into a direct buffer, which is the work done by the serialize
+ * thread of {@link WALBuffer} for each insertion before the buffer is synced to disk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WALEntrySerializationBenchmark {
+
+  private static final String DEVICE = "root.sg.d1";
+  private static final TSDataType[] DATA_TYPES = {
+    TSDataType.DOUBLE,
+    TSDataType.FLOAT,
+    TSDataType.INT64,
+    TSDataType.INT32,
+    TSDataType.BOOLEAN,
+    TSDataType.TEXT
+  };
+  private static final String[] MEASUREMENTS = {"s1", "s2", "s3", "s4", "s5", "s6"};
+
+  @Param({"1000"})
+  private int tabletRowCount;
+
+  private WALEntry rowEntry;
+  private WALEntry tabletEntry;
+  private ByteBufferView bufferView;
+
+  @Setup
+  public void prepareData() throws IllegalPathException {
+    rowEntry = new WALInfoEntry(0, buildInsertRowNode());
+    tabletEntry = new WALInfoEntry(0, buildInsertTabletNode());
+    int bufferSize = Math.max(rowEntry.serializedSize(), tabletEntry.serializedSize());
+    bufferView = new ByteBufferView(ByteBuffer.allocateDirect(bufferSize));
+  }
+
+  @Benchmark
+  public int serializeInsertRow() {
+    bufferView.clear();
+    rowEntry.serialize(bufferView);
+    return bufferView.position();
+  }
+
+  @Benchmark
+  public int serializeInsertTablet() {
+    bufferView.clear();
+    tabletEntry.serialize(bufferView);
+    return bufferView.position();
+  }
+
+  private static MeasurementSchema[] buildMeasurementSchemas() {
+    MeasurementSchema[] schemas = new MeasurementSchema[MEASUREMENTS.length];
+    for (int i = 0; i < MEASUREMENTS.length; i++) {
+      schemas[i] = new MeasurementSchema(MEASUREMENTS[i], DATA_TYPES[i]);
+    }
+    return schemas;
+  }
+
+  private static InsertRowNode buildInsertRowNode() throws IllegalPathException {
+    Object[] values = {
+      1.0d, 2f, 10000L, 100, false, new Binary("value", TSFileConfig.STRING_CHARSET)
+    };
+    InsertRowNode node =
+        new InsertRowNode(
+            new PlanNodeId(""),
+            new PartialPath(DEVICE),
+            false,
+            MEASUREMENTS,
+            DATA_TYPES,
+            0,
+            values,
+            false);
+    node.setMeasurementSchemas(buildMeasurementSchemas());
+    return node;
+  }
+
+  private InsertTabletNode buildInsertTabletNode() throws IllegalPathException {
+    long[] times = new long[tabletRowCount];
+    double[] doubles = new double[tabletRowCount];
+    float[] floats = new float[tabletRowCount];
+    long[] longs = new long[tabletRowCount];
+    int[] ints = new int[tabletRowCount];
+    boolean[] booleans = new boolean[tabletRowCount];
+    Binary[] binaries = new Binary[tabletRowCount];
+    for (int i = 0; i < tabletRowCount; i++) {
+      times[i] = i;
+      doubles[i] = i;
+      floats[i] = i;
+      longs[i] = i;
+      ints[i] = i;
+      booleans[i] = i % 2 == 0;
+      binaries[i] = new Binary("value" + i, TSFileConfig.STRING_CHARSET);
+    }
+    Object[] columns = {doubles, floats, longs, ints, booleans, binaries};
+    BitMap[] bitMaps = new BitMap[MEASUREMENTS.length];
+    for (int i = 0; i < bitMaps.length; i++) {
+      bitMaps[i] = new BitMap(tabletRowCount);
+    }
+    return new InsertTabletNode(
+        new PlanNodeId(""),
+        new PartialPath(DEVICE),
+        false,
+        MEASUREMENTS,
+        DATA_TYPES,
+        buildMeasurementSchemas(),
+        times,
+        bitMaps,
+        columns,
+        tabletRowCount);
+  }
+
+  private static class ByteBufferView extends IWALByteBufferView {
+    private final ByteBuffer buffer;
+
+    private ByteBufferView(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private void clear() {
+      buffer.clear();
+    }
+
+    @Override
+    public void write(int b) {
+      put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b) {
+      put(b);
+    }
+
+    @Override
+    public void put(byte b) {
+      buffer.put(b);
+    }
+
+    @Override
+    public void put(byte[] src) {
+      buffer.put(src);
+    }
+
+    @Override
+    public void putChar(char value) {
+      buffer.putChar(value);
+    }
+
+    @Override
+    public void putShort(short value) {
+      buffer.putShort(value);
+    }
+
+    @Override
+    public void putInt(int value) {
+      buffer.putInt(value);
+    }
+
+    @Override
+    public void putLong(long value) {
+      buffer.putLong(value);
+    }
+
+    @Override
+    public void putFloat(float value) {
+      buffer.putFloat(value);
+    }
+
+    @Override
+    public void putDouble(double value) {
+      buffer.putDouble(value);
+    }
+
+    @Override
+    public int position() {
+      return buffer.position();
+    }
+  }
+}
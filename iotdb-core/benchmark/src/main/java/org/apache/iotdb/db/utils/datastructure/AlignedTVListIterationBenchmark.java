@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.utils.datastructure;
+
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.utils.Binary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch iteration of one sorted {@link AlignedTVList} through {@link MemPointIteratorFactory},
+ * which is what a query on an aligned device of the working memtable does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlignedTVListIterationBenchmark {
+
+  private static final List<TSDataType> DATA_TYPES =
+      Arrays.asList(
+          TSDataType.INT64,
+          TSDataType.DOUBLE,
+          TSDataType.INT32,
+          TSDataType.BOOLEAN,
+          TSDataType.TEXT);
+
+  @Param({"100000"})
+  private int size;
+
+  @Param({"0.0", "0.2"})
+  private double nullRatio;
+
+  @Param({"10000"})
+  private int maxNumberOfPointsInPage;
+
+  private AlignedTVList list;
+  private QueryContext queryContext;
+
+  @Setup(Level.Trial)
+  public void prepareData() {
+    Random random = new Random(0);
+    list = AlignedTVList.newAlignedList(DATA_TYPES);
+    for (int i = 0; i < size; i++) {
+      Object[] values = new Object[DATA_TYPES.size()];
+      values[0] = nextNull(random) ? null : (long) i;
+      values[1] = nextNull(random) ? null : random.nextDouble();
+      values[2] = nextNull(random) ? null : random.nextInt();
+      values[3] = nextNull(random) ? null : random.nextBoolean();
+      values[4] = nextNull(random) ? null : new Binary("value" + i, StandardCharsets.UTF_8);
+      // a small part of rows is out of order to make the sort meaningful
+      list.putAlignedValue(i % 100 == 0 ? size - i : i, values);
+    }
+    list.sort();
+    queryContext = FragmentInstanceContext.createFragmentInstanceContextForCompaction(0);
+  }
+
+  @TearDown(Level.Trial)
+  public void clear() {
+    list.clear();
+  }
+
+  @Benchmark
+  public void iterate(Blackhole blackhole) {
+    MemPointIterator iterator =
+        MemPointIteratorFactory.create(
+            DATA_TYPES,
+            null,
+            Collections.singletonList(list),
+            false,
+            maxNumberOfPointsInPage,
+            queryContext);
+    while (iterator.hasNextBatch()) {
+      TsBlock tsBlock = iterator.nextBatch();
+      blackhole.consume(tsBlock);
+    }
+  }
+
+  private boolean nextNull(Random random) {
+    return nullRatio > 0 && random.nextDouble() < nullRatio;
+  }
+}
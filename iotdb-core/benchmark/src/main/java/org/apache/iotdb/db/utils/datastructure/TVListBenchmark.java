@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.utils.datastructure;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Put and sort of {@link LongTVList} with the three sort algorithms. The timestamps are generated
+ * in order, then each point is delayed by at most {@link #maxDelay} positions with the probability
+ * of {@link #outOfOrderRatio}, which is how out-of-order data usually arrives.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TVListBenchmark {
+
+  @Param({"QUICK", "TIM", "BACKWARD"})
+  private TVListSortAlgorithm sortAlgorithm;
+
+  @Param({"100000"})
+  private int size;
+
+  @Param({"0.0", "0.1", "0.5"})
+  private double outOfOrderRatio;
+
+  @Param({"1000"})
+  private int maxDelay;
+
+  private long[] timestamps;
+
+  private LongTVList list;
+
+  @Setup(Level.Trial)
+  public void prepareData() {
+    Random random = new Random(0);
+    timestamps = new long[size];
+    for (int i = 0; i < size; i++) {
+      timestamps[i] = i;
+    }
+    for (int i = 0; i < size; i++) {
+      if (random.nextDouble() < outOfOrderRatio) {
+        int j = Math.min(size - 1, i + random.nextInt(maxDelay));
+        long tmp = timestamps[i];
+        timestamps[i] = timestamps[j];
+        timestamps[j] = tmp;
+      }
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void createList() {
+    list = newList();
+  }
+
+  @TearDown(Level.Invocation)
+  public void clearList() {
+    list.clear();
+  }
+
+  @Benchmark
+  public LongTVList put() {
+    for (int i = 0; i < size; i++) {
+      list.putLong(timestamps[i], i);
+    }
+    return list;
+  }
+
+  @Benchmark
+  public int putAndSort() {
+    for (int i = 0; i < size; i++) {
+      list.putLong(timestamps[i], i);
+    }
+    return list.sort();
+  }
+
+  private LongTVList newList() {
+    switch (sortAlgorithm) {
+      case QUICK:
+        return new QuickLongTVList();
+      case BACKWARD:
+        return new BackLongTVList();
+      case TIM:
+      default:
+        return new TimLongTVList();
+    }
+  }
+}
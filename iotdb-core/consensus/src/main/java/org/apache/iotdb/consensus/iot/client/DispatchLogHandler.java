@@ -152,5 +152,7 @@ public class DispatchLogHandler implements AsyncMethodCallback<TSyncLogEntriesRe
     // update safely deleted search index after last flushed sync index may be updated by
     // removeBatch
     thread.updateSafelyDeletedSearchIndex();
+    // the window of SyncStatus may have free slots now
+    thread.wakeUp();
   }
 }
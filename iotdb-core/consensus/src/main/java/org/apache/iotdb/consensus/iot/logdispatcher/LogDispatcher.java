@@ -62,6 +62,8 @@ public class LogDispatcher {
   private final int selfPeerId;
   private final IClientManager<TEndPoint, AsyncIoTConsensusServiceClient> clientManager;
   private ExecutorService executorService;
+  // not null if logs are dispatched by the shared workers of peer nodes
+  private final MultiplexedLogDispatcher multiplexedLogDispatcher;
 
   private final ConsensusReqReader reader;
   private boolean stopped = false;
@@ -79,12 +81,16 @@ public class LogDispatcher {
     this.reader = (ConsensusReqReader) impl.getStateMachine().read(new GetConsensusReqReaderPlan());
     this.selfPeerId = impl.getThisNode().getNodeId();
     this.clientManager = clientManager;
+    this.multiplexedLogDispatcher =
+        impl.getConfig().getReplication().isEnableMultiplexedLogDispatch()
+            ? MultiplexedLogDispatcher.getInstance()
+            : null;
     this.threads =
         impl.getConfiguration().stream()
             .filter(x -> !Objects.equals(x, impl.getThisNode()))
             .map(x -> new LogDispatcherThread(x, impl.getConfig(), DEFAULT_INITIAL_SYNC_INDEX))
             .collect(Collectors.toList());
-    if (!threads.isEmpty()) {
+    if (!threads.isEmpty() && multiplexedLogDispatcher == null) {
       initLogSyncThreadPool();
     }
   }
@@ -100,13 +106,21 @@ public class LogDispatcher {
   }
 
   public synchronized void start() {
-    if (!threads.isEmpty()) {
+    if (threads.isEmpty()) {
+      return;
+    }
+    if (multiplexedLogDispatcher != null) {
+      threads.forEach(multiplexedLogDispatcher::register);
+    } else {
       threads.forEach(logDispatcherThread -> executorService.submit(logDispatcherThread));
     }
   }
 
   public synchronized void stop() {
-    if (!threads.isEmpty()) {
+    if (!threads.isEmpty() && multiplexedLogDispatcher != null) {
+      threads.forEach(LogDispatcherThread::setStopped);
+      threads.forEach(LogDispatcherThread::processStopped);
+    } else if (!threads.isEmpty()) {
       threads.forEach(LogDispatcherThread::setStopped);
       executorService.shutdownNow();
       threads.forEach(LogDispatcherThread::processStopped);
@@ -130,6 +144,12 @@ public class LogDispatcher {
     }
     LogDispatcherThread thread = new LogDispatcherThread(peer, impl.getConfig(), initialSyncIndex);
     threads.add(thread);
+    if (multiplexedLogDispatcher != null) {
+      if (startNow) {
+        multiplexedLogDispatcher.register(thread);
+      }
+      return;
+    }
     // If the initial replica is 1, the executorService won't be initialized. And when adding
     // dispatcher thread, the executorService should be initialized manually
     if (this.executorService == null) {
@@ -198,6 +218,8 @@ public class LogDispatcher {
                     thread.getPeer(),
                     request.getSearchIndex());
               }
+              // the logs not in the queue will be read from WAL
+              thread.wakeUp();
             });
       }
     }
@@ -214,6 +236,8 @@ public class LogDispatcher {
   public class LogDispatcherThread implements Runnable {
 
     private static final long PENDING_REQUEST_TAKING_TIME_OUT_IN_SEC = 10;
+    // retry interval of the batch which can not be added because of memory shortage if multiplexed
+    private static final long STALLED_BATCH_RETRY_INTERVAL_IN_MS = 100;
     private static final long START_INDEX = 1;
     private final IoTConsensusConfig config;
     private final Peer peer;
@@ -237,6 +261,17 @@ public class LogDispatcher {
 
     private final CountDownLatch runFinished = new CountDownLatch(1);
 
+    // the worker which dispatches logs of this thread if multiplexed
+    private volatile MultiplexedLogDispatcher.PeerNodeWorker worker;
+    // the batch which is built but not sent yet if multiplexed, e.g. because of memory shortage
+    private Batch readyBatch;
+    // whether the next batch is being built out of the worker if multiplexed
+    private boolean buildingBatch = false;
+    // held while building a batch out of the worker, so that stop() can wait for it
+    private final Object batchBuildingLock = new Object();
+    // the time to send the logs without waiting for more of them if multiplexed, 0 if not waiting
+    private long accumulationDeadlineInMs = 0;
+
     public LogDispatcherThread(Peer peer, IoTConsensusConfig config, long initialSyncIndex) {
       this.peer = peer;
       this.config = config;
@@ -313,6 +348,125 @@ public class LogDispatcher {
 
     private void setStopped() {
       stopped = true;
+      if (multiplexedLogDispatcher != null) {
+        multiplexedLogDispatcher.deregister(this);
+        // wait for the running dispatchOnce and batch building
+        synchronized (batchBuildingLock) {
+          synchronized (this) {
+            runFinished.countDown();
+          }
+        }
+      }
+    }
+
+    void setWorker(MultiplexedLogDispatcher.PeerNodeWorker worker) {
+      this.worker = worker;
+    }
+
+    /** Notify the worker if multiplexed, there may be new logs to send or free slots in window. */
+    public void wakeUp() {
+      MultiplexedLogDispatcher.PeerNodeWorker currentWorker = worker;
+      if (currentWorker != null) {
+        currentWorker.wakeUp();
+      }
+    }
+
+    /**
+     * Get the time after which {@link #dispatchOnce()} should be called again, even if the worker
+     * is not woken up.
+     */
+    synchronized long getNextDispatchDelayInMs() {
+      if (readyBatch != null && !buildingBatch) {
+        return STALLED_BATCH_RETRY_INTERVAL_IN_MS;
+      }
+      if (accumulationDeadlineInMs > 0) {
+        return Math.max(1, accumulationDeadlineInMs - System.currentTimeMillis());
+      }
+      return Long.MAX_VALUE;
+    }
+
+    /**
+     * Send at most one batch without blocking, used by the worker of MultiplexedLogDispatcher
+     * instead of {@link #run()}. The batch is built by {@link MultiplexedLogDispatcher#buildBatch},
+     * because reading the WAL may block, and it is sent by a later call after the worker is woken
+     * up.
+     *
+     * @return true if a batch is sent
+     */
+    synchronized boolean dispatchOnce() {
+      if (stopped || buildingBatch) {
+        return false;
+      }
+      if (readyBatch == null) {
+        if (syncStatus.isFull() || !hasLogsToSend() || isAccumulatingBatch()) {
+          return false;
+        }
+        buildingBatch = true;
+        multiplexedLogDispatcher.buildBatch(this::buildBatch);
+        return false;
+      }
+      if (!syncStatus.tryAddNextBatch(readyBatch)) {
+        return false;
+      }
+      Batch batch = readyBatch;
+      readyBatch = null;
+      logEntriesFromWAL.addAndGet(batch.getLogEntriesNumFromWAL());
+      logEntriesFromQueue.addAndGet(batch.getLogEntries().size() - batch.getLogEntriesNumFromWAL());
+      sendBatchAsync(batch, new DispatchLogHandler(this, logDispatcherThreadMetrics, batch));
+      return true;
+    }
+
+    private void buildBatch() {
+      Batch batch = null;
+      synchronized (batchBuildingLock) {
+        try {
+          if (!stopped) {
+            long startTime = System.nanoTime();
+            batch = getBatch();
+            logDispatcherThreadMetrics.recordConstructBatchTime(System.nanoTime() - startTime);
+          }
+        } catch (Exception e) {
+          logger.error("Unexpected error in logDispatcher for peer {}", peer, e);
+        } finally {
+          synchronized (this) {
+            buildingBatch = false;
+            if (batch != null && !batch.isEmpty()) {
+              readyBatch = batch;
+            }
+          }
+        }
+      }
+      wakeUp();
+    }
+
+    /**
+     * Like the sleep in {@link #run()}, wait a little for more logs if there are fewer logs to send
+     * than one batch, to reduce the number of RPC. The waiting ends at a deadline of this peer, so
+     * the worker can send the batches of other peers meanwhile.
+     */
+    private boolean isAccumulatingBatch() {
+      long waitingTimeInMs = config.getReplication().getMaxWaitingTimeForAccumulatingBatchInMs();
+      long unsentLogNum = impl.getSearchIndex() + 1 - syncStatus.getNextSendingIndex();
+      if (waitingTimeInMs <= 0
+          || unsentLogNum >= config.getReplication().getMaxLogEntriesNumPerBatch()) {
+        accumulationDeadlineInMs = 0;
+        return false;
+      }
+      long currentTime = System.currentTimeMillis();
+      if (accumulationDeadlineInMs == 0) {
+        accumulationDeadlineInMs = currentTime + waitingTimeInMs;
+      }
+      if (currentTime < accumulationDeadlineInMs) {
+        return true;
+      }
+      accumulationDeadlineInMs = 0;
+      return false;
+    }
+
+    private boolean hasLogsToSend() {
+      return !pendingEntries.isEmpty()
+          || !bufferedEntries.isEmpty()
+          || syncStatus.getNextSendingIndex() <= impl.getSearchIndex();
     }
 
     private void processStopped() {
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.logdispatcher;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.consensus.iot.logdispatcher.LogDispatcher.LogDispatcherThread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch logs of all consensus groups on this node in one worker thread per peer node, instead of
+ * one thread per peer of each consensus group. The worker visits the LogDispatcherThreads of its
+ * peer node in turn and sends at most one batch for each of them every round, so the order of logs
+ * in each consensus group and its SyncStatus window are kept as is. The batches, which may be read
+ * from the WAL, are built by a shared pool instead of the worker, so that a slow read does not
+ * stall the other consensus groups of the same peer node.
+ */
+public class MultiplexedLogDispatcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(MultiplexedLogDispatcher.class);
+
+  // the same as the timeout of polling pending entries in LogDispatcherThread
+  private static final long IDLE_WAITING_TIME_IN_MS = TimeUnit.SECONDS.toMillis(10);
+  // building batches is mostly bound by reading the WAL, so a few threads are enough
+  private static final int BATCH_BUILDER_THREAD_NUM =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+  private final Map<TEndPoint, PeerNodeWorker> workers = new HashMap<>();
+  private ExecutorService executorService;
+  private ExecutorService batchBuilderExecutorService;
+
+  private MultiplexedLogDispatcher() {}
+
+  /** Start dispatching logs of the thread in the worker of its peer node. */
+  synchronized void register(LogDispatcherThread thread) {
+    if (executorService == null) {
+      executorService =
+          IoTDBThreadPoolFactory.newCachedThreadPool(
+              ThreadName.LOG_DISPATCHER.getName() + "-Multiplexed");
+      batchBuilderExecutorService =
+          IoTDBThreadPoolFactory.newFixedThreadPool(
+              BATCH_BUILDER_THREAD_NUM, ThreadName.LOG_DISPATCHER.getName() + "-BatchBuilder");
+    }
+    TEndPoint endPoint = thread.getPeer().getEndpoint();
+    PeerNodeWorker worker = workers.get(endPoint);
+    if (worker == null) {
+      worker = new PeerNodeWorker(endPoint);
+      workers.put(endPoint, worker);
+      worker.channels.add(thread);
+      executorService.submit(worker);
+    } else {
+      worker.channels.add(thread);
+    }
+    thread.setWorker(worker);
+    worker.wakeUp();
+  }
+
+  /**
+   * Stop dispatching logs of the thread, the worker exits if there is no other thread of its peer
+   * node.
+   */
+  synchronized void deregister(LogDispatcherThread thread) {
+    PeerNodeWorker worker = workers.get(thread.getPeer().getEndpoint());
+    if (worker != null && worker.channels.remove(thread)) {
+      worker.wakeUp();
+    }
+  }
+
+  /**
+   * Build a batch out of the workers, because it may block on reading the WAL, which should not
+   * stall the other consensus groups of the worker.
+   */
+  void buildBatch(Runnable task) {
+    batchBuilderExecutorService.execute(task);
+  }
+
+  public synchronized int getWorkerCount() {
+    return workers.size();
+  }
+
+  private synchronized boolean exitIfIdle(PeerNodeWorker worker) {
+    if (worker.channels.isEmpty()) {
+      workers.remove(worker.endPoint);
+      return true;
+    }
+    return false;
+  }
+
+  class PeerNodeWorker implements Runnable {
+
+    private final TEndPoint endPoint;
+    private final List<LogDispatcherThread> channels = new CopyOnWriteArrayList<>();
+    private boolean signaled = false;
+
+    private PeerNodeWorker(TEndPoint endPoint) {
+      this.endPoint = endPoint;
+    }
+
+    /** Called when new logs are offered or pending batches are synced. */
+    synchronized void wakeUp() {
+      signaled = true;
+      notifyAll();
+    }
+
+    @Override
+    public void run() {
+      logger.info("Multiplexed log dispatcher for {} starts", endPoint);
+      try {
+        while (!exitIfIdle(this)) {
+          boolean dispatched = false;
+          long waitingTimeInMs = IDLE_WAITING_TIME_IN_MS;
+          for (LogDispatcherThread channel : channels) {
+            try {
+              dispatched |= channel.dispatchOnce();
+              waitingTimeInMs = Math.min(waitingTimeInMs, channel.getNextDispatchDelayInMs());
+            } catch (Exception e) {
+              logger.error("Unexpected error in logDispatcher for peer {}", channel.getPeer(), e);
+            }
+          }
+          if (!dispatched) {
+            waitForSignal(waitingTimeInMs);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        // hand over the channels to a new worker
+        synchronized (MultiplexedLogDispatcher.this) {
+          workers.remove(endPoint, this);
+          channels.forEach(MultiplexedLogDispatcher.this::register);
+        }
+      }
+      logger.info("Multiplexed log dispatcher for {} exits", endPoint);
+    }
+
+    private synchronized void waitForSignal(long timeoutInMs) throws InterruptedException {
+      if (!signaled) {
+        wait(timeoutInMs);
+      }
+      signaled = false;
+    }
+  }
+
+  private static final MultiplexedLogDispatcher INSTANCE = new MultiplexedLogDispatcher();
+
+  public static MultiplexedLogDispatcher getInstance() {
+    return INSTANCE;
+  }
+}
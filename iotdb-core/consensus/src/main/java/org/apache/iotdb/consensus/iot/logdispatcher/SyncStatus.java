@@ -48,11 +48,31 @@ public class SyncStatus {
    * @throws InterruptedException
    */
   public synchronized void addNextBatch(Batch batch) throws InterruptedException {
-    while ((pendingBatches.size() >= config.getReplication().getMaxPendingBatchesNum()
-            || !iotConsensusMemoryManager.reserve(batch))
-        && !Thread.interrupted()) {
+    while ((isFull() || !iotConsensusMemoryManager.reserve(batch)) && !Thread.interrupted()) {
       wait();
     }
+    addReservedBatch(batch);
+  }
+
+  /**
+   * Add the batch only if the synchronization pipeline is not full and its memory can be reserved,
+   * used by the caller who can not block here.
+   *
+   * @return true if the batch is added
+   */
+  public synchronized boolean tryAddNextBatch(Batch batch) {
+    if (isFull() || !iotConsensusMemoryManager.reserve(batch)) {
+      return false;
+    }
+    addReservedBatch(batch);
+    return true;
+  }
+
+  public synchronized boolean isFull() {
+    return pendingBatches.size() >= config.getReplication().getMaxPendingBatchesNum();
+  }
+
+  private void addReservedBatch(Batch batch) {
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(
           "Reserved {} bytes for batch {}-{}, current total usage {}",
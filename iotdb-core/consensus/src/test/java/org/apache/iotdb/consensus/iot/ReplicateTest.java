@@ -28,7 +28,9 @@ import org.apache.iotdb.consensus.ConsensusFactory;
 import org.apache.iotdb.consensus.common.ConsensusGroup;
 import org.apache.iotdb.consensus.common.Peer;
 import org.apache.iotdb.consensus.config.ConsensusConfig;
+import org.apache.iotdb.consensus.config.IoTConsensusConfig;
 import org.apache.iotdb.consensus.exception.ConsensusException;
+import org.apache.iotdb.consensus.iot.logdispatcher.MultiplexedLogDispatcher;
 import org.apache.iotdb.consensus.iot.util.TestEntry;
 import org.apache.iotdb.consensus.iot.util.TestStateMachine;
 
@@ -74,6 +76,7 @@ public class ReplicateTest {
   private final ConsensusGroup group = new ConsensusGroup(gid, peers);
   private final List<IoTConsensus> servers = new ArrayList<>();
   private final List<TestStateMachine> stateMachines = new ArrayList<>();
+  private boolean enableMultiplexedLogDispatch = false;
 
   @Before
   public void setUp() throws Exception {
@@ -106,6 +109,14 @@ public class ReplicateTest {
                             .setThisNode(peers.get(i).getEndpoint())
                             .setStorageDir(peersStorage.get(i).getAbsolutePath())
                             .setConsensusGroupType(TConsensusGroupType.DataRegion)
+                            .setIoTConsensusConfig(
+                                IoTConsensusConfig.newBuilder()
+                                    .setReplication(
+                                        IoTConsensusConfig.Replication.newBuilder()
+                                            .setEnableMultiplexedLogDispatch(
+                                                enableMultiplexedLogDispatch)
+                                            .build())
+                                    .build())
                             .build(),
                         groupId -> stateMachines.get(finalI))
                     .orElseThrow(
@@ -286,6 +297,52 @@ public class ReplicateTest {
     }
   }
 
+  /** The dispatchers of all nodes are multiplexed into one worker per destination node. */
+  @Test
+  public void replicateUsingMultiplexedDispatcherTest()
+      throws IOException, InterruptedException, ConsensusException {
+    logger.info("Start ReplicateUsingMultiplexedDispatcherTest");
+    stopServer();
+    enableMultiplexedLogDispatch = true;
+    initServer();
+    for (int i = 0; i < 3; i++) {
+      servers.get(i).createLocalPeer(group.getGroupId(), group.getPeers());
+    }
+    // all servers are in the same process, so there is one worker for each of them
+    Assert.assertEquals(3, MultiplexedLogDispatcher.getInstance().getWorkerCount());
+
+    for (int i = 0; i < CHECK_POINT_GAP; i++) {
+      for (int j = 0; j < 3; j++) {
+        servers.get(j).write(gid, new TestEntry(i, peers.get(j)));
+      }
+    }
+
+    for (int i = 0; i < 3; i++) {
+      long start = System.currentTimeMillis();
+      while (servers.get(i).getImpl(gid).getMinSyncIndex() < CHECK_POINT_GAP) {
+        if ((System.currentTimeMillis() - start) > 60 * 1000) {
+          Assert.fail("Unable to replicate entries");
+        }
+        Thread.sleep(100);
+      }
+    }
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals(CHECK_POINT_GAP * 3, stateMachines.get(i).getRequestSet().size());
+    }
+    Assert.assertEquals(stateMachines.get(0).getData(), stateMachines.get(1).getData());
+    Assert.assertEquals(stateMachines.get(2).getData(), stateMachines.get(1).getData());
+
+    // workers exit after all dispatchers are stopped
+    stopServer();
+    long start = System.currentTimeMillis();
+    while (MultiplexedLogDispatcher.getInstance().getWorkerCount() > 0) {
+      if ((System.currentTimeMillis() - start) > 60 * 1000) {
+        Assert.fail("Workers of multiplexed log dispatcher do not exit");
+      }
+      Thread.sleep(100);
+    }
+  }
+
   @Test
   public void parsingAndConstructIDTest() throws Exception {
     logger.info("Start ParsingAndConstructIDTest");
@@ -60,6 +60,12 @@ public class DataNodeMemoryConfig {
   /** whether to cache metadata(ChunkMetaData and TsFileMetaData) or not. */
   private boolean metaDataCacheEnable = true;
 
+  /** The proportion of chunk cache memory for decoded page cache, 0 means disabled */
+  private double decodedPageCacheProportion = 0.0;
+
+  /** The proportion of operators memory for modification cache, 0 means disabled */
+  private double modificationCacheProportion = 0.0;
+
   /** How many threads can concurrently execute query statement. When <= 0, use CPU core number. */
   private int queryThreadCount = Runtime.getRuntime().availableProcessors();
 
@@ -106,6 +112,12 @@ public class DataNodeMemoryConfig {
   /** Memory manager for chunk cache in read process */
   private MemoryManager chunkCacheMemoryManager;
 
+  /** Memory manager for decoded page cache in read process */
+  private MemoryManager decodedPageCacheMemoryManager;
+
+  /** Memory manager for modification cache in read process */
+  private MemoryManager modificationCacheMemoryManager;
+
   /** Memory manager for coordinator */
   private MemoryManager coordinatorMemoryManager;
 
@@ -425,6 +437,18 @@ public class DataNodeMemoryConfig {
       LOGGER.error(String.format("Fail to reload configuration because %s", e));
     }
 
+    setDecodedPageCacheProportion(
+        Double.parseDouble(
+            properties.getProperty(
+                "decoded_page_cache_proportion",
+                Double.toString(getDecodedPageCacheProportion()))));
+
+    setModificationCacheProportion(
+        Double.parseDouble(
+            properties.getProperty(
+                "modification_cache_proportion",
+                Double.toString(getModificationCacheProportion()))));
+
     String queryMemoryAllocateProportion =
         properties.getProperty("chunk_timeseriesmeta_free_memory_proportion");
     long maxMemoryAvailable = queryEngineMemoryManager.getTotalMemorySizeInBytes();
@@ -481,11 +505,26 @@ public class DataNodeMemoryConfig {
       operatorsMemorySize += partForOperators;
     }
 
+    // decoded page cache is carved out of chunk cache, because both of them cache chunk data
+    long decodedPageCacheMemorySize = (long) (chunkCacheMemorySize * decodedPageCacheProportion);
+    chunkCacheMemorySize -= decodedPageCacheMemorySize;
+
+    // modification cache is carved out of operators, because the modifications cached by each
+    // fragment instance are counted in the memory of operators
+    long modificationCacheMemorySize = (long) (operatorsMemorySize * modificationCacheProportion);
+    operatorsMemorySize -= modificationCacheMemorySize;
+
     bloomFilterCacheMemoryManager =
         queryEngineMemoryManager.getOrCreateMemoryManager(
             "BloomFilterCache", bloomFilterCacheMemorySize);
     chunkCacheMemoryManager =
         queryEngineMemoryManager.getOrCreateMemoryManager("ChunkCache", chunkCacheMemorySize);
+    decodedPageCacheMemoryManager =
+        queryEngineMemoryManager.getOrCreateMemoryManager(
+            "DecodedPageCache", decodedPageCacheMemorySize);
+    modificationCacheMemoryManager =
+        queryEngineMemoryManager.getOrCreateMemoryManager(
+            "ModificationCache", modificationCacheMemorySize);
     timeSeriesMetaDataCacheMemoryManager =
         queryEngineMemoryManager.getOrCreateMemoryManager(
             "TimeSeriesMetaDataCache", timeSeriesMetaDataCacheMemorySize);
@@ -561,6 +600,36 @@ public class DataNodeMemoryConfig {
     this.metaDataCacheEnable = metaDataCacheEnable;
   }
 
+  public double getDecodedPageCacheProportion() {
+    return decodedPageCacheProportion;
+  }
+
+  public void setDecodedPageCacheProportion(double decodedPageCacheProportion) {
+    if (decodedPageCacheProportion < 0 || decodedPageCacheProportion >= 1) {
+      LOGGER.warn(
+          "decoded_page_cache_proportion should be in [0, 1), but is {}, use default value {}",
+          decodedPageCacheProportion,
+          this.decodedPageCacheProportion);
+      return;
+    }
+    this.decodedPageCacheProportion = decodedPageCacheProportion;
+  }
+
+  public double getModificationCacheProportion() {
+    return modificationCacheProportion;
+  }
+
+  public void setModificationCacheProportion(double modificationCacheProportion) {
+    if (modificationCacheProportion < 0 || modificationCacheProportion >= 1) {
+      LOGGER.warn(
+          "modification_cache_proportion should be in [0, 1), but is {}, use default value {}",
+          modificationCacheProportion,
+          this.modificationCacheProportion);
+      return;
+    }
+    this.modificationCacheProportion = modificationCacheProportion;
+  }
+
   public int getQueryThreadCount() {
     return queryThreadCount;
   }
@@ -636,6 +705,14 @@ public class DataNodeMemoryConfig {
     return chunkCacheMemoryManager;
   }
 
+  public MemoryManager getDecodedPageCacheMemoryManager() {
+    return decodedPageCacheMemoryManager;
+  }
+
+  public MemoryManager getModificationCacheMemoryManager() {
+    return modificationCacheMemoryManager;
+  }
+
   public MemoryManager getCoordinatorMemoryManager() {
     return coordinatorMemoryManager;
   }
@@ -183,6 +183,12 @@ public class IoTDBConfig {
   /** Buffer size of each wal node. Unit: byte */
   private int walBufferSize = 32 * 1024 * 1024;
 
+  /**
+   * Number of threads serializing WALEntries of each wal node. When > 1, WALEntries are serialized
+   * by helper threads in parallel and then copied into the wal buffer in their arrival order.
+   */
+  private int walSerializeThreadCount = 1;
+
   /** Blocking queue capacity of each delete ahead log buffer */
   private int deletionAheadLogBufferQueueCapacity = 500;
 
@@ -336,6 +342,13 @@ public class IoTDBConfig {
   /** How many threads can concurrently flush. When <= 0, use CPU core number. */
   private int flushThreadCount = Runtime.getRuntime().availableProcessors();
 
+  /**
+   * How many threads can concurrently sort and encode the chunks of flushing memtables, shared by
+   * all the flush tasks. When <= 0, use half of CPU core number. If it's 1, each memtable is
+   * encoded by a single thread.
+   */
+  private int flushEncodingThreadCount = 1;
+
   private int degreeOfParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
 
   private int mergeThresholdOfExplainAnalyze = 10;
@@ -426,6 +439,13 @@ public class IoTDBConfig {
    */
   private int tvListSortThreshold = 0;
 
+  /**
+   * the threshold when unsorted working TVList is sealed for the queries instead of being cloned or
+   * sorted in place, so that the queries do not block the writers. It works only when
+   * tvListSortThreshold is positive, and 0 means never sealing.
+   */
+  private int tvListSealThreshold = 0;
+
   /** Enable streaming query mem chunk */
   private boolean streamingQueryMemChunk = true;
 
@@ -450,6 +470,18 @@ public class IoTDBConfig {
   /** Max number of rows for cte materialization */
   private int maxRowsInCteBuffer = 1000;
 
+  /**
+   * Max estimated number of rows of the build side of hash join, larger join uses merge sort join.
+   * Hash join is disabled if it is <= 0.
+   */
+  private volatile long maxRowsInHashJoinBuildSide = 0;
+
+  /** Whether hash aggregation spills its groups to disk when they exceed the buffer */
+  private volatile boolean enableHashAggregationSpill = false;
+
+  /** The buffer for groups of hash aggregation operation */
+  private long hashAggregationBufferSize = 32 * 1024 * 1024L;
+
   /** Mods cache size limit per fi */
   private long modsCacheSizeLimitPerFI = 32 * 1024 * 1024;
 
@@ -709,6 +741,12 @@ public class IoTDBConfig {
   /** The limit of compaction read operation can reach per second. When <= 0, no limit. */
   private int compactionReadOperationPerSec = 0;
 
+  /**
+   * The limit of compaction read and write throughput of each data directory can reach per second,
+   * which is lowered when flushes and queries are busy. When <= 0, no limit. unit: megabyte
+   */
+  private int compactionDataDirThroughputMbPerSec = 0;
+
   /**
    * How many thread will be set up to perform compaction, 10 by default. Set to 1 when less than or
    * equal to 0.
@@ -721,6 +759,13 @@ public class IoTDBConfig {
    */
   private int compactionMaxAlignedSeriesNumInOneBatch = 10;
 
+  /**
+   * How many batches of an aligned device can be compacted in parallel by the sub compaction
+   * threads, 1 by default. Set to 1 when less than or equal to 0. The data of the target file is
+   * the same, but the value chunks of the batches may be written in another order.
+   */
+  private int compactionAlignedSeriesBatchParallelism = 1;
+
   /*
    * How many thread will be set up to perform continuous queries. When <= 0, use max(1, CPU core number / 2).
    */
@@ -794,12 +839,24 @@ public class IoTDBConfig {
   /** The default value of primitive array size in array pool */
   private int primitiveArraySize = 64;
 
+  /**
+   * Whether the timestamp arrays of TVLists are carved from direct memory slabs instead of being
+   * allocated on heap, so that the memtables put less pressure on the old generation of GC.
+   */
+  private boolean enableOffHeapTVListTimestamps = false;
+
   /**
    * Level of TimeIndex, which records the start time and end time of TsFileResource. Currently,
    * DEVICE_TIME_INDEX and FILE_TIME_INDEX are supported, and could not be changed after first set.
    */
   private TimeIndexLevel timeIndexLevel = TimeIndexLevel.ARRAY_DEVICE_TIME_INDEX;
 
+  /**
+   * Whether the device time indexes of the sealed TsFiles keep their devices as the ordinals in a
+   * dictionary shared by the data region, instead of a map from the devices of each TsFile.
+   */
+  private boolean enableSharedDeviceDictionary = false;
+
   // just for test
   // wait for 60 second by default.
   private int thriftServerAwaitTimeForStopService = 60;
@@ -869,6 +926,13 @@ public class IoTDBConfig {
    */
   private boolean enableSeparateData = true;
 
+  /**
+   * Number of stripes of the insert lock of each data region. Insertions into time partitions of
+   * different stripes are executed in parallel. If it is 1, all insertions of a data region are
+   * executed one by one.
+   */
+  private int dataRegionInsertLockStripeNum = 1;
+
   /** the method to transform device path to device id, can be 'Plain' or 'SHA256' */
   private String deviceIDTransformationMethod = "Plain";
 
@@ -950,6 +1014,12 @@ public class IoTDBConfig {
   /** Thread keep alive time in ms of mpp data exchange. */
   private int mppDataExchangeKeepAliveTimeInMs = 1000;
 
+  /**
+   * Compression type requested for the TsBlocks fetched from remote fragment instances,
+   * UNCOMPRESSED to disable it.
+   */
+  private CompressionType mppDataExchangeCompressionType = CompressionType.UNCOMPRESSED;
+
   /** Thrift socket and connection timeout between data node and config node. */
   private int connectionTimeoutInMS = (int) TimeUnit.SECONDS.toMillis(60);
 
@@ -1018,6 +1088,15 @@ public class IoTDBConfig {
    */
   private int cacheEvictionMemoryComputationThreshold = 20;
 
+  /**
+   * Whether to snapshot the last cache of table model on shutdown and reload it on startup, the
+   * reloaded values of a database are dropped if its data regions have changed since the snapshot.
+   */
+  private boolean enableLastCacheSnapshot = false;
+
+  /** Interval to snapshot the last cache periodically, 0 means only on shutdown. */
+  private long lastCacheSnapshotIntervalInMs = 0;
+
   private int dataNodeTableCacheSemaphorePermitNum = 5;
 
   /** GRASS Service */
@@ -1105,6 +1184,12 @@ public class IoTDBConfig {
   private double maxMemoryRatioForQueue = 0.6;
   private long regionMigrationSpeedLimitBytesPerSecond = 48 * 1024 * 1024L;
 
+  /**
+   * Whether to dispatch logs of all data regions to the same peer node in one thread, instead of
+   * one thread per peer of each data region.
+   */
+  private boolean enableMultiplexedLogDispatch = false;
+
   // IoTConsensusV2 Config
   private int iotConsensusV2PipelineSize = 5;
   private String iotConsensusV2Mode = ConsensusFactory.IOT_CONSENSUS_V2_BATCH_MODE;
@@ -1145,6 +1230,9 @@ public class IoTDBConfig {
 
   private double loadWriteThroughputBytesPerSecond = -1; // Bytes/s
 
+  /** The number of TsFiles split and dispatched concurrently by one load statement. */
+  private int loadTsFileParallelism = 1;
+
   private long loadTabletConversionThresholdBytes = -1;
 
   private boolean loadActiveListeningEnable = true;
@@ -1240,6 +1328,35 @@ public class IoTDBConfig {
 
   private int maxSubTaskNumForInformationTableScan = 4;
 
+  /**
+   * The max number of scans the devices of a data region are split into for a table query, each of
+   * which is executed by its own driver. The actual number is also limited by the query threads and
+   * the devices of the region. 1 means no split.
+   */
+  private int maxTableScanSplitNumPerRegion = 1;
+
+  /** The minimum number of devices scanned by each split of a data region. */
+  private int tableScanSplitMinDeviceNum = 32;
+
+  /**
+   * The number of the next sequence files whose metadata and first chunk of a series are read in
+   * background while the series scan is reading the current file. 0 means no read-ahead.
+   */
+  private int seriesScanReadAheadFileNum = 0;
+
+  /** The number of threads reading the files ahead for series scans. */
+  private int seriesScanReadAheadThreadCount = 4;
+
+  /**
+   * The chunks of an aligned series missing from ChunkCache are read by one disk read if the
+   * distance between the offsets of adjacent chunks is not larger than it. 0 means each chunk is
+   * read by itself.
+   */
+  private long chunkReadCoalesceMaxDistanceInByte = 0;
+
+  /** The max size of a disk read merged from the reads of several chunks. */
+  private long chunkReadCoalesceMaxReadSizeInByte = 4 * 1024 * 1024L;
+
   /* Need use these parameters when repair data partition table */
   private int partitionTableRecoverWorkerNum = 10;
   // Rate limit set to 10 MB/s
@@ -1308,6 +1425,14 @@ public class IoTDBConfig {
     this.maxPendingBatchesNum = maxPendingBatchesNum;
   }
 
+  public boolean isEnableMultiplexedLogDispatch() {
+    return enableMultiplexedLogDispatch;
+  }
+
+  public void setEnableMultiplexedLogDispatch(boolean enableMultiplexedLogDispatch) {
+    this.enableMultiplexedLogDispatch = enableMultiplexedLogDispatch;
+  }
+
   public void setMaxMemoryRatioForQueue(double maxMemoryRatioForQueue) {
     this.maxMemoryRatioForQueue = maxMemoryRatioForQueue;
   }
@@ -1573,6 +1698,14 @@ public class IoTDBConfig {
     this.enableSeparateData = enableSeparateData;
   }
 
+  public int getDataRegionInsertLockStripeNum() {
+    return dataRegionInsertLockStripeNum;
+  }
+
+  public void setDataRegionInsertLockStripeNum(int dataRegionInsertLockStripeNum) {
+    this.dataRegionInsertLockStripeNum = dataRegionInsertLockStripeNum;
+  }
+
   public String getSystemDir() {
     return systemDir;
   }
@@ -1794,6 +1927,14 @@ public class IoTDBConfig {
     this.flushThreadCount = flushThreadCount;
   }
 
+  public int getFlushEncodingThreadCount() {
+    return flushEncodingThreadCount;
+  }
+
+  public void setFlushEncodingThreadCount(int flushEncodingThreadCount) {
+    this.flushEncodingThreadCount = flushEncodingThreadCount;
+  }
+
   public void setDegreeOfParallelism(int degreeOfParallelism) {
     if (degreeOfParallelism > 0) {
       this.degreeOfParallelism = degreeOfParallelism;
@@ -1970,6 +2111,14 @@ public class IoTDBConfig {
     this.walBufferSize = walBufferSize;
   }
 
+  public int getWalSerializeThreadCount() {
+    return walSerializeThreadCount;
+  }
+
+  public void setWalSerializeThreadCount(int walSerializeThreadCount) {
+    this.walSerializeThreadCount = walSerializeThreadCount;
+  }
+
   public int getDeletionAheadLogBufferQueueCapacity() {
     return deletionAheadLogBufferQueueCapacity;
   }
@@ -2132,6 +2281,15 @@ public class IoTDBConfig {
     this.compactionMaxAlignedSeriesNumInOneBatch = compactionMaxAlignedSeriesNumInOneBatch;
   }
 
+  public int getCompactionAlignedSeriesBatchParallelism() {
+    return compactionAlignedSeriesBatchParallelism;
+  }
+
+  public void setCompactionAlignedSeriesBatchParallelism(
+      int compactionAlignedSeriesBatchParallelism) {
+    this.compactionAlignedSeriesBatchParallelism = compactionAlignedSeriesBatchParallelism;
+  }
+
   public int getContinuousQueryThreadNum() {
     return continuousQueryThreadNum;
   }
@@ -2196,6 +2354,14 @@ public class IoTDBConfig {
     this.compactionReadOperationPerSec = compactionReadOperationPerSec;
   }
 
+  public int getCompactionDataDirThroughputMbPerSec() {
+    return compactionDataDirThroughputMbPerSec;
+  }
+
+  public void setCompactionDataDirThroughputMbPerSec(int compactionDataDirThroughputMbPerSec) {
+    this.compactionDataDirThroughputMbPerSec = compactionDataDirThroughputMbPerSec;
+  }
+
   public boolean isEnableTimedFlushSeqMemtable() {
     return enableTimedFlushSeqMemtable;
   }
@@ -2300,6 +2466,14 @@ public class IoTDBConfig {
     this.tvListSortThreshold = tvListSortThreshold;
   }
 
+  public int getTvListSealThreshold() {
+    return tvListSealThreshold;
+  }
+
+  public void setTvListSealThreshold(int tvListSealThreshold) {
+    this.tvListSealThreshold = tvListSealThreshold;
+  }
+
   public boolean isStreamingQueryMemChunk() {
     return streamingQueryMemChunk;
   }
@@ -2665,6 +2839,22 @@ public class IoTDBConfig {
     this.primitiveArraySize = primitiveArraySize;
   }
 
+  public boolean isEnableOffHeapTVListTimestamps() {
+    return enableOffHeapTVListTimestamps;
+  }
+
+  public void setEnableOffHeapTVListTimestamps(boolean enableOffHeapTVListTimestamps) {
+    this.enableOffHeapTVListTimestamps = enableOffHeapTVListTimestamps;
+  }
+
+  public boolean isEnableSharedDeviceDictionary() {
+    return enableSharedDeviceDictionary;
+  }
+
+  public void setEnableSharedDeviceDictionary(boolean enableSharedDeviceDictionary) {
+    this.enableSharedDeviceDictionary = enableSharedDeviceDictionary;
+  }
+
   public int getThriftMaxFrameSize() {
     return thriftMaxFrameSize;
   }
@@ -3215,6 +3405,14 @@ public class IoTDBConfig {
     this.mppDataExchangeKeepAliveTimeInMs = mppDataExchangeKeepAliveTimeInMs;
   }
 
+  public CompressionType getMppDataExchangeCompressionType() {
+    return mppDataExchangeCompressionType;
+  }
+
+  public void setMppDataExchangeCompressionType(CompressionType mppDataExchangeCompressionType) {
+    this.mppDataExchangeCompressionType = mppDataExchangeCompressionType;
+  }
+
   public int getConnectionTimeoutInMS() {
     return connectionTimeoutInMS;
   }
@@ -3406,6 +3604,22 @@ public class IoTDBConfig {
     this.cacheEvictionMemoryComputationThreshold = cacheEvictionMemoryComputationThreshold;
   }
 
+  public boolean isEnableLastCacheSnapshot() {
+    return enableLastCacheSnapshot;
+  }
+
+  public void setEnableLastCacheSnapshot(boolean enableLastCacheSnapshot) {
+    this.enableLastCacheSnapshot = enableLastCacheSnapshot;
+  }
+
+  public long getLastCacheSnapshotIntervalInMs() {
+    return lastCacheSnapshotIntervalInMs;
+  }
+
+  public void setLastCacheSnapshotIntervalInMs(long lastCacheSnapshotIntervalInMs) {
+    this.lastCacheSnapshotIntervalInMs = lastCacheSnapshotIntervalInMs;
+  }
+
   public int getDataNodeTableCacheSemaphorePermitNum() {
     return dataNodeTableCacheSemaphorePermitNum;
   }
@@ -4025,6 +4239,14 @@ public class IoTDBConfig {
     this.loadWriteThroughputBytesPerSecond = loadWriteThroughputBytesPerSecond;
   }
 
+  public int getLoadTsFileParallelism() {
+    return loadTsFileParallelism;
+  }
+
+  public void setLoadTsFileParallelism(int loadTsFileParallelism) {
+    this.loadTsFileParallelism = loadTsFileParallelism;
+  }
+
   public long getLoadTabletConversionThresholdBytes() {
     return loadTabletConversionThresholdBytes;
   }
@@ -4279,6 +4501,30 @@ public class IoTDBConfig {
     return maxRowsInCteBuffer;
   }
 
+  public void setMaxRowsInHashJoinBuildSide(long maxRowsInHashJoinBuildSide) {
+    this.maxRowsInHashJoinBuildSide = maxRowsInHashJoinBuildSide;
+  }
+
+  public long getMaxRowsInHashJoinBuildSide() {
+    return maxRowsInHashJoinBuildSide;
+  }
+
+  public boolean isEnableHashAggregationSpill() {
+    return enableHashAggregationSpill;
+  }
+
+  public void setEnableHashAggregationSpill(boolean enableHashAggregationSpill) {
+    this.enableHashAggregationSpill = enableHashAggregationSpill;
+  }
+
+  public long getHashAggregationBufferSize() {
+    return hashAggregationBufferSize;
+  }
+
+  public void setHashAggregationBufferSize(long hashAggregationBufferSize) {
+    this.hashAggregationBufferSize = hashAggregationBufferSize;
+  }
+
   public void setModsCacheSizeLimitPerFI(long modsCacheSizeLimitPerFI) {
     this.modsCacheSizeLimitPerFI = modsCacheSizeLimitPerFI;
   }
@@ -4451,6 +4697,54 @@ public class IoTDBConfig {
     this.maxSubTaskNumForInformationTableScan = maxSubTaskNumForInformationTableScan;
   }
 
+  public int getMaxTableScanSplitNumPerRegion() {
+    return maxTableScanSplitNumPerRegion;
+  }
+
+  public void setMaxTableScanSplitNumPerRegion(int maxTableScanSplitNumPerRegion) {
+    this.maxTableScanSplitNumPerRegion = maxTableScanSplitNumPerRegion;
+  }
+
+  public int getTableScanSplitMinDeviceNum() {
+    return tableScanSplitMinDeviceNum;
+  }
+
+  public void setTableScanSplitMinDeviceNum(int tableScanSplitMinDeviceNum) {
+    this.tableScanSplitMinDeviceNum = tableScanSplitMinDeviceNum;
+  }
+
+  public int getSeriesScanReadAheadFileNum() {
+    return seriesScanReadAheadFileNum;
+  }
+
+  public void setSeriesScanReadAheadFileNum(int seriesScanReadAheadFileNum) {
+    this.seriesScanReadAheadFileNum = seriesScanReadAheadFileNum;
+  }
+
+  public int getSeriesScanReadAheadThreadCount() {
+    return seriesScanReadAheadThreadCount;
+  }
+
+  public void setSeriesScanReadAheadThreadCount(int seriesScanReadAheadThreadCount) {
+    this.seriesScanReadAheadThreadCount = seriesScanReadAheadThreadCount;
+  }
+
+  public long getChunkReadCoalesceMaxDistanceInByte() {
+    return chunkReadCoalesceMaxDistanceInByte;
+  }
+
+  public void setChunkReadCoalesceMaxDistanceInByte(long chunkReadCoalesceMaxDistanceInByte) {
+    this.chunkReadCoalesceMaxDistanceInByte = chunkReadCoalesceMaxDistanceInByte;
+  }
+
+  public long getChunkReadCoalesceMaxReadSizeInByte() {
+    return chunkReadCoalesceMaxReadSizeInByte;
+  }
+
+  public void setChunkReadCoalesceMaxReadSizeInByte(long chunkReadCoalesceMaxReadSizeInByte) {
+    this.chunkReadCoalesceMaxReadSizeInByte = chunkReadCoalesceMaxReadSizeInByte;
+  }
+
   public int getPartitionTableRecoverWorkerNum() {
     return partitionTableRecoverWorkerNum;
   }
@@ -373,6 +373,11 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "tvlist_sort_threshold", Integer.toString(conf.getTvListSortThreshold()))));
 
+    conf.setTvListSealThreshold(
+        Integer.parseInt(
+            properties.getProperty(
+                "tvlist_seal_threshold", Integer.toString(conf.getTvListSealThreshold()))));
+
     conf.setCheckPeriodWhenInsertBlocked(
         Integer.parseInt(
             properties.getProperty(
@@ -499,6 +504,16 @@ public class IoTDBDescriptor {
       conf.setFlushThreadCount(Runtime.getRuntime().availableProcessors());
     }
 
+    conf.setFlushEncodingThreadCount(
+        Integer.parseInt(
+            properties.getProperty(
+                "flush_encoding_thread_count",
+                Integer.toString(conf.getFlushEncodingThreadCount()))));
+
+    if (conf.getFlushEncodingThreadCount() <= 0) {
+      conf.setFlushEncodingThreadCount(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
     // start: index parameter setting
     conf.setIndexRootFolder(properties.getProperty("index_root_dir", conf.getIndexRootFolder()));
 
@@ -588,6 +603,13 @@ public class IoTDBDescriptor {
         maxConcurrentAlignedSeriesInCompaction <= 0
             ? Integer.MAX_VALUE
             : maxConcurrentAlignedSeriesInCompaction);
+    int compactionAlignedSeriesBatchParallelism =
+        Integer.parseInt(
+            properties.getProperty(
+                "compaction_aligned_series_batch_parallelism",
+                Integer.toString(conf.getCompactionAlignedSeriesBatchParallelism())));
+    conf.setCompactionAlignedSeriesBatchParallelism(
+        Math.max(1, compactionAlignedSeriesBatchParallelism));
     conf.setChunkMetadataSizeProportion(
         Double.parseDouble(
             properties.getProperty(
@@ -680,6 +702,12 @@ public class IoTDBDescriptor {
                 "compaction_read_operation_per_sec",
                 Integer.toString(conf.getCompactionReadOperationPerSec()))));
 
+    conf.setCompactionDataDirThroughputMbPerSec(
+        Integer.parseInt(
+            properties.getProperty(
+                "compaction_data_dir_throughput_mb_per_sec",
+                Integer.toString(conf.getCompactionDataDirThroughputMbPerSec()))));
+
     conf.setEnableTsFileValidation(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -798,6 +826,18 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "primitive_array_size", String.valueOf(conf.getPrimitiveArraySize())))));
 
+    conf.setEnableOffHeapTVListTimestamps(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_off_heap_tvlist_timestamps",
+                String.valueOf(conf.isEnableOffHeapTVListTimestamps()))));
+
+    conf.setEnableSharedDeviceDictionary(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_shared_device_dictionary",
+                String.valueOf(conf.isEnableSharedDeviceDictionary()))));
+
     conf.setThriftMaxFrameSize(
         Integer.parseInt(
             properties.getProperty(
@@ -832,6 +872,15 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "enable_separate_data", Boolean.toString(conf.isEnableSeparateData()))));
 
+    int dataRegionInsertLockStripeNum =
+        Integer.parseInt(
+            properties.getProperty(
+                "data_region_insert_lock_stripe_num",
+                Integer.toString(conf.getDataRegionInsertLockStripeNum())));
+    if (dataRegionInsertLockStripeNum > 0) {
+      conf.setDataRegionInsertLockStripeNum(dataRegionInsertLockStripeNum);
+    }
+
     conf.setWindowEvaluationThreadCount(
         Integer.parseInt(
             properties.getProperty(
@@ -1070,6 +1119,22 @@ public class IoTDBDescriptor {
       conf.setMaxRowsInCteBuffer(maxRowsInCteBuffer);
     }
 
+    // max number of rows for the build side of hash join
+    conf.setMaxRowsInHashJoinBuildSide(
+        Long.parseLong(
+            properties.getProperty(
+                "max_rows_in_hash_join_build_side",
+                Long.toString(conf.getMaxRowsInHashJoinBuildSide()))));
+
+    // spill of hash aggregation
+    conf.setEnableHashAggregationSpill(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_hash_aggregation_spill",
+                Boolean.toString(conf.isEnableHashAggregationSpill()))));
+    loadFixedSizeLimitForQuery(
+        properties, "hash_aggregation_buffer_size_in_bytes", conf::setHashAggregationBufferSize);
+
     loadFixedSizeLimitForQuery(
         properties, "mods_cache_size_limit_per_fi_in_bytes", conf::setModsCacheSizeLimitPerFI);
 
@@ -1088,6 +1153,17 @@ public class IoTDBDescriptor {
                 "cache_eviction_memory_computation_threshold",
                 String.valueOf(conf.getCacheEvictionMemoryComputationThreshold()))));
 
+    conf.setEnableLastCacheSnapshot(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_last_cache_snapshot", String.valueOf(conf.isEnableLastCacheSnapshot()))));
+
+    conf.setLastCacheSnapshotIntervalInMs(
+        Long.parseLong(
+            properties.getProperty(
+                "last_cache_snapshot_interval_in_ms",
+                String.valueOf(conf.getLastCacheSnapshotIntervalInMs()))));
+
     conf.setDataNodeTableCacheSemaphorePermitNum(
         Integer.parseInt(
             properties.getProperty(
@@ -1132,6 +1208,11 @@ public class IoTDBDescriptor {
                 "schema_thread_count", Integer.toString(conf.getSchemaThreadCount()))));
 
     loadIoTConsensusProps(properties);
+    conf.setEnableMultiplexedLogDispatch(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "data_region_iot_enable_multiplexed_log_dispatch",
+                Boolean.toString(conf.isEnableMultiplexedLogDispatch()))));
     loadIoTConsensusV2Props(properties);
 
     // update query_sample_throughput_bytes_per_sec
@@ -1229,6 +1310,69 @@ public class IoTDBDescriptor {
     if (maxSubTaskNumForInformationTableScan > 0) {
       conf.setMaxSubTaskNumForInformationTableScan(maxSubTaskNumForInformationTableScan);
     }
+
+    loadTableScanSplitProps(properties);
+
+    int seriesScanReadAheadThreadCount =
+        Integer.parseInt(
+            properties.getProperty(
+                "series_scan_read_ahead_thread_count",
+                Integer.toString(conf.getSeriesScanReadAheadThreadCount())));
+    if (seriesScanReadAheadThreadCount > 0) {
+      conf.setSeriesScanReadAheadThreadCount(seriesScanReadAheadThreadCount);
+    }
+    loadSeriesScanReadAheadProps(properties);
+    loadChunkReadCoalesceProps(properties);
+  }
+
+  private void loadSeriesScanReadAheadProps(TrimProperties properties) {
+    int seriesScanReadAheadFileNum =
+        Integer.parseInt(
+            properties.getProperty(
+                "series_scan_read_ahead_file_num",
+                Integer.toString(conf.getSeriesScanReadAheadFileNum())));
+    if (seriesScanReadAheadFileNum >= 0) {
+      conf.setSeriesScanReadAheadFileNum(seriesScanReadAheadFileNum);
+    }
+  }
+
+  private void loadChunkReadCoalesceProps(TrimProperties properties) {
+    long chunkReadCoalesceMaxDistanceInByte =
+        Long.parseLong(
+            properties.getProperty(
+                "chunk_read_coalesce_max_distance_in_byte",
+                Long.toString(conf.getChunkReadCoalesceMaxDistanceInByte())));
+    if (chunkReadCoalesceMaxDistanceInByte >= 0) {
+      conf.setChunkReadCoalesceMaxDistanceInByte(chunkReadCoalesceMaxDistanceInByte);
+    }
+    long chunkReadCoalesceMaxReadSizeInByte =
+        Long.parseLong(
+            properties.getProperty(
+                "chunk_read_coalesce_max_read_size_in_byte",
+                Long.toString(conf.getChunkReadCoalesceMaxReadSizeInByte())));
+    if (chunkReadCoalesceMaxReadSizeInByte > 0
+        && chunkReadCoalesceMaxReadSizeInByte <= Integer.MAX_VALUE) {
+      conf.setChunkReadCoalesceMaxReadSizeInByte(chunkReadCoalesceMaxReadSizeInByte);
+    }
+  }
+
+  private void loadTableScanSplitProps(TrimProperties properties) {
+    int maxTableScanSplitNumPerRegion =
+        Integer.parseInt(
+            properties.getProperty(
+                "max_table_scan_split_num_per_region",
+                Integer.toString(conf.getMaxTableScanSplitNumPerRegion())));
+    if (maxTableScanSplitNumPerRegion > 0) {
+      conf.setMaxTableScanSplitNumPerRegion(maxTableScanSplitNumPerRegion);
+    }
+    int tableScanSplitMinDeviceNum =
+        Integer.parseInt(
+            properties.getProperty(
+                "table_scan_split_min_device_num",
+                Integer.toString(conf.getTableScanSplitMinDeviceNum())));
+    if (tableScanSplitMinDeviceNum > 0) {
+      conf.setTableScanSplitMinDeviceNum(tableScanSplitMinDeviceNum);
+    }
   }
 
   private void loadFixedSizeLimitForQuery(
@@ -1357,6 +1501,14 @@ public class IoTDBDescriptor {
       conf.setWalBufferSize(walBufferSize);
     }
 
+    int walSerializeThreadCount =
+        Integer.parseInt(
+            properties.getProperty(
+                "wal_serialize_thread_count", Integer.toString(conf.getWalSerializeThreadCount())));
+    if (walSerializeThreadCount > 0) {
+      conf.setWalSerializeThreadCount(walSerializeThreadCount);
+    }
+
     boolean WALInsertNodeCacheShrinkClearEnabled =
         Boolean.parseBoolean(
             properties.getProperty(
@@ -1402,6 +1554,8 @@ public class IoTDBDescriptor {
         .setCompactionReadThroughputRate(conf.getCompactionReadThroughputMbPerSec());
     CompactionTaskManager.getInstance()
         .setWriteMergeRate(conf.getCompactionWriteThroughputMbPerSec());
+    CompactionTaskManager.getInstance()
+        .setDataDirThroughputRate(conf.getCompactionDataDirThroughputMbPerSec());
 
     conf.setEnableAutoRepairCompaction(
         Boolean.parseBoolean(
@@ -1442,6 +1596,16 @@ public class IoTDBDescriptor {
                     "compaction_read_throughput_mb_per_sec"))));
     configModified |= compactionReadThroughput != conf.getCompactionReadThroughputMbPerSec();
 
+    // update compaction_data_dir_throughput_mb_per_sec
+    int compactionDataDirThroughput = conf.getCompactionDataDirThroughputMbPerSec();
+    conf.setCompactionDataDirThroughputMbPerSec(
+        Integer.parseInt(
+            properties.getProperty(
+                "compaction_data_dir_throughput_mb_per_sec",
+                ConfigurationFileUtils.getConfigurationDefaultValue(
+                    "compaction_data_dir_throughput_mb_per_sec"))));
+    configModified |= compactionDataDirThroughput != conf.getCompactionDataDirThroughputMbPerSec();
+
     // update inner_compaction_candidate_file_num
     int maxInnerCompactionCandidateFileNum = conf.getInnerCompactionCandidateFileNum();
     conf.setInnerCompactionCandidateFileNum(
@@ -1608,6 +1772,20 @@ public class IoTDBDescriptor {
     configModified |=
         compactionMaxAlignedSeriesNumInOneBatch
             != conf.getCompactionMaxAlignedSeriesNumInOneBatch();
+
+    // update compaction_aligned_series_batch_parallelism
+    int compactionAlignedSeriesBatchParallelism = conf.getCompactionAlignedSeriesBatchParallelism();
+    conf.setCompactionAlignedSeriesBatchParallelism(
+        Math.max(
+            1,
+            Integer.parseInt(
+                properties.getProperty(
+                    "compaction_aligned_series_batch_parallelism",
+                    ConfigurationFileUtils.getConfigurationDefaultValue(
+                        "compaction_aligned_series_batch_parallelism")))));
+    configModified |=
+        compactionAlignedSeriesBatchParallelism
+            != conf.getCompactionAlignedSeriesBatchParallelism();
     return configModified;
   }
 
@@ -2263,6 +2441,13 @@ public class IoTDBDescriptor {
                   "tvlist_sort_threshold",
                   ConfigurationFileUtils.getConfigurationDefaultValue("tvlist_sort_threshold"))));
 
+      // tvlist_seal_threshold
+      conf.setTvListSealThreshold(
+          Integer.parseInt(
+              properties.getProperty(
+                  "tvlist_seal_threshold",
+                  ConfigurationFileUtils.getConfigurationDefaultValue("tvlist_seal_threshold"))));
+
       // sort_buffer_size_in_bytes
       loadFixedSizeLimitForQuery(properties, "sort_buffer_size_in_bytes", conf::setSortBufferSize);
 
@@ -2293,6 +2478,22 @@ public class IoTDBDescriptor {
         conf.setMaxRowsInCteBuffer(maxRowsInCteBuffer);
       }
 
+      // max number of rows for the build side of hash join
+      conf.setMaxRowsInHashJoinBuildSide(
+          Long.parseLong(
+              properties.getProperty(
+                  "max_rows_in_hash_join_build_side",
+                  Long.toString(conf.getMaxRowsInHashJoinBuildSide()))));
+
+      // spill of hash aggregation
+      conf.setEnableHashAggregationSpill(
+          Boolean.parseBoolean(
+              properties.getProperty(
+                  "enable_hash_aggregation_spill",
+                  Boolean.toString(conf.isEnableHashAggregationSpill()))));
+      loadFixedSizeLimitForQuery(
+          properties, "hash_aggregation_buffer_size_in_bytes", conf::setHashAggregationBufferSize);
+
       // max sub-task num for information table scan
       int maxSubTaskNumForInformationTableScan =
           Integer.parseInt(
@@ -2303,6 +2504,10 @@ public class IoTDBDescriptor {
         conf.setMaxSubTaskNumForInformationTableScan(maxSubTaskNumForInformationTableScan);
       }
 
+      loadTableScanSplitProps(properties);
+      loadSeriesScanReadAheadProps(properties);
+      loadChunkReadCoalesceProps(properties);
+
     } catch (Exception e) {
       if (e instanceof InterruptedException) {
         Thread.currentThread().interrupt();
@@ -2450,6 +2655,10 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "load_write_throughput_bytes_per_second",
                 String.valueOf(conf.getLoadWriteThroughputBytesPerSecond()))));
+    conf.setLoadTsFileParallelism(
+        Integer.parseInt(
+            properties.getProperty(
+                "load_tsfile_parallelism", String.valueOf(conf.getLoadTsFileParallelism()))));
 
     conf.setLoadTabletConversionThresholdBytes(
         Long.parseLong(
@@ -2568,6 +2777,12 @@ public class IoTDBDescriptor {
                 ConfigurationFileUtils.getConfigurationDefaultValue(
                     "load_write_throughput_bytes_per_second"))));
 
+    conf.setLoadTsFileParallelism(
+        Integer.parseInt(
+            properties.getProperty(
+                "load_tsfile_parallelism",
+                ConfigurationFileUtils.getConfigurationDefaultValue("load_tsfile_parallelism"))));
+
     conf.setLoadActiveListeningEnable(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -2832,6 +3047,13 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "mpp_data_exchange_keep_alive_time_in_ms",
                 Integer.toString(conf.getMppDataExchangeKeepAliveTimeInMs()))));
+    conf.setMppDataExchangeCompressionType(
+        CompressionType.valueOf(
+            properties
+                .getProperty(
+                    "mpp_data_exchange_compression_type",
+                    conf.getMppDataExchangeCompressionType().name())
+                .trim()));
 
     conf.setPartitionCacheSize(
         Integer.parseInt(
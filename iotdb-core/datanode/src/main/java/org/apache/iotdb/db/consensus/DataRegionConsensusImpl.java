@@ -158,6 +158,7 @@ public class DataRegionConsensusImpl {
                           .setMaxMemoryRatioForQueue(CONF.getMaxMemoryRatioForQueue())
                           .setRegionMigrationSpeedLimitBytesPerSecond(
                               CONF.getRegionMigrationSpeedLimitBytesPerSecond())
+                          .setEnableMultiplexedLogDispatch(CONF.isEnableMultiplexedLogDispatch())
                           .build())
                   .build())
           .setIoTConsensusV2Config(
@@ -54,6 +54,7 @@ import org.apache.iotdb.rpc.TSStatusCode;
 
 import org.apache.thrift.TException;
 import org.apache.tsfile.external.commons.lang3.Validate;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
 import org.apache.tsfile.read.common.block.column.TsBlockSerde;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -116,10 +117,15 @@ public class MPPDataExchangeManager implements IMPPDataExchangeManager {
         }
         // index of the channel must be a SinkChannel
         SinkChannel sinkChannel = (SinkChannel) (sinkHandle.getChannel(req.getIndex()));
+        CompressionType compressionType =
+            req.isSetCompressionType()
+                ? CompressionType.deserialize(req.getCompressionType())
+                : CompressionType.UNCOMPRESSED;
         for (int i = req.getStartSequenceId(); i < req.getEndSequenceId(); i++) {
           try {
             ByteBuffer serializedTsBlock = sinkChannel.getSerializedTsBlock(i);
-            resp.addToTsBlocks(serializedTsBlock);
+            resp.addToTsBlocks(
+                TsBlockExchangeCodec.getInstance().encode(serializedTsBlock, compressionType));
           } catch (GetTsBlockFromClosedOrAbortedChannelException e) {
             // Return an empty block list to indicate that getting data block failed this time.
             // The SourceHandle will deal with this signal depending on its state.
@@ -28,7 +28,14 @@ import org.apache.iotdb.metrics.metricsets.IMetricSet;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
 
+import java.util.Arrays;
+
 public class MPPDataExchangeServiceMetrics implements IMetricSet {
+  private static final String RAW = "raw";
+  private static final String SENT = "sent";
+  private static final String ENCODE = "encode";
+  private static final String DECODE = "decode";
+
   private AbstractThriftServiceThread thriftServiceThread;
 
   public MPPDataExchangeServiceMetrics(AbstractThriftServiceThread thriftServiceThread) {
@@ -44,6 +51,37 @@ public class MPPDataExchangeServiceMetrics implements IMetricSet {
         AbstractThriftServiceThread::getActiveThreadCount,
         Tag.NAME.toString(),
         ThreadName.MPP_DATA_EXCHANGE_RPC_SERVICE.getName());
+
+    // bytes of the TsBlocks sent to other DataNodes before and after compression
+    TsBlockExchangeCodec codec = TsBlockExchangeCodec.getInstance();
+    metricService.createAutoGauge(
+        Metric.DATA_EXCHANGE_BYTES.toString(),
+        MetricLevel.IMPORTANT,
+        codec,
+        TsBlockExchangeCodec::getRawBytes,
+        Tag.TYPE.toString(),
+        RAW);
+    metricService.createAutoGauge(
+        Metric.DATA_EXCHANGE_BYTES.toString(),
+        MetricLevel.IMPORTANT,
+        codec,
+        TsBlockExchangeCodec::getEncodedBytes,
+        Tag.TYPE.toString(),
+        SENT);
+    metricService.createAutoGauge(
+        Metric.DATA_EXCHANGE_CODEC_TIME.toString(),
+        MetricLevel.IMPORTANT,
+        codec,
+        TsBlockExchangeCodec::getEncodeTimeInMs,
+        Tag.TYPE.toString(),
+        ENCODE);
+    metricService.createAutoGauge(
+        Metric.DATA_EXCHANGE_CODEC_TIME.toString(),
+        MetricLevel.IMPORTANT,
+        codec,
+        TsBlockExchangeCodec::getDecodeTimeInMs,
+        Tag.TYPE.toString(),
+        DECODE);
   }
 
   @Override
@@ -53,5 +91,21 @@ public class MPPDataExchangeServiceMetrics implements IMetricSet {
         Metric.THRIFT_ACTIVE_THREADS.toString(),
         Tag.NAME.toString(),
         ThreadName.MPP_DATA_EXCHANGE_RPC_SERVICE.getName());
+    Arrays.asList(RAW, SENT)
+        .forEach(
+            type ->
+                metricService.remove(
+                    MetricType.AUTO_GAUGE,
+                    Metric.DATA_EXCHANGE_BYTES.toString(),
+                    Tag.TYPE.toString(),
+                    type));
+    Arrays.asList(ENCODE, DECODE)
+        .forEach(
+            type ->
+                metricService.remove(
+                    MetricType.AUTO_GAUGE,
+                    Metric.DATA_EXCHANGE_CODEC_TIME.toString(),
+                    Tag.TYPE.toString(),
+                    type));
   }
 }
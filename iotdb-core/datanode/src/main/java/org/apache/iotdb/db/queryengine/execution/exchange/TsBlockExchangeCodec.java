@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.exchange;
+
+import org.apache.tsfile.compress.ICompressor;
+import org.apache.tsfile.compress.IUnCompressor;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compress the serialized TsBlocks sent to the fragment instances on other DataNodes.
+ *
+ * <p>The receiver requests the compression type in TGetDataBlockRequest, and the sender compresses
+ * the TsBlocks only if it saves bytes. A compressed TsBlock starts with a negative marker instead
+ * of the value column count written by TsBlockSerde, followed by the compression type and the
+ * uncompressed size, thus the receiver decodes both compressed and uncompressed ones, including
+ * those from DataNodes of older versions.
+ */
+public class TsBlockExchangeCodec {
+
+  private static final int COMPRESSED_MARKER = -1;
+
+  // marker, compression type and uncompressed size
+  private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+
+  private final AtomicLong rawBytes = new AtomicLong(0);
+  private final AtomicLong encodedBytes = new AtomicLong(0);
+  private final AtomicLong encodeTimeInNanos = new AtomicLong(0);
+  private final AtomicLong decodeTimeInNanos = new AtomicLong(0);
+
+  private TsBlockExchangeCodec() {
+    // singleton
+  }
+
+  /** Return the TsBlock to send, which is the given one if it can not be compressed smaller. */
+  public ByteBuffer encode(final ByteBuffer serializedTsBlock, final CompressionType type)
+      throws IOException {
+    final int rawSize = serializedTsBlock.remaining();
+    rawBytes.addAndGet(rawSize);
+    if (type == CompressionType.UNCOMPRESSED) {
+      encodedBytes.addAndGet(rawSize);
+      return serializedTsBlock;
+    }
+
+    final long startTime = System.nanoTime();
+    try {
+      final byte[] compressed;
+      if (serializedTsBlock.hasArray()) {
+        compressed =
+            ICompressor.getCompressor(type)
+                .compress(
+                    serializedTsBlock.array(),
+                    serializedTsBlock.arrayOffset() + serializedTsBlock.position(),
+                    rawSize);
+      } else {
+        final byte[] raw = new byte[rawSize];
+        serializedTsBlock.duplicate().get(raw);
+        compressed = ICompressor.getCompressor(type).compress(raw);
+      }
+      if (HEADER_SIZE + compressed.length >= rawSize) {
+        encodedBytes.addAndGet(rawSize);
+        return serializedTsBlock;
+      }
+
+      final ByteBuffer encoded = ByteBuffer.allocate(HEADER_SIZE + compressed.length);
+      encoded.putInt(COMPRESSED_MARKER);
+      encoded.put(type.serialize());
+      encoded.putInt(rawSize);
+      encoded.put(compressed);
+      encoded.flip();
+      encodedBytes.addAndGet(encoded.remaining());
+      return encoded;
+    } finally {
+      encodeTimeInNanos.addAndGet(System.nanoTime() - startTime);
+    }
+  }
+
+  /** Return the TsBlock serialized by TsBlockSerde, the given one is returned if uncompressed. */
+  public ByteBuffer decode(final ByteBuffer tsBlock) throws IOException {
+    if (tsBlock.remaining() < HEADER_SIZE
+        || tsBlock.getInt(tsBlock.position()) != COMPRESSED_MARKER) {
+      return tsBlock;
+    }
+
+    final long startTime = System.nanoTime();
+    try {
+      final ByteBuffer compressed = tsBlock.duplicate();
+      compressed.getInt();
+      final CompressionType type = CompressionType.deserialize(compressed.get());
+      final byte[] uncompressed = new byte[compressed.getInt()];
+      final byte[] compressedBytes = new byte[compressed.remaining()];
+      compressed.get(compressedBytes);
+      IUnCompressor.getUnCompressor(type)
+          .uncompress(compressedBytes, 0, compressedBytes.length, uncompressed, 0);
+      return ByteBuffer.wrap(uncompressed);
+    } finally {
+      decodeTimeInNanos.addAndGet(System.nanoTime() - startTime);
+    }
+  }
+
+  public long getRawBytes() {
+    return rawBytes.get();
+  }
+
+  public long getEncodedBytes() {
+    return encodedBytes.get();
+  }
+
+  public long getEncodeTimeInMs() {
+    return encodeTimeInNanos.get() / 1_000_000;
+  }
+
+  public long getDecodeTimeInMs() {
+    return decodeTimeInNanos.get() / 1_000_000;
+  }
+
+  private static final TsBlockExchangeCodec INSTANCE = new TsBlockExchangeCodec();
+
+  public static TsBlockExchangeCodec getInstance() {
+    return INSTANCE;
+  }
+}
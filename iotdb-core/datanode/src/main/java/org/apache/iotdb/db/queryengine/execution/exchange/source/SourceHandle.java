@@ -26,6 +26,7 @@ import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
 import org.apache.iotdb.db.queryengine.execution.exchange.MPPDataExchangeManager.SourceHandleListener;
+import org.apache.iotdb.db.queryengine.execution.exchange.TsBlockExchangeCodec;
 import org.apache.iotdb.db.queryengine.execution.memory.LocalMemoryManager;
 import org.apache.iotdb.db.queryengine.metric.DataExchangeCostMetricSet;
 import org.apache.iotdb.db.queryengine.metric.DataExchangeCountMetricSet;
@@ -39,6 +40,7 @@ import org.apache.iotdb.mpp.rpc.thrift.TGetDataBlockResponse;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import org.apache.tsfile.external.commons.lang3.Validate;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
 import org.apache.tsfile.read.common.block.TsBlock;
 import org.apache.tsfile.read.common.block.column.TsBlockSerde;
 import org.apache.tsfile.utils.Pair;
@@ -46,6 +48,7 @@ import org.apache.tsfile.utils.RamUsageEstimator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -83,6 +86,10 @@ public class SourceHandle implements ISourceHandle {
   private final TsBlockSerde serde;
   private final SourceHandleListener sourceHandleListener;
 
+  // requested when getting TsBlocks from the upstream, which are decompressed on consuming
+  private final CompressionType compressionType =
+      IoTDBDescriptor.getInstance().getConfig().getMppDataExchangeCompressionType();
+
   private final Map<Integer, Long> sequenceIdToDataBlockSize = new HashMap<>();
   private final Map<Integer, ByteBuffer> sequenceIdToTsBlock = new HashMap<>();
 
@@ -193,6 +200,12 @@ public class SourceHandle implements ISourceHandle {
       if (tsBlock == null) {
         return null;
       }
+      try {
+        tsBlock = TsBlockExchangeCodec.getInstance().decode(tsBlock);
+      } catch (IOException e) {
+        throw new IllegalStateException(
+            "Failed to decompress the TsBlock of sequence ID " + currSequenceId, e);
+      }
       long retainedSize = sequenceIdToDataBlockSize.remove(currSequenceId);
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug("[GetTsBlockFromBuffer] sequenceId:{}, size:{}", currSequenceId, retainedSize);
@@ -548,6 +561,9 @@ public class SourceHandle implements ISourceHandle {
                 startSequenceId,
                 endSequenceId,
                 indexOfUpstreamSinkHandle);
+        if (compressionType != CompressionType.UNCOMPRESSED) {
+          req.setCompressionType(compressionType.serialize());
+        }
         int attempt = 0;
         while (attempt < MAX_ATTEMPT_TIMES) {
           attempt += 1;
@@ -42,6 +42,7 @@ import org.apache.iotdb.db.queryengine.plan.planner.memory.MemoryReservationMana
 import org.apache.iotdb.db.queryengine.plan.planner.memory.ThreadSafeMemoryReservationManager;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.TimePredicate;
 import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.db.storageengine.buffer.ModificationCache;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
 import org.apache.iotdb.db.storageengine.dataregion.IDataRegionForQuery;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
@@ -374,6 +375,11 @@ public class FragmentInstanceContext extends QueryContext {
   @Override
   protected PatternTreeMap<ModEntry, PatternTreeMapFactory.ModsSerializer> getAllModifications(
       TsFileResource resource) {
+    if (ModificationCache.isCacheEnable()) {
+      // the modifications are counted in the memory of the cache instead of this fragment instance
+      return fileModCache.computeIfAbsent(
+          resource.getTsFileID(), k -> ModificationCache.getInstance().get(resource));
+    }
     if (isSingleSourcePath() || memoryReservationManager == null) {
       return loadAllModificationsFromDisk(resource);
     }
@@ -1097,6 +1103,11 @@ public class FragmentInstanceContext extends QueryContext {
             getQueryStatistics().getAlignedTimeSeriesMetadataModificationTime().get(),
             getQueryStatistics().getNonAlignedTimeSeriesMetadataModificationTime().get());
 
+    SeriesScanCostMetricSet.getInstance()
+        .recordAggregationPages(
+            getQueryStatistics().getAggregationPagesFromStatisticsCount().get(),
+            getQueryStatistics().getAggregationPagesDecodedCount().get());
+
     SeriesScanCostMetricSet.getInstance()
         .updatePageReaderMemoryUsage(getQueryStatistics().getPageReaderMaxUsedMemorySize().get());
   }
@@ -22,6 +22,7 @@ package org.apache.iotdb.db.queryengine.execution.fragment;
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.AlignedPath;
 import org.apache.iotdb.commons.path.PatternTreeMap;
+import org.apache.iotdb.db.storageengine.buffer.ModificationCache;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
 import org.apache.iotdb.db.storageengine.dataregion.modification.TableDeletionEntry;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
@@ -120,7 +121,17 @@ public class QueryContext {
 
   protected PatternTreeMap<ModEntry, ModsSerializer> getAllModifications(TsFileResource resource) {
     return fileModCache.computeIfAbsent(
-        resource.getTsFileID(), k -> loadAllModificationsFromDisk(resource));
+        resource.getTsFileID(), k -> loadAllModifications(resource));
+  }
+
+  /**
+   * Load all the modifications of the TsFile, which are shared with the other queries if the
+   * modification cache is enabled, and include the modifications of the tables not in the query.
+   */
+  public PatternTreeMap<ModEntry, ModsSerializer> loadAllModifications(TsFileResource resource) {
+    return ModificationCache.isCacheEnable()
+        ? ModificationCache.getInstance().get(resource)
+        : loadAllModificationsFromDisk(resource);
   }
 
   public PatternTreeMap<ModEntry, ModsSerializer> loadAllModificationsFromDisk(
@@ -73,6 +73,9 @@ public class QueryStatistics {
   private final AtomicLong loadChunkFromCacheCount = new AtomicLong(0);
   private final AtomicLong loadChunkFromDiskCount = new AtomicLong(0);
   private final AtomicLong loadChunkActualIOSize = new AtomicLong(0);
+  // the chunks loaded into the cache by coalesced reads, which are also counted as loaded from
+  // cache when they are got later
+  private final AtomicLong loadChunkCoalescedCount = new AtomicLong(0);
 
   // statistics for count and time of page decode
   private final AtomicLong pageReadersDecodeAlignedDiskCount = new AtomicLong(0);
@@ -92,6 +95,10 @@ public class QueryStatistics {
   // statistics for count and time of page decode
   private final AtomicLong pageReaderMaxUsedMemorySize = new AtomicLong(0);
 
+  // statistics for count of pages calculated by aggregation scans
+  private final AtomicLong aggregationPagesFromStatisticsCount = new AtomicLong(0);
+  private final AtomicLong aggregationPagesDecodedCount = new AtomicLong(0);
+
   // statistics for count of chunk with metadata errors
   private final AtomicLong chunkWithMetadataErrorsCount = new AtomicLong(0);
 
@@ -249,6 +256,18 @@ public class QueryStatistics {
     return pageReaderMaxUsedMemorySize;
   }
 
+  public AtomicLong getLoadChunkCoalescedCount() {
+    return loadChunkCoalescedCount;
+  }
+
+  public AtomicLong getAggregationPagesFromStatisticsCount() {
+    return aggregationPagesFromStatisticsCount;
+  }
+
+  public AtomicLong getAggregationPagesDecodedCount() {
+    return aggregationPagesDecodedCount;
+  }
+
   public AtomicLong getLoadBloomFilterActualIOSize() {
     return loadBloomFilterActualIOSize;
   }
@@ -335,58 +354,61 @@ public class QueryStatistics {
   }
 
   public TQueryStatistics toThrift() {
-    return new TQueryStatistics(
-        loadTimeSeriesMetadataDiskSeqCount.get(),
-        loadTimeSeriesMetadataDiskUnSeqCount.get(),
-        loadTimeSeriesMetadataMemSeqCount.get(),
-        loadTimeSeriesMetadataMemUnSeqCount.get(),
-        loadTimeSeriesMetadataAlignedDiskSeqCount.get(),
-        loadTimeSeriesMetadataAlignedDiskUnSeqCount.get(),
-        loadTimeSeriesMetadataAlignedMemSeqCount.get(),
-        loadTimeSeriesMetadataAlignedMemUnSeqCount.get(),
-        loadTimeSeriesMetadataDiskSeqTime.get(),
-        loadTimeSeriesMetadataDiskUnSeqTime.get(),
-        loadTimeSeriesMetadataMemSeqTime.get(),
-        loadTimeSeriesMetadataMemUnSeqTime.get(),
-        loadTimeSeriesMetadataAlignedDiskSeqTime.get(),
-        loadTimeSeriesMetadataAlignedDiskUnSeqTime.get(),
-        loadTimeSeriesMetadataAlignedMemSeqTime.get(),
-        loadTimeSeriesMetadataAlignedMemUnSeqTime.get(),
-        constructNonAlignedChunkReadersDiskCount.get(),
-        constructNonAlignedChunkReadersMemCount.get(),
-        constructAlignedChunkReadersDiskCount.get(),
-        constructAlignedChunkReadersMemCount.get(),
-        constructNonAlignedChunkReadersDiskTime.get(),
-        constructNonAlignedChunkReadersMemTime.get(),
-        constructAlignedChunkReadersDiskTime.get(),
-        constructAlignedChunkReadersMemTime.get(),
-        pageReadersDecodeAlignedDiskCount.get(),
-        pageReadersDecodeAlignedDiskTime.get(),
-        pageReadersDecodeAlignedMemCount.get(),
-        pageReadersDecodeAlignedMemTime.get(),
-        pageReadersDecodeNonAlignedDiskCount.get(),
-        pageReadersDecodeNonAlignedDiskTime.get(),
-        pageReadersDecodeNonAlignedMemCount.get(),
-        pageReadersDecodeNonAlignedMemTime.get(),
-        pageReaderMaxUsedMemorySize.get(),
-        alignedTimeSeriesMetadataModificationCount.get(),
-        alignedTimeSeriesMetadataModificationTime.get(),
-        nonAlignedTimeSeriesMetadataModificationCount.get(),
-        nonAlignedTimeSeriesMetadataModificationTime.get(),
-        loadBloomFilterFromCacheCount.get(),
-        loadBloomFilterFromDiskCount.get(),
-        loadBloomFilterActualIOSize.get(),
-        loadBloomFilterTime.get(),
-        loadTimeSeriesMetadataFromCacheCount.get(),
-        loadTimeSeriesMetadataFromDiskCount.get(),
-        loadTimeSeriesMetadataActualIOSize.get(),
-        loadChunkFromCacheCount.get(),
-        loadChunkFromDiskCount.get(),
-        loadChunkActualIOSize.get(),
-        chunkWithMetadataErrorsCount.get(),
-        timeSeriesIndexFilteredRows.get(),
-        chunkIndexFilteredRows.get(),
-        pageIndexFilteredRows.get(),
-        rowScanFilteredRows.get());
+    TQueryStatistics queryStatistics =
+        new TQueryStatistics(
+            loadTimeSeriesMetadataDiskSeqCount.get(),
+            loadTimeSeriesMetadataDiskUnSeqCount.get(),
+            loadTimeSeriesMetadataMemSeqCount.get(),
+            loadTimeSeriesMetadataMemUnSeqCount.get(),
+            loadTimeSeriesMetadataAlignedDiskSeqCount.get(),
+            loadTimeSeriesMetadataAlignedDiskUnSeqCount.get(),
+            loadTimeSeriesMetadataAlignedMemSeqCount.get(),
+            loadTimeSeriesMetadataAlignedMemUnSeqCount.get(),
+            loadTimeSeriesMetadataDiskSeqTime.get(),
+            loadTimeSeriesMetadataDiskUnSeqTime.get(),
+            loadTimeSeriesMetadataMemSeqTime.get(),
+            loadTimeSeriesMetadataMemUnSeqTime.get(),
+            loadTimeSeriesMetadataAlignedDiskSeqTime.get(),
+            loadTimeSeriesMetadataAlignedDiskUnSeqTime.get(),
+            loadTimeSeriesMetadataAlignedMemSeqTime.get(),
+            loadTimeSeriesMetadataAlignedMemUnSeqTime.get(),
+            constructNonAlignedChunkReadersDiskCount.get(),
+            constructNonAlignedChunkReadersMemCount.get(),
+            constructAlignedChunkReadersDiskCount.get(),
+            constructAlignedChunkReadersMemCount.get(),
+            constructNonAlignedChunkReadersDiskTime.get(),
+            constructNonAlignedChunkReadersMemTime.get(),
+            constructAlignedChunkReadersDiskTime.get(),
+            constructAlignedChunkReadersMemTime.get(),
+            pageReadersDecodeAlignedDiskCount.get(),
+            pageReadersDecodeAlignedDiskTime.get(),
+            pageReadersDecodeAlignedMemCount.get(),
+            pageReadersDecodeAlignedMemTime.get(),
+            pageReadersDecodeNonAlignedDiskCount.get(),
+            pageReadersDecodeNonAlignedDiskTime.get(),
+            pageReadersDecodeNonAlignedMemCount.get(),
+            pageReadersDecodeNonAlignedMemTime.get(),
+            pageReaderMaxUsedMemorySize.get(),
+            alignedTimeSeriesMetadataModificationCount.get(),
+            alignedTimeSeriesMetadataModificationTime.get(),
+            nonAlignedTimeSeriesMetadataModificationCount.get(),
+            nonAlignedTimeSeriesMetadataModificationTime.get(),
+            loadBloomFilterFromCacheCount.get(),
+            loadBloomFilterFromDiskCount.get(),
+            loadBloomFilterActualIOSize.get(),
+            loadBloomFilterTime.get(),
+            loadTimeSeriesMetadataFromCacheCount.get(),
+            loadTimeSeriesMetadataFromDiskCount.get(),
+            loadTimeSeriesMetadataActualIOSize.get(),
+            loadChunkFromCacheCount.get(),
+            loadChunkFromDiskCount.get(),
+            loadChunkActualIOSize.get(),
+            chunkWithMetadataErrorsCount.get(),
+            timeSeriesIndexFilteredRows.get(),
+            chunkIndexFilteredRows.get(),
+            pageIndexFilteredRows.get(),
+            rowScanFilteredRows.get());
+    queryStatistics.setLoadChunkCoalescedCount(loadChunkCoalescedCount.get());
+    return queryStatistics;
   }
 }
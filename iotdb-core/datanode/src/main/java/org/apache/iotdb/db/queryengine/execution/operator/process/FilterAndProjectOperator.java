@@ -25,6 +25,7 @@ import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.AbstractCaseWhenThenColumnTransformer;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.ColumnTransformer;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.FailFunctionColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.SelectionVectorFilter;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.BinaryColumnTransformer;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.IdentityColumnTransformer;
 import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.LeafColumnTransformer;
@@ -75,6 +76,12 @@ public class FilterAndProjectOperator implements ProcessOperator {
   // false when we only need to do projection
   private final boolean hasFilter;
 
+  // not null if the filter can be evaluated on the input columns directly, see
+  // SelectionVectorFilter
+  private final SelectionVectorFilter selectionVectorFilter;
+
+  private int[] selectedPositions = new int[0];
+
   private long filteredRowCount = 0;
 
   @SuppressWarnings("squid:S107")
@@ -99,6 +106,7 @@ public class FilterAndProjectOperator implements ProcessOperator {
     this.hasNonMappableUDF = hasNonMappableUDF;
     this.filterTsBlockBuilder = new TsBlockBuilder(8, filterOutputDataTypes);
     this.hasFilter = hasFilter;
+    this.selectionVectorFilter = createSelectionVectorFilter();
   }
 
   public FilterAndProjectOperator(
@@ -113,9 +121,19 @@ public class FilterAndProjectOperator implements ProcessOperator {
     this.hasNonMappableUDF = filterAndProjectOperator.hasNonMappableUDF;
     this.hasFilter = filterAndProjectOperator.hasFilter;
     this.filterTsBlockBuilder = filterAndProjectOperator.filterTsBlockBuilder;
+    this.selectionVectorFilter = filterAndProjectOperator.selectionVectorFilter;
     this.inputOperator = inputOperator;
   }
 
+  private SelectionVectorFilter createSelectionVectorFilter() {
+    // common sub expressions are cached in the filter tree and consumed after filtering, so the
+    // tree must be evaluated
+    if (!hasFilter || !commonTransformerList.isEmpty()) {
+      return null;
+    }
+    return SelectionVectorFilter.tryCreate(filterOutputTransformer);
+  }
+
   @Override
   public OperatorContext getOperatorContext() {
     return operatorContext;
@@ -149,6 +167,10 @@ public class FilterAndProjectOperator implements ProcessOperator {
    * subexpressions after filtering.
    */
   private TsBlock getFilterTsBlock(TsBlock input) {
+    if (selectionVectorFilter != null) {
+      return getSelectedTsBlock(input);
+    }
+
     final Column originTimeColumn = input.getTimeColumn();
     final int positionCount = originTimeColumn.getPositionCount();
     // feed Filter ColumnTransformer, including TimeStampColumnTransformer and constant
@@ -202,6 +224,31 @@ public class FilterAndProjectOperator implements ProcessOperator {
     }
   }
 
+  /**
+   * Return the rows of input selected by selectionVectorFilter without evaluating the filter tree.
+   */
+  private TsBlock getSelectedTsBlock(TsBlock input) {
+    final int positionCount = input.getPositionCount();
+    if (selectedPositions.length < positionCount) {
+      selectedPositions = new int[positionCount];
+    }
+    final int rowCount = selectionVectorFilter.filter(input, selectedPositions);
+    if (rowCount == positionCount) {
+      return input;
+    }
+
+    final Column[] valueColumns = new Column[input.getValueColumnCount()];
+    for (int i = 0; i < valueColumns.length; i++) {
+      valueColumns[i] = input.getColumn(i).copyPositions(selectedPositions, 0, rowCount);
+    }
+    final Column originTimeColumn = input.getTimeColumn();
+    final Column timeColumn =
+        originTimeColumn instanceof RunLengthEncodedColumn
+            ? originTimeColumn.getRegion(0, rowCount)
+            : originTimeColumn.copyPositions(selectedPositions, 0, rowCount);
+    return TsBlock.wrapBlocksWithoutCopy(rowCount, timeColumn, valueColumns);
+  }
+
   private static int constructFilteredTsBlock(
       List<Column> resultColumns,
       TimeColumnBuilder timeBuilder,
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.IoTThreadFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read the TsFiles ahead for series scans, i.e. load the metadata and the first chunk of a series
+ * into TimeSeriesMetadataCache and ChunkCache before the scan reaches the TsFile, so that the
+ * driver thread does not block on the disk reads.
+ *
+ * <p>The read-ahead is best effort: the task is dropped if the queue is full, and it does nothing
+ * if the query has finished, since the TsFiles may have been released by then.
+ */
+public class SeriesScanReadAheadExecutor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SeriesScanReadAheadExecutor.class);
+
+  private static final int MAX_PENDING_TASK_NUM_PER_THREAD = 256;
+
+  private final ExecutorService executor;
+
+  private final AtomicLong submittedTaskCount = new AtomicLong(0);
+  private final AtomicLong droppedTaskCount = new AtomicLong(0);
+  // the tasks which are queued or running
+  private final AtomicInteger pendingTaskCount = new AtomicInteger(0);
+
+  private SeriesScanReadAheadExecutor() {
+    int threadCount = IoTDBDescriptor.getInstance().getConfig().getSeriesScanReadAheadThreadCount();
+    this.executor =
+        IoTDBThreadPoolFactory.newThreadPool(
+            threadCount,
+            threadCount,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threadCount * MAX_PENDING_TASK_NUM_PER_THREAD),
+            new IoTThreadFactory(ThreadName.SERIES_SCAN_READ_AHEAD.getName()),
+            ThreadName.SERIES_SCAN_READ_AHEAD.getName());
+  }
+
+  /**
+   * Submit a read-ahead task of the fragment instance, the task is dropped if the queue is full.
+   */
+  public void submit(FragmentInstanceContext context, ReadAheadTask task) {
+    pendingTaskCount.incrementAndGet();
+    try {
+      executor.execute(() -> run(context, task));
+      submittedTaskCount.incrementAndGet();
+    } catch (RejectedExecutionException e) {
+      pendingTaskCount.decrementAndGet();
+      droppedTaskCount.incrementAndGet();
+    }
+  }
+
+  private void run(FragmentInstanceContext context, ReadAheadTask task) {
+    try {
+      if (context.getStateMachine().getState().isDone()) {
+        return;
+      }
+      task.run();
+    } catch (Exception e) {
+      // the scan will read the TsFile by itself, and throw the error if it happens again
+      LOGGER.debug("Failed to read ahead for {}", context.getId(), e);
+    } finally {
+      pendingTaskCount.decrementAndGet();
+    }
+  }
+
+  public long getSubmittedTaskCount() {
+    return submittedTaskCount.get();
+  }
+
+  public long getDroppedTaskCount() {
+    return droppedTaskCount.get();
+  }
+
+  public int getPendingTaskCount() {
+    return pendingTaskCount.get();
+  }
+
+  @FunctionalInterface
+  public interface ReadAheadTask {
+    void run() throws Exception;
+  }
+
+  private static class SeriesScanReadAheadExecutorHolder {
+
+    private static final SeriesScanReadAheadExecutor INSTANCE = new SeriesScanReadAheadExecutor();
+
+    private SeriesScanReadAheadExecutorHolder() {}
+  }
+
+  public static SeriesScanReadAheadExecutor getInstance() {
+    return SeriesScanReadAheadExecutorHolder.INSTANCE;
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.queryengine.execution.operator.source;
 
 import org.apache.iotdb.commons.path.IFullPath;
 import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
@@ -114,6 +115,8 @@ public class SeriesScanUtil implements Accountable {
   // file index
   private int curSeqFileIndex;
   private int curUnseqFileIndex;
+  // the last seq file index whose read-ahead has been submitted
+  private int readAheadSeqFileIndex;
 
   // TimeSeriesMetadata cache
   private ITimeSeriesMetadata firstTimeSeriesMetadata;
@@ -232,6 +235,7 @@ public class SeriesScanUtil implements Accountable {
     // init file index
     orderUtils.setCurSeqFileIndex(dataSource);
     curUnseqFileIndex = 0;
+    readAheadSeqFileIndex = curSeqFileIndex;
 
     if (dataSource.isEmpty()) {
       // no satisfied resources
@@ -1924,6 +1928,7 @@ public class SeriesScanUtil implements Accountable {
   }
 
   private Optional<ITimeSeriesMetadata> unpackSeqTsFileResource() throws IOException {
+    readAheadSeqTsFileResources();
     ITimeSeriesMetadata timeseriesMetadata =
         loadTimeSeriesMetadata(orderUtils.getNextSeqFileResource(true), true);
     // skip if data type is mismatched which may be caused by delete
@@ -1936,6 +1941,56 @@ public class SeriesScanUtil implements Accountable {
     }
   }
 
+  /**
+   * Submit the read-ahead of the next seq files following the one to unpack, the metadata and the
+   * first chunk of the series in these files are loaded into caches in background.
+   */
+  private void readAheadSeqTsFileResources() {
+    int readAheadFileNum =
+        IoTDBDescriptor.getInstance().getConfig().getSeriesScanReadAheadFileNum();
+    if (readAheadFileNum <= 0) {
+      return;
+    }
+    int step = orderUtils.getAscending() ? 1 : -1;
+    int lastIndex = curSeqFileIndex + step * readAheadFileNum;
+    int seqResourcesSize = dataSource.getSeqResourcesSize();
+    int startIndex =
+        orderUtils.getAscending()
+            ? Math.max(curSeqFileIndex, readAheadSeqFileIndex) + 1
+            : Math.min(curSeqFileIndex, readAheadSeqFileIndex) - 1;
+    for (int index = startIndex;
+        (index - lastIndex) * step <= 0 && index >= 0 && index < seqResourcesSize;
+        index += step) {
+      TsFileResource resource = dataSource.getSeqResourceByIndex(index);
+      readAheadSeqFileIndex = index;
+      // the unclosed files are read from memory
+      if (resource != null
+          && resource.isClosed()
+          && resource.isSatisfied(deviceID, scanOptions.getGlobalTimeFilter(), true, false)) {
+        SeriesScanReadAheadExecutor.getInstance().submit(context, () -> readAhead(resource));
+      }
+    }
+  }
+
+  private void readAhead(TsFileResource resource) throws IOException {
+    ITimeSeriesMetadata timeseriesMetadata = loadTimeSeriesMetadata(resource, true);
+    // the query may be finished when the metadata is loaded, then the TsFile may be released
+    if (timeseriesMetadata == null
+        || !timeseriesMetadata.typeMatch(getTsDataTypeList())
+        || context.getStateMachine().getState().isDone()) {
+      return;
+    }
+    List<IChunkMetadata> chunkMetadataList = timeseriesMetadata.loadChunkMetadataList();
+    if (!chunkMetadataList.isEmpty()) {
+      IChunkMetadata firstChunkMetadata =
+          orderUtils.getAscending()
+              ? chunkMetadataList.get(0)
+              : chunkMetadataList.get(chunkMetadataList.size() - 1);
+      FileLoaderUtils.loadPageReaderList(
+          firstChunkMetadata, scanOptions.getGlobalTimeFilter(), getTsDataTypeList());
+    }
+  }
+
   private Optional<ITimeSeriesMetadata> unpackUnseqTsFileResource() throws IOException {
     ITimeSeriesMetadata timeseriesMetadata =
         loadTimeSeriesMetadata(orderUtils.getNextUnseqFileResource(true), false);
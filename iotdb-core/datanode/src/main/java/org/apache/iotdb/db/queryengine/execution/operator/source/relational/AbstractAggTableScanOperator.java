@@ -22,6 +22,7 @@ package org.apache.iotdb.db.queryengine.execution.operator.source.relational;
 import org.apache.iotdb.commons.path.AlignedFullPath;
 import org.apache.iotdb.commons.schema.table.column.TsTableColumnCategory;
 import org.apache.iotdb.db.queryengine.execution.aggregation.timerangeiterator.ITableTimeRangeIterator;
+import org.apache.iotdb.db.queryengine.execution.fragment.QueryStatistics;
 import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
 import org.apache.iotdb.db.queryengine.execution.operator.source.AbstractDataSourceOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.source.AlignedSeriesScanUtil;
@@ -111,10 +112,14 @@ public abstract class AbstractAggTableScanOperator extends AbstractDataSourceOpe
 
   protected boolean allAggregatorsHasFinalResult = false;
 
+  // count the pages calculated from statistics or raw data
+  private final QueryStatistics queryStatistics;
+
   protected AbstractAggTableScanOperator(AbstractAggTableScanOperatorParameter parameter) {
 
     this.sourceId = parameter.sourceId;
     this.operatorContext = parameter.context;
+    this.queryStatistics = parameter.context.getInstanceContext().getQueryStatistics();
     this.canUseStatistics = parameter.canUseStatistics;
     this.tableAggregators = parameter.tableAggregators;
     this.groupingKeySchemas = parameter.groupingKeySchemas;
@@ -603,6 +608,7 @@ public abstract class AbstractAggTableScanOperator extends AbstractDataSourceOpe
             }
             calcFromStatistics(pageTimeStatistics, statisticsList);
             seriesScanUtil.skipCurrentPage();
+            queryStatistics.getAggregationPagesFromStatisticsCount().incrementAndGet();
             if (isAllAggregatorsHasFinalResult(tableAggregators)) {
               return true;
             } else {
@@ -616,6 +622,7 @@ public abstract class AbstractAggTableScanOperator extends AbstractDataSourceOpe
         if (originalTsBlock == null) {
           continue;
         }
+        queryStatistics.getAggregationPagesDecodedCount().incrementAndGet();
 
         // calc from raw data
         if (calcUsingRawData(originalTsBlock)) {
@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source.relational;
+
+import org.apache.iotdb.db.queryengine.execution.MemoryEstimationHelper;
+import org.apache.iotdb.db.queryengine.execution.operator.AbstractOperator;
+import org.apache.iotdb.db.queryengine.execution.operator.Operator;
+import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.hash.JoinHash;
+import org.apache.iotdb.db.queryengine.plan.planner.memory.MemoryReservationManager;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.RunLengthEncodedColumn;
+import org.apache.tsfile.read.common.type.Type;
+import org.apache.tsfile.utils.RamUsageEstimator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.iotdb.db.queryengine.execution.operator.source.relational.TableScanOperator.TIME_COLUMN_TEMPLATE;
+import static org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.hash.JoinHash.NO_ROW;
+import static org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanGraphPrinter.MAX_RESERVED_MEMORY;
+
+/**
+ * Equi-join by building a hash table on all data of the right child, then probing it with the left
+ * child row by row. Neither child needs to be sorted, and the order of the left child is kept in
+ * the output. Only INNER and LEFT join are supported, the right child is expected to be the smaller
+ * one.
+ */
+public class HashJoinOperator extends AbstractOperator {
+  private static final long INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(HashJoinOperator.class);
+
+  // the probe row has not been looked up in the hash table
+  private static final int NOT_PROBED = -2;
+
+  private final Operator leftChild;
+  private final int[] leftJoinKeyPositions;
+  private final int[] leftOutputSymbolIdx;
+
+  private final Operator rightChild;
+  private final int[] rightJoinKeyPositions;
+  private final int[] rightOutputSymbolIdx;
+
+  private final boolean outerJoin;
+
+  private final JoinHash joinHash;
+  private final List<TsBlock> buildBlocks = new ArrayList<>();
+  private boolean buildFinished;
+
+  private TsBlock probeBlock;
+  private Column[] probeJoinKeyColumns;
+  private int probeIndex;
+  // next matched row in joinHash of current probe row
+  private int nextMatchedRow = NOT_PROBED;
+
+  private final TsBlockBuilder resultBuilder;
+
+  private final MemoryReservationManager memoryReservationManager;
+  private long usedMemory;
+  private long maxUsedMemory;
+  private long joinHashSize;
+
+  public HashJoinOperator(
+      OperatorContext operatorContext,
+      Operator leftChild,
+      int[] leftJoinKeyPositions,
+      int[] leftOutputSymbolIdx,
+      Operator rightChild,
+      int[] rightJoinKeyPositions,
+      int[] rightOutputSymbolIdx,
+      List<Type> joinKeyTypes,
+      boolean outerJoin,
+      List<TSDataType> dataTypes) {
+    this.operatorContext = operatorContext;
+    this.leftChild = leftChild;
+    this.leftJoinKeyPositions = leftJoinKeyPositions;
+    this.leftOutputSymbolIdx = leftOutputSymbolIdx;
+    this.rightChild = rightChild;
+    this.rightJoinKeyPositions = rightJoinKeyPositions;
+    this.rightOutputSymbolIdx = rightOutputSymbolIdx;
+    this.outerJoin = outerJoin;
+    this.joinHash = new JoinHash(joinKeyTypes);
+
+    this.memoryReservationManager =
+        operatorContext
+            .getDriverContext()
+            .getFragmentInstanceContext()
+            .getMemoryReservationContext();
+
+    this.resultBuilder = new TsBlockBuilder(dataTypes);
+  }
+
+  @Override
+  public ListenableFuture<?> isBlocked() {
+    if (!buildFinished) {
+      return rightChild.isBlocked();
+    }
+    return probeBlockNotEmpty() ? NOT_BLOCKED : leftChild.isBlocked();
+  }
+
+  @Override
+  public boolean hasNext() throws Exception {
+    if (retainedTsBlock != null) {
+      return true;
+    }
+    if (!buildFinished) {
+      return true;
+    }
+    if (!outerJoin && joinHash.isEmpty()) {
+      // nothing can be matched for inner join
+      return false;
+    }
+    return probeBlockNotEmpty() || leftChild.hasNextWithTimer();
+  }
+
+  @Override
+  public boolean isFinished() throws Exception {
+    return !hasNext();
+  }
+
+  @Override
+  public TsBlock next() throws Exception {
+    if (retainedTsBlock != null) {
+      return getResultFromRetainedTsBlock();
+    }
+
+    if (!buildFinished) {
+      buildHashTable();
+      return null;
+    }
+
+    if (!probeBlockNotEmpty()) {
+      if (!leftChild.hasNextWithTimer()) {
+        return null;
+      }
+      TsBlock block = leftChild.nextWithTimer();
+      if (block == null || block.isEmpty()) {
+        return null;
+      }
+      probeBlock = block;
+      probeJoinKeyColumns = block.getColumns(leftJoinKeyPositions);
+      probeIndex = 0;
+      nextMatchedRow = NOT_PROBED;
+    }
+
+    long maxRuntime = operatorContext.getMaxRunTime().roundTo(TimeUnit.NANOSECONDS);
+    long start = System.nanoTime();
+    while (!resultBuilder.isFull()
+        && probeBlockNotEmpty()
+        && System.nanoTime() - start <= maxRuntime) {
+      probeCurrentRow();
+    }
+
+    if (resultBuilder.isEmpty()) {
+      return null;
+    }
+
+    resultTsBlock =
+        resultBuilder.build(
+            new RunLengthEncodedColumn(TIME_COLUMN_TEMPLATE, resultBuilder.getPositionCount()));
+    resultBuilder.reset();
+    return checkTsBlockSizeAndGetResult();
+  }
+
+  /** consume one TsBlock of right child and add it into the hash table */
+  private void buildHashTable() throws Exception {
+    if (!rightChild.hasNextWithTimer()) {
+      buildFinished = true;
+      return;
+    }
+    TsBlock block = rightChild.nextWithTimer();
+    if (block == null || block.isEmpty()) {
+      return;
+    }
+    reserveMemory(block.getRetainedSizeInBytes());
+    joinHash.addRows(block.getColumns(rightJoinKeyPositions), buildBlocks.size());
+    buildBlocks.add(block);
+
+    long newJoinHashSize = joinHash.getEstimatedSize();
+    reserveMemory(newJoinHashSize - joinHashSize);
+    joinHashSize = newJoinHashSize;
+  }
+
+  private void probeCurrentRow() {
+    if (nextMatchedRow == NOT_PROBED) {
+      nextMatchedRow = joinHash.getFirstMatchedRow(probeJoinKeyColumns, probeIndex);
+      if (nextMatchedRow == NO_ROW) {
+        if (outerJoin) {
+          appendProbeRowWithNullBuildRow();
+        }
+        moveToNextProbeRow();
+        return;
+      }
+    }
+
+    appendProbeRow();
+    TsBlock buildBlock = buildBlocks.get(joinHash.getBlockIndex(nextMatchedRow));
+    int buildPosition = joinHash.getPosition(nextMatchedRow);
+    for (int i = 0; i < rightOutputSymbolIdx.length; i++) {
+      ColumnBuilder columnBuilder = resultBuilder.getColumnBuilder(leftOutputSymbolIdx.length + i);
+      Column column = buildBlock.getColumn(rightOutputSymbolIdx[i]);
+      if (column.isNull(buildPosition)) {
+        columnBuilder.appendNull();
+      } else {
+        columnBuilder.write(column, buildPosition);
+      }
+    }
+    resultBuilder.declarePosition();
+
+    nextMatchedRow = joinHash.getNextMatchedRow(nextMatchedRow);
+    if (nextMatchedRow == NO_ROW) {
+      moveToNextProbeRow();
+    }
+  }
+
+  private void appendProbeRowWithNullBuildRow() {
+    appendProbeRow();
+    for (int i = 0; i < rightOutputSymbolIdx.length; i++) {
+      resultBuilder.getColumnBuilder(leftOutputSymbolIdx.length + i).appendNull();
+    }
+    resultBuilder.declarePosition();
+  }
+
+  private void appendProbeRow() {
+    for (int i = 0; i < leftOutputSymbolIdx.length; i++) {
+      ColumnBuilder columnBuilder = resultBuilder.getColumnBuilder(i);
+      Column column = probeBlock.getColumn(leftOutputSymbolIdx[i]);
+      if (column.isNull(probeIndex)) {
+        columnBuilder.appendNull();
+      } else {
+        columnBuilder.write(column, probeIndex);
+      }
+    }
+  }
+
+  private void moveToNextProbeRow() {
+    nextMatchedRow = NOT_PROBED;
+    probeIndex++;
+    if (probeIndex >= probeBlock.getPositionCount()) {
+      probeBlock = null;
+      probeJoinKeyColumns = null;
+      probeIndex = 0;
+    }
+  }
+
+  private boolean probeBlockNotEmpty() {
+    return probeBlock != null && probeIndex < probeBlock.getPositionCount();
+  }
+
+  private void reserveMemory(long size) {
+    usedMemory += size;
+    memoryReservationManager.reserveMemoryCumulatively(size);
+    if (usedMemory > maxUsedMemory) {
+      maxUsedMemory = usedMemory;
+      operatorContext.recordSpecifiedInfo(MAX_RESERVED_MEMORY, Long.toString(maxUsedMemory));
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (leftChild != null) {
+      leftChild.close();
+    }
+    if (rightChild != null) {
+      rightChild.close();
+    }
+    if (usedMemory > 0) {
+      memoryReservationManager.releaseMemoryCumulatively(usedMemory);
+      usedMemory = 0;
+    }
+    buildBlocks.clear();
+  }
+
+  @Override
+  public long calculateMaxPeekMemory() {
+    return Math.max(
+        Math.max(
+            leftChild.calculateMaxPeekMemoryWithCounter(),
+            rightChild.calculateMaxPeekMemoryWithCounter()),
+        calculateRetainedSizeAfterCallingNext() + calculateMaxReturnSize());
+  }
+
+  @Override
+  public long calculateMaxReturnSize() {
+    return maxReturnSize;
+  }
+
+  @Override
+  public long calculateRetainedSizeAfterCallingNext() {
+    return leftChild.calculateMaxReturnSize()
+        + leftChild.calculateRetainedSizeAfterCallingNext()
+        + rightChild.calculateMaxReturnSize()
+        + rightChild.calculateRetainedSizeAfterCallingNext()
+        + maxReturnSize;
+  }
+
+  @Override
+  public long ramBytesUsed() {
+    return INSTANCE_SIZE
+        + MemoryEstimationHelper.getEstimatedSizeOfAccountableObject(leftChild)
+        + MemoryEstimationHelper.getEstimatedSizeOfAccountableObject(rightChild)
+        + RamUsageEstimator.sizeOf(leftJoinKeyPositions)
+        + RamUsageEstimator.sizeOf(leftOutputSymbolIdx)
+        + RamUsageEstimator.sizeOf(rightJoinKeyPositions)
+        + RamUsageEstimator.sizeOf(rightOutputSymbolIdx)
+        + MemoryEstimationHelper.getEstimatedSizeOfAccountableObject(operatorContext)
+        + resultBuilder.getRetainedSizeInBytes();
+  }
+}
@@ -40,6 +40,8 @@ public class GroupedAggregator {
   private final GroupedAccumulator accumulator;
   private final AggregationNode.Step step;
   private final TSDataType outputType;
+  // type of the intermediate result, null if the intermediate result can't be spilled
+  private final TSDataType spillType;
   private final int[] inputChannels;
   private final OptionalInt maskChannel;
 
@@ -49,9 +51,20 @@ public class GroupedAggregator {
       TSDataType outputType,
       List<Integer> inputChannels,
       OptionalInt maskChannel) {
+    this(accumulator, step, outputType, null, inputChannels, maskChannel);
+  }
+
+  public GroupedAggregator(
+      GroupedAccumulator accumulator,
+      AggregationNode.Step step,
+      TSDataType outputType,
+      TSDataType spillType,
+      List<Integer> inputChannels,
+      OptionalInt maskChannel) {
     this.accumulator = requireNonNull(accumulator, "accumulator is null");
     this.step = requireNonNull(step, "step is null");
     this.outputType = requireNonNull(outputType, "intermediateType is null");
+    this.spillType = spillType;
     this.inputChannels = Ints.toArray(requireNonNull(inputChannels, "inputChannels is null"));
     this.maskChannel = requireNonNull(maskChannel, "maskChannel is null");
     checkArgument(
@@ -85,6 +98,21 @@ public class GroupedAggregator {
     }
   }
 
+  public TSDataType getSpillType() {
+    return spillType;
+  }
+
+  /** Merge the intermediate results which were spilled by {@link #evaluateSpill}. */
+  public void processSpilledColumn(int groupCount, int[] groupIds, Column intermediate) {
+    accumulator.setGroupCount(groupCount);
+    accumulator.addIntermediate(groupIds, intermediate);
+  }
+
+  /** Output the intermediate result of the group to be spilled, whatever the step is. */
+  public void evaluateSpill(int groupId, ColumnBuilder columnBuilder) {
+    accumulator.evaluateIntermediate(groupId, columnBuilder);
+  }
+
   public void evaluate(int groupId, ColumnBuilder columnBuilder) {
     if (step.isOutputPartial()) {
       accumulator.evaluateIntermediate(groupId, columnBuilder);
@@ -23,10 +23,12 @@ import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.TableScanOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.GroupedAggregator;
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.UpdateMemory;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.array.IntBigArray;
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.hash.GroupByHash;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.AggregationNode;
 import org.apache.iotdb.db.queryengine.plan.relational.type.InternalTypeManager;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
 import org.apache.tsfile.block.column.Column;
@@ -65,6 +67,8 @@ public class InMemoryHashAggregationBuilder implements HashAggregationBuilder {
 
   private final int expectedGroups;
   private final Optional<Integer> hashChannel;
+  // if present, the input is the spilled data and intermediate results start from this channel
+  private final Optional<Integer> unspillIntermediateChannelOffset;
 
   private final OperatorContext operatorContext;
 
@@ -120,6 +124,7 @@ public class InMemoryHashAggregationBuilder implements HashAggregationBuilder {
 
     this.expectedGroups = expectedGroups;
     this.hashChannel = hashChannel;
+    this.unspillIntermediateChannelOffset = unspillIntermediateChannelOffset;
 
     this.operatorContext = operatorContext;
   }
@@ -140,6 +145,15 @@ public class InMemoryHashAggregationBuilder implements HashAggregationBuilder {
       operatorContext.recordSpecifiedInfo(MAX_GROUP_NUMBER, Long.toString(groupCount));
       maxGroupNumber = groupCount;
     }
+    if (unspillIntermediateChannelOffset.isPresent()) {
+      int offset = unspillIntermediateChannelOffset.get();
+      for (int i = 0; i < groupedAggregators.size(); i++) {
+        groupedAggregators
+            .get(i)
+            .processSpilledColumn(groupCount, groupByIdBlock, block.getColumn(offset + i));
+      }
+      return;
+    }
     for (GroupedAggregator groupedAggregator : groupedAggregators) {
       groupedAggregator.processBlock(groupCount, groupByIdBlock, block);
     }
@@ -187,16 +201,10 @@ public class InMemoryHashAggregationBuilder implements HashAggregationBuilder {
 
   /**
    * building hash sorted results requires memory for sorting group IDs. This method returns size of
-   * that memory requirement.
+   * that memory requirement, i.e. a primitive int group ID and a long raw hash for each group.
    */
   public long getGroupIdsSortingSize() {
-    return getGroupCount() * Integer.BYTES;
-  }
-
-  public void setSpillOutput() {
-    for (GroupedAggregator groupedAggregator : groupedAggregators) {
-      // groupedAggregator.setSpillOutput();
-    }
+    return getGroupCount() * (Integer.BYTES + Long.BYTES);
   }
 
   public int getKeyChannels() {
@@ -221,11 +229,60 @@ public class InMemoryHashAggregationBuilder implements HashAggregationBuilder {
     return !groupIds.hasNext();
   }
 
-  public List<Type> buildSpillTypes() {
-    ArrayList<Type> types = new ArrayList<>(groupByOutputTypes);
-    for (GroupedAggregator groupedAggregator : groupedAggregators) {
-      // types.add(groupedAggregator.getSpillType());
+  /**
+   * Build the intermediate results of all groups sorted by the raw hash of group keys, the layout
+   * of each TsBlock is [group keys..., intermediate results..., raw hash]. TsBlocks are built
+   * lazily while iterating, so they can be written to disk one by one.
+   */
+  public Iterator<TsBlock> buildHashSortedSpillResult() {
+    int groupCount = groupByHash.getGroupCount();
+    long[] rawHashes = new long[groupCount];
+    IntBigArray sortedGroupIds = new IntBigArray();
+    sortedGroupIds.ensureCapacity(groupCount);
+    for (int groupId = 0; groupId < groupCount; groupId++) {
+      rawHashes[groupId] = groupByHash.getRawHash(groupId);
+      sortedGroupIds.set(groupId, groupId);
     }
+    sortedGroupIds.sort(
+        0, groupCount, (left, right) -> Long.compare(rawHashes[left], rawHashes[right]));
+
+    TsBlockBuilder spillBuilder = new TsBlockBuilder(buildSpillTypes());
+    return new AbstractIterator<TsBlock>() {
+      private int index = 0;
+
+      @Override
+      protected TsBlock computeNext() {
+        if (index >= groupCount) {
+          return endOfData();
+        }
+        spillBuilder.reset();
+        ColumnBuilder hashBuilder =
+            spillBuilder.getColumnBuilder(groupByChannels.length + groupedAggregators.size());
+        while (!spillBuilder.isFull() && index < groupCount) {
+          int groupId = sortedGroupIds.get(index++);
+          groupByHash.appendValuesTo(groupId, spillBuilder);
+          for (int i = 0; i < groupedAggregators.size(); i++) {
+            groupedAggregators
+                .get(i)
+                .evaluateSpill(groupId, spillBuilder.getColumnBuilder(groupByChannels.length + i));
+          }
+          hashBuilder.writeLong(rawHashes[groupId]);
+          spillBuilder.declarePosition();
+        }
+        return spillBuilder.build(
+            new RunLengthEncodedColumn(
+                TableScanOperator.TIME_COLUMN_TEMPLATE, spillBuilder.getPositionCount()));
+      }
+    };
+  }
+
+  /** Types of the TsBlocks built by {@link #buildHashSortedSpillResult()}. */
+  public List<TSDataType> buildSpillTypes() {
+    List<TSDataType> types =
+        new ArrayList<>(groupByChannels.length + groupedAggregators.size() + 1);
+    groupByOutputTypes.forEach(type -> types.add(InternalTypeManager.getTSDataType(type)));
+    groupedAggregators.forEach(aggregator -> types.add(aggregator.getSpillType()));
+    types.add(TSDataType.INT64);
     return types;
   }
 
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.builder;
+
+import org.apache.iotdb.commons.exception.IoTDBException;
+import org.apache.iotdb.commons.exception.IoTDBRuntimeException;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.TableScanOperator;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.GroupedAggregator;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.node.AggregationNode;
+import org.apache.iotdb.db.utils.datastructure.MergeSortHeap;
+import org.apache.iotdb.db.utils.datastructure.MergeSortKey;
+import org.apache.iotdb.db.utils.sort.DiskSpiller;
+import org.apache.iotdb.db.utils.sort.SortBufferManager;
+import org.apache.iotdb.db.utils.sort.SortReader;
+import org.apache.iotdb.db.utils.sort.TableDiskSpiller;
+
+import com.google.common.collect.Iterators;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.common.conf.TSFileDescriptor;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.RunLengthEncodedColumn;
+import org.apache.tsfile.read.common.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.UpdateMemory.NOOP;
+
+/**
+ * Hash aggregation whose memory is bounded by memoryLimit. Once the groups can't be held in memory,
+ * the intermediate results of all groups are sorted by the raw hash of group keys and spilled into
+ * a local file, then the groups are cleared. When all the input is consumed, the spilled files are
+ * merged by hash, the intermediate results of the same group are combined by another in-memory
+ * builder, which outputs and clears its groups at a hash boundary whenever it is over memoryLimit.
+ */
+public class SpillableHashAggregationBuilder implements HashAggregationBuilder {
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(SpillableHashAggregationBuilder.class);
+
+  private static final String SPILLED_FILE_NUMBER = "SpilledFileNumber";
+
+  private final List<GroupedAggregator> groupedAggregators;
+  private final AggregationNode.Step step;
+  private final int expectedGroups;
+  private final List<Type> groupByTypes;
+  private final OperatorContext operatorContext;
+  private final long memoryLimit;
+
+  private final InMemoryHashAggregationBuilder hashAggregationBuilder;
+  // group number when spilling last time, the memory of aggregators is not shrunk after reset, so
+  // only spill again when at least the same number of groups are collected
+  private long spilledGroupCount;
+
+  private final DiskSpiller diskSpiller;
+  private SortBufferManager sortBufferManager;
+  private final int hashChannel;
+  private long spilledBytes;
+
+  // for merging spilled files
+  private InMemoryHashAggregationBuilder mergingBuilder;
+  private long outputGroupCount;
+  private List<SortReader> sortReaders;
+  private MergeSortHeap mergeSortHeap;
+  private TsBlockBuilder mergeBuffer;
+  private boolean hasLastHash;
+  private long lastHash;
+  private boolean outputting;
+  private boolean mergeFinished;
+
+  public SpillableHashAggregationBuilder(
+      List<GroupedAggregator> groupedAggregators,
+      AggregationNode.Step step,
+      int expectedGroups,
+      List<Type> groupByTypes,
+      List<Integer> groupByChannels,
+      OperatorContext operatorContext,
+      long memoryLimit,
+      String spillFolderPath) {
+    this.groupedAggregators = groupedAggregators;
+    this.step = step;
+    this.expectedGroups = expectedGroups;
+    this.groupByTypes = groupByTypes;
+    this.operatorContext = operatorContext;
+    this.memoryLimit = memoryLimit;
+
+    this.hashAggregationBuilder =
+        new InMemoryHashAggregationBuilder(
+            groupedAggregators,
+            step,
+            expectedGroups,
+            groupByTypes,
+            groupByChannels,
+            Optional.empty(),
+            operatorContext,
+            Long.MAX_VALUE,
+            NOOP);
+    List<TSDataType> spillTypes = hashAggregationBuilder.buildSpillTypes();
+    this.hashChannel = spillTypes.size() - 1;
+    this.diskSpiller =
+        new TableDiskSpiller(
+            spillFolderPath, spillFolderPath + operatorContext.getOperatorId(), spillTypes);
+    this.sortBufferManager =
+        new SortBufferManager(
+            TSFileDescriptor.getInstance().getConfig().getMaxTsBlockSizeInBytes(),
+            IoTDBDescriptor.getInstance().getConfig().getSortBufferSize());
+  }
+
+  @Override
+  public void processBlock(TsBlock block) {
+    hashAggregationBuilder.processBlock(block);
+    long groupCount = hashAggregationBuilder.getGroupCount();
+    if (groupCount >= spilledGroupCount
+        && hashAggregationBuilder.getEstimatedSize() > memoryLimit) {
+      spillToDisk();
+      spilledGroupCount = groupCount;
+    }
+  }
+
+  private void spillToDisk() {
+    if (hashAggregationBuilder.getGroupCount() == 0) {
+      return;
+    }
+    try {
+      // an exception will be thrown if there are too many files to be merged
+      sortBufferManager.allocateOneSortBranch();
+      diskSpiller.spillSortedTsBlocks(
+          Iterators.transform(
+              hashAggregationBuilder.buildHashSortedSpillResult(),
+              tsBlock -> {
+                spilledBytes += tsBlock.getRetainedSizeInBytes();
+                return tsBlock;
+              }));
+    } catch (IoTDBException e) {
+      throw new IoTDBRuntimeException(e.getMessage(), e, e.getErrorCode());
+    }
+    operatorContext.recordSpecifiedInfo(
+        SPILLED_FILE_NUMBER, Integer.toString(diskSpiller.getFileSize()));
+    hashAggregationBuilder.reset();
+  }
+
+  @Override
+  public TsBlock buildResult() {
+    if (!diskSpiller.hasSpilledData()) {
+      return hashAggregationBuilder.buildResult();
+    }
+
+    if (mergeSortHeap == null) {
+      prepareMerge();
+    }
+
+    if (!outputting) {
+      mergeSpilledData();
+      if (!outputting) {
+        // time slice is used up
+        return null;
+      }
+    }
+
+    TsBlock result = mergingBuilder.buildResult();
+    if (mergingBuilder.finished()) {
+      outputting = false;
+      mergingBuilder.reset();
+    }
+    return result;
+  }
+
+  private void prepareMerge() {
+    spillToDisk();
+
+    int groupKeyCount = groupByTypes.size();
+    mergingBuilder =
+        new InMemoryHashAggregationBuilder(
+            groupedAggregators,
+            step,
+            expectedGroups,
+            groupByTypes,
+            IntStream.range(0, groupKeyCount).boxed().collect(Collectors.toList()),
+            Optional.empty(),
+            operatorContext,
+            Long.MAX_VALUE,
+            Optional.of(groupKeyCount),
+            NOOP);
+    mergeBuffer = new TsBlockBuilder(hashAggregationBuilder.buildSpillTypes());
+
+    try {
+      sortReaders = diskSpiller.getReaders(sortBufferManager);
+      mergeSortHeap =
+          new MergeSortHeap(
+              sortReaders.size(),
+              Comparator.comparingLong(
+                  key -> key.tsBlock.getColumn(hashChannel).getLong(key.rowIndex)));
+      for (int i = 0; i < sortReaders.size(); i++) {
+        pushNextMergeSortKey(i);
+      }
+    } catch (IoTDBException e) {
+      throw new IoTDBRuntimeException(e.getMessage(), e, e.getErrorCode());
+    }
+  }
+
+  private void mergeSpilledData() {
+    long maxRuntime = operatorContext.getMaxRunTime().roundTo(TimeUnit.NANOSECONDS);
+    long start = System.nanoTime();
+    try {
+      while (!mergeSortHeap.isEmpty()) {
+        MergeSortKey mergeSortKey = mergeSortHeap.peek();
+        long hash = mergeSortKey.tsBlock.getColumn(hashChannel).getLong(mergeSortKey.rowIndex);
+        // all the intermediate results of groups with lastHash have been merged
+        if (hasLastHash && hash != lastHash) {
+          if (needOutput()) {
+            outputting = true;
+            return;
+          }
+          if (System.nanoTime() - start > maxRuntime) {
+            return;
+          }
+        }
+
+        mergeSortHeap.poll();
+        appendToMergeBuffer(mergeSortKey);
+        hasLastHash = true;
+        lastHash = hash;
+        pushNextMergeSortKey(mergeSortKey.inputChannelIndex);
+      }
+    } catch (IoTDBException e) {
+      throw new IoTDBRuntimeException(e.getMessage(), e, e.getErrorCode());
+    }
+
+    flushMergeBuffer();
+    mergeFinished = true;
+    outputting = true;
+  }
+
+  private boolean needOutput() {
+    flushMergeBuffer();
+    long groupCount = mergingBuilder.getGroupCount();
+    if (groupCount >= outputGroupCount && mergingBuilder.getEstimatedSize() > memoryLimit) {
+      outputGroupCount = groupCount;
+      return true;
+    }
+    return false;
+  }
+
+  private void appendToMergeBuffer(MergeSortKey mergeSortKey) {
+    ColumnBuilder[] columnBuilders = mergeBuffer.getValueColumnBuilders();
+    for (int i = 0; i < columnBuilders.length; i++) {
+      if (mergeSortKey.tsBlock.getColumn(i).isNull(mergeSortKey.rowIndex)) {
+        columnBuilders[i].appendNull();
+      } else {
+        columnBuilders[i].write(mergeSortKey.tsBlock.getColumn(i), mergeSortKey.rowIndex);
+      }
+    }
+    mergeBuffer.declarePosition();
+    if (mergeBuffer.isFull()) {
+      flushMergeBuffer();
+    }
+  }
+
+  private void flushMergeBuffer() {
+    if (mergeBuffer.isEmpty()) {
+      return;
+    }
+    mergingBuilder.processBlock(
+        mergeBuffer.build(
+            new RunLengthEncodedColumn(
+                TableScanOperator.TIME_COLUMN_TEMPLATE, mergeBuffer.getPositionCount())));
+    mergeBuffer.reset();
+  }
+
+  private void pushNextMergeSortKey(int readerIndex) throws IoTDBException {
+    SortReader sortReader = sortReaders.get(readerIndex);
+    if (sortReader.hasNext()) {
+      MergeSortKey mergeSortKey = sortReader.next();
+      mergeSortKey.inputChannelIndex = readerIndex;
+      mergeSortHeap.push(mergeSortKey);
+    } else {
+      sortReader.releaseMemory();
+    }
+  }
+
+  @Override
+  public boolean finished() {
+    if (!diskSpiller.hasSpilledData()) {
+      return hashAggregationBuilder.finished();
+    }
+    return mergeFinished && !outputting;
+  }
+
+  @Override
+  public long getEstimatedSize() {
+    if (mergingBuilder == null) {
+      return hashAggregationBuilder.getEstimatedSize();
+    }
+    // the readers of spilled files cache at most the sort buffer
+    return mergingBuilder.getEstimatedSize()
+        + mergeBuffer.getRetainedSizeInBytes()
+        + Math.min(spilledBytes, sortBufferManager.getSortBufferSize());
+  }
+
+  @Override
+  public boolean isFull() {
+    return false;
+  }
+
+  @Override
+  public void updateMemory() {
+    // do nothing
+  }
+
+  @Override
+  public void reset() {
+    // drop the spilled groups and the groups in memory, then the builder can be reused
+    clearSpilledData();
+    hashAggregationBuilder.reset();
+    spilledGroupCount = 0;
+    spilledBytes = 0;
+
+    mergingBuilder = null;
+    outputGroupCount = 0;
+    mergeSortHeap = null;
+    mergeBuffer = null;
+    hasLastHash = false;
+    lastHash = 0;
+    outputting = false;
+    mergeFinished = false;
+  }
+
+  @Override
+  public void close() {
+    clearSpilledData();
+  }
+
+  private void clearSpilledData() {
+    if (!diskSpiller.hasSpilledData()) {
+      return;
+    }
+    if (sortReaders != null) {
+      for (SortReader sortReader : sortReaders) {
+        try {
+          sortReader.close();
+        } catch (Exception e) {
+          LOGGER.warn("Fail to close fileChannel", e);
+        }
+      }
+      sortReaders = null;
+    }
+    try {
+      diskSpiller.deleteSpilledFiles();
+    } catch (IoTDBException e) {
+      // the files are deleted with the spill folder of the fragment instance at last
+      LOGGER.warn("Fail to delete spilled files", e);
+    }
+    sortBufferManager =
+        new SortBufferManager(
+            sortBufferManager.getMaxTsBlockSizeInBytes(), sortBufferManager.getSortBufferSize());
+  }
+}
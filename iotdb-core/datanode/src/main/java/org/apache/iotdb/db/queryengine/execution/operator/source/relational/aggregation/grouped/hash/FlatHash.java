@@ -212,6 +212,17 @@ public final class FlatHash {
     return getIndex(columns, position, hash) >= 0;
   }
 
+  /**
+   * @return the group id of the row, or -1 if the row is not in this hash
+   */
+  public int getGroupId(Column[] columns, int position) {
+    int index = getIndex(columns, position, flatHashStrategy.hash(columns, position));
+    if (index < 0) {
+      return -1;
+    }
+    return bytesToInt(getRecords(index), getRecordOffset(index) + recordGroupIdOffset);
+  }
+
   public void computeHashes(Column[] columns, long[] hashes, int offset, int length) {
     if (hasPrecomputedHash) {
       Column hashColumn = columns[columns.length - 1];
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.hash;
+
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.UpdateMemory;
+import org.apache.iotdb.db.queryengine.plan.relational.utils.TypeUtil;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.read.common.type.Type;
+import org.apache.tsfile.utils.RamUsageEstimator;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.hash.GroupByHash.DEFAULT_GROUP_NUMBER;
+
+/**
+ * Hash table of the build side of a hash join. Distinct join keys are stored in a {@link FlatHash},
+ * and all the rows with the same join key are linked in insertion order, each row is addressed by
+ * the index of its TsBlock and its position in the TsBlock. Rows containing null join key are never
+ * added, because they can't match any row.
+ */
+public class JoinHash {
+  private static final long INSTANCE_SIZE = RamUsageEstimator.shallowSizeOfInstance(JoinHash.class);
+
+  public static final int NO_ROW = -1;
+
+  private final FlatHash flatHash;
+
+  // first and last row of each group
+  private int[] groupFirstRow = new int[DEFAULT_GROUP_NUMBER];
+  private int[] groupLastRow = new int[DEFAULT_GROUP_NUMBER];
+  private int groupCount;
+
+  // next row of the same group, and the address of each row
+  private int[] nextRow = new int[DEFAULT_GROUP_NUMBER];
+  private long[] rowAddresses = new long[DEFAULT_GROUP_NUMBER];
+  private int rowCount;
+
+  public JoinHash(List<Type> joinKeyTypes) {
+    this.flatHash =
+        new FlatHash(
+            TypeUtil.getFlatHashStrategy(joinKeyTypes),
+            false,
+            DEFAULT_GROUP_NUMBER,
+            UpdateMemory.NOOP);
+  }
+
+  /** Add all the rows of one TsBlock of the build side. */
+  public void addRows(Column[] joinKeyColumns, int blockIndex) {
+    int positionCount = joinKeyColumns[0].getPositionCount();
+    for (int position = 0; position < positionCount; position++) {
+      if (hasNullValue(joinKeyColumns, position)) {
+        continue;
+      }
+      int groupId = flatHash.putIfAbsent(joinKeyColumns, position);
+      int row = appendRow(blockIndex, position);
+      // group ids are assigned incrementally, so groupId == groupCount means a new group
+      if (groupId == groupCount) {
+        if (groupCount == groupFirstRow.length) {
+          groupFirstRow = Arrays.copyOf(groupFirstRow, groupCount << 1);
+          groupLastRow = Arrays.copyOf(groupLastRow, groupCount << 1);
+        }
+        groupFirstRow[groupId] = row;
+        groupCount++;
+      } else {
+        nextRow[groupLastRow[groupId]] = row;
+      }
+      groupLastRow[groupId] = row;
+    }
+  }
+
+  private int appendRow(int blockIndex, int position) {
+    if (rowCount == rowAddresses.length) {
+      int newLength = rowCount << 1;
+      rowAddresses = Arrays.copyOf(rowAddresses, newLength);
+      nextRow = Arrays.copyOf(nextRow, newLength);
+    }
+    rowAddresses[rowCount] = encodeRowAddress(blockIndex, position);
+    nextRow[rowCount] = NO_ROW;
+    return rowCount++;
+  }
+
+  /**
+   * @return the first row of the build side matching the probe row, or {@link #NO_ROW}
+   */
+  public int getFirstMatchedRow(Column[] joinKeyColumns, int position) {
+    if (rowCount == 0 || hasNullValue(joinKeyColumns, position)) {
+      return NO_ROW;
+    }
+    int groupId = flatHash.getGroupId(joinKeyColumns, position);
+    return groupId < 0 ? NO_ROW : groupFirstRow[groupId];
+  }
+
+  /**
+   * @return the next row with the same join key, or {@link #NO_ROW}
+   */
+  public int getNextMatchedRow(int row) {
+    return nextRow[row];
+  }
+
+  public int getBlockIndex(int row) {
+    return (int) (rowAddresses[row] >>> 32);
+  }
+
+  public int getPosition(int row) {
+    return (int) rowAddresses[row];
+  }
+
+  public boolean isEmpty() {
+    return rowCount == 0;
+  }
+
+  public long getEstimatedSize() {
+    return INSTANCE_SIZE
+        + flatHash.getEstimatedSize()
+        + RamUsageEstimator.sizeOf(groupFirstRow)
+        + RamUsageEstimator.sizeOf(groupLastRow)
+        + RamUsageEstimator.sizeOf(nextRow)
+        + RamUsageEstimator.sizeOf(rowAddresses);
+  }
+
+  private static long encodeRowAddress(int blockIndex, int position) {
+    return ((long) blockIndex << 32) | (position & 0xFFFFFFFFL);
+  }
+
+  private static boolean hasNullValue(Column[] columns, int position) {
+    for (Column column : columns) {
+      if (column.isNull(position)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
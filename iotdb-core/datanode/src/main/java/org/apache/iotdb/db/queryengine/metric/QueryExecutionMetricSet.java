@@ -75,12 +75,14 @@ public class QueryExecutionMetricSet implements IMetricSet {
   public static final String LOCAL_EXECUTION_PLANNER = "local_execution_planner";
   public static final String QUERY_RESOURCE_INIT = "query_resource_init";
   public static final String GET_QUERY_RESOURCE_FROM_MEM = "get_query_resource_from_mem";
+  public static final String SELECT_QUERY_RESOURCE_BY_INDEX = "select_query_resource_by_index";
   public static final String DRIVER_INTERNAL_PROCESS = "driver_internal_process";
   public static final String WAIT_FOR_RESULT = "wait_for_result";
 
   private Timer localExecutionPlannerTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer queryResourceInitTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer getQueryResourceFromMemTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer selectQueryResourceByIndexTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer driverInternalProcessTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer waitForResultTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
 
@@ -103,6 +105,12 @@ public class QueryExecutionMetricSet implements IMetricSet {
             MetricLevel.IMPORTANT,
             Tag.STAGE.toString(),
             GET_QUERY_RESOURCE_FROM_MEM);
+    selectQueryResourceByIndexTimer =
+        metricService.getOrCreateTimer(
+            Metric.QUERY_EXECUTION.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.STAGE.toString(),
+            SELECT_QUERY_RESOURCE_BY_INDEX);
     driverInternalProcessTimer =
         metricService.getOrCreateTimer(
             Metric.QUERY_EXECUTION.toString(),
@@ -121,12 +129,14 @@ public class QueryExecutionMetricSet implements IMetricSet {
     localExecutionPlannerTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     queryResourceInitTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     getQueryResourceFromMemTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    selectQueryResourceByIndexTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     driverInternalProcessTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     waitForResultTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     Arrays.asList(
             LOCAL_EXECUTION_PLANNER,
             QUERY_RESOURCE_INIT,
             GET_QUERY_RESOURCE_FROM_MEM,
+            SELECT_QUERY_RESOURCE_BY_INDEX,
             DRIVER_INTERNAL_PROCESS,
             WAIT_FOR_RESULT)
         .forEach(
@@ -201,6 +211,9 @@ public class QueryExecutionMetricSet implements IMetricSet {
       case GET_QUERY_RESOURCE_FROM_MEM:
         getQueryResourceFromMemTimer.update(costTimeInNanos, TimeUnit.NANOSECONDS);
         break;
+      case SELECT_QUERY_RESOURCE_BY_INDEX:
+        selectQueryResourceByIndexTimer.update(costTimeInNanos, TimeUnit.NANOSECONDS);
+        break;
       case DRIVER_INTERNAL_PROCESS:
         driverInternalProcessTimer.update(costTimeInNanos, TimeUnit.NANOSECONDS);
         break;
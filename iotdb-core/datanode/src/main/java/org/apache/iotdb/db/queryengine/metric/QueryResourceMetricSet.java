@@ -42,11 +42,13 @@ public class QueryResourceMetricSet implements IMetricSet {
   public static final String FLUSHING_MEMTABLE = "flushing_memtable";
   public static final String WORKING_MEMTABLE = "working_memtable";
   public static final String INIT_QUERY_RESOURCE_RETRY_COUNT = "retry_count";
+  public static final String TSFILE_INDEX_SIZE = "tsfile_index_size";
   private Histogram sequenceTsFileHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
   private Histogram unsequenceTsFileHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
   private Histogram flushingMemTableHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
   private Histogram workingMemTableHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
   private Histogram retryCountHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
+  private Histogram tsFileIndexSizeHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
 
   public void recordQueryResourceNum(String type, int count) {
     switch (type) {
@@ -67,6 +69,9 @@ public class QueryResourceMetricSet implements IMetricSet {
           retryCountHistogram.update(count);
         }
         break;
+      case TSFILE_INDEX_SIZE:
+        tsFileIndexSizeHistogram.update(count);
+        break;
       default:
         break;
     }
@@ -110,6 +115,12 @@ public class QueryResourceMetricSet implements IMetricSet {
             MetricLevel.IMPORTANT,
             Tag.TYPE.toString(),
             INIT_QUERY_RESOURCE_RETRY_COUNT);
+    tsFileIndexSizeHistogram =
+        metricService.getOrCreateHistogram(
+            Metric.QUERY_RESOURCE.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.TYPE.toString(),
+            TSFILE_INDEX_SIZE);
   }
 
   @Override
@@ -119,7 +130,8 @@ public class QueryResourceMetricSet implements IMetricSet {
             UNSEQUENCE_TSFILE,
             FLUSHING_MEMTABLE,
             WORKING_MEMTABLE,
-            INIT_QUERY_RESOURCE_RETRY_COUNT)
+            INIT_QUERY_RESOURCE_RETRY_COUNT,
+            TSFILE_INDEX_SIZE)
         .forEach(
             type ->
                 metricService.remove(
@@ -1190,6 +1190,55 @@ public class SeriesScanCostMetricSet implements IMetricSet {
                     from));
   }
 
+  /////////////////////////////////////////////////////////////////////////////////////////////////
+  // decode page
+  /////////////////////////////////////////////////////////////////////////////////////////////////
+  private static final String DECODE_PAGE = "decode_page";
+  public static final String DECODE_PAGE_CACHE = DECODE_PAGE + "_" + CACHE;
+  public static final String DECODE_PAGE_FILE = DECODE_PAGE + "_" + FILE;
+  private Timer decodePageCacheTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer decodePageFileTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+
+  private void bindDecodePage(AbstractMetricService metricService) {
+    decodePageCacheTimer =
+        metricService.getOrCreateTimer(
+            Metric.SERIES_SCAN_COST.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.STAGE.toString(),
+            DECODE_PAGE_CACHE,
+            Tag.TYPE.toString(),
+            NULL,
+            Tag.FROM.toString(),
+            CACHE);
+    decodePageFileTimer =
+        metricService.getOrCreateTimer(
+            Metric.SERIES_SCAN_COST.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.STAGE.toString(),
+            DECODE_PAGE_FILE,
+            Tag.TYPE.toString(),
+            NULL,
+            Tag.FROM.toString(),
+            FILE);
+  }
+
+  private void unbindDecodePage(AbstractMetricService metricService) {
+    decodePageCacheTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    decodePageFileTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    Arrays.asList(CACHE, FILE)
+        .forEach(
+            from ->
+                metricService.remove(
+                    MetricType.TIMER,
+                    Metric.SERIES_SCAN_COST.toString(),
+                    Tag.STAGE.toString(),
+                    DECODE_PAGE + "_" + from,
+                    Tag.TYPE.toString(),
+                    NULL,
+                    Tag.FROM.toString(),
+                    from));
+  }
+
   /////////////////////////////////////////////////////////////////////////////////////////////////
   // init chunk reader
   /////////////////////////////////////////////////////////////////////////////////////////////////
@@ -1451,6 +1500,100 @@ public class SeriesScanCostMetricSet implements IMetricSet {
         PAGE_READER_MAX_USED_MEMORY_SIZE);
   }
 
+  /////////////////////////////////////////////////////////////////////////////////////////////////
+  // pages of aggregation scan
+  /////////////////////////////////////////////////////////////////////////////////////////////////
+  private static final String STATISTICS = "statistics";
+  private static final String DECODED = "decoded";
+
+  private Counter aggregationPagesFromStatisticsCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter aggregationPagesDecodedCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+
+  public void recordAggregationPages(long fromStatisticsCount, long decodedCount) {
+    aggregationPagesFromStatisticsCounter.inc(fromStatisticsCount);
+    aggregationPagesDecodedCounter.inc(decodedCount);
+  }
+
+  private void bindAggregationPages(AbstractMetricService metricService) {
+    aggregationPagesFromStatisticsCounter =
+        metricService.getOrCreateCounter(
+            Metric.AGGREGATION_SCAN_PAGES.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.FROM.toString(),
+            STATISTICS);
+    aggregationPagesDecodedCounter =
+        metricService.getOrCreateCounter(
+            Metric.AGGREGATION_SCAN_PAGES.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.FROM.toString(),
+            DECODED);
+  }
+
+  private void unbindAggregationPages(AbstractMetricService metricService) {
+    aggregationPagesFromStatisticsCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+    aggregationPagesDecodedCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+
+    metricService.remove(
+        MetricType.COUNTER,
+        Metric.AGGREGATION_SCAN_PAGES.toString(),
+        Tag.FROM.toString(),
+        STATISTICS);
+    metricService.remove(
+        MetricType.COUNTER, Metric.AGGREGATION_SCAN_PAGES.toString(), Tag.FROM.toString(), DECODED);
+  }
+
+  /////////////////////////////////////////////////////////////////////////////////////////////////
+  // coalesced chunk read
+  /////////////////////////////////////////////////////////////////////////////////////////////////
+  private static final String SAVED_READ_COUNT = "saved_read_count";
+  private static final String AMPLIFICATION_SIZE = "amplification_size";
+
+  private Counter coalescedChunkSavedReadCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter coalescedChunkAmplificationSizeCounter =
+      DoNothingMetricManager.DO_NOTHING_COUNTER;
+
+  /**
+   * Record a disk read merged from the reads of several chunks.
+   *
+   * @param savedReadCount the number of the disk reads saved
+   * @param amplificationSize the size of the bytes read but not belonging to any chunk read
+   */
+  public void recordCoalescedChunkRead(long savedReadCount, long amplificationSize) {
+    coalescedChunkSavedReadCounter.inc(savedReadCount);
+    coalescedChunkAmplificationSizeCounter.inc(amplificationSize);
+  }
+
+  private void bindCoalescedChunkRead(AbstractMetricService metricService) {
+    coalescedChunkSavedReadCounter =
+        metricService.getOrCreateCounter(
+            Metric.COALESCED_CHUNK_READ.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.TYPE.toString(),
+            SAVED_READ_COUNT);
+    coalescedChunkAmplificationSizeCounter =
+        metricService.getOrCreateCounter(
+            Metric.COALESCED_CHUNK_READ.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.TYPE.toString(),
+            AMPLIFICATION_SIZE);
+  }
+
+  private void unbindCoalescedChunkRead(AbstractMetricService metricService) {
+    coalescedChunkSavedReadCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+    coalescedChunkAmplificationSizeCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+
+    metricService.remove(
+        MetricType.COUNTER,
+        Metric.COALESCED_CHUNK_READ.toString(),
+        Tag.TYPE.toString(),
+        SAVED_READ_COUNT);
+    metricService.remove(
+        MetricType.COUNTER,
+        Metric.COALESCED_CHUNK_READ.toString(),
+        Tag.TYPE.toString(),
+        AMPLIFICATION_SIZE);
+  }
+
   /////////////////////////////////////////////////////////////////////////////////////////////////
   // build tsblock from merge reader
   /////////////////////////////////////////////////////////////////////////////////////////////////
@@ -1517,9 +1660,12 @@ public class SeriesScanCostMetricSet implements IMetricSet {
     bindChunkMetadataFilter(metricService);
     bindConstructChunkReader(metricService);
     bindReadChunk(metricService);
+    bindDecodePage(metricService);
     bindChunk(metricService);
     bindInitChunkReader(metricService);
     bindTsBlockFromPageReader(metricService);
+    bindAggregationPages(metricService);
+    bindCoalescedChunkRead(metricService);
     bindBuildTsBlockFromMergeReader(metricService);
   }
 
@@ -1535,9 +1681,12 @@ public class SeriesScanCostMetricSet implements IMetricSet {
     unbindChunkMetadataFilter(metricService);
     unbindConstructChunkReader(metricService);
     unbindReadChunk(metricService);
+    unbindDecodePage(metricService);
     unbindChunk(metricService);
     unbindInitChunkReader(metricService);
     unbindTsBlockFromPageReader(metricService);
+    unbindAggregationPages(metricService);
+    unbindCoalescedChunkRead(metricService);
     unbindBuildTsBlockFromMergeReader(metricService);
   }
 
@@ -1615,6 +1764,12 @@ public class SeriesScanCostMetricSet implements IMetricSet {
       case READ_CHUNK_FILE:
         readChunkFileTimer.updateNanos(cost);
         break;
+      case DECODE_PAGE_CACHE:
+        decodePageCacheTimer.updateNanos(cost);
+        break;
+      case DECODE_PAGE_FILE:
+        decodePageFileTimer.updateNanos(cost);
+        break;
       default:
         break;
     }
@@ -19,6 +19,8 @@
 
 package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache;
 
+import org.apache.iotdb.commons.utils.function.CheckedTriConsumer;
+
 import javax.annotation.concurrent.GuardedBy;
 
 import java.util.Map;
@@ -83,6 +85,15 @@ public interface IDualKeyCache<FK, SK, V> {
       final Predicate<SK> secondKeyChecker,
       final ToIntFunction<V> updater);
 
+  /**
+   * Visit all the cache values with the {@link FK}s matching the given predicate.
+   *
+   * <p>Warning: This method is without any locks for performance concerns. The visitor shall not
+   * modify the values, and may miss the values put concurrently.
+   */
+  <E extends Throwable> void forEach(
+      final Predicate<FK> firstKeyChecker, final CheckedTriConsumer<FK, SK, V, E> visitor) throws E;
+
   /**
    * Invalidate all cache values in the cache and clear related cache keys. The cache status and
    * statistics won't be clear and they can still be accessed via cache.stats().
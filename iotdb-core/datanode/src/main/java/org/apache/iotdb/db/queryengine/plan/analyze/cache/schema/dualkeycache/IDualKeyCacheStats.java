@@ -34,6 +34,17 @@ public interface IDualKeyCacheStats {
    */
   long hitCount();
 
+  /**
+   * Return the count of recorded cache miss cases, since the cache has been utilized after init or
+   * clean up.
+   */
+  long missCount();
+
+  /**
+   * Return the count of entries evicted for memory, since the cache has been utilized after init.
+   */
+  long evictionCount();
+
   /** Return the hit rate of recorded cases, equal hitCount() / requestCount(). */
   double hitRate();
 
@@ -36,6 +36,7 @@ class CacheStats implements IDualKeyCacheStats {
 
   private final AtomicLong requestCount = new AtomicLong(0);
   private final AtomicLong hitCount = new AtomicLong(0);
+  private final AtomicLong evictionCount = new AtomicLong(0);
 
   CacheStats(
       long memoryCapacity,
@@ -67,6 +68,10 @@ class CacheStats implements IDualKeyCacheStats {
     requestCount.getAndAdd(num);
   }
 
+  void recordEviction(int num) {
+    evictionCount.getAndAdd(num);
+  }
+
   @Override
   public long requestCount() {
     return requestCount.get();
@@ -77,6 +82,16 @@ class CacheStats implements IDualKeyCacheStats {
     return hitCount.get();
   }
 
+  @Override
+  public long missCount() {
+    return Math.max(requestCount.get() - hitCount.get(), 0);
+  }
+
+  @Override
+  public long evictionCount() {
+    return evictionCount.get();
+  }
+
   @Override
   public double hitRate() {
     long hitCount = this.hitCount.get();
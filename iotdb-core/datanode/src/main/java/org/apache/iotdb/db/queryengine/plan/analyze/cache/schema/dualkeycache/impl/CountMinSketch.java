@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl;
+
+/**
+ * This class implements a count-min sketch with four rows of 4-bit counters, which estimates how
+ * often a key has been seen recently. All counters are halved once the count of increments reaches
+ * ten times of the table length, so that the estimation follows the recent workload.
+ *
+ * <p>This class is not thread-safe, the caller shall synchronize the access.
+ */
+class CountMinSketch {
+
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  private static final int MIN_TABLE_LENGTH = 64;
+
+  private static final int MAX_TABLE_LENGTH = 1 << 20;
+
+  // each long holds sixteen 4-bit counters
+  private long[] table;
+
+  private int tableMask;
+
+  private int sampleSize;
+
+  private int size;
+
+  CountMinSketch() {
+    resize(MIN_TABLE_LENGTH);
+  }
+
+  /** Enlarge the table if it is too small for the expected count of keys, counters are reset. */
+  void ensureCapacity(final int expectedKeyCount) {
+    if (expectedKeyCount > table.length && table.length < MAX_TABLE_LENGTH) {
+      resize(Math.min(ceilingPowerOfTwo(expectedKeyCount), MAX_TABLE_LENGTH));
+    }
+  }
+
+  int frequency(final int keyHash) {
+    final int hash = spread(keyHash);
+    final int start = (hash & 3) << 2;
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < 4; i++) {
+      final int index = indexOf(hash, i);
+      final int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  void increment(final int keyHash) {
+    final int hash = spread(keyHash);
+    final int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++size == sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(final int index, final int counterIndex) {
+    final int offset = counterIndex << 2;
+    final long mask = 0xfL << offset;
+    if ((table[index] & mask) != mask) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  private void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size >>>= 1;
+  }
+
+  private void resize(final int tableLength) {
+    table = new long[tableLength];
+    tableMask = tableLength - 1;
+    sampleSize = 10 * tableLength;
+    size = 0;
+  }
+
+  private int indexOf(final int hash, final int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    h += h >>> 32;
+    return ((int) h) & tableMask;
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+
+  private static int ceilingPowerOfTwo(final int x) {
+    return 1 << (32 - Integer.numberOfLeadingZeros(x - 1));
+  }
+}
@@ -52,6 +52,9 @@ public class DualKeyCacheBuilder<FK, SK, V> {
       case FIFO:
         cacheEntryManager = new FIFOCacheEntryManager<>();
         break;
+      case S3FIFO:
+        cacheEntryManager = new S3FIFOCacheEntryManager<>();
+        break;
     }
     return new DualKeyCacheImpl<>(
         cacheEntryManager,
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl;
 
+import org.apache.iotdb.commons.utils.function.CheckedTriConsumer;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.IDualKeyCache;
 import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.IDualKeyCacheStats;
@@ -204,6 +205,7 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
     if (evictCacheEntry == null) {
       return 0;
     }
+    cacheStats.recordEviction(1);
 
     final ICacheEntryGroup<FK, SK, V, T> belongedGroup = evictCacheEntry.getBelongedGroup();
     evictCacheEntry.setBelongedGroup(null);
@@ -224,6 +226,26 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
     return memory;
   }
 
+  @Override
+  public <E extends Throwable> void forEach(
+      final Predicate<FK> firstKeyChecker, final CheckedTriConsumer<FK, SK, V, E> visitor)
+      throws E {
+    for (final FK firstKey : firstKeyMap.getAllKeys()) {
+      if (!firstKeyChecker.test(firstKey)) {
+        continue;
+      }
+      final ICacheEntryGroup<FK, SK, V, T> cacheEntryGroup = firstKeyMap.get(firstKey);
+      if (Objects.isNull(cacheEntryGroup)) {
+        continue;
+      }
+      for (final Iterator<Map.Entry<SK, T>> it = cacheEntryGroup.getAllCacheEntries();
+          it.hasNext(); ) {
+        final Map.Entry<SK, T> entry = it.next();
+        visitor.accept(firstKey, entry.getKey(), entry.getValue().getValue());
+      }
+    }
+  }
+
   @Override
   public void invalidateAll() {
     firstKeyMap.clear();
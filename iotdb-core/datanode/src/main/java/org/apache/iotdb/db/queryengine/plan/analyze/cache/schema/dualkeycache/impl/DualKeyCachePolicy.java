@@ -21,5 +21,7 @@ package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.i
 
 public enum DualKeyCachePolicy {
   LRU,
-  FIFO;
+  FIFO,
+  // scan-resistant, entries accessed only once are evicted from a small FIFO queue soon
+  S3FIFO;
 }
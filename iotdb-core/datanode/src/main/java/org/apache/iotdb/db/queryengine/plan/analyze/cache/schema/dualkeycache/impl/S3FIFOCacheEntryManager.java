@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class implements the cache entry manager with S3-FIFO policy, which is resistant to scans.
+ *
+ * <p>New entries are put into a small FIFO queue, and are evicted from it unless accessed again
+ * before reaching its tail, thus a scan over cold keys only churns the small queue. Entries
+ * accessed again are moved to the main FIFO queue, which evicts an entry only after its access
+ * frequency decays to zero. Instead of a ghost queue of the keys evicted from the small queue, a
+ * count-min sketch of recently put keys is kept, and an entry whose key has been put recently is
+ * put into the main queue directly.
+ *
+ * @param <FK> The first key of cache value.
+ * @param <SK> The second key of cache value.
+ * @param <V> The cache value.
+ */
+class S3FIFOCacheEntryManager<FK, SK, V>
+    implements ICacheEntryManager<FK, SK, V, S3FIFOCacheEntryManager.S3FIFOCacheEntry<SK, V>> {
+
+  private static final int SLOT_NUM = 128;
+
+  private static final int MAX_FREQUENCY = 3;
+
+  // entries are evicted from the small queues while they hold more than 10% of all entries
+  private static final int SMALL_QUEUE_RATIO_DENOMINATOR = 10;
+
+  private final S3FIFOQueues[] s3FIFOQueues = new S3FIFOQueues[SLOT_NUM];
+
+  // total sizes of the queues of all slots
+  private final AtomicInteger smallQueueSize = new AtomicInteger(0);
+  private final AtomicInteger mainQueueSize = new AtomicInteger(0);
+
+  private final Random idxGenerator = new Random();
+
+  @Override
+  public S3FIFOCacheEntry<SK, V> createCacheEntry(
+      final SK secondKey,
+      final V value,
+      final ICacheEntryGroup<FK, SK, V, S3FIFOCacheEntry<SK, V>> cacheEntryGroup) {
+    return new S3FIFOCacheEntry<>(secondKey, value, cacheEntryGroup);
+  }
+
+  @Override
+  public void access(final S3FIFOCacheEntry<SK, V> cacheEntry) {
+    // racy increment is acceptable since the frequency is only a hint for eviction
+    final int frequency = cacheEntry.frequency;
+    if (frequency < MAX_FREQUENCY) {
+      cacheEntry.frequency = frequency + 1;
+    }
+  }
+
+  @Override
+  public void put(final S3FIFOCacheEntry<SK, V> cacheEntry) {
+    getBelongedQueues(cacheEntry).add(cacheEntry);
+  }
+
+  @Override
+  public boolean invalidate(final S3FIFOCacheEntry<SK, V> cacheEntry) {
+    if (cacheEntry.isInvalidated.getAndSet(true)) {
+      return false;
+    }
+    getBelongedQueues(cacheEntry).remove(cacheEntry);
+    return true;
+  }
+
+  @Override
+  public S3FIFOCacheEntry<SK, V> evict() {
+    S3FIFOQueues<SK, V> queues;
+    S3FIFOCacheEntry<SK, V> cacheEntry;
+    boolean hasEntries;
+    do {
+      // each round either empties the small queues or decays the frequencies of the entries in the
+      // main queues, thus terminates in the end
+      hasEntries = false;
+      final int smallSize = smallQueueSize.get();
+      final int mainSize = mainQueueSize.get();
+      final boolean fromSmallQueue =
+          mainSize <= 0 || smallSize * SMALL_QUEUE_RATIO_DENOMINATOR >= smallSize + mainSize;
+      int startIndex = idxGenerator.nextInt(SLOT_NUM);
+      for (int i = 0; i < SLOT_NUM; i++) {
+        if (startIndex == SLOT_NUM) {
+          startIndex = 0;
+        }
+        queues = s3FIFOQueues[startIndex];
+        if (queues != null) {
+          cacheEntry = queues.evict(fromSmallQueue);
+          if (cacheEntry != null) {
+            return cacheEntry;
+          }
+          hasEntries |= !queues.isEmpty();
+        }
+        startIndex++;
+      }
+    } while (hasEntries);
+    return null;
+  }
+
+  @Override
+  public void cleanUp() {
+    synchronized (s3FIFOQueues) {
+      for (int i = 0; i < SLOT_NUM; i++) {
+        s3FIFOQueues[i] = null;
+      }
+      smallQueueSize.set(0);
+      mainQueueSize.set(0);
+    }
+  }
+
+  private S3FIFOQueues getBelongedQueues(final S3FIFOCacheEntry<SK, V> cacheEntry) {
+    final int slotIndex = cacheEntry.slotIndex;
+    S3FIFOQueues queues = s3FIFOQueues[slotIndex];
+    if (queues == null) {
+      synchronized (s3FIFOQueues) {
+        queues = s3FIFOQueues[slotIndex];
+        if (queues == null) {
+          queues = new S3FIFOQueues(smallQueueSize, mainQueueSize);
+          s3FIFOQueues[slotIndex] = queues;
+        }
+      }
+    }
+    return queues;
+  }
+
+  static class S3FIFOCacheEntry<SK, V> implements ICacheEntry<SK, V> {
+
+    private final SK secondKey;
+
+    @SuppressWarnings("java:S3077")
+    private volatile ICacheEntryGroup cacheEntryGroup;
+
+    private V value;
+
+    // computed on creation since the belonged group is cleared on eviction
+    private final int hash;
+    private final int slotIndex;
+
+    private volatile int frequency = 0;
+    private boolean isInMainQueue = false;
+
+    private S3FIFOCacheEntry<SK, V> pre = null;
+    private S3FIFOCacheEntry<SK, V> next = null;
+
+    private final AtomicBoolean isInvalidated = new AtomicBoolean(false);
+
+    private S3FIFOCacheEntry(
+        final SK secondKey, final V value, final ICacheEntryGroup cacheEntryGroup) {
+      this.secondKey = secondKey;
+      this.value = value;
+      this.cacheEntryGroup = cacheEntryGroup;
+      this.hash =
+          cacheEntryGroup == null ? 0 : cacheEntryGroup.hashCode() * 31 + secondKey.hashCode();
+      final int index = hash % SLOT_NUM;
+      this.slotIndex = index < 0 ? index + SLOT_NUM : index;
+    }
+
+    @Override
+    public SK getSecondKey() {
+      return secondKey;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public ICacheEntryGroup getBelongedGroup() {
+      return cacheEntryGroup;
+    }
+
+    @Override
+    public void setBelongedGroup(final ICacheEntryGroup belongedGroup) {
+      this.cacheEntryGroup = belongedGroup;
+    }
+
+    @Override
+    public void replaceValue(final V newValue) {
+      this.value = newValue;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final S3FIFOCacheEntry<?, ?> that = (S3FIFOCacheEntry<?, ?>) o;
+      return Objects.equals(secondKey, that.secondKey)
+          && Objects.equals(cacheEntryGroup, that.cacheEntryGroup);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static class S3FIFOQueues<SK, V> {
+
+    // head.next is the newest
+    private final S3FIFOCacheEntry<SK, V> smallHead = new S3FIFOCacheEntry<>(null, null, null);
+    private final S3FIFOCacheEntry<SK, V> smallTail = new S3FIFOCacheEntry<>(null, null, null);
+    private final S3FIFOCacheEntry<SK, V> mainHead = new S3FIFOCacheEntry<>(null, null, null);
+    private final S3FIFOCacheEntry<SK, V> mainTail = new S3FIFOCacheEntry<>(null, null, null);
+
+    private int smallSize = 0;
+    private int mainSize = 0;
+
+    private final AtomicInteger totalSmallSize;
+    private final AtomicInteger totalMainSize;
+
+    private final CountMinSketch recentlyPutKeys = new CountMinSketch();
+
+    S3FIFOQueues(final AtomicInteger totalSmallSize, final AtomicInteger totalMainSize) {
+      this.totalSmallSize = totalSmallSize;
+      this.totalMainSize = totalMainSize;
+      smallHead.next = smallTail;
+      smallTail.pre = smallHead;
+      mainHead.next = mainTail;
+      mainTail.pre = mainHead;
+    }
+
+    synchronized void add(final S3FIFOCacheEntry<SK, V> cacheEntry) {
+      if (cacheEntry.isInvalidated.get()) {
+        return;
+      }
+      recentlyPutKeys.ensureCapacity(smallSize + mainSize + 1);
+      // the key has been put recently and evicted, it is probably hot
+      final boolean isHot = recentlyPutKeys.frequency(cacheEntry.hash) > 0;
+      recentlyPutKeys.increment(cacheEntry.hash);
+      if (isHot) {
+        addToMain(cacheEntry);
+      } else {
+        cacheEntry.isInMainQueue = false;
+        linkAfter(smallHead, cacheEntry);
+        smallSize++;
+        totalSmallSize.incrementAndGet();
+      }
+    }
+
+    synchronized void remove(final S3FIFOCacheEntry<SK, V> cacheEntry) {
+      // the entry may have been unlinked by eviction
+      if (cacheEntry.pre != null) {
+        unlink(cacheEntry);
+      }
+    }
+
+    synchronized boolean isEmpty() {
+      return smallSize + mainSize == 0;
+    }
+
+    /**
+     * Evict an entry from the small or main queue of this slot. Return null after one pass over the
+     * queue without finding any to evict, the entries accessed after being put or last visited are
+     * moved to the head of the main queue meanwhile.
+     */
+    synchronized S3FIFOCacheEntry<SK, V> evict(final boolean fromSmallQueue) {
+      final S3FIFOCacheEntry<SK, V> tail = fromSmallQueue ? smallTail : mainTail;
+      final S3FIFOCacheEntry<SK, V> head = fromSmallQueue ? smallHead : mainHead;
+      S3FIFOCacheEntry<SK, V> cacheEntry;
+      int remainingVisits = fromSmallQueue ? smallSize : mainSize;
+      while (remainingVisits-- > 0 && tail.pre != head) {
+        cacheEntry = tail.pre;
+        unlink(cacheEntry);
+        final int frequency = cacheEntry.frequency;
+        if (!cacheEntry.isInvalidated.get() && frequency > 0) {
+          cacheEntry.frequency = frequency - 1;
+          addToMain(cacheEntry);
+          continue;
+        }
+        // an entry being invalidated concurrently is left to the invalidating caller
+        if (cacheEntry.isInvalidated.compareAndSet(false, true)) {
+          return cacheEntry;
+        }
+      }
+      return null;
+    }
+
+    private void addToMain(final S3FIFOCacheEntry<SK, V> cacheEntry) {
+      cacheEntry.isInMainQueue = true;
+      linkAfter(mainHead, cacheEntry);
+      mainSize++;
+      totalMainSize.incrementAndGet();
+    }
+
+    private void linkAfter(
+        final S3FIFOCacheEntry<SK, V> head, final S3FIFOCacheEntry<SK, V> cacheEntry) {
+      cacheEntry.next = head.next;
+      cacheEntry.pre = head;
+      head.next.pre = cacheEntry;
+      head.next = cacheEntry;
+    }
+
+    private void unlink(final S3FIFOCacheEntry<SK, V> cacheEntry) {
+      cacheEntry.pre.next = cacheEntry.next;
+      cacheEntry.next.pre = cacheEntry.pre;
+      cacheEntry.next = null;
+      cacheEntry.pre = null;
+      if (cacheEntry.isInMainQueue) {
+        mainSize--;
+        totalMainSize.decrementAndGet();
+      } else {
+        smallSize--;
+        totalSmallSize.decrementAndGet();
+      }
+    }
+  }
+}
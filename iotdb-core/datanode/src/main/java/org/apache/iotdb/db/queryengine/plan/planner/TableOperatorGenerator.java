@@ -127,6 +127,7 @@ import org.apache.iotdb.db.queryengine.execution.operator.source.relational.Asof
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.CteScanOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.DefaultAggTableScanOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.DeviceIteratorScanOperator;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.HashJoinOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.InformationSchemaTableScanOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.LastQueryAggTableScanOperator;
 import org.apache.iotdb.db.queryengine.execution.operator.source.relational.MarkDistinctOperator;
@@ -324,6 +325,7 @@ import static java.util.Objects.requireNonNull;
 import static org.apache.iotdb.commons.schema.table.column.TsTableColumnCategory.FIELD;
 import static org.apache.iotdb.commons.schema.table.column.TsTableColumnCategory.TIME;
 import static org.apache.iotdb.commons.udf.builtin.relational.TableBuiltinAggregationFunction.getAggregationTypeByFuncName;
+import static org.apache.iotdb.commons.udf.builtin.relational.TableBuiltinAggregationFunction.getIntermediateType;
 import static org.apache.iotdb.db.queryengine.common.DataNodeEndPoints.isSameNode;
 import static org.apache.iotdb.db.queryengine.execution.operator.process.join.merge.MergeSortComparator.getComparatorForTable;
 import static org.apache.iotdb.db.queryengine.execution.operator.process.rowpattern.PhysicalValuePointer.CLASSIFIER;
@@ -2250,6 +2252,27 @@ public class TableOperatorGenerator extends PlanVisitor<Operator, LocalExecution
       }
     }
 
+    if (node.isHashJoin()) {
+      OperatorContext operatorContext =
+          context
+              .getDriverContext()
+              .addOperatorContext(
+                  context.getNextOperatorId(),
+                  node.getPlanNodeId(),
+                  HashJoinOperator.class.getSimpleName());
+      return new HashJoinOperator(
+          operatorContext,
+          leftChild,
+          leftJoinKeyPositions,
+          leftOutputSymbolIdx,
+          rightChild,
+          rightJoinKeyPositions,
+          rightOutputSymbolIdx,
+          joinKeyTypes,
+          requireNonNull(node.getJoinType()) == JoinNode.JoinType.LEFT,
+          dataTypes);
+    }
+
     if (requireNonNull(node.getJoinType()) == JoinNode.JoinType.INNER) {
       OperatorContext operatorContext =
           context
@@ -2775,6 +2798,7 @@ public class TableOperatorGenerator extends PlanVisitor<Operator, LocalExecution
             (k, v) ->
                 aggregatorBuilder.add(
                     buildGroupByAggregator(childLayout, k, v, node.getStep(), typeProvider)));
+    List<GroupedAggregator> aggregators = aggregatorBuilder.build();
     OperatorContext operatorContext =
         context
             .getDriverContext()
@@ -2783,17 +2807,34 @@ public class TableOperatorGenerator extends PlanVisitor<Operator, LocalExecution
                 node.getPlanNodeId(),
                 HashAggregationOperator.class.getSimpleName());
 
+    boolean spillEnabled =
+        IoTDBDescriptor.getInstance().getConfig().isEnableHashAggregationSpill()
+            && aggregators.stream().allMatch(aggregator -> aggregator.getSpillType() != null);
+    String spillFolderPath = null;
+    if (spillEnabled) {
+      spillFolderPath =
+          IoTDBDescriptor.getInstance().getConfig().getSortTmpDir()
+              + File.separator
+              + operatorContext.getDriverContext().getFragmentInstanceContext().getId().getFullId()
+              + File.separator
+              + operatorContext.getDriverContext().getPipelineId()
+              + File.separator;
+      context.getDriverContext().setHaveTmpFile(true);
+      context.getDriverContext().getFragmentInstanceContext().setMayHaveTmpFile(true);
+    }
+
     return new HashAggregationOperator(
         operatorContext,
         child,
         groupByTypes,
         groupByChannels,
-        aggregatorBuilder.build(),
+        aggregators,
         node.getStep(),
         DEFAULT_GROUP_NUMBER,
         Long.MAX_VALUE,
-        false,
-        Long.MAX_VALUE);
+        spillEnabled,
+        IoTDBDescriptor.getInstance().getConfig().getHashAggregationBufferSize(),
+        spillFolderPath);
   }
 
   private Comparator<SortKey> genGroupKeyComparator(
@@ -2846,10 +2887,20 @@ public class TableOperatorGenerator extends PlanVisitor<Operator, LocalExecution
       maskChannel = OptionalInt.of(childLayout.get(aggregation.getMask().get()));
     }
 
+    // the intermediate result of distinct aggregation can't be spilled
+    TSDataType spillType =
+        aggregation.isDistinct()
+            ? null
+            : getTSDataType(
+                getIntermediateType(
+                    functionName,
+                    aggregation.getResolvedFunction().getSignature().getArgumentTypes()));
+
     return new GroupedAggregator(
         accumulator,
         step,
         getTSDataType(typeProvider.getTableModelType(symbol)),
+        spillType,
         argumentChannels,
         maskChannel);
   }
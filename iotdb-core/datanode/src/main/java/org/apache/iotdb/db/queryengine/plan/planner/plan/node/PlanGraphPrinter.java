@@ -1051,6 +1051,9 @@ public class PlanGraphPrinter extends PlanVisitor<List<String>, PlanGraphPrinter
       boxValue.add(String.format("JoinType: %s", node.getJoinType()));
     }
     boxValue.add(String.format("JoinCriteria: %s", node.getCriteria()));
+    if (node.isHashJoin()) {
+      boxValue.add("HashJoin: true");
+    }
     boxValue.add(String.format("LeftOutputSymbols: %s", node.getLeftOutputSymbols()));
     boxValue.add(String.format("RightOutputSymbols: %s", node.getRightOutputSymbols()));
     if (node.getFilter().isPresent()) {
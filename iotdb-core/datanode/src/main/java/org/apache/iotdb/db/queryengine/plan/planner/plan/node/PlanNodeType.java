@@ -335,6 +335,7 @@ public enum PlanNodeType {
   TABLE_DISK_USAGE_INFORMATION_SCHEMA_TABLE_SCAN_NODE((short) 1040),
   ALIGNED_AGGREGATION_TREE_DEVICE_VIEW_SCAN_NODE((short) 1041),
   NON_ALIGNED_AGGREGATION_TREE_DEVICE_VIEW_SCAN_NODE((short) 1042),
+  TABLE_HASH_JOIN_NODE((short) 1043),
 
   RELATIONAL_INSERT_TABLET((short) 2000),
   RELATIONAL_INSERT_ROW((short) 2001),
@@ -751,6 +752,9 @@ public enum PlanNodeType {
         return AlignedAggregationTreeDeviceViewScanNode.deserialize(buffer);
       case 1042:
         return NonAlignedAggregationTreeDeviceViewScanNode.deserialize(buffer);
+      case 1043:
+        return org.apache.iotdb.db.queryengine.plan.relational.planner.node.JoinNode
+            .deserializeHashJoin(buffer);
       case 2000:
         return RelationalInsertTabletNode.deserialize(buffer);
       case 2001:
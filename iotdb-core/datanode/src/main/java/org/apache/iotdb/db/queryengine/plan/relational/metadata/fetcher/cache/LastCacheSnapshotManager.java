@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.commons.utils.SerializeUtils;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.TimeValuePair;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.apache.tsfile.utils.TsPrimitiveType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot the last cache of table model into the system dir on shutdown, and periodically if
+ * configured, then reload it on startup so that the last queries after a restart need not scan the
+ * TsFiles.
+ *
+ * <p>The snapshot is stamped with the progress of each local data region, which is computed from
+ * its sealed TsFiles and their mods files. On reloading, the last values of a database are dropped
+ * unless all its local data regions are unchanged since the snapshot. A data region with unsealed
+ * TsFiles is never seen as unchanged, because its unflushed data may be lost or recovered from WAL.
+ */
+public class LastCacheSnapshotManager {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LastCacheSnapshotManager.class);
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  private static final String SNAPSHOT_DIR = "last_cache";
+  private static final String SNAPSHOT_FILE_NAME = "table_last_cache.snapshot";
+  private static final String TMP_SUFFIX = ".tmp";
+
+  private static final int FORMAT_VERSION = 1;
+
+  // the progress of a data region which can not be validated after restart
+  static final long UNSTABLE_STAMP = Long.MIN_VALUE;
+
+  private static final byte END_OF_DEVICES = 0;
+  private static final byte DEVICE_RECORD = 1;
+
+  private static final byte ALL_NULL = 0;
+  private static final byte TIME_ONLY = 1;
+  private static final byte TIME_VALUE = 2;
+
+  private final File snapshotFile;
+
+  private ScheduledExecutorService snapshotExecutor;
+
+  private LastCacheSnapshotManager() {
+    this(new File(CONFIG.getSystemDir() + File.separator + SNAPSHOT_DIR, SNAPSHOT_FILE_NAME));
+  }
+
+  LastCacheSnapshotManager(final File snapshotFile) {
+    this.snapshotFile = snapshotFile;
+  }
+
+  /**
+   * Reload the snapshot after the data regions are recovered and before they serve reading and
+   * writing, then start the periodic snapshot if configured.
+   */
+  public void start() {
+    if (!CONFIG.isEnableLastCacheSnapshot()) {
+      return;
+    }
+    final Map<String, Map<Integer, Long>> currentStamps = computeDataRegionStamps();
+    load(currentStamps);
+    if (CONFIG.getLastCacheSnapshotIntervalInMs() > 0) {
+      snapshotExecutor =
+          IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+              ThreadName.LAST_CACHE_SNAPSHOT.getName());
+      ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+          snapshotExecutor,
+          () -> snapshot(computeDataRegionStamps()),
+          CONFIG.getLastCacheSnapshotIntervalInMs(),
+          CONFIG.getLastCacheSnapshotIntervalInMs(),
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /** Stop the periodic snapshot and take the last one, shall be called after all flushes. */
+  public void stop() {
+    if (!CONFIG.isEnableLastCacheSnapshot()) {
+      return;
+    }
+    if (snapshotExecutor != null) {
+      snapshotExecutor.shutdownNow();
+      try {
+        if (!snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+          LOGGER.warn("Last cache snapshot thread still doesn't exit after 30s");
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      snapshotExecutor = null;
+    }
+    snapshot(computeDataRegionStamps());
+  }
+
+  /////////////////////////////// Stamp ///////////////////////////////
+
+  /** Return database -> data region id -> progress stamp of all the local data regions. */
+  static Map<String, Map<Integer, Long>> computeDataRegionStamps() {
+    final Map<String, Map<Integer, Long>> stamps = new HashMap<>();
+    for (final DataRegion dataRegion : StorageEngine.getInstance().getAllDataRegions()) {
+      if (Objects.nonNull(dataRegion)) {
+        stamps
+            .computeIfAbsent(dataRegion.getDatabaseName(), database -> new HashMap<>())
+            .put(dataRegion.getDataRegionId(), computeDataRegionStamp(dataRegion));
+      }
+    }
+    return stamps;
+  }
+
+  private static long computeDataRegionStamp(final DataRegion dataRegion) {
+    if (!dataRegion.getWorkSequenceTsFileProcessors().isEmpty()
+        || !dataRegion.getWorkUnsequenceTsFileProcessors().isEmpty()) {
+      return UNSTABLE_STAMP;
+    }
+    final TsFileManager tsFileManager = dataRegion.getTsFileManager();
+    long stamp = 1;
+    for (final boolean sequence : new boolean[] {true, false}) {
+      final List<TsFileResource> resources = tsFileManager.getTsFileList(sequence);
+      stamp = stamp * 31 + resources.size();
+      for (final TsFileResource resource : resources) {
+        if (!resource.isClosed()) {
+          return UNSTABLE_STAMP;
+        }
+        stamp = stamp * 31 + resource.getTsFile().getName().hashCode();
+        stamp = stamp * 31 + resource.getTsFileSize();
+        stamp = stamp * 31 + resource.getTotalModSizeInByte();
+      }
+    }
+    return stamp != UNSTABLE_STAMP ? stamp : stamp + 1;
+  }
+
+  /////////////////////////////// Snapshot ///////////////////////////////
+
+  synchronized void snapshot(final Map<String, Map<Integer, Long>> stamps) {
+    final long startTime = System.currentTimeMillis();
+    final File tmpFile = new File(snapshotFile.getPath() + TMP_SUFFIX);
+    final int[] deviceCount = {0};
+    try {
+      Files.createDirectories(snapshotFile.getParentFile().toPath());
+      final CRC32 crc32 = new CRC32();
+      try (final FileOutputStream fileOutputStream = new FileOutputStream(tmpFile);
+          final DataOutputStream outputStream =
+              new DataOutputStream(
+                  new CheckedOutputStream(new BufferedOutputStream(fileOutputStream), crc32))) {
+        outputStream.writeInt(FORMAT_VERSION);
+        outputStream.writeInt(stamps.size());
+        for (final Map.Entry<String, Map<Integer, Long>> databaseStamps : stamps.entrySet()) {
+          ReadWriteIOUtils.write(databaseStamps.getKey(), outputStream);
+          outputStream.writeInt(databaseStamps.getValue().size());
+          for (final Map.Entry<Integer, Long> regionStamp : databaseStamps.getValue().entrySet()) {
+            outputStream.writeInt(regionStamp.getKey());
+            outputStream.writeLong(regionStamp.getValue());
+          }
+        }
+
+        TableDeviceSchemaCache.getInstance()
+            .forEachTableModelLastCache(
+                (database, deviceId, lastValues) -> {
+                  if (isStable(stamps.get(database))) {
+                    serializeDevice(database, deviceId, lastValues, outputStream);
+                    deviceCount[0]++;
+                  }
+                });
+        outputStream.writeByte(END_OF_DEVICES);
+        outputStream.flush();
+        // the checksum of all the above
+        new DataOutputStream(fileOutputStream).writeLong(crc32.getValue());
+        fileOutputStream.getFD().sync();
+      }
+      Files.move(
+          tmpFile.toPath(),
+          snapshotFile.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      LOGGER.info(
+          "Snapshot last cache of {} devices to {}, cost {}ms",
+          deviceCount[0],
+          snapshotFile,
+          System.currentTimeMillis() - startTime);
+    } catch (final IOException e) {
+      LOGGER.warn("Failed to snapshot last cache to {}", snapshotFile, e);
+      try {
+        Files.deleteIfExists(tmpFile.toPath());
+      } catch (final IOException ignored) {
+        // the tmp file will be overwritten next time
+      }
+    }
+  }
+
+  private static boolean isStable(final Map<Integer, Long> databaseStamps) {
+    return Objects.nonNull(databaseStamps)
+        && !databaseStamps.isEmpty()
+        && !databaseStamps.containsValue(UNSTABLE_STAMP);
+  }
+
+  private static void serializeDevice(
+      final String database,
+      final IDeviceID deviceId,
+      final Map<String, TimeValuePair> lastValues,
+      final DataOutputStream outputStream)
+      throws IOException {
+    outputStream.writeByte(DEVICE_RECORD);
+    ReadWriteIOUtils.write(database, outputStream);
+    deviceId.serialize(outputStream);
+    int count = 0;
+    for (final TimeValuePair tvPair : lastValues.values()) {
+      if (getKind(tvPair) >= 0) {
+        count++;
+      }
+    }
+    outputStream.writeInt(count);
+    for (final Map.Entry<String, TimeValuePair> entry : lastValues.entrySet()) {
+      final TimeValuePair tvPair = entry.getValue();
+      final byte kind = getKind(tvPair);
+      if (kind < 0) {
+        continue;
+      }
+      ReadWriteIOUtils.write(entry.getKey(), outputStream);
+      outputStream.writeByte(kind);
+      if (kind == TIME_ONLY) {
+        outputStream.writeLong(tvPair.getTimestamp());
+      } else if (kind == TIME_VALUE) {
+        SerializeUtils.serializeTVPair(tvPair, outputStream);
+      }
+    }
+  }
+
+  // -1 if the pair can not be serialized
+  private static byte getKind(final TimeValuePair tvPair) {
+    if (tvPair == TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR) {
+      return ALL_NULL;
+    }
+    final TsPrimitiveType value = tvPair.getValue();
+    if (value == TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE) {
+      return TIME_ONLY;
+    }
+    return Objects.nonNull(value)
+            && Objects.nonNull(value.getDataType())
+            && tvPair.getTimestamp() != Long.MIN_VALUE
+        ? TIME_VALUE
+        : -1;
+  }
+
+  /////////////////////////////// Load ///////////////////////////////
+
+  synchronized void load(final Map<String, Map<Integer, Long>> currentStamps) {
+    if (!snapshotFile.exists()) {
+      return;
+    }
+    final long startTime = System.currentTimeMillis();
+    final ByteBuffer buffer;
+    try {
+      buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile.toPath()));
+    } catch (final IOException e) {
+      LOGGER.warn("Failed to read last cache snapshot {}", snapshotFile, e);
+      return;
+    }
+    if (!isChecksumValid(buffer)) {
+      LOGGER.warn("Last cache snapshot {} is corrupted, skip loading it", snapshotFile);
+      return;
+    }
+
+    int loadedCount = 0;
+    int droppedCount = 0;
+    try {
+      if (buffer.getInt() != FORMAT_VERSION) {
+        LOGGER.warn("Unknown format of last cache snapshot {}, skip loading it", snapshotFile);
+        return;
+      }
+      final Map<String, Map<Integer, Long>> snapshotStamps = new HashMap<>();
+      final int databaseNum = buffer.getInt();
+      for (int i = 0; i < databaseNum; i++) {
+        final String database = ReadWriteIOUtils.readString(buffer);
+        final Map<Integer, Long> regionStamps = new HashMap<>();
+        final int regionNum = buffer.getInt();
+        for (int j = 0; j < regionNum; j++) {
+          regionStamps.put(buffer.getInt(), buffer.getLong());
+        }
+        snapshotStamps.put(database, regionStamps);
+      }
+
+      final Map<String, Boolean> validDatabases = new HashMap<>();
+      while (buffer.get() == DEVICE_RECORD) {
+        final String database = ReadWriteIOUtils.readString(buffer);
+        final IDeviceID deviceId =
+            IDeviceID.Deserializer.DEFAULT_DESERIALIZER.deserializeFrom(buffer);
+        final int count = buffer.getInt();
+        final String[] measurements = new String[count];
+        final TimeValuePair[] timeValuePairs = new TimeValuePair[count];
+        for (int i = 0; i < count; i++) {
+          measurements[i] = ReadWriteIOUtils.readString(buffer);
+          timeValuePairs[i] = deserializeTimeValuePair(buffer);
+        }
+        if (validDatabases.computeIfAbsent(
+            database,
+            db -> {
+              final Map<Integer, Long> stamps = snapshotStamps.get(db);
+              return isStable(stamps) && stamps.equals(currentStamps.get(db));
+            })) {
+          putLastCache(database, deviceId, measurements, timeValuePairs);
+          loadedCount++;
+        } else {
+          droppedCount++;
+        }
+      }
+    } catch (final BufferUnderflowException | IllegalArgumentException e) {
+      LOGGER.warn("Failed to parse last cache snapshot {}", snapshotFile, e);
+    }
+    LOGGER.info(
+        "Loaded last cache of {} devices from {}, dropped {} devices whose data regions have changed, cost {}ms",
+        loadedCount,
+        snapshotFile,
+        droppedCount,
+        System.currentTimeMillis() - startTime);
+  }
+
+  private static boolean isChecksumValid(final ByteBuffer buffer) {
+    if (buffer.limit() < Long.BYTES) {
+      return false;
+    }
+    final int contentLength = buffer.limit() - Long.BYTES;
+    final CRC32 crc32 = new CRC32();
+    crc32.update(buffer.array(), 0, contentLength);
+    final boolean isValid = crc32.getValue() == buffer.getLong(contentLength);
+    buffer.limit(contentLength);
+    return isValid;
+  }
+
+  private static TimeValuePair deserializeTimeValuePair(final ByteBuffer buffer) {
+    final byte kind = buffer.get();
+    switch (kind) {
+      case ALL_NULL:
+        return TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR;
+      case TIME_ONLY:
+        return new TimeValuePair(buffer.getLong(), TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE);
+      case TIME_VALUE:
+        return SerializeUtils.deserializeTVPair(buffer);
+      default:
+        throw new IllegalArgumentException("Unknown kind of last value: " + kind);
+    }
+  }
+
+  private static void putLastCache(
+      final String database,
+      final IDeviceID deviceId,
+      final String[] measurements,
+      final TimeValuePair[] timeValuePairs) {
+    final TableDeviceSchemaCache cache = TableDeviceSchemaCache.getInstance();
+    // the same as a last query, declare the measurements and then put the values, thus the values
+    // older than the cached ones are ignored
+    cache.initOrInvalidateLastCache(database, deviceId, measurements, false);
+    cache.updateLastCacheIfExists(database, deviceId, measurements, timeValuePairs);
+  }
+
+  private static final LastCacheSnapshotManager INSTANCE = new LastCacheSnapshotManager();
+
+  public static LastCacheSnapshotManager getInstance() {
+    return INSTANCE;
+  }
+}
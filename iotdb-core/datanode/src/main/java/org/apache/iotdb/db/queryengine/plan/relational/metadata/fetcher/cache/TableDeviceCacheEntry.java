@@ -239,6 +239,11 @@ public class TableDeviceCacheEntry {
         : Optional.empty();
   }
 
+  Map<String, TimeValuePair> getLastValues() {
+    final TableDeviceLastCache cache = lastCache.get();
+    return Objects.nonNull(cache) ? cache.getLastValues() : Collections.emptyMap();
+  }
+
   int invalidateLastCache() {
     final AtomicInteger size = new AtomicInteger(0);
     lastCache.updateAndGet(
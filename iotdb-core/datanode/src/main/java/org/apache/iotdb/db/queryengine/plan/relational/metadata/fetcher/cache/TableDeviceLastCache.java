@@ -32,6 +32,7 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -270,6 +271,18 @@ public class TableDeviceLastCache {
                 .toArray(TsPrimitiveType[]::new)));
   }
 
+  /** Return the put last values, the declared ones waiting for the first put are excluded. */
+  Map<String, TimeValuePair> getLastValues() {
+    final Map<String, TimeValuePair> lastValues = new HashMap<>();
+    measurement2CachedLastMap.forEach(
+        (measurement, tvPair) -> {
+          if (tvPair != PLACEHOLDER_TIME_VALUE_PAIR) {
+            lastValues.put(measurement, tvPair);
+          }
+        });
+    return lastValues;
+  }
+
   int estimateSize() {
     return INSTANCE_SIZE
         + (int) RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY * measurement2CachedLastMap.size()
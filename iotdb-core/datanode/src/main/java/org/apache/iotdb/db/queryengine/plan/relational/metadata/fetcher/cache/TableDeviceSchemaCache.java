@@ -27,6 +27,7 @@ import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.path.PathPatternUtil;
 import org.apache.iotdb.commons.service.metric.MetricService;
 import org.apache.iotdb.commons.utils.PathUtils;
+import org.apache.iotdb.commons.utils.function.CheckedTriConsumer;
 import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
@@ -109,15 +110,17 @@ public class TableDeviceSchemaCache {
 
   private final IMemoryBlock memoryBlock;
 
+  private final DualKeyCachePolicy evictionPolicy;
+
   private TableDeviceSchemaCache() {
     memoryBlock =
         memoryConfig
             .getSchemaCacheMemoryManager()
             .exactAllocate(DataNodeMemoryConfig.SCHEMA_CACHE, MemoryBlockType.STATIC);
+    evictionPolicy = DualKeyCachePolicy.valueOf(config.getDataNodeSchemaCacheEvictionPolicy());
     dualKeyCache =
         new DualKeyCacheBuilder<TableId, IDeviceID, TableDeviceCacheEntry>()
-            .cacheEvictionPolicy(
-                DualKeyCachePolicy.valueOf(config.getDataNodeSchemaCacheEvictionPolicy()))
+            .cacheEvictionPolicy(evictionPolicy)
             .memoryCapacity(memoryBlock.getTotalMemorySizeInBytes())
             .firstKeySizeComputer(TableId::estimateSize)
             .secondKeySizeComputer(deviceID -> (int) deviceID.ramBytesUsed())
@@ -386,6 +389,25 @@ public class TableDeviceSchemaCache {
         false);
   }
 
+  /**
+   * Visit the last values of all the table model devices in cache, the devices without any put last
+   * values are skipped.
+   *
+   * @param visitor accepts the database without "root", the {@link IDeviceID}, and the last values
+   *     of measurements where "" stands for the time column
+   */
+  <E extends Throwable> void forEachTableModelLastCache(
+      final CheckedTriConsumer<String, IDeviceID, Map<String, TimeValuePair>, E> visitor) throws E {
+    dualKeyCache.forEach(
+        tableId -> Objects.nonNull(tableId.getDatabase()),
+        (tableId, deviceId, entry) -> {
+          final Map<String, TimeValuePair> lastValues = entry.getLastValues();
+          if (!lastValues.isEmpty()) {
+            visitor.accept(tableId.getDatabase(), deviceId, lastValues);
+          }
+        });
+  }
+
   /////////////////////////////// Tree model ///////////////////////////////
 
   public void putDeviceSchema(final String database, final DeviceSchemaInfo deviceSchemaInfo) {
@@ -544,6 +566,18 @@ public class TableDeviceSchemaCache {
     return dualKeyCache.stats().requestCount();
   }
 
+  long getMissCount() {
+    return dualKeyCache.stats().missCount();
+  }
+
+  long getEvictionCount() {
+    return dualKeyCache.stats().evictionCount();
+  }
+
+  DualKeyCachePolicy getEvictionPolicy() {
+    return evictionPolicy;
+  }
+
   public long getMemoryUsage() {
     return dualKeyCache.stats().memoryUsage();
   }
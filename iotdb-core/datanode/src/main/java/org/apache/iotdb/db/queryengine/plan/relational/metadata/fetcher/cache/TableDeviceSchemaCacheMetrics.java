@@ -28,12 +28,17 @@ import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
 
 import java.util.Objects;
+import java.util.function.ToDoubleFunction;
 
 public class TableDeviceSchemaCacheMetrics implements IMetricSet {
 
   private static final String SCHEMA_CACHE_TOTAL_USAGE = "schema_cache_total_usage";
   private static final String SCHEMA_CACHE_MEM_CAPACITY = "schema_cache_mem_capacity";
 
+  private static final String HIT = "hit";
+  private static final String MISS = "miss";
+  private static final String EVICTION = "eviction";
+
   private final TableDeviceSchemaCache tableDeviceSchemaCache;
 
   public TableDeviceSchemaCacheMetrics(final TableDeviceSchemaCache dataNodeSchemaCache) {
@@ -79,6 +84,27 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
         MetricLevel.IMPORTANT,
         tableDeviceSchemaCache,
         TableDeviceSchemaCache::entriesCount);
+    // tagged by the eviction policy to compare the policies
+    bindPolicyGauge(metricService, HIT, TableDeviceSchemaCache::getHitCount);
+    bindPolicyGauge(metricService, MISS, TableDeviceSchemaCache::getMissCount);
+    bindPolicyGauge(metricService, EVICTION, TableDeviceSchemaCache::getEvictionCount);
+  }
+
+  private void bindPolicyGauge(
+      final AbstractMetricService metricService,
+      final String type,
+      final ToDoubleFunction<TableDeviceSchemaCache> mapper) {
+    metricService.createAutoGauge(
+        Metric.CACHE_POLICY.toString(),
+        MetricLevel.IMPORTANT,
+        tableDeviceSchemaCache,
+        mapper,
+        Tag.NAME.toString(),
+        DataNodeMemoryConfig.SCHEMA_CACHE,
+        Tag.POLICY.toString(),
+        tableDeviceSchemaCache.getEvictionPolicy().name(),
+        Tag.TYPE.toString(),
+        type);
   }
 
   @Override
@@ -108,6 +134,17 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
         Tag.NAME.toString(),
         SCHEMA_CACHE_MEM_CAPACITY);
     metricService.remove(MetricType.AUTO_GAUGE, Metric.CACHE_ENTRIES_NUM.toString());
+    for (final String type : new String[] {HIT, MISS, EVICTION}) {
+      metricService.remove(
+          MetricType.AUTO_GAUGE,
+          Metric.CACHE_POLICY.toString(),
+          Tag.NAME.toString(),
+          DataNodeMemoryConfig.SCHEMA_CACHE,
+          Tag.POLICY.toString(),
+          tableDeviceSchemaCache.getEvictionPolicy().name(),
+          Tag.TYPE.toString(),
+          type);
+    }
   }
 
   @Override
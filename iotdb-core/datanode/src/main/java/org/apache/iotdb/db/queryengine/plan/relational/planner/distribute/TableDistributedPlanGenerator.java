@@ -335,7 +335,8 @@ public class TableDistributedPlanGenerator
         nodeOrderingMap.put(node.getPlanNodeId(), childOrdering);
       }
 
-      // Now the join implement but CROSS is MergeSortJoin, so it can keep order
+      // Now the join implement but CROSS is MergeSortJoin or HashJoin, both of them keep the order
+      // of left child for INNER and LEFT join
       if (child instanceof JoinNode) {
         JoinNode joinNode = (JoinNode) child;
 
@@ -614,10 +615,9 @@ public class TableDistributedPlanGenerator
 
     List<PlanNode> leftChildrenNodes = node.getLeftChild().accept(this, context);
     List<PlanNode> rightChildrenNodes = node.getRightChild().accept(this, context);
-    if (!node.isCrossJoin()) {
-      // child of JoinNode(excluding CrossJoin) must be SortNode, so after rewritten, the child must
-      // be MergeSortNode or
-      // SortNode
+    if (!node.isCrossJoin() && !node.isHashJoin()) {
+      // child of JoinNode(excluding CrossJoin and HashJoin) must be SortNode, so after rewritten,
+      // the child must be MergeSortNode or SortNode
       checkArgument(
           leftChildrenNodes.size() == 1, "The size of left children node of JoinNode should be 1");
       checkArgument(
@@ -628,12 +628,13 @@ public class TableDistributedPlanGenerator
     OrderingScheme leftChildOrdering = nodeOrderingMap.get(node.getLeftChild().getPlanNodeId());
     OrderingScheme rightChildOrdering = nodeOrderingMap.get(node.getRightChild().getPlanNodeId());
 
-    // For CrossJoinNode, we need to merge children nodes(It's safe for other JoinNodes here since
-    // the size of their children is always 1.)
+    // For CrossJoinNode and HashJoinNode, we need to merge children nodes(It's safe for other
+    // JoinNodes here since the size of their children is always 1.)
     node.setLeftChild(mergeChildrenViaCollectOrMergeSort(leftChildOrdering, leftChildrenNodes));
     node.setRightChild(mergeChildrenViaCollectOrMergeSort(rightChildOrdering, rightChildrenNodes));
 
-    // Now the join implement but CROSS is MergeSortJoin, so it can keep order
+    // Now the join implement but CROSS is MergeSortJoin or HashJoin, both of them keep the order of
+    // left child for INNER and LEFT join
     if (!node.isCrossJoin() && !node.getAsofCriteria().isPresent()) {
       switch (node.getJoinType()) {
         case FULL:
@@ -642,8 +643,9 @@ public class TableDistributedPlanGenerator
           break;
         case INNER:
         case LEFT:
-          if (ImmutableSet.copyOf(node.getLeftOutputSymbols())
-              .containsAll(leftChildOrdering.getOrderBy())) {
+          if (leftChildOrdering != null
+              && ImmutableSet.copyOf(node.getLeftOutputSymbols())
+                  .containsAll(leftChildOrdering.getOrderBy())) {
             nodeOrderingMap.put(node.getPlanNodeId(), leftChildOrdering);
           }
           break;
@@ -874,12 +876,67 @@ public class TableDistributedPlanGenerator
     }
     context.mostUsedRegion = mostUsedDataRegion;
 
+    final List<PlanNode> splitTableScanNodeList = splitScanByDevices(resultTableScanNodeList);
     if (!context.hasSortProperty) {
-      return resultTableScanNodeList;
+      return splitTableScanNodeList;
     }
 
-    processSortProperty(node, resultTableScanNodeList, context);
-    return resultTableScanNodeList;
+    processSortProperty(node, splitTableScanNodeList, context);
+    return splitTableScanNodeList;
+  }
+
+  /**
+   * Split the devices of each region into several scans, each of which is executed by its own
+   * driver, so that a region with lots of devices is not scanned by a single thread. The scans of a
+   * region are placed on the same DataNode, thus their results are merged by the parent through
+   * local exchanges. Each device is scanned by only one split, thus the results of a device are not
+   * scattered.
+   */
+  private List<PlanNode> splitScanByDevices(final List<PlanNode> regionScanNodes) {
+    final int maxSplitNumPerRegion =
+        IoTDBDescriptor.getInstance().getConfig().getMaxTableScanSplitNumPerRegion();
+    if (maxSplitNumPerRegion <= 1) {
+      return regionScanNodes;
+    }
+
+    // the query threads of the DriverScheduler are shared by all the regions to scan
+    final int maxSplitNum =
+        Math.min(
+            maxSplitNumPerRegion,
+            IoTDBDescriptor.getInstance().getMemoryConfig().getQueryThreadCount()
+                / regionScanNodes.size());
+    final int minDeviceNum =
+        IoTDBDescriptor.getInstance().getConfig().getTableScanSplitMinDeviceNum();
+    final List<PlanNode> result = new ArrayList<>();
+    for (final PlanNode planNode : regionScanNodes) {
+      final DeviceTableScanNode scanNode = (DeviceTableScanNode) planNode;
+      final List<DeviceEntry> deviceEntries = scanNode.getDeviceEntries();
+      final int splitNum = Math.min(maxSplitNum, deviceEntries.size() / minDeviceNum);
+      // the limit and offset not pushed to each device are applied to all the devices of the scan
+      if (splitNum <= 1
+          || NOT_ASSIGNED.equals(scanNode.getRegionReplicaSet())
+          || (scanNode.getPushDownLimit() > 0 && !scanNode.isPushLimitToEachDevice())
+          || scanNode.getPushDownOffset() > 0) {
+        result.add(scanNode);
+        continue;
+      }
+
+      for (int i = 0; i < splitNum; i++) {
+        final List<DeviceEntry> splitDeviceEntries =
+            new ArrayList<>(
+                deviceEntries.subList(
+                    deviceEntries.size() * i / splitNum,
+                    deviceEntries.size() * (i + 1) / splitNum));
+        final DeviceTableScanNode splitScanNode = (DeviceTableScanNode) scanNode.clone();
+        if (i > 0) {
+          splitScanNode.setPlanNodeId(queryId.genPlanNodeId());
+        }
+        splitScanNode.setDeviceEntries(splitDeviceEntries);
+        splitScanNode.setRegionReplicaSet(scanNode.getRegionReplicaSet());
+        result.add(splitScanNode);
+      }
+    }
+    return result;
   }
 
   @Override
@@ -1304,6 +1361,7 @@ public class TableDistributedPlanGenerator
     }
     context.mostUsedRegion = mostUsedDataRegion;
 
+    resultTableScanNodeList = splitScanByDevices(resultTableScanNodeList);
     if (context.hasSortProperty) {
       processSortProperty(node, resultTableScanNodeList, context);
     }
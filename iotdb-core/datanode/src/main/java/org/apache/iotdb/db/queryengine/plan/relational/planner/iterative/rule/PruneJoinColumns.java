@@ -37,7 +37,7 @@ public class PruneJoinColumns extends ProjectOffPushDownRule<JoinNode> {
   @Override
   protected Optional<PlanNode> pushDownProjectOff(
       Context context, JoinNode joinNode, Set<Symbol> referencedOutputs) {
-    return Optional.of(
+    JoinNode newJoinNode =
         new JoinNode(
             joinNode.getPlanNodeId(),
             joinNode.getJoinType(),
@@ -48,6 +48,8 @@ public class PruneJoinColumns extends ProjectOffPushDownRule<JoinNode> {
             filteredCopy(joinNode.getLeftOutputSymbols(), referencedOutputs::contains),
             filteredCopy(joinNode.getRightOutputSymbols(), referencedOutputs::contains),
             joinNode.getFilter(),
-            joinNode.isSpillable()));
+            joinNode.isSpillable());
+    newJoinNode.setHashJoin(joinNode.isHashJoin());
+    return Optional.of(newJoinNode);
   }
 }
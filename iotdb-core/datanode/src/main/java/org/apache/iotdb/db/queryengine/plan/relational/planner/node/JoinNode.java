@@ -58,6 +58,8 @@ public class JoinNode extends TwoChildProcessNode {
   // some filter like 'a.xx_column < b.yy_column'
   private final Optional<Expression> filter;
   private final Optional<Boolean> spillable;
+  // build a hash table on the right child instead of merging two sorted children
+  private boolean hashJoin;
 
   // private final boolean maySkipOutputDuplicates;
   // private final Optional<Symbol> leftHashSymbol;
@@ -160,17 +162,20 @@ public class JoinNode extends TwoChildProcessNode {
    * @return a new JoinNode with the flipped attributes
    */
   public JoinNode flip() {
-    return new JoinNode(
-        id,
-        joinType.flip(),
-        rightChild,
-        leftChild,
-        flipBatch(criteria),
-        asofCriteria,
-        rightOutputSymbols,
-        leftOutputSymbols,
-        filter,
-        spillable);
+    JoinNode joinNode =
+        new JoinNode(
+            id,
+            joinType.flip(),
+            rightChild,
+            leftChild,
+            flipBatch(criteria),
+            asofCriteria,
+            rightOutputSymbols,
+            leftOutputSymbols,
+            filter,
+            spillable);
+    joinNode.setHashJoin(hashJoin);
+    return joinNode;
   }
 
   @Override
@@ -181,17 +186,20 @@ public class JoinNode extends TwoChildProcessNode {
   @Override
   public PlanNode replaceChildren(List<PlanNode> newChildren) {
     checkArgument(newChildren.size() == 2, "expected newChildren to contain 2 nodes for JoinNode");
-    return new JoinNode(
-        getPlanNodeId(),
-        joinType,
-        newChildren.get(0),
-        newChildren.get(1),
-        criteria,
-        asofCriteria,
-        leftOutputSymbols,
-        rightOutputSymbols,
-        filter,
-        spillable);
+    JoinNode joinNode =
+        new JoinNode(
+            getPlanNodeId(),
+            joinType,
+            newChildren.get(0),
+            newChildren.get(1),
+            criteria,
+            asofCriteria,
+            leftOutputSymbols,
+            rightOutputSymbols,
+            filter,
+            spillable);
+    joinNode.setHashJoin(hashJoin);
+    return joinNode;
   }
 
   @Override
@@ -216,6 +224,7 @@ public class JoinNode extends TwoChildProcessNode {
             rightOutputSymbols,
             filter,
             spillable);
+    joinNode.setHashJoin(hashJoin);
     joinNode.setLeftChild(null);
     joinNode.setRightChild(null);
     return joinNode;
@@ -228,7 +237,10 @@ public class JoinNode extends TwoChildProcessNode {
 
   @Override
   protected void serializeAttributes(ByteBuffer byteBuffer) {
-    PlanNodeType.TABLE_JOIN_NODE.serialize(byteBuffer);
+    // a hash join is serialized as another node type instead of adding a field, so that the
+    // merge joins can still be deserialized by the DataNodes of older versions
+    (hashJoin ? PlanNodeType.TABLE_HASH_JOIN_NODE : PlanNodeType.TABLE_JOIN_NODE)
+        .serialize(byteBuffer);
 
     ReadWriteIOUtils.write(joinType.ordinal(), byteBuffer);
 
@@ -260,7 +272,7 @@ public class JoinNode extends TwoChildProcessNode {
 
   @Override
   protected void serializeAttributes(DataOutputStream stream) throws IOException {
-    PlanNodeType.TABLE_JOIN_NODE.serialize(stream);
+    (hashJoin ? PlanNodeType.TABLE_HASH_JOIN_NODE : PlanNodeType.TABLE_JOIN_NODE).serialize(stream);
 
     ReadWriteIOUtils.write(joinType.ordinal(), stream);
 
@@ -291,6 +303,14 @@ public class JoinNode extends TwoChildProcessNode {
   }
 
   public static JoinNode deserialize(ByteBuffer byteBuffer) {
+    return deserialize(byteBuffer, false);
+  }
+
+  public static JoinNode deserializeHashJoin(ByteBuffer byteBuffer) {
+    return deserialize(byteBuffer, true);
+  }
+
+  private static JoinNode deserialize(ByteBuffer byteBuffer, boolean hashJoin) {
     JoinType joinType = JoinType.values()[ReadWriteIOUtils.readInt(byteBuffer)];
     int size = ReadWriteIOUtils.readInt(byteBuffer);
     List<EquiJoinClause> criteria = new ArrayList<>(size);
@@ -322,8 +342,11 @@ public class JoinNode extends TwoChildProcessNode {
     }
 
     PlanNodeId planNodeId = PlanNodeId.deserialize(byteBuffer);
-    return new JoinNode(
-        planNodeId, joinType, criteria, asofJoinClause, leftOutputSymbols, rightOutputSymbols);
+    JoinNode joinNode =
+        new JoinNode(
+            planNodeId, joinType, criteria, asofJoinClause, leftOutputSymbols, rightOutputSymbols);
+    joinNode.setHashJoin(hashJoin);
+    return joinNode;
   }
 
   public JoinType getJoinType() {
@@ -354,6 +377,14 @@ public class JoinNode extends TwoChildProcessNode {
     return spillable;
   }
 
+  public boolean isHashJoin() {
+    return hashJoin;
+  }
+
+  public void setHashJoin(boolean hashJoin) {
+    this.hashJoin = hashJoin;
+  }
+
   public boolean isCrossJoin() {
     return !asofCriteria.isPresent()
         && criteria.isEmpty()
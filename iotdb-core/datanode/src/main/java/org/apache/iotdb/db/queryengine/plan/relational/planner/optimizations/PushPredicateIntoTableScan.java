@@ -964,8 +964,19 @@ public class PushPredicateIntoTableScan implements PlanOptimizer {
 
       JoinNode outputJoinNode = (JoinNode) output;
       if (!((JoinNode) output).isCrossJoin()) {
-        // inner join or full join, use MergeSortJoinNode
-        appendSortNodeForMergeSortJoin(outputJoinNode);
+        if (canUseHashJoin(outputJoinNode, rightCardinality)) {
+          // the right child is small enough to be built into a hash table, no sort is needed
+          outputJoinNode.setHashJoin(true);
+        } else if (outputJoinNode.getJoinType() == INNER
+            && canUseHashJoin(outputJoinNode, leftCardinality)) {
+          // build the hash table on the smaller left child
+          outputJoinNode = outputJoinNode.flip();
+          outputJoinNode.setHashJoin(true);
+          output = outputJoinNode;
+        } else {
+          // inner join or full join, use MergeSortJoinNode
+          appendSortNodeForMergeSortJoin(outputJoinNode);
+        }
       }
 
       if (!TRUE_LITERAL.equals(postJoinPredicate)) {
@@ -1017,6 +1028,20 @@ public class PushPredicateIntoTableScan implements PlanOptimizer {
       return symbolAllocator.newSymbol(expression, analysis.getType(expression));
     }
 
+    /**
+     * Hash join keeps all rows of the build side (right child) in memory, so it is only used when
+     * the build side is estimated to be small. Full join and asof join need both children sorted.
+     */
+    private boolean canUseHashJoin(JoinNode joinNode, Cardinality buildSideCardinality) {
+      long maxRowsInBuildSide = CONFIG.getMaxRowsInHashJoinBuildSide();
+      return maxRowsInBuildSide > 0
+          && (joinNode.getJoinType() == INNER || joinNode.getJoinType() == LEFT)
+          && !joinNode.getAsofCriteria().isPresent()
+          && !joinNode.getCriteria().isEmpty()
+          && !joinNode.getFilter().isPresent()
+          && buildSideCardinality.isAtMost(maxRowsInBuildSide);
+    }
+
     private void appendSortNodeForMergeSortJoin(JoinNode joinNode) {
       int size = joinNode.getCriteria().size();
       JoinNode.AsofJoinClause asofJoinClause = joinNode.getAsofCriteria().orElse(null);
@@ -26,6 +26,7 @@ import org.apache.iotdb.db.queryengine.plan.relational.planner.iterative.GroupRe
 import org.apache.iotdb.db.queryengine.plan.relational.planner.iterative.Lookup;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.AggregationNode;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.AggregationTableScanNode;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.node.CteScanNode;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.EnforceSingleRowNode;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.FilterNode;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.LimitNode;
@@ -208,6 +209,12 @@ public final class QueryCardinalityUtil {
     //            return node.getSource().accept(this, null);
     //        }
 
+    @Override
+    public Range<Long> visitCteScan(CteScanNode node, Void context) {
+      // the cte has been materialized, so its row count is known
+      return Range.singleton((long) node.getDataStore().getCachedRows());
+    }
+
     @Override
     public Range<Long> visitAggregationTableScan(AggregationTableScanNode node, Void context) {
 
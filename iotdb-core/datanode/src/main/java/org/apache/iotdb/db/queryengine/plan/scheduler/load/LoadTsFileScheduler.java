@@ -26,6 +26,8 @@ import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
 import org.apache.iotdb.commons.client.IClientManager;
 import org.apache.iotdb.commons.client.sync.SyncDataNodeInternalServiceClient;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.consensus.ConsensusGroupId;
 import org.apache.iotdb.commons.consensus.DataRegionId;
@@ -94,6 +96,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
@@ -104,9 +107,11 @@ import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -132,14 +137,18 @@ public class LoadTsFileScheduler implements IScheduler {
 
   private static final Set<String> LOADING_FILE_SET = new HashSet<>();
 
+  // shared by all the schedulers, the parallelism of each load is bounded by its own workers
+  private static final ExecutorService LOAD_TSFILE_EXECUTOR =
+      IoTDBThreadPoolFactory.newCachedThreadPool(ThreadName.LOAD_TSFILE_POOL.getName());
+
   private final MPPQueryContext queryContext;
   private final QueryStateMachine stateMachine;
-  private final LoadTsFileDispatcherImpl dispatcher;
-  private final DataPartitionBatchFetcher partitionFetcher;
+  private final IClientManager<TEndPoint, SyncDataNodeInternalServiceClient>
+      internalServiceClientManager;
+  private final IPartitionFetcher partitionFetcher;
   private final List<LoadSingleTsFileNode> tsFileNodeList;
   private final List<Integer> failedTsFileNodeIndexes;
   private final PlanFragmentId fragmentId;
-  private final Set<TRegionReplicaSet> allReplicaSets;
   private final boolean isGeneratedByPipe;
   private final Map<TTimePartitionSlot, ProgressIndex> timePartitionSlotToProgressIndex;
   private final LoadTsFileDataCacheMemoryBlock block;
@@ -154,13 +163,12 @@ public class LoadTsFileScheduler implements IScheduler {
     this.queryContext = queryContext;
     this.stateMachine = stateMachine;
     this.tsFileNodeList = new ArrayList<>();
-    this.failedTsFileNodeIndexes = new ArrayList<>();
+    this.failedTsFileNodeIndexes = Collections.synchronizedList(new ArrayList<>());
     this.fragmentId = distributedQueryPlan.getRootSubPlan().getPlanFragment().getId();
-    this.dispatcher = new LoadTsFileDispatcherImpl(internalServiceClientManager, isGeneratedByPipe);
-    this.partitionFetcher = new DataPartitionBatchFetcher(partitionFetcher);
-    this.allReplicaSets = new HashSet<>();
+    this.internalServiceClientManager = internalServiceClientManager;
+    this.partitionFetcher = partitionFetcher;
     this.isGeneratedByPipe = isGeneratedByPipe;
-    this.timePartitionSlotToProgressIndex = new HashMap<>();
+    this.timePartitionSlotToProgressIndex = new ConcurrentHashMap<>();
     this.block = LoadTsFileMemoryManager.getInstance().allocateDataCacheMemoryBlock();
 
     for (FragmentInstance fragmentInstance : distributedQueryPlan.getInstances()) {
@@ -172,115 +180,19 @@ public class LoadTsFileScheduler implements IScheduler {
   public void start() {
     try {
       stateMachine.transitionToRunning();
-      int tsFileNodeListSize = tsFileNodeList.size();
-      boolean isLoadSuccess = true;
-
-      for (int i = 0; i < tsFileNodeListSize; ++i) {
-        final LoadSingleTsFileNode node = tsFileNodeList.get(i);
-        final String filePath = node.getTsFileResource().getTsFilePath();
+      final int loadTsFileParallelism = CONFIG.getLoadTsFileParallelism();
+      final int parallelism = Math.min(loadTsFileParallelism, tsFileNodeList.size());
 
-        if (node.isTableModel()) {
-          partitionFetcher.setDatabase(node.getDatabase());
-        } else {
-          partitionFetcher.setDatabase(null);
-        }
-
-        boolean isLoadSingleTsFileSuccess = true;
-        boolean shouldRemoveFileFromLoadingSet = false;
-        try {
-          synchronized (LOADING_FILE_SET) {
-            if (LOADING_FILE_SET.contains(filePath)) {
-              throw new LoadFileException(
-                  String.format("TsFile %s is loading by another scheduler.", filePath));
-            }
-            LOADING_FILE_SET.add(filePath);
-          }
-          shouldRemoveFileFromLoadingSet = true;
-
-          final long startTimeMs = System.currentTimeMillis();
-
-          if (node.isTsFileEmpty()) {
-            LOGGER.info("Load skip TsFile {}, because it has no data.", filePath);
-          } else if (!node.needDecodeTsFile(
-              slotList ->
-                  partitionFetcher.queryDataPartition(
-                      slotList, queryContext.getSession().getUserName()))) {
-            // do not decode, load locally
-            final long startTime = System.nanoTime();
-            try {
-              isLoadSingleTsFileSuccess = loadLocally(node);
-            } finally {
-              LOAD_TSFILE_COST_METRICS_SET.recordPhaseTimeCost(
-                  LoadTsFileCostMetricsSet.LOAD_LOCALLY, System.nanoTime() - startTime);
-            }
-          } else {
-            // need decode, load locally or remotely, use two phases method
-            String uuid = UUID.randomUUID().toString();
-            dispatcher.setUuid(uuid);
-            allReplicaSets.clear();
-
-            long startTime = System.nanoTime();
-            final boolean isFirstPhaseSuccess;
-            try {
-              isFirstPhaseSuccess = firstPhase(node);
-            } finally {
-              LOAD_TSFILE_COST_METRICS_SET.recordPhaseTimeCost(
-                  LoadTsFileCostMetricsSet.FIRST_PHASE, System.nanoTime() - startTime);
-            }
-
-            startTime = System.nanoTime();
-            final boolean isSecondPhaseSuccess;
-            try {
-              isSecondPhaseSuccess =
-                  secondPhase(isFirstPhaseSuccess, uuid, node.getTsFileResource());
-            } finally {
-              LOAD_TSFILE_COST_METRICS_SET.recordPhaseTimeCost(
-                  LoadTsFileCostMetricsSet.SECOND_PHASE, System.nanoTime() - startTime);
-            }
-
-            if (!isFirstPhaseSuccess || !isSecondPhaseSuccess) {
-              isLoadSingleTsFileSuccess = false;
-            }
-          }
-
-          if (RegionMigrateService.getInstance().getLastNotifyMigratingTime() > startTimeMs
-              || RegionMigrateService.getInstance().mayHaveMigratingRegions()) {
-            LOGGER.warn(
-                "LoadTsFileScheduler: Region migration was detected during loading TsFile {}, will convert to insertion to avoid data loss",
-                filePath);
-            isLoadSingleTsFileSuccess = false;
-          }
-
-          if (isLoadSingleTsFileSuccess) {
-            node.clean();
-            LOGGER.info(
-                "Load TsFile {} Successfully, load process [{}/{}]",
-                filePath,
-                i + 1,
-                tsFileNodeListSize);
-          } else {
-            isLoadSuccess = false;
-            failedTsFileNodeIndexes.add(i);
-            LOGGER.warn(
-                "Can not Load TsFile {}, load process [{}/{}]",
-                filePath,
-                i + 1,
-                tsFileNodeListSize);
-          }
-        } catch (Exception e) {
-          isLoadSuccess = false;
-          failedTsFileNodeIndexes.add(i);
-          LOGGER.warn("LoadTsFileScheduler loads TsFile {} error", filePath, e);
-        } finally {
-          if (shouldRemoveFileFromLoadingSet) {
-            synchronized (LOADING_FILE_SET) {
-              LOADING_FILE_SET.remove(filePath);
-            }
-          }
+      if (parallelism > 1) {
+        loadTsFilesInParallel(parallelism);
+      } else {
+        final LoadContext context = new LoadContext(loadTsFileParallelism > 1);
+        for (int i = 0; i < tsFileNodeList.size(); ++i) {
+          loadSingleTsFile(i, context);
         }
       }
 
-      if (isLoadSuccess) {
+      if (failedTsFileNodeIndexes.isEmpty()) {
         stateMachine.transitionToFinished();
       } else {
         final StringBuilder failedTsFiles =
@@ -314,8 +226,156 @@ public class LoadTsFileScheduler implements IScheduler {
     }
   }
 
-  private boolean firstPhase(LoadSingleTsFileNode node) {
-    final TsFileDataManager tsFileDataManager = new TsFileDataManager(this, node, block);
+  private void loadSingleTsFile(final int i, final LoadContext context) {
+    final int tsFileNodeListSize = tsFileNodeList.size();
+    final LoadSingleTsFileNode node = tsFileNodeList.get(i);
+    final String filePath = node.getTsFileResource().getTsFilePath();
+
+    if (node.isTableModel()) {
+      context.partitionFetcher.setDatabase(node.getDatabase());
+    } else {
+      context.partitionFetcher.setDatabase(null);
+    }
+
+    boolean isLoadSingleTsFileSuccess = true;
+    boolean shouldRemoveFileFromLoadingSet = false;
+    try {
+      synchronized (LOADING_FILE_SET) {
+        if (LOADING_FILE_SET.contains(filePath)) {
+          throw new LoadFileException(
+              String.format("TsFile %s is loading by another scheduler.", filePath));
+        }
+        LOADING_FILE_SET.add(filePath);
+      }
+      shouldRemoveFileFromLoadingSet = true;
+
+      final long startTimeMs = System.currentTimeMillis();
+
+      if (node.isTsFileEmpty()) {
+        LOGGER.info("Load skip TsFile {}, because it has no data.", filePath);
+      } else if (!node.needDecodeTsFile(
+          slotList ->
+              context.partitionFetcher.queryDataPartition(
+                  slotList, queryContext.getSession().getUserName()))) {
+        // do not decode, load locally
+        final long startTime = System.nanoTime();
+        try {
+          isLoadSingleTsFileSuccess = loadLocally(node, context);
+        } finally {
+          LOAD_TSFILE_COST_METRICS_SET.recordPhaseTimeCost(
+              LoadTsFileCostMetricsSet.LOAD_LOCALLY, System.nanoTime() - startTime);
+        }
+      } else {
+        // need decode, load locally or remotely, use two phases method
+        String uuid = UUID.randomUUID().toString();
+        context.dispatcher.setUuid(uuid);
+        context.allReplicaSets.clear();
+
+        long startTime = System.nanoTime();
+        final boolean isFirstPhaseSuccess;
+        try {
+          isFirstPhaseSuccess = firstPhase(node, context);
+        } finally {
+          LOAD_TSFILE_COST_METRICS_SET.recordPhaseTimeCost(
+              LoadTsFileCostMetricsSet.FIRST_PHASE, System.nanoTime() - startTime);
+        }
+
+        startTime = System.nanoTime();
+        final boolean isSecondPhaseSuccess;
+        try {
+          isSecondPhaseSuccess =
+              secondPhase(isFirstPhaseSuccess, uuid, node.getTsFileResource(), context);
+        } finally {
+          LOAD_TSFILE_COST_METRICS_SET.recordPhaseTimeCost(
+              LoadTsFileCostMetricsSet.SECOND_PHASE, System.nanoTime() - startTime);
+        }
+
+        if (!isFirstPhaseSuccess || !isSecondPhaseSuccess) {
+          isLoadSingleTsFileSuccess = false;
+        }
+      }
+
+      if (RegionMigrateService.getInstance().getLastNotifyMigratingTime() > startTimeMs
+          || RegionMigrateService.getInstance().mayHaveMigratingRegions()) {
+        LOGGER.warn(
+            "LoadTsFileScheduler: Region migration was detected during loading TsFile {}, will convert to insertion to avoid data loss",
+            filePath);
+        isLoadSingleTsFileSuccess = false;
+      }
+
+      if (isLoadSingleTsFileSuccess) {
+        node.clean();
+        LOGGER.info(
+            "Load TsFile {} Successfully, load process [{}/{}]",
+            filePath,
+            i + 1,
+            tsFileNodeListSize);
+      } else {
+        failedTsFileNodeIndexes.add(i);
+        LOGGER.warn(
+            "Can not Load TsFile {}, load process [{}/{}]", filePath, i + 1, tsFileNodeListSize);
+      }
+    } catch (Exception e) {
+      failedTsFileNodeIndexes.add(i);
+      LOGGER.warn("LoadTsFileScheduler loads TsFile {} error", filePath, e);
+    } finally {
+      if (shouldRemoveFileFromLoadingSet) {
+        synchronized (LOADING_FILE_SET) {
+          LOADING_FILE_SET.remove(filePath);
+        }
+      }
+    }
+  }
+
+  /**
+   * Load the TsFiles by the given number of threads, each of which reads, splits and dispatches one
+   * TsFile at a time, while the pieces of the TsFile are dispatched to the replica sets in parallel
+   * with the splitting.
+   */
+  private void loadTsFilesInParallel(final int parallelism) {
+    final AtomicInteger nextIndex = new AtomicInteger(0);
+    final Set<Integer> loadedIndexes = ConcurrentHashMap.newKeySet();
+    final List<Future<?>> futures = new ArrayList<>(parallelism);
+    try {
+      for (int t = 0; t < parallelism; ++t) {
+        futures.add(
+            LOAD_TSFILE_EXECUTOR.submit(
+                () -> {
+                  final LoadContext context = new LoadContext(true);
+                  for (int i = nextIndex.getAndIncrement();
+                      i < tsFileNodeList.size();
+                      i = nextIndex.getAndIncrement()) {
+                    loadSingleTsFile(i, context);
+                    loadedIndexes.add(i);
+                  }
+                }));
+      }
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.warn("Interrupted when loading TsFiles in parallel.", e);
+    } catch (final ExecutionException e) {
+      LOGGER.warn("Error occurred when loading TsFiles in parallel.", e);
+    } finally {
+      // stop the workers still running, e.g. when interrupted, the pool is shared with other loads
+      for (final Future<?> future : futures) {
+        future.cancel(true);
+      }
+    }
+
+    // the TsFiles not loaded because of the errors above are also failed
+    for (int i = 0; i < tsFileNodeList.size(); ++i) {
+      if (!loadedIndexes.contains(i) && !failedTsFileNodeIndexes.contains(i)) {
+        failedTsFileNodeIndexes.add(i);
+      }
+    }
+    Collections.sort(failedTsFileNodeIndexes);
+  }
+
+  private boolean firstPhase(LoadSingleTsFileNode node, LoadContext context) {
+    final TsFileDataManager tsFileDataManager = new TsFileDataManager(this, node, block, context);
     try {
       new TsFileSplitter(
               node.getTsFileResource().getTsFile(), tsFileDataManager::addOrSendTsFileData)
@@ -340,9 +400,9 @@ public class LoadTsFileScheduler implements IScheduler {
     return true;
   }
 
-  private boolean dispatchOnePieceNode(
-      LoadTsFilePieceNode pieceNode, TRegionReplicaSet replicaSet) {
-    allReplicaSets.add(replicaSet);
+  private Future<FragInstanceDispatchResult> submitPieceNode(
+      LoadTsFilePieceNode pieceNode, TRegionReplicaSet replicaSet, LoadContext context) {
+    context.allReplicaSets.add(replicaSet);
     FragmentInstance instance =
         new FragmentInstance(
             new PlanFragment(fragmentId, pieceNode),
@@ -354,9 +414,13 @@ public class LoadTsFileScheduler implements IScheduler {
             queryContext.isDebug(),
             queryContext.isVerbose());
     instance.setExecutorAndHost(new StorageExecutor(replicaSet));
-    Future<FragInstanceDispatchResult> dispatchResultFuture =
-        dispatcher.dispatch(null, Collections.singletonList(instance));
+    return context.dispatcher.dispatch(null, Collections.singletonList(instance));
+  }
 
+  private boolean waitForPieceNode(
+      Future<FragInstanceDispatchResult> dispatchResultFuture,
+      LoadTsFilePieceNode pieceNode,
+      TRegionReplicaSet replicaSet) {
     try {
       FragInstanceDispatchResult result =
           dispatchResultFuture.get(
@@ -399,7 +463,10 @@ public class LoadTsFileScheduler implements IScheduler {
   }
 
   private boolean secondPhase(
-      boolean isFirstPhaseSuccess, String uuid, TsFileResource tsFileResource) {
+      boolean isFirstPhaseSuccess,
+      String uuid,
+      TsFileResource tsFileResource,
+      LoadContext context) {
     LOGGER.info("Start dispatching Load command for uuid {}", uuid);
     final File tsFile = tsFileResource.getTsFile();
     final TLoadCommandReq loadCommandReq =
@@ -429,7 +496,7 @@ public class LoadTsFileScheduler implements IScheduler {
                         }
                       })));
       Future<FragInstanceDispatchResult> dispatchResultFuture =
-          dispatcher.dispatchCommand(loadCommandReq, allReplicaSets);
+          context.dispatcher.dispatchCommand(loadCommandReq, context.allReplicaSets);
 
       FragInstanceDispatchResult result = dispatchResultFuture.get();
       if (!result.isSuccessful()) {
@@ -438,7 +505,7 @@ public class LoadTsFileScheduler implements IScheduler {
                 + "Result status code {}. Result status message {}.",
             loadCommandReq,
             tsFile,
-            allReplicaSets,
+            context.allReplicaSets,
             TSStatusCode.representOf(result.getFailureStatus().getCode()).name(),
             result.getFailureStatus().getMessage());
         TSStatus status = result.getFailureStatus();
@@ -471,7 +538,8 @@ public class LoadTsFileScheduler implements IScheduler {
     }
   }
 
-  private boolean loadLocally(LoadSingleTsFileNode node) throws IoTDBException {
+  private boolean loadLocally(LoadSingleTsFileNode node, LoadContext context)
+      throws IoTDBException {
     LOGGER.info("Start load TsFile {} locally.", node.getTsFileResource().getTsFile().getPath());
 
     if (CommonDescriptor.getInstance().getConfig().isReadOnly()) {
@@ -509,7 +577,7 @@ public class LoadTsFileScheduler implements IScheduler {
               queryContext.isDebug(),
               queryContext.isVerbose());
       instance.setExecutorAndHost(new StorageExecutor(node.getLocalRegionReplicaSet()));
-      dispatcher.dispatchLocally(instance);
+      context.dispatcher.dispatchLocally(instance);
     } catch (FragmentInstanceDispatchException e) {
       LOGGER.warn(
           String.format(
@@ -571,7 +639,7 @@ public class LoadTsFileScheduler implements IScheduler {
     return true;
   }
 
-  private void convertFailedTsFilesToTabletsAndRetry() {
+  void convertFailedTsFilesToTabletsAndRetry() {
     final LoadTsFileDataTypeConverter loadTsFileDataTypeConverter =
         new LoadTsFileDataTypeConverter(queryContext, isGeneratedByPipe);
 
@@ -660,24 +728,55 @@ public class LoadTsFileScheduler implements IScheduler {
     ROLLBACK
   }
 
+  LoadTsFileDispatcherImpl createDispatcher() {
+    return new LoadTsFileDispatcherImpl(internalServiceClientManager, isGeneratedByPipe);
+  }
+
+  /**
+   * The dispatcher and the replica sets of the TsFile being loaded, the TsFiles loaded in parallel
+   * have their own contexts since the dispatcher carries the uuid of the TsFile.
+   */
+  private class LoadContext {
+    private final LoadTsFileDispatcherImpl dispatcher;
+    private final DataPartitionBatchFetcher partitionFetcher;
+    private final Set<TRegionReplicaSet> allReplicaSets;
+    // whether to split the TsFile while its pieces are being dispatched
+    private final boolean isDispatchPipelined;
+
+    private LoadContext(boolean isDispatchPipelined) {
+      this.dispatcher = createDispatcher();
+      this.partitionFetcher =
+          new DataPartitionBatchFetcher(LoadTsFileScheduler.this.partitionFetcher);
+      this.allReplicaSets = new HashSet<>();
+      this.isDispatchPipelined = isDispatchPipelined;
+    }
+  }
+
   private static class TsFileDataManager {
     private final LoadTsFileScheduler scheduler;
     private final LoadSingleTsFileNode singleTsFileNode;
+    private final LoadContext context;
 
     private long dataSize;
     private final Map<TConsensusGroupId, Pair<TRegionReplicaSet, LoadTsFilePieceNode>>
         regionId2ReplicaSetAndNode;
+    // the pieces being dispatched in the order of submission, at most one piece for each region,
+    // so that the pieces of a region arrive in order
+    private final Map<TConsensusGroupId, DispatchingPiece> regionId2DispatchingPiece;
     private final List<ChunkData> nonDirectionalChunkData;
     private final LoadTsFileDataCacheMemoryBlock block;
 
     public TsFileDataManager(
         LoadTsFileScheduler scheduler,
         LoadSingleTsFileNode singleTsFileNode,
-        LoadTsFileDataCacheMemoryBlock block) {
+        LoadTsFileDataCacheMemoryBlock block,
+        LoadContext context) {
       this.scheduler = scheduler;
       this.singleTsFileNode = singleTsFileNode;
+      this.context = context;
       this.dataSize = 0;
       this.regionId2ReplicaSetAndNode = new HashMap<>();
+      this.regionId2DispatchingPiece = new LinkedHashMap<>();
       this.nonDirectionalChunkData = new ArrayList<>();
       this.block = block;
     }
@@ -724,7 +823,8 @@ public class LoadTsFileScheduler implements IScheduler {
           if (pieceNode.getDataSize() == 0) { // total data size has been reduced to 0
             break;
           }
-          final boolean isDispatchSuccess = scheduler.dispatchOnePieceNode(pieceNode, replicaSet);
+          final boolean isDispatchSuccess =
+              dispatchPieceNode(sortedRegionId, replicaSet, pieceNode);
 
           regionId2ReplicaSetAndNode.replace(
               sortedRegionId,
@@ -736,7 +836,6 @@ public class LoadTsFileScheduler implements IScheduler {
                           .getTsFileResource()
                           .getTsFile()))); // can not just remove, because of deletion
           dataSize -= pieceNode.getDataSize();
-          block.reduceMemoryUsage(pieceNode.getDataSize());
 
           if (!isDispatchSuccess) {
             // Currently there is no retry, so return directly
@@ -747,18 +846,69 @@ public class LoadTsFileScheduler implements IScheduler {
             break;
           }
         }
+
+        // the memory of the pieces is released after they are dispatched, wait for them if the
+        // memory is still not enough. The block is shared by the TsFiles loaded in parallel, and a
+        // TsFile without pieces in flight goes on even if the block is full because of the others,
+        // since waiting for each other may never end. So each of them may overrun the block by the
+        // data it has read but not dispatched, which is at most SINGLE_SCHEDULER_MAX_MEMORY_SIZE
+        // plus one chunk, and the overrun is released once its pieces are dispatched.
+        while (!block.hasEnoughMemory() && !regionId2DispatchingPiece.isEmpty()) {
+          if (!waitForDispatchingPiece(regionId2DispatchingPiece.keySet().iterator().next())) {
+            return false;
+          }
+        }
       }
 
       return true;
     }
 
+    /**
+     * Dispatch the piece after the previous piece of the region is dispatched, and return without
+     * waiting for it if the dispatch is pipelined.
+     */
+    private boolean dispatchPieceNode(
+        TConsensusGroupId regionId, TRegionReplicaSet replicaSet, LoadTsFilePieceNode pieceNode) {
+      if (!waitForDispatchingPiece(regionId)) {
+        block.reduceMemoryUsage(pieceNode.getDataSize());
+        return false;
+      }
+      regionId2DispatchingPiece.put(
+          regionId,
+          new DispatchingPiece(
+              replicaSet, pieceNode, scheduler.submitPieceNode(pieceNode, replicaSet, context)));
+      return context.isDispatchPipelined || waitForDispatchingPiece(regionId);
+    }
+
+    private boolean waitForDispatchingPiece(TConsensusGroupId regionId) {
+      final DispatchingPiece dispatchingPiece = regionId2DispatchingPiece.remove(regionId);
+      if (dispatchingPiece == null) {
+        return true;
+      }
+      try {
+        return scheduler.waitForPieceNode(
+            dispatchingPiece.future, dispatchingPiece.pieceNode, dispatchingPiece.replicaSet);
+      } finally {
+        block.reduceMemoryUsage(dispatchingPiece.pieceNode.getDataSize());
+      }
+    }
+
+    private boolean waitForAllDispatchingPieces() {
+      boolean isAllSuccess = true;
+      while (!regionId2DispatchingPiece.isEmpty()) {
+        isAllSuccess &=
+            waitForDispatchingPiece(regionId2DispatchingPiece.keySet().iterator().next());
+      }
+      return isAllSuccess;
+    }
+
     private void routeChunkData() throws LoadFileException {
       if (nonDirectionalChunkData.isEmpty()) {
         return;
       }
 
       List<TRegionReplicaSet> replicaSets =
-          scheduler.partitionFetcher.queryDataPartition(
+          context.partitionFetcher.queryDataPartition(
               nonDirectionalChunkData.stream()
                   .map(data -> new Pair<>(data.getDevice(), data.getTimePartitionSlot()))
                   .collect(Collectors.toList()),
@@ -806,10 +956,10 @@ public class LoadTsFileScheduler implements IScheduler {
       boolean isAllSuccess = true;
       for (Map.Entry<TConsensusGroupId, Pair<TRegionReplicaSet, LoadTsFilePieceNode>> entry :
           regionId2ReplicaSetAndNode.entrySet()) {
-        block.reduceMemoryUsage(entry.getValue().getRight().getDataSize());
-        if (isAllSuccess
-            && !scheduler.dispatchOnePieceNode(
-                entry.getValue().getRight(), entry.getValue().getLeft())) {
+        if (!isAllSuccess) {
+          block.reduceMemoryUsage(entry.getValue().getRight().getDataSize());
+        } else if (!dispatchPieceNode(
+            entry.getKey(), entry.getValue().getLeft(), entry.getValue().getRight())) {
           LOGGER.warn(
               "Dispatch piece node {} of TsFile {} error.",
               entry.getValue(),
@@ -817,14 +967,30 @@ public class LoadTsFileScheduler implements IScheduler {
           isAllSuccess = false;
         }
       }
-      return isAllSuccess;
+      return waitForAllDispatchingPieces() && isAllSuccess;
     }
 
     private void clear() {
+      waitForAllDispatchingPieces();
       regionId2ReplicaSetAndNode.clear();
     }
   }
 
+  private static class DispatchingPiece {
+    private final TRegionReplicaSet replicaSet;
+    private final LoadTsFilePieceNode pieceNode;
+    private final Future<FragInstanceDispatchResult> future;
+
+    private DispatchingPiece(
+        TRegionReplicaSet replicaSet,
+        LoadTsFilePieceNode pieceNode,
+        Future<FragInstanceDispatchResult> future) {
+      this.replicaSet = replicaSet;
+      this.pieceNode = pieceNode;
+      this.future = future;
+    }
+  }
+
   private static class DataPartitionBatchFetcher {
     private final IPartitionFetcher fetcher;
     private String database;
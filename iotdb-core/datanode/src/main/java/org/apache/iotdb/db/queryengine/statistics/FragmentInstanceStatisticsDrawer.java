@@ -395,6 +395,12 @@ public class FragmentInstanceStatisticsDrawer {
           2,
           "loadChunkActualIOSize",
           queryStatistics.loadChunkActualIOSize);
+      // the coalesced chunks are counted in loadChunkFromCacheCount as well
+      addLineWithValueCheck(
+          singleFragmentInstanceArea,
+          2,
+          "loadChunkCoalescedCount",
+          queryStatistics.loadChunkCoalescedCount);
 
       addLineWithValueCheck(
           singleFragmentInstanceArea,
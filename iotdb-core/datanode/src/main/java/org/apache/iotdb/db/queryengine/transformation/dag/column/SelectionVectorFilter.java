@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.transformation.dag.column;
+
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareBinaryColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareEqualToColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareGreaterEqualColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareGreaterThanColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareLessEqualColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareLessThanColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareNonEqualColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.LogicAndColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.ConstantColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.IdentityColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.TimeColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.multi.LogicalAndMultiColumnTransformer;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.column.DoubleColumn;
+import org.apache.tsfile.read.common.block.column.FloatColumn;
+import org.apache.tsfile.read.common.block.column.IntColumn;
+import org.apache.tsfile.read.common.block.column.LongColumn;
+import org.apache.tsfile.read.common.block.column.RunLengthEncodedColumn;
+import org.apache.tsfile.read.common.block.column.TimeColumn;
+import org.apache.tsfile.read.common.type.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selection vector based evaluation of simple filters, i.e. conjunctions of comparisons between a
+ * numeric column and a constant. Instead of building a boolean column for every node of the
+ * ColumnTransformer tree, each comparison runs a tight loop over the primitive values of its column
+ * and compacts a list of selected positions in place.
+ *
+ * <p>The result is the same as evaluating the tree: both sides are compared as double, a null or
+ * NaN on either side never satisfies the comparison.
+ */
+public class SelectionVectorFilter {
+
+  // bits of accepted results of Double.compare, i.e. less, equal and greater
+  private static final int LESS = 1;
+  private static final int EQUAL = 1 << 1;
+  private static final int GREATER = 1 << 2;
+
+  private static final int TIME_COLUMN_INDEX = -1;
+
+  private final ComparePredicate[] predicates;
+
+  private SelectionVectorFilter(ComparePredicate[] predicates) {
+    this.predicates = predicates;
+  }
+
+  /**
+   * Try to create a SelectionVectorFilter equivalent to the filter.
+   *
+   * @return null if the filter contains anything other than AND and comparisons between a numeric
+   *     column and a constant
+   */
+  public static SelectionVectorFilter tryCreate(ColumnTransformer filter) {
+    List<ComparePredicate> predicates = new ArrayList<>();
+    if (filter == null || !collectPredicates(filter, predicates)) {
+      return null;
+    }
+    return new SelectionVectorFilter(predicates.toArray(new ComparePredicate[0]));
+  }
+
+  private static boolean collectPredicates(
+      ColumnTransformer filter, List<ComparePredicate> predicates) {
+    if (filter instanceof LogicAndColumnTransformer) {
+      LogicAndColumnTransformer and = (LogicAndColumnTransformer) filter;
+      return collectPredicates(and.getLeftTransformer(), predicates)
+          && collectPredicates(and.getRightTransformer(), predicates);
+    } else if (filter instanceof LogicalAndMultiColumnTransformer) {
+      for (ColumnTransformer child : ((LogicalAndMultiColumnTransformer) filter).getChildren()) {
+        if (!collectPredicates(child, predicates)) {
+          return false;
+        }
+      }
+      return true;
+    } else if (filter instanceof CompareBinaryColumnTransformer) {
+      ComparePredicate predicate = createPredicate((CompareBinaryColumnTransformer) filter);
+      if (predicate == null) {
+        return false;
+      }
+      predicates.add(predicate);
+      return true;
+    }
+    return false;
+  }
+
+  private static ComparePredicate createPredicate(CompareBinaryColumnTransformer compare) {
+    int acceptedResults = getAcceptedResults(compare);
+    if (acceptedResults == 0) {
+      return null;
+    }
+    ColumnTransformer left = compare.getLeftTransformer();
+    ColumnTransformer right = compare.getRightTransformer();
+    if (right instanceof ConstantColumnTransformer && isColumnLeaf(left)) {
+      return createPredicate(left, (ConstantColumnTransformer) right, acceptedResults);
+    } else if (left instanceof ConstantColumnTransformer && isColumnLeaf(right)) {
+      // constant op column is evaluated as column reversed-op constant
+      int reversed =
+          (acceptedResults & EQUAL)
+              | ((acceptedResults & LESS) != 0 ? GREATER : 0)
+              | ((acceptedResults & GREATER) != 0 ? LESS : 0);
+      return createPredicate(right, (ConstantColumnTransformer) left, reversed);
+    }
+    return null;
+  }
+
+  private static ComparePredicate createPredicate(
+      ColumnTransformer columnLeaf, ConstantColumnTransformer constant, int acceptedResults) {
+    if (!isNumericType(columnLeaf.getType()) || !isNumericType(constant.getType())) {
+      return null;
+    }
+    int inputIndex =
+        columnLeaf instanceof TimeColumnTransformer
+            ? TIME_COLUMN_INDEX
+            : ((IdentityColumnTransformer) columnLeaf).getInputIndex();
+    Column value = constant.getValue();
+    // same as CompareBinaryColumnTransformer, a constant which may have null is taken as null
+    double constantValue =
+        value.mayHaveNull() ? Double.NaN : constant.getType().getDouble(value, 0);
+    return new ComparePredicate(inputIndex, columnLeaf.getType(), acceptedResults, constantValue);
+  }
+
+  private static int getAcceptedResults(CompareBinaryColumnTransformer compare) {
+    if (compare instanceof CompareGreaterThanColumnTransformer) {
+      return GREATER;
+    } else if (compare instanceof CompareGreaterEqualColumnTransformer) {
+      return GREATER | EQUAL;
+    } else if (compare instanceof CompareLessThanColumnTransformer) {
+      return LESS;
+    } else if (compare instanceof CompareLessEqualColumnTransformer) {
+      return LESS | EQUAL;
+    } else if (compare instanceof CompareEqualToColumnTransformer) {
+      return EQUAL;
+    } else if (compare instanceof CompareNonEqualColumnTransformer) {
+      return LESS | GREATER;
+    }
+    return 0;
+  }
+
+  private static boolean isColumnLeaf(ColumnTransformer columnTransformer) {
+    return columnTransformer instanceof IdentityColumnTransformer
+        || columnTransformer instanceof TimeColumnTransformer;
+  }
+
+  private static boolean isNumericType(Type type) {
+    switch (type.getTypeEnum()) {
+      case INT32:
+      case INT64:
+      case FLOAT:
+      case DOUBLE:
+      case TIMESTAMP:
+      case DATE:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Select the positions of input satisfying the filter.
+   *
+   * @param positions used to hold the selected positions, its length should be no less than the
+   *     position count of input
+   * @return count of selected positions, which are stored in the head of positions in ascending
+   *     order
+   */
+  public int filter(TsBlock input, int[] positions) {
+    int size = input.getPositionCount();
+    for (int i = 0; i < size; i++) {
+      positions[i] = i;
+    }
+    for (int i = 0; i < predicates.length && size > 0; i++) {
+      ComparePredicate predicate = predicates[i];
+      Column column =
+          predicate.inputIndex == TIME_COLUMN_INDEX
+              ? input.getTimeColumn()
+              : input.getColumn(predicate.inputIndex);
+      size = predicate.filter(column, positions, size);
+    }
+    return size;
+  }
+
+  private static class ComparePredicate {
+
+    private final int inputIndex;
+    private final Type type;
+    private final int acceptedResults;
+    // NaN if the constant is null, nothing will be selected then
+    private final double constant;
+
+    private ComparePredicate(int inputIndex, Type type, int acceptedResults, double constant) {
+      this.inputIndex = inputIndex;
+      this.type = type;
+      this.acceptedResults = acceptedResults;
+      this.constant = constant;
+    }
+
+    private boolean accept(double value) {
+      return !Double.isNaN(value)
+          && (acceptedResults & (1 << (Integer.signum(Double.compare(value, constant)) + 1))) != 0;
+    }
+
+    /** Compact positions[0, size) in place and return the count of remaining positions. */
+    private int filter(Column column, int[] positions, int size) {
+      if (Double.isNaN(constant)
+          || (column instanceof RunLengthEncodedColumn && column.mayHaveNull())) {
+        return 0;
+      }
+      // the values array is shared only if its length equals the position count, otherwise the
+      // column may be a region of a larger one whose array offset is unknown
+      int positionCount = column.getPositionCount();
+      boolean mayHaveNull = column.mayHaveNull();
+      int selected = 0;
+      if ((column instanceof LongColumn || column instanceof TimeColumn)
+          && column.getLongs().length == positionCount) {
+        long[] values = column.getLongs();
+        for (int i = 0; i < size; i++) {
+          int position = positions[i];
+          if ((!mayHaveNull || !column.isNull(position)) && accept(values[position])) {
+            positions[selected++] = position;
+          }
+        }
+      } else if (column instanceof IntColumn && column.getInts().length == positionCount) {
+        int[] values = column.getInts();
+        for (int i = 0; i < size; i++) {
+          int position = positions[i];
+          if ((!mayHaveNull || !column.isNull(position)) && accept(values[position])) {
+            positions[selected++] = position;
+          }
+        }
+      } else if (column instanceof FloatColumn && column.getFloats().length == positionCount) {
+        float[] values = column.getFloats();
+        for (int i = 0; i < size; i++) {
+          int position = positions[i];
+          if ((!mayHaveNull || !column.isNull(position)) && accept(values[position])) {
+            positions[selected++] = position;
+          }
+        }
+      } else if (column instanceof DoubleColumn && column.getDoubles().length == positionCount) {
+        double[] values = column.getDoubles();
+        for (int i = 0; i < size; i++) {
+          int position = positions[i];
+          if ((!mayHaveNull || !column.isNull(position)) && accept(values[position])) {
+            positions[selected++] = position;
+          }
+        }
+      } else {
+        for (int i = 0; i < size; i++) {
+          int position = positions[i];
+          if (!column.isNull(position) && accept(type.getDouble(column, position))) {
+            positions[selected++] = position;
+          }
+        }
+      }
+      return selected;
+    }
+  }
+}
@@ -51,4 +51,8 @@ public class ConstantColumnTransformer extends LeafColumnTransformer {
     }
     initializeColumnCache(builder.build());
   }
+
+  public Column getValue() {
+    return value;
+  }
 }
@@ -168,6 +168,19 @@ public abstract class ResourceByPathUtils {
             "Flushing MemTable - add current query context to mutable TVList's query list");
         list.getQueryContextSet().add(context);
         tvListQueryMap.put(list, list.rowCount());
+      } else if (list.isSealed()) {
+        LOGGER.debug(
+            "Working MemTable - add current query context to TVList's query list sealed by another query");
+        list.getQueryContextSet().add(context);
+        tvListQueryMap.put(list, list.rowCount());
+      } else if (shouldSealForQuery(list) && memChunk.sealWorkingTVList()) {
+        // the query sorts the sealed list later, or its copy if the list is being read by the
+        // previous queries, while the writers append to the new working list
+        LOGGER.debug(
+            "Working MemTable - seal mutable TVList and add current query context to its query list");
+        list.seal();
+        list.getQueryContextSet().add(context);
+        tvListQueryMap.put(list, list.rowCount());
       } else {
         if (list.isSorted() || list.getQueryContextSet().isEmpty()) {
           LOGGER.debug(
@@ -215,6 +228,11 @@ public abstract class ResourceByPathUtils {
     }
     return tvListQueryMap;
   }
+
+  private boolean shouldSealForQuery(TVList list) {
+    int sealThreshold = IoTDBDescriptor.getInstance().getConfig().getTvListSealThreshold();
+    return sealThreshold > 0 && !list.isSorted() && list.rowCount() >= sealThreshold;
+  }
 }
 
 class AlignedResourceByPathUtils extends ResourceByPathUtils {
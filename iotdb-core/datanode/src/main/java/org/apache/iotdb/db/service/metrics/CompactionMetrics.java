@@ -254,6 +254,8 @@ public class CompactionMetrics implements IMetricSet {
   private Counter totalDirectlyFlushChunkCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
   private Counter totalDeserializedChunkCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
   private Counter totalMergedChunkCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter totalEstimatedBenefitCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter totalEstimatedIOCostCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
 
   private void bindPerformanceInfo(AbstractMetricService metricService) {
     totalCompactedPointCounter =
@@ -271,6 +273,12 @@ public class CompactionMetrics implements IMetricSet {
     totalMergedChunkCounter =
         metricService.getOrCreateCounter(
             "merged_chunk_num", MetricLevel.NORMAL, Tag.NAME.toString(), "compaction");
+    totalEstimatedBenefitCounter =
+        metricService.getOrCreateCounter(
+            "estimated_benefit", MetricLevel.NORMAL, Tag.NAME.toString(), "compaction");
+    totalEstimatedIOCostCounter =
+        metricService.getOrCreateCounter(
+            "estimated_io_cost", MetricLevel.NORMAL, Tag.NAME.toString(), "compaction");
   }
 
   private void unbindPerformanceInfo(AbstractMetricService metricService) {
@@ -283,6 +291,10 @@ public class CompactionMetrics implements IMetricSet {
     metricService.remove(
         MetricType.COUNTER, "deserialized_chunk_num", Tag.NAME.toString(), "compaction");
     metricService.remove(MetricType.COUNTER, "merged_chunk_num", Tag.NAME.toString(), "compaction");
+    metricService.remove(
+        MetricType.COUNTER, "estimated_benefit", Tag.NAME.toString(), "compaction");
+    metricService.remove(
+        MetricType.COUNTER, "estimated_io_cost", Tag.NAME.toString(), "compaction");
   }
 
   public void recordSummaryInfo(CompactionTaskSummary summary) {
@@ -291,6 +303,8 @@ public class CompactionMetrics implements IMetricSet {
     totalDirectlyFlushChunkCounter.inc(summary.getDirectlyFlushChunkNum());
     totalDeserializedChunkCounter.inc(summary.getDeserializeChunkCount());
     totalMergedChunkCounter.inc(summary.getMergedChunkNum());
+    totalEstimatedBenefitCounter.inc(Math.round(summary.getEstimatedBenefit()));
+    totalEstimatedIOCostCounter.inc(summary.getEstimatedIOCost());
   }
 
   // endregion
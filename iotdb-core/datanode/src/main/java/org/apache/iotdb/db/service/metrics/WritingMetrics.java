@@ -42,7 +42,6 @@ import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -58,6 +57,7 @@ public class WritingMetrics implements IMetricSet {
   public static final String FLUSH_STAGE_SORT = "sort";
   public static final String FLUSH_STAGE_ENCODING = "encoding";
   public static final String FLUSH_STAGE_IO = "io";
+  public static final String FLUSH_STAGE_WAIT_ENCODING = "wait_encoding";
   public static final String WRITE_PLAN_INDICES = "write_plan_indices";
   public static final String PENDING_TASK_NUM = "pending_task_num";
   public static final String PENDING_SUB_TASK_NUM = "pending_sub_task_num";
@@ -65,6 +65,7 @@ public class WritingMetrics implements IMetricSet {
   private Timer flushStageSortTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer flushStageEncodingTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer flushStageIOTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer flushStageWaitEncodingTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer writePlanIndicesTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
 
   private void bindFlushMetrics(AbstractMetricService metricService) {
@@ -86,6 +87,12 @@ public class WritingMetrics implements IMetricSet {
             MetricLevel.IMPORTANT,
             Tag.STAGE.toString(),
             FLUSH_STAGE_IO);
+    flushStageWaitEncodingTimer =
+        metricService.getOrCreateTimer(
+            Metric.FLUSH_COST.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.STAGE.toString(),
+            FLUSH_STAGE_WAIT_ENCODING);
     writePlanIndicesTimer =
         metricService.getOrCreateTimer(
             Metric.FLUSH_COST.toString(),
@@ -112,8 +119,14 @@ public class WritingMetrics implements IMetricSet {
     flushStageSortTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     flushStageEncodingTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     flushStageIOTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    flushStageWaitEncodingTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     writePlanIndicesTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
-    Arrays.asList(FLUSH_STAGE_SORT, FLUSH_STAGE_ENCODING, FLUSH_STAGE_IO, WRITE_PLAN_INDICES)
+    Arrays.asList(
+            FLUSH_STAGE_SORT,
+            FLUSH_STAGE_ENCODING,
+            FLUSH_STAGE_IO,
+            FLUSH_STAGE_WAIT_ENCODING,
+            WRITE_PLAN_INDICES)
         .forEach(
             stage ->
                 metricService.remove(
@@ -323,6 +336,7 @@ public class WritingMetrics implements IMetricSet {
   public static final String MAKE_CHECKPOINT = "make_checkpoint";
   public static final String SERIALIZE_WAL_ENTRY = "serialize_wal_entry";
   public static final String SERIALIZE_WAL_ENTRY_TOTAL = "serialize_wal_entry_total";
+  public static final String WAIT_SERIALIZE_WAL_ENTRY = "wait_serialize_wal_entry";
   public static final String SYNC_WAL_BUFFER = "sync_wal_buffer";
   public static final String SYNC = "sync";
   public static final String FSYNC = "fsync";
@@ -330,6 +344,7 @@ public class WritingMetrics implements IMetricSet {
   private Timer createMemoryTableTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer flushMemoryTableTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer serializeWalEntryTotalTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer waitSerializeWalEntryTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer syncTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer fsyncTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
 
@@ -366,6 +381,14 @@ public class WritingMetrics implements IMetricSet {
             SERIALIZE_WAL_ENTRY,
             Tag.TYPE.toString(),
             SERIALIZE_WAL_ENTRY_TOTAL);
+    waitSerializeWalEntryTimer =
+        metricService.getOrCreateTimer(
+            Metric.WAL_COST.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.STAGE.toString(),
+            SERIALIZE_WAL_ENTRY,
+            Tag.TYPE.toString(),
+            WAIT_SERIALIZE_WAL_ENTRY);
     syncTimer =
         metricService.getOrCreateTimer(
             Metric.WAL_COST.toString(),
@@ -389,6 +412,7 @@ public class WritingMetrics implements IMetricSet {
     createMemoryTableTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     flushMemoryTableTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     serializeWalEntryTotalTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+    waitSerializeWalEntryTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     syncTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     fsyncTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     Arrays.asList(
@@ -404,7 +428,7 @@ public class WritingMetrics implements IMetricSet {
                     MAKE_CHECKPOINT,
                     Tag.TYPE.toString(),
                     type));
-    Collections.singletonList(SERIALIZE_WAL_ENTRY_TOTAL)
+    Arrays.asList(SERIALIZE_WAL_ENTRY_TOTAL, WAIT_SERIALIZE_WAL_ENTRY)
         .forEach(
             type ->
                 metricService.remove(
@@ -450,10 +474,15 @@ public class WritingMetrics implements IMetricSet {
   public static final String MEM_CONTROL_FLUSH_MEMTABLE_COUNT = "mem_control_flush_memtable_count";
   public static final String BLOCKED_OPERATION_NUM = "blocked_operation_num";
 
+  public static final String EXCLUSIVE_INSERT_LOCK = "exclusive";
+  public static final String STRIPED_INSERT_LOCK = "striped";
+
   private Gauge flushThreholdGauge = DoNothingMetricManager.DO_NOTHING_GAUGE;
   private Gauge rejectThreholdGauge = DoNothingMetricManager.DO_NOTHING_GAUGE;
 
   private Timer memtableLiveTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer exclusiveInsertLockWaitTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Timer stripedInsertLockWaitTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
 
   private Counter walFlushMemtableCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
   private Counter timedFlushMemtableCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
@@ -495,6 +524,20 @@ public class WritingMetrics implements IMetricSet {
     memtableLiveTimer =
         MetricService.getInstance()
             .getOrCreateTimer(Metric.MEMTABLE_LIVE_DURATION.toString(), MetricLevel.IMPORTANT);
+    exclusiveInsertLockWaitTimer =
+        MetricService.getInstance()
+            .getOrCreateTimer(
+                Metric.INSERT_LOCK_WAIT.toString(),
+                MetricLevel.IMPORTANT,
+                Tag.TYPE.toString(),
+                EXCLUSIVE_INSERT_LOCK);
+    stripedInsertLockWaitTimer =
+        MetricService.getInstance()
+            .getOrCreateTimer(
+                Metric.INSERT_LOCK_WAIT.toString(),
+                MetricLevel.IMPORTANT,
+                Tag.TYPE.toString(),
+                STRIPED_INSERT_LOCK);
 
     tableDiskUsageCacheBlockedRequestNumGauge =
         MetricService.getInstance()
@@ -533,6 +576,15 @@ public class WritingMetrics implements IMetricSet {
             Tag.TYPE.toString(),
             REJECT_THRESHOLD);
     MetricService.getInstance().remove(MetricType.TIMER, Metric.MEMTABLE_LIVE_DURATION.toString());
+    Arrays.asList(EXCLUSIVE_INSERT_LOCK, STRIPED_INSERT_LOCK)
+        .forEach(
+            type ->
+                MetricService.getInstance()
+                    .remove(
+                        MetricType.TIMER,
+                        Metric.INSERT_LOCK_WAIT.toString(),
+                        Tag.TYPE.toString(),
+                        type));
     MetricService.getInstance()
         .remove(
             MetricType.AUTO_GAUGE,
@@ -866,6 +918,9 @@ public class WritingMetrics implements IMetricSet {
       case FLUSH_STAGE_IO:
         flushStageIOTimer.updateMillis(costTimeInMillis);
         break;
+      case FLUSH_STAGE_WAIT_ENCODING:
+        flushStageWaitEncodingTimer.updateMillis(costTimeInMillis);
+        break;
       case WRITE_PLAN_INDICES:
         writePlanIndicesTimer.updateMillis(costTimeInMillis);
         break;
@@ -913,6 +968,10 @@ public class WritingMetrics implements IMetricSet {
     serializeWalEntryTotalTimer.updateNanos(costTimeInNanos);
   }
 
+  public void recordWaitSerializeWALEntryCost(long costTimeInNanos) {
+    waitSerializeWalEntryTimer.updateNanos(costTimeInNanos);
+  }
+
   public void recordCompressWALBufferCost(long costTimeInNanos) {
     walCompressCostHistogram.update(costTimeInNanos);
   }
@@ -996,6 +1055,14 @@ public class WritingMetrics implements IMetricSet {
             dataRegionId);
   }
 
+  public void recordInsertLockWaitCost(boolean striped, long costTimeInNanos) {
+    if (striped) {
+      stripedInsertLockWaitTimer.updateNanos(costTimeInNanos);
+    } else {
+      exclusiveInsertLockWaitTimer.updateNanos(costTimeInNanos);
+    }
+  }
+
   public void recordActiveTimePartitionCount(int number) {
     MetricService.getInstance()
         .count(number, Metric.ACTIVE_TIME_PARTITION_COUNT.toString(), MetricLevel.IMPORTANT);
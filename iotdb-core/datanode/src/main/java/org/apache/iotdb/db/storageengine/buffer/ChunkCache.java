@@ -25,6 +25,7 @@ import org.apache.iotdb.commons.memory.MemoryBlockType;
 import org.apache.iotdb.commons.service.metric.MetricService;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
+import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.ChunkCacheMetrics;
@@ -35,6 +36,9 @@ import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Weigher;
+import org.apache.tsfile.common.bitStream.ByteBufferBackedInputStream;
+import org.apache.tsfile.encrypt.EncryptParameter;
+import org.apache.tsfile.file.header.ChunkHeader;
 import org.apache.tsfile.file.metadata.statistics.Statistics;
 import org.apache.tsfile.read.TsFileSequenceReader;
 import org.apache.tsfile.read.common.Chunk;
@@ -44,6 +48,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -65,6 +71,11 @@ public class ChunkCache {
       IoTDBDescriptor.getInstance().getMemoryConfig();
   private static final IMemoryBlock CACHE_MEMORY_BLOCK;
   private static final boolean CACHE_ENABLE = MEMORY_CONFIG.isMetaDataCacheEnable();
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  // the last chunk of a coalesced read is read by itself, so reading two chunks together saves no
+  // read but still reads the gap between them
+  private static final int MIN_COALESCED_CHUNK_NUM = 3;
 
   private static final SeriesScanCostMetricSet SERIES_SCAN_COST_METRIC_SET =
       SeriesScanCostMetricSet.getInstance();
@@ -183,6 +194,103 @@ public class ChunkCache {
     }
   }
 
+  /**
+   * Load the chunks of one TsFile which are missing from the cache, the chunks near each other are
+   * read by one disk read, see {@link ChunkReadPlanner}. The chunks failed to be loaded here will
+   * be read by themselves in {@link #get}.
+   *
+   * <p>The chunks loaded here are counted as loadChunkCoalescedCount of the query, and are counted
+   * again as cache hits when they are got later.
+   */
+  public void loadCoalesced(List<ChunkCacheKey> chunkCacheKeys, QueryContext queryContext) {
+    long maxDistance = CONFIG.getChunkReadCoalesceMaxDistanceInByte();
+    if (!CACHE_ENABLE || maxDistance <= 0 || chunkCacheKeys.size() < MIN_COALESCED_CHUNK_NUM) {
+      return;
+    }
+
+    List<ChunkCacheKey> missingKeys = new ArrayList<>(chunkCacheKeys.size());
+    for (ChunkCacheKey chunkCacheKey : chunkCacheKeys) {
+      if (lruCache.getIfPresent(chunkCacheKey) == null) {
+        missingKeys.add(chunkCacheKey);
+      }
+    }
+    if (missingKeys.size() < MIN_COALESCED_CHUNK_NUM) {
+      return;
+    }
+
+    LongConsumer ioSizeRecorder =
+        queryContext.getQueryStatistics().getLoadChunkActualIOSize()::addAndGet;
+    for (List<ChunkCacheKey> group :
+        ChunkReadPlanner.plan(
+            missingKeys, maxDistance, CONFIG.getChunkReadCoalesceMaxReadSizeInByte())) {
+      if (group.size() >= MIN_COALESCED_CHUNK_NUM) {
+        long startTime = System.nanoTime();
+        try {
+          queryContext
+              .getQueryStatistics()
+              .getLoadChunkCoalescedCount()
+              .addAndGet(loadCoalescedGroup(group, ioSizeRecorder));
+        } catch (IOException | RuntimeException e) {
+          LOGGER.debug("Failed to read chunks of {} together", group.get(0).getFilePath(), e);
+        } finally {
+          SERIES_SCAN_COST_METRIC_SET.recordSeriesScanCost(
+              READ_CHUNK_FILE, System.nanoTime() - startTime);
+        }
+      }
+    }
+  }
+
+  /** Return the number of the chunks loaded into the cache. */
+  private int loadCoalescedGroup(List<ChunkCacheKey> group, LongConsumer ioSizeRecorder)
+      throws IOException {
+    ChunkCacheKey firstKey = group.get(0);
+    long startOffset = firstKey.offsetOfChunkHeader;
+    int readSize = (int) (group.get(group.size() - 1).offsetOfChunkHeader - startOffset);
+    TsFileSequenceReader reader =
+        FileReaderManager.getInstance()
+            .get(firstKey.getFilePath(), firstKey.tsFileID, firstKey.closed, ioSizeRecorder);
+    ByteBuffer buffer = reader.readChunk(startOffset, readSize, ioSizeRecorder);
+    EncryptParameter encryptParam = reader.getEncryptParam(ioSizeRecorder);
+
+    int loadedChunkCount = 0;
+    long loadedSize = 0;
+    // the last chunk is not in the buffer, because its size is unknown before reading its header
+    for (int i = 0; i < group.size() - 1; i++) {
+      int chunkStart = (int) (group.get(i).offsetOfChunkHeader - startOffset);
+      int chunkLimit = (int) (group.get(i + 1).offsetOfChunkHeader - startOffset);
+      ByteBuffer chunkBuffer = buffer.duplicate();
+      chunkBuffer.limit(chunkLimit);
+      chunkBuffer.position(chunkStart);
+      byte chunkType = chunkBuffer.get();
+      ChunkHeader chunkHeader =
+          ChunkHeader.deserializeFrom(new ByteBufferBackedInputStream(chunkBuffer), chunkType);
+      int dataStart = chunkStart + chunkHeader.getSerializedSize();
+      int dataEnd = dataStart + chunkHeader.getDataSize();
+      if (dataEnd > chunkLimit) {
+        // the chunks are not laid out as expected, leave them to be read by themselves
+        break;
+      }
+      // copy the data, so that the buffer of the whole read is not retained by the cache
+      ByteBuffer dataBuffer = buffer.duplicate();
+      dataBuffer.limit(dataEnd);
+      dataBuffer.position(dataStart);
+      ByteBuffer data = ByteBuffer.allocate(chunkHeader.getDataSize());
+      data.put(dataBuffer);
+      data.flip();
+      // to save memory footprint, we don't save measurementId in ChunkHeader of Chunk
+      chunkHeader.setMeasurementID(null);
+      lruCache.put(group.get(i), new Chunk(chunkHeader, data, encryptParam));
+      loadedChunkCount++;
+      loadedSize += dataEnd - chunkStart;
+    }
+    if (loadedChunkCount > 0) {
+      // the loaded chunks cost one read instead of one read each
+      SERIES_SCAN_COST_METRIC_SET.recordCoalescedChunkRead(
+          loadedChunkCount - 1L, readSize - loadedSize);
+    }
+    return loadedChunkCount;
+  }
+
   private Chunk constructChunk(
       Chunk chunk, List<TimeRange> timeRangeList, Statistics chunkStatistic) {
     return new Chunk(
@@ -220,6 +328,11 @@ public class ChunkCache {
     return lruCache.asMap().isEmpty();
   }
 
+  @TestOnly
+  public boolean contains(ChunkCacheKey chunkCacheKey) {
+    return lruCache.asMap().containsKey(chunkCacheKey);
+  }
+
   public static class ChunkCacheKey {
 
     private static final long INSTANCE_SIZE =
@@ -253,6 +366,10 @@ public class ChunkCache {
       return filePath;
     }
 
+    public long getOffsetOfChunkHeader() {
+      return offsetOfChunkHeader;
+    }
+
     @Override
     public boolean equals(Object o) {
       if (this == o) {
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.db.storageengine.buffer.ChunkCache.ChunkCacheKey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Plan the disk reads of the chunks in one TsFile, the chunks whose offsets are near each other are
+ * merged into one read.
+ *
+ * <p>The size of a chunk is unknown before its header is read, so a merged read covers the bytes
+ * from the offset of the first chunk to the offset of the last chunk, and the last chunk of each
+ * read is read by itself.
+ */
+public class ChunkReadPlanner {
+
+  private ChunkReadPlanner() {
+    // util class
+  }
+
+  /**
+   * Group the chunks in offset order, two adjacent chunks are in the same group if the distance
+   * between their offsets is not larger than maxDistance, and the distance between the offsets of
+   * the first and the last chunks of a group is not larger than maxReadSize.
+   *
+   * @param chunkCacheKeys the chunks of the same TsFile
+   * @return the groups, each of which is sorted by offset
+   */
+  public static List<List<ChunkCacheKey>> plan(
+      List<ChunkCacheKey> chunkCacheKeys, long maxDistance, long maxReadSize) {
+    List<ChunkCacheKey> sortedKeys = new ArrayList<>(chunkCacheKeys);
+    sortedKeys.sort(Comparator.comparingLong(ChunkCacheKey::getOffsetOfChunkHeader));
+
+    List<List<ChunkCacheKey>> groups = new ArrayList<>();
+    List<ChunkCacheKey> group = new ArrayList<>();
+    for (ChunkCacheKey key : sortedKeys) {
+      if (!group.isEmpty()) {
+        long offset = key.getOffsetOfChunkHeader();
+        long lastOffset = group.get(group.size() - 1).getOffsetOfChunkHeader();
+        if (offset == lastOffset) {
+          // duplicated chunk
+          continue;
+        }
+        if (offset - lastOffset > maxDistance
+            || offset - group.get(0).getOffsetOfChunkHeader() > maxReadSize) {
+          groups.add(group);
+          group = new ArrayList<>();
+        }
+      }
+      group.add(key);
+    }
+    if (!group.isEmpty()) {
+      groups.add(group);
+    }
+    return groups;
+  }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.commons.exception.IoTDBIORuntimeException;
+import org.apache.iotdb.commons.memory.IMemoryBlock;
+import org.apache.iotdb.commons.memory.MemoryBlockType;
+import org.apache.iotdb.commons.service.metric.MetricService;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.metric.DecodedPageCacheMetrics;
+import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.reader.IPageReader;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.DECODE_PAGE_CACHE;
+import static org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet.DECODE_PAGE_FILE;
+
+/**
+ * This class is used to cache decoded pages of non-aligned chunks in IoTDB. It sits above {@link
+ * ChunkCache}: {@link ChunkCache} keeps the compressed chunk, while this cache keeps the whole page
+ * after decompression and decoding, so that hot queries over the same pages skip decoding. The
+ * cached {@link TsBlock} contains all points of the page, modifications and filters are applied by
+ * the reader of each query, so entries never become stale when mods files change. The caching
+ * strategy is LRU.
+ */
+@SuppressWarnings("squid:S6548")
+public class DecodedPageCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DecodedPageCache.class);
+  private static final DataNodeMemoryConfig MEMORY_CONFIG =
+      IoTDBDescriptor.getInstance().getMemoryConfig();
+  private static final IMemoryBlock CACHE_MEMORY_BLOCK;
+  private static final boolean CACHE_ENABLE;
+
+  private static final SeriesScanCostMetricSet SERIES_SCAN_COST_METRIC_SET =
+      SeriesScanCostMetricSet.getInstance();
+
+  private final Cache<DecodedPageCacheKey, TsBlock> lruCache;
+
+  static {
+    CACHE_MEMORY_BLOCK =
+        MEMORY_CONFIG
+            .getDecodedPageCacheMemoryManager()
+            .exactAllocate("DecodedPageCache", MemoryBlockType.STATIC);
+    CACHE_MEMORY_BLOCK.allocate(CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes());
+    CACHE_ENABLE =
+        MEMORY_CONFIG.isMetaDataCacheEnable() && CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes() > 0;
+  }
+
+  private DecodedPageCache() {
+    if (CACHE_ENABLE) {
+      LOGGER.info("DecodedPageCache size = {}", CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes());
+    }
+    lruCache =
+        Caffeine.newBuilder()
+            .maximumWeight(CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes())
+            .weigher(
+                (Weigher<DecodedPageCacheKey, TsBlock>)
+                    (key, tsBlock) ->
+                        (int) (key.getRetainedSizeInBytes() + tsBlock.getRetainedSizeInBytes()))
+            .recordStats()
+            .build();
+
+    // add metrics
+    MetricService.getInstance().addMetricSet(new DecodedPageCacheMetrics(this));
+  }
+
+  public static DecodedPageCache getInstance() {
+    return DecodedPageCacheHolder.INSTANCE;
+  }
+
+  public static boolean isCacheEnable() {
+    return CACHE_ENABLE;
+  }
+
+  /**
+   * Get all points of one page, decode it by the given page reader if the page is not cached.
+   *
+   * @param key the key of the page
+   * @param rawPageReader the page reader without any filter and deletion, it is only used when
+   *     cache miss
+   */
+  public TsBlock get(DecodedPageCacheKey key, IPageReader rawPageReader) throws IOException {
+    long startTime = System.nanoTime();
+    boolean[] cacheMiss = new boolean[1];
+    try {
+      return lruCache.get(
+          key,
+          k -> {
+            cacheMiss[0] = true;
+            try {
+              return rawPageReader.getAllSatisfiedData();
+            } catch (IOException e) {
+              throw new IoTDBIORuntimeException(e);
+            }
+          });
+    } catch (IoTDBIORuntimeException e) {
+      throw e.getCause();
+    } finally {
+      SERIES_SCAN_COST_METRIC_SET.recordSeriesScanCost(
+          cacheMiss[0] ? DECODE_PAGE_FILE : DECODE_PAGE_CACHE, System.nanoTime() - startTime);
+    }
+  }
+
+  public double getHitRate() {
+    return lruCache.stats().hitRate() * 100;
+  }
+
+  public long getEvictionCount() {
+    return lruCache.stats().evictionCount();
+  }
+
+  public long getMaxMemory() {
+    return CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes();
+  }
+
+  public double getAverageLoadPenalty() {
+    return lruCache.stats().averageLoadPenalty();
+  }
+
+  /** clear LRUCache. */
+  public void clear() {
+    lruCache.invalidateAll();
+    lruCache.cleanUp();
+  }
+
+  @TestOnly
+  public boolean isEmpty() {
+    return lruCache.asMap().isEmpty();
+  }
+
+  @TestOnly
+  public long getHitCount() {
+    return lruCache.stats().hitCount();
+  }
+
+  public static class DecodedPageCacheKey {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(DecodedPageCacheKey.class);
+
+    // TsFileID is shared with TsFileResource, so we don't count its size either
+    private final TsFileID tsFileID;
+
+    private final long offsetOfChunkHeader;
+
+    // index of the page in its chunk, including the pages that are skipped by the query
+    private final int pageIndex;
+
+    public DecodedPageCacheKey(TsFileID tsFileID, long offsetOfChunkHeader, int pageIndex) {
+      this.tsFileID = tsFileID;
+      this.offsetOfChunkHeader = offsetOfChunkHeader;
+      this.pageIndex = pageIndex;
+    }
+
+    public long getRetainedSizeInBytes() {
+      return INSTANCE_SIZE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      DecodedPageCacheKey that = (DecodedPageCacheKey) o;
+      return offsetOfChunkHeader == that.offsetOfChunkHeader
+          && pageIndex == that.pageIndex
+          && Objects.equals(tsFileID, that.tsFileID);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(tsFileID, offsetOfChunkHeader, pageIndex);
+    }
+
+    @Override
+    public String toString() {
+      return "DecodedPageCacheKey{"
+          + "regionId="
+          + tsFileID.regionId
+          + ", timePartitionId="
+          + tsFileID.timePartitionId
+          + ", tsFileVersion="
+          + tsFileID.fileVersion
+          + ", compactionVersion="
+          + tsFileID.compactionVersion
+          + ", offsetOfChunkHeader="
+          + offsetOfChunkHeader
+          + ", pageIndex="
+          + pageIndex
+          + '}';
+    }
+  }
+
+  /** singleton pattern. */
+  private static class DecodedPageCacheHolder {
+
+    private static final DecodedPageCache INSTANCE = new DecodedPageCache();
+  }
+}
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.commons.memory.IMemoryBlock;
+import org.apache.iotdb.commons.memory.MemoryBlockType;
+import org.apache.iotdb.commons.path.PatternTreeMap;
+import org.apache.iotdb.commons.service.metric.MetricService;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.metric.ModificationCacheMetrics;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModificationFile;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.utils.datastructure.PatternTreeMapFactory;
+import org.apache.iotdb.db.utils.datastructure.PatternTreeMapFactory.ModsSerializer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is used to cache the modifications of TsFiles in IoTDB, which are shared by all the
+ * queries and compactions, so that a large deletion is parsed from the mods files once instead of
+ * by each query. An entry is keyed by the mods files of a TsFile and remembers how much of them it
+ * has read: when the mods files are appended, only the appended part is read and the tree is
+ * rebuilt from the cached entries, and when they are rewritten, the entry is reloaded. The cached
+ * trees are never modified after they are built. The caching strategy is LRU.
+ */
+@SuppressWarnings("squid:S6548")
+public class ModificationCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ModificationCache.class);
+  private static final DataNodeMemoryConfig MEMORY_CONFIG =
+      IoTDBDescriptor.getInstance().getMemoryConfig();
+  private static final IMemoryBlock CACHE_MEMORY_BLOCK;
+  private static final boolean CACHE_ENABLE;
+
+  private static final ModEntry[] EMPTY_ENTRIES = new ModEntry[0];
+
+  private final Cache<ModificationCacheKey, CachedModifications> lruCache;
+
+  private final AtomicLong hitCount = new AtomicLong(0);
+  private final AtomicLong appendLoadCount = new AtomicLong(0);
+  private final AtomicLong loadCount = new AtomicLong(0);
+
+  static {
+    CACHE_MEMORY_BLOCK =
+        MEMORY_CONFIG
+            .getModificationCacheMemoryManager()
+            .exactAllocate("ModificationCache", MemoryBlockType.STATIC);
+    CACHE_MEMORY_BLOCK.allocate(CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes());
+    CACHE_ENABLE = CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes() > 0;
+  }
+
+  private ModificationCache() {
+    this(CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes());
+    if (CACHE_ENABLE) {
+      LOGGER.info("ModificationCache size = {}", CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes());
+    }
+
+    // add metrics
+    MetricService.getInstance().addMetricSet(new ModificationCacheMetrics(this));
+  }
+
+  @TestOnly
+  ModificationCache(long maxMemory) {
+    lruCache =
+        Caffeine.newBuilder()
+            .maximumWeight(maxMemory)
+            .weigher(
+                (Weigher<ModificationCacheKey, CachedModifications>)
+                    (key, modifications) ->
+                        (int)
+                            Math.min(
+                                Integer.MAX_VALUE,
+                                ModificationCacheKey.INSTANCE_SIZE
+                                    + modifications.getRetainedSizeInBytes()))
+            .build();
+  }
+
+  public static ModificationCache getInstance() {
+    return ModificationCacheHolder.INSTANCE;
+  }
+
+  public static boolean isCacheEnable() {
+    return CACHE_ENABLE;
+  }
+
+  /**
+   * Get all the modifications of the TsFile, including those of all tables, the returned tree
+   * should not be modified.
+   */
+  public PatternTreeMap<ModEntry, ModsSerializer> get(TsFileResource resource) {
+    ModificationFile exclusiveModFile = resource.getExclusiveModFile();
+    ModificationFile sharedModFile = resource.getSharedModFile();
+    long sharedModFileOffset = sharedModFile == null ? 0 : resource.getSharedModFileOffset();
+    ModificationCacheKey key =
+        new ModificationCacheKey(exclusiveModFile, sharedModFile, sharedModFileOffset);
+
+    // the versions are got before the lengths, so that the rewriting after them is found next time
+    long exclusiveVersion = exclusiveModFile.getRewriteVersion();
+    long sharedVersion = sharedModFile == null ? 0 : sharedModFile.getRewriteVersion();
+    long exclusiveLength = getLength(exclusiveModFile, 0);
+    long sharedLength = getLength(sharedModFile, sharedModFileOffset);
+
+    CachedModifications cached = lruCache.getIfPresent(key);
+    CachedModifications loaded = null;
+    if (cached != null
+        && cached.exclusiveVersion == exclusiveVersion
+        && cached.sharedVersion == sharedVersion) {
+      if (cached.exclusiveLength >= exclusiveLength && cached.sharedLength >= sharedLength) {
+        hitCount.incrementAndGet();
+        return cached.tree;
+      }
+      if (cached.exclusiveLength <= exclusiveLength && cached.sharedLength <= sharedLength) {
+        appendLoadCount.incrementAndGet();
+        loaded =
+            load(
+                key,
+                cached.entries,
+                cached.exclusiveLength,
+                cached.sharedLength,
+                exclusiveVersion,
+                exclusiveLength,
+                sharedVersion,
+                sharedLength);
+      }
+    }
+    if (loaded == null) {
+      loadCount.incrementAndGet();
+      loaded =
+          load(
+              key,
+              EMPTY_ENTRIES,
+              0,
+              sharedModFileOffset,
+              exclusiveVersion,
+              exclusiveLength,
+              sharedVersion,
+              sharedLength);
+    }
+
+    // the mods files are read outside the cache, so that the loading does not block the other keys,
+    // and the entry is not published if another one has been put since it is got
+    if (loaded.complete) {
+      if (cached == null) {
+        lruCache.asMap().putIfAbsent(key, loaded);
+      } else {
+        lruCache.asMap().replace(key, cached, loaded);
+      }
+    }
+    return loaded.tree;
+  }
+
+  private static long getLength(ModificationFile modFile, long offset) {
+    return modFile == null || !modFile.exists()
+        ? offset
+        : Math.max(offset, modFile.getFileLength());
+  }
+
+  @SuppressWarnings("squid:S107")
+  private CachedModifications load(
+      ModificationCacheKey key,
+      ModEntry[] cachedEntries,
+      long exclusiveOffset,
+      long sharedOffset,
+      long exclusiveVersion,
+      long exclusiveLength,
+      long sharedVersion,
+      long sharedLength) {
+    List<ModEntry> entries = new ArrayList<>(Arrays.asList(cachedEntries));
+    boolean complete =
+        read(key.exclusiveModFile, exclusiveVersion, exclusiveOffset, exclusiveLength, entries);
+    if (key.sharedModFile != null) {
+      complete &= read(key.sharedModFile, sharedVersion, sharedOffset, sharedLength, entries);
+    }
+
+    PatternTreeMap<ModEntry, ModsSerializer> tree = PatternTreeMapFactory.getModsPatternTreeMap();
+    for (ModEntry entry : entries) {
+      tree.append(entry.keyOfPatternTree(), entry);
+    }
+    return new CachedModifications(
+        entries.toArray(EMPTY_ENTRIES),
+        tree,
+        exclusiveVersion,
+        exclusiveLength,
+        sharedVersion,
+        sharedLength,
+        complete);
+  }
+
+  /**
+   * Read the entries in [offset, endOffset) of the mods file.
+   *
+   * @return false if the mods file has been rewritten or removed since its version is got, so that
+   *     the entries read should not be cached
+   * @throws UncheckedIOException if the entries cannot be read completely, since the deletions
+   *     missed would be visible to queries and compactions
+   */
+  private boolean read(
+      ModificationFile modFile, long version, long offset, long endOffset, List<ModEntry> entries) {
+    if (offset >= endOffset) {
+      return true;
+    }
+    long readOffset;
+    try (ModificationFile.ModIterator iterator = modFile.getModIterator(offset, endOffset)) {
+      iterator.forEachRemaining(entries::add);
+      readOffset = iterator.getReadOffset();
+    } catch (IOException e) {
+      if (modFile.getRewriteVersion() != version) {
+        return false;
+      }
+      throw new UncheckedIOException(e);
+    }
+    if (readOffset < endOffset) {
+      if (modFile.getRewriteVersion() != version) {
+        return false;
+      }
+      throw new UncheckedIOException(
+          new IOException(
+              String.format(
+                  "Failed to read mods from %s, expecting [%d, %d), actually read to %d",
+                  modFile.getFile(), offset, endOffset, readOffset)));
+    }
+    return true;
+  }
+
+  public double getHitRate() {
+    long requestCount = hitCount.get() + appendLoadCount.get() + loadCount.get();
+    return requestCount == 0 ? 0 : (double) hitCount.get() / requestCount * 100;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /** The number of requests that only read the appended part of the mods files. */
+  public long getAppendLoadCount() {
+    return appendLoadCount.get();
+  }
+
+  public long getLoadCount() {
+    return loadCount.get();
+  }
+
+  public long getMaxMemory() {
+    return CACHE_MEMORY_BLOCK.getTotalMemorySizeInBytes();
+  }
+
+  /** clear LRUCache. */
+  public void clear() {
+    lruCache.invalidateAll();
+    lruCache.cleanUp();
+  }
+
+  @TestOnly
+  public boolean isEmpty() {
+    return lruCache.asMap().isEmpty();
+  }
+
+  /**
+   * The mods files of a TsFile, which are compared by identity, since the same file may be
+   * rewritten and read by another {@link ModificationFile}.
+   */
+  private static class ModificationCacheKey {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(ModificationCacheKey.class);
+
+    // ModificationFiles are shared with TsFileResource, so we don't count their sizes
+    private final ModificationFile exclusiveModFile;
+    private final ModificationFile sharedModFile;
+
+    // the start of the modifications of the TsFile in the shared mods file
+    private final long sharedModFileOffset;
+
+    private ModificationCacheKey(
+        ModificationFile exclusiveModFile,
+        ModificationFile sharedModFile,
+        long sharedModFileOffset) {
+      this.exclusiveModFile = exclusiveModFile;
+      this.sharedModFile = sharedModFile;
+      this.sharedModFileOffset = sharedModFileOffset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ModificationCacheKey that = (ModificationCacheKey) o;
+      return exclusiveModFile == that.exclusiveModFile
+          && sharedModFile == that.sharedModFile
+          && sharedModFileOffset == that.sharedModFileOffset;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31
+              * (31 * System.identityHashCode(exclusiveModFile)
+                  + System.identityHashCode(sharedModFile))
+          + Long.hashCode(sharedModFileOffset);
+    }
+  }
+
+  private static class CachedModifications {
+
+    private static final long INSTANCE_SIZE =
+        RamUsageEstimator.shallowSizeOfInstance(CachedModifications.class);
+
+    // the entries share the objects with the tree
+    private final ModEntry[] entries;
+    private final PatternTreeMap<ModEntry, ModsSerializer> tree;
+
+    private final long exclusiveVersion;
+    private final long exclusiveLength;
+    private final long sharedVersion;
+    private final long sharedLength;
+    // false if the entries are not read completely and should not be cached
+    private final boolean complete;
+
+    private CachedModifications(
+        ModEntry[] entries,
+        PatternTreeMap<ModEntry, ModsSerializer> tree,
+        long exclusiveVersion,
+        long exclusiveLength,
+        long sharedVersion,
+        long sharedLength,
+        boolean complete) {
+      this.entries = entries;
+      this.tree = tree;
+      this.exclusiveVersion = exclusiveVersion;
+      this.exclusiveLength = exclusiveLength;
+      this.sharedVersion = sharedVersion;
+      this.sharedLength = sharedLength;
+      this.complete = complete;
+    }
+
+    private long getRetainedSizeInBytes() {
+      return INSTANCE_SIZE
+          + RamUsageEstimator.shallowSizeOf(entries)
+          + RamUsageEstimator.sizeOfObject(tree);
+    }
+  }
+
+  /** singleton pattern. */
+  private static class ModificationCacheHolder {
+
+    private static final ModificationCache INSTANCE = new ModificationCache();
+  }
+}
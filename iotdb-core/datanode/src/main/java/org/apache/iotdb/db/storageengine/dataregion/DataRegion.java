@@ -134,6 +134,7 @@ import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DeviceIdDictionaryManager;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndexCacheRecorder;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
@@ -155,7 +156,6 @@ import org.apache.iotdb.db.storageengine.rescon.disk.TierManager;
 import org.apache.iotdb.db.storageengine.rescon.memory.SystemInfo;
 import org.apache.iotdb.db.storageengine.rescon.memory.TimePartitionInfo;
 import org.apache.iotdb.db.storageengine.rescon.memory.TimePartitionManager;
-import org.apache.iotdb.db.storageengine.rescon.memory.TsFileResourceManager;
 import org.apache.iotdb.db.storageengine.rescon.quotas.DataNodeSpaceQuotaManager;
 import org.apache.iotdb.db.tools.DelayAnalyzer;
 import org.apache.iotdb.db.tools.settle.TsFileAndModSettleTool;
@@ -199,6 +199,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -215,6 +216,7 @@ import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -223,7 +225,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -276,7 +277,17 @@ public class DataRegion implements IDataRegionForQuery {
    * closing(Un)SequenceTsFileProcessor, latestTimeForEachDevice, and
    * partitionLatestFlushedTimeForEachDevice)
    */
-  private final ReadWriteLock insertLock = new ReentrantReadWriteLock();
+  private final ReentrantReadWriteLock insertLock = new ReentrantReadWriteLock();
+
+  /**
+   * Locks striped by time partition, null if there is only one stripe. An insertion holds the read
+   * lock of {@link #insertLock} and the write locks of the stripes of the time partitions it
+   * writes, so that insertions into different stripes are executed in parallel. Queries hold the
+   * read locks of all stripes to exclude the insertions, and other operations still hold the write
+   * lock of {@link #insertLock}.
+   */
+  private final ReentrantReadWriteLock[] insertStripeLocks =
+      createInsertStripeLocks(config.getDataRegionInsertLockStripeNum());
 
   /** Condition to safely delete data region. */
   private final Condition deletedCondition = insertLock.writeLock().newCondition();
@@ -288,10 +299,12 @@ public class DataRegion implements IDataRegionForQuery {
   private final Object closeStorageGroupCondition = new Object();
 
   /** time partition id in the database -> {@link TsFileProcessor} for this time partition. */
-  private final TreeMap<Long, TsFileProcessor> workSequenceTsFileProcessors = new TreeMap<>();
+  private final ConcurrentSkipListMap<Long, TsFileProcessor> workSequenceTsFileProcessors =
+      new ConcurrentSkipListMap<>();
 
   /** time partition id in the database -> {@link TsFileProcessor} for this time partition. */
-  private final TreeMap<Long, TsFileProcessor> workUnsequenceTsFileProcessors = new TreeMap<>();
+  private final ConcurrentSkipListMap<Long, TsFileProcessor> workUnsequenceTsFileProcessors =
+      new ConcurrentSkipListMap<>();
 
   /** sequence {@link TsFileProcessor}s which are closing. */
   private final Set<TsFileProcessor> closingSequenceTsFileProcessor = ConcurrentHashMap.newKeySet();
@@ -314,9 +327,6 @@ public class DataRegion implements IDataRegionForQuery {
   /** manage seqFileList and unSeqFileList. */
   private final TsFileManager tsFileManager;
 
-  /** manage tsFileResource degrade. */
-  private final TsFileResourceManager tsFileResourceManager = TsFileResourceManager.getInstance();
-
   /** file system factory (local or hdfs). */
   private final FSFactory fsFactory = FSFactoryProducer.getFSFactory();
 
@@ -955,7 +965,7 @@ public class DataRegion implements IDataRegionForQuery {
           return;
         }
         updateDeviceLastFlushTime(tsFileResource);
-        tsFileResourceManager.registerSealedTsFileResource(tsFileResource);
+        tsFileManager.registerSealedTsFileResource(tsFileResource);
         FileMetrics.getInstance()
             .addTsFile(
                 tsFileResource.getDatabaseName(),
@@ -1026,7 +1036,7 @@ public class DataRegion implements IDataRegionForQuery {
         sealedTsFile.remove();
         tsFileManager.remove(sealedTsFile, sealedTsFile.isSeq());
       } else {
-        tsFileResourceManager.registerSealedTsFileResource(sealedTsFile);
+        tsFileManager.registerSealedTsFileResource(sealedTsFile);
       }
     } catch (Throwable e) {
       logger.error("Fail to recover sealed TsFile {}, skip it.", sealedTsFile.getTsFilePath(), e);
@@ -1101,7 +1111,7 @@ public class DataRegion implements IDataRegionForQuery {
         try (SealedTsFileRecoverPerformer recoverPerformer =
             new SealedTsFileRecoverPerformer(tsFileResource)) {
           recoverPerformer.recover();
-          tsFileResourceManager.registerSealedTsFileResource(tsFileResource);
+          tsFileManager.registerSealedTsFileResource(tsFileResource);
         } catch (Throwable e) {
           logger.error(
               "Fail to recover sealed TsFile {}, skip it.", tsFileResource.getTsFilePath(), e);
@@ -1180,7 +1190,8 @@ public class DataRegion implements IDataRegionForQuery {
     }
     StorageEngine.blockInsertionIfReject();
     long startTime = System.nanoTime();
-    writeLock("InsertRow");
+    BitSet insertStripes = getInsertStripes(insertRowNode);
+    lockForInsert(insertStripes, "InsertRow");
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleLockCost(System.nanoTime() - startTime);
     try {
       if (deleted) {
@@ -1238,7 +1249,7 @@ public class DataRegion implements IDataRegionForQuery {
             System.nanoTime() - startTime);
       }
     } finally {
-      writeUnlock();
+      unlockForInsert(insertStripes);
     }
   }
 
@@ -1369,7 +1380,8 @@ public class DataRegion implements IDataRegionForQuery {
       throws BatchProcessException, WriteProcessException {
     StorageEngine.blockInsertionIfReject();
     long startTime = System.nanoTime();
-    writeLock("insertTablet");
+    BitSet insertStripes = getInsertStripes(insertTabletNode);
+    lockForInsert(insertStripes, "insertTablet");
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleLockCost(System.nanoTime() - startTime);
     try {
       if (deleted) {
@@ -1399,7 +1411,7 @@ public class DataRegion implements IDataRegionForQuery {
         throw new BatchProcessException(results);
       }
     } finally {
-      writeUnlock();
+      unlockForInsert(insertStripes);
     }
   }
 
@@ -1529,7 +1541,7 @@ public class DataRegion implements IDataRegionForQuery {
       // flush all MemTables so that the new type can be inserted into a new MemTable
       // cannot just flush the current TsFileProcessor, because the new type may be inserted into
       // other TsFileProcessors of this region
-      asyncCloseAllWorkingTsFileProcessors();
+      asyncCloseWorkingTsFileProcessorsOfInsertion();
       throw e;
     } catch (WriteProcessRejectException e) {
       logger.warn("insert to TsFileProcessor rejected, {}", e.getMessage());
@@ -1912,7 +1924,9 @@ public class DataRegion implements IDataRegionForQuery {
    * @param sequence whether is sequence or not
    */
   private TsFileProcessor getOrCreateTsFileProcessorIntern(
-      long timeRangeId, TreeMap<Long, TsFileProcessor> tsFileProcessorTreeMap, boolean sequence)
+      long timeRangeId,
+      ConcurrentSkipListMap<Long, TsFileProcessor> tsFileProcessorTreeMap,
+      boolean sequence)
       throws IOException, DiskSpaceInsufficientException {
 
     TsFileProcessor res = tsFileProcessorTreeMap.get(timeRangeId);
@@ -2010,7 +2024,7 @@ public class DataRegion implements IDataRegionForQuery {
     Future<?> future;
     Set<TsFileProcessor> closingTsFileProcessors =
         sequence ? closingSequenceTsFileProcessor : closingUnSequenceTsFileProcessor;
-    TreeMap<Long, TsFileProcessor> workTsFileProcessors =
+    ConcurrentSkipListMap<Long, TsFileProcessor> workTsFileProcessors =
         sequence ? workSequenceTsFileProcessors : workUnsequenceTsFileProcessors;
 
     closingTsFileProcessors.add(tsFileProcessor);
@@ -2046,6 +2060,7 @@ public class DataRegion implements IDataRegionForQuery {
     int regionId = dataRegionId.getId();
     TableDiskUsageIndex.getInstance().remove(databaseName, regionId);
     FileTimeIndexCacheRecorder.getInstance().removeFileTimeIndexCache(regionId);
+    DeviceIdDictionaryManager.getInstance().removeDictionary(regionId);
     writeLock("deleteFolder");
     try {
       File dataRegionSystemFolder =
@@ -2341,6 +2356,33 @@ public class DataRegion implements IDataRegionForQuery {
     return futures;
   }
 
+  /**
+   * close the working tsfile processors which can be modified by the current insertion, i.e., all
+   * of them if it holds the write lock of the insert lock, otherwise those in its stripes, which
+   * include the ones of all time partitions it writes
+   */
+  private void asyncCloseWorkingTsFileProcessorsOfInsertion() {
+    if (insertStripeLocks == null || insertLock.isWriteLockedByCurrentThread()) {
+      asyncCloseAllWorkingTsFileProcessors();
+      return;
+    }
+    int count = 0;
+    for (TsFileProcessor tsFileProcessor : new ArrayList<>(workSequenceTsFileProcessors.values())) {
+      if (getInsertStripeLock(tsFileProcessor.getTimeRangeId()).isWriteLockedByCurrentThread()) {
+        asyncCloseOneTsFileProcessor(true, tsFileProcessor);
+        count++;
+      }
+    }
+    for (TsFileProcessor tsFileProcessor :
+        new ArrayList<>(workUnsequenceTsFileProcessors.values())) {
+      if (getInsertStripeLock(tsFileProcessor.getTimeRangeId()).isWriteLockedByCurrentThread()) {
+        asyncCloseOneTsFileProcessor(false, tsFileProcessor);
+        count++;
+      }
+    }
+    WritingMetrics.getInstance().recordManualFlushMemTableCount(count);
+  }
+
   /** force close all working tsfile processors */
   public void forceCloseAllWorkingTsFileProcessors() throws TsFileProcessorException {
     writeLock("forceCloseAllWorkingTsFileProcessors");
@@ -2728,11 +2770,16 @@ public class DataRegion implements IDataRegionForQuery {
       // memtable
       long startTime = System.nanoTime();
       if (insertLock.readLock().tryLock(waitMillis, TimeUnit.MILLISECONDS)) {
+        // exclude the insertions holding the stripes
+        if (!tryGetInsertStripeReadLocks(startTime, waitMillis)) {
+          insertLock.readLock().unlock();
+          return false;
+        }
         // minus already consumed time
         waitMillis -= (System.nanoTime() - startTime) / 1_000_000;
         // no remaining time slice
         if (waitMillis <= 0) {
-          insertLock.readLock().unlock();
+          releaseInsertReadLock();
           return false;
         }
         return tryGetTsFileManagerReadLock(waitMillis);
@@ -2752,12 +2799,12 @@ public class DataRegion implements IDataRegionForQuery {
         return true;
       } else {
         // failed to acquire tsFileManager read lock, we also need to unlock the insertLock
-        insertLock.readLock().unlock();
+        releaseInsertReadLock();
         return false;
       }
     } catch (InterruptedException e) {
       // failed to acquire tsFileManager read lock, we also need to unlock the insertLock
-      insertLock.readLock().unlock();
+      releaseInsertReadLock();
       Thread.currentThread().interrupt();
       return false;
     }
@@ -2767,6 +2814,39 @@ public class DataRegion implements IDataRegionForQuery {
   @Override
   public void readUnlock() {
     tsFileManager.readUnlock();
+    releaseInsertReadLock();
+  }
+
+  private boolean tryGetInsertStripeReadLocks(long startTime, long waitMillis)
+      throws InterruptedException {
+    if (insertStripeLocks == null) {
+      return true;
+    }
+    long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+    int lockedNum = 0;
+    try {
+      while (lockedNum < insertStripeLocks.length
+          && insertStripeLocks[lockedNum]
+              .readLock()
+              .tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        lockedNum++;
+      }
+    } finally {
+      if (lockedNum < insertStripeLocks.length) {
+        for (int i = 0; i < lockedNum; i++) {
+          insertStripeLocks[i].readLock().unlock();
+        }
+      }
+    }
+    return lockedNum == insertStripeLocks.length;
+  }
+
+  private void releaseInsertReadLock() {
+    if (insertStripeLocks != null) {
+      for (ReentrantReadWriteLock insertStripeLock : insertStripeLocks) {
+        insertStripeLock.readLock().unlock();
+      }
+    }
     insertLock.readLock().unlock();
   }
 
@@ -2782,6 +2862,106 @@ public class DataRegion implements IDataRegionForQuery {
     insertLock.writeLock().unlock();
   }
 
+  private static ReentrantReadWriteLock[] createInsertStripeLocks(int stripeNum) {
+    if (stripeNum <= 1) {
+      return null;
+    }
+    ReentrantReadWriteLock[] locks = new ReentrantReadWriteLock[stripeNum];
+    for (int i = 0; i < stripeNum; i++) {
+      locks[i] = new ReentrantReadWriteLock();
+    }
+    return locks;
+  }
+
+  private int getInsertStripe(long timePartitionId) {
+    return (int) Math.floorMod(timePartitionId, (long) insertStripeLocks.length);
+  }
+
+  private ReentrantReadWriteLock getInsertStripeLock(long timePartitionId) {
+    return insertStripeLocks[getInsertStripe(timePartitionId)];
+  }
+
+  /**
+   * @return the stripes of the time partitions written by the insertion, or null if the insertion
+   *     should hold the write lock of the insert lock
+   */
+  private BitSet getInsertStripes(InsertNode insertNode) {
+    if (insertStripeLocks == null) {
+      return null;
+    }
+    BitSet stripes = new BitSet(insertStripeLocks.length);
+    if (insertNode instanceof InsertRowNode) {
+      addInsertStripe(stripes, ((InsertRowNode) insertNode).getTime());
+    } else if (insertNode instanceof InsertTabletNode) {
+      addInsertStripes(stripes, (InsertTabletNode) insertNode);
+    } else if (insertNode instanceof InsertRowsNode) {
+      for (InsertRowNode insertRowNode : ((InsertRowsNode) insertNode).getInsertRowNodeList()) {
+        addInsertStripe(stripes, insertRowNode.getTime());
+      }
+    } else if (insertNode instanceof InsertRowsOfOneDeviceNode) {
+      for (InsertRowNode insertRowNode :
+          ((InsertRowsOfOneDeviceNode) insertNode).getInsertRowNodeList()) {
+        addInsertStripe(stripes, insertRowNode.getTime());
+      }
+    } else if (insertNode instanceof InsertMultiTabletsNode) {
+      for (InsertTabletNode insertTabletNode :
+          ((InsertMultiTabletsNode) insertNode).getInsertTabletNodeList()) {
+        addInsertStripes(stripes, insertTabletNode);
+      }
+    } else {
+      // unknown insertion, lock the whole region
+      return null;
+    }
+    return stripes;
+  }
+
+  private void addInsertStripes(BitSet stripes, InsertTabletNode insertTabletNode) {
+    long[] times = insertTabletNode.getTimes();
+    long lastTimePartitionId = Long.MIN_VALUE;
+    for (int i = 0; i < insertTabletNode.getRowCount(); i++) {
+      long timePartitionId = TimePartitionUtils.getTimePartitionId(times[i]);
+      // the times are usually ordered, skip the same time partition
+      if (timePartitionId != lastTimePartitionId) {
+        stripes.set(getInsertStripe(timePartitionId));
+        lastTimePartitionId = timePartitionId;
+      }
+    }
+  }
+
+  private void addInsertStripe(BitSet stripes, long time) {
+    stripes.set(getInsertStripe(TimePartitionUtils.getTimePartitionId(time)));
+  }
+
+  /**
+   * lock for the insertion, it holds the write lock of the insert lock if stripes is null,
+   * otherwise see {@link #insertStripeLocks}
+   */
+  private void lockForInsert(BitSet stripes, String holder) {
+    long startTime = System.nanoTime();
+    if (stripes == null) {
+      writeLock(holder);
+    } else {
+      insertLock.readLock().lock();
+      // always lock the stripes in ascending order to avoid deadlock
+      for (int i = stripes.nextSetBit(0); i >= 0; i = stripes.nextSetBit(i + 1)) {
+        insertStripeLocks[i].writeLock().lock();
+      }
+    }
+    WritingMetrics.getInstance()
+        .recordInsertLockWaitCost(stripes != null, System.nanoTime() - startTime);
+  }
+
+  private void unlockForInsert(BitSet stripes) {
+    if (stripes == null) {
+      writeUnlock();
+      return;
+    }
+    for (int i = stripes.nextSetBit(0); i >= 0; i = stripes.nextSetBit(i + 1)) {
+      insertStripeLocks[i].writeLock().unlock();
+    }
+    insertLock.readLock().unlock();
+  }
+
   /**
    * @param tsFileResources includes sealed and unsealed tsfile resources
    * @return fill unsealed tsfile resources with memory data and ChunkMetadataList of data in disk
@@ -3569,7 +3749,7 @@ public class DataRegion implements IDataRegionForQuery {
             tsFilePath + RESOURCE_SUFFIX, tsFilePath + RESOURCE_SUFFIX + BROKEN_SUFFIX);
       } else {
         tsFileProcessor.getTsFileResource().setStatus(TsFileResourceStatus.NORMAL);
-        tsFileResourceManager.registerSealedTsFileResource(tsFileProcessor.getTsFileResource());
+        tsFileManager.registerSealedTsFileResource(tsFileProcessor.getTsFileResource());
       }
     } finally {
       tsFileProcessor.writeUnlock();
@@ -4296,7 +4476,7 @@ public class DataRegion implements IDataRegionForQuery {
    * @return all working sequence tsfile processors
    */
   public Collection<TsFileProcessor> getWorkSequenceTsFileProcessors() {
-    return workSequenceTsFileProcessors.values();
+    return new ArrayList<>(workSequenceTsFileProcessors.values());
   }
 
   public boolean removeTsFile(File fileToBeRemoved) {
@@ -4382,7 +4562,7 @@ public class DataRegion implements IDataRegionForQuery {
    * @return all working unsequence tsfile processors
    */
   public Collection<TsFileProcessor> getWorkUnsequenceTsFileProcessors() {
-    return workUnsequenceTsFileProcessors.values();
+    return new ArrayList<>(workUnsequenceTsFileProcessors.values());
   }
 
   public List<TsFileResource> getSequenceFileList() {
@@ -4441,7 +4621,8 @@ public class DataRegion implements IDataRegionForQuery {
       throws WriteProcessException, BatchProcessException {
     StorageEngine.blockInsertionIfReject();
     long startTime = System.nanoTime();
-    writeLock("InsertRowsOfOneDevice");
+    BitSet insertStripes = getInsertStripes(insertRowsOfOneDeviceNode);
+    lockForInsert(insertStripes, "InsertRowsOfOneDevice");
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleLockCost(System.nanoTime() - startTime);
     try {
       if (deleted) {
@@ -4553,7 +4734,7 @@ public class DataRegion implements IDataRegionForQuery {
             System.nanoTime() - startTime);
       }
     } finally {
-      writeUnlock();
+      unlockForInsert(insertStripes);
     }
     if (!insertRowsOfOneDeviceNode.getResults().isEmpty()) {
       throw new BatchProcessException("Partial failed inserting rows of one device");
@@ -4564,7 +4745,8 @@ public class DataRegion implements IDataRegionForQuery {
       throws BatchProcessException, WriteProcessRejectException {
     StorageEngine.blockInsertionIfReject();
     long startTime = System.nanoTime();
-    writeLock("InsertRows");
+    BitSet insertStripes = getInsertStripes(insertRowsNode);
+    lockForInsert(insertStripes, "InsertRows");
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleLockCost(System.nanoTime() - startTime);
     try {
       if (deleted) {
@@ -4638,7 +4820,7 @@ public class DataRegion implements IDataRegionForQuery {
         throw new BatchProcessException("Partial failed inserting rows");
       }
     } finally {
-      writeUnlock();
+      unlockForInsert(insertStripes);
     }
   }
 
@@ -4652,7 +4834,8 @@ public class DataRegion implements IDataRegionForQuery {
 
     StorageEngine.blockInsertionIfReject();
     long startTime = System.nanoTime();
-    writeLock("insertTablets");
+    BitSet insertStripes = getInsertStripes(insertMultiTabletsNode);
+    lockForInsert(insertStripes, "insertTablets");
     PERFORMANCE_OVERVIEW_METRICS.recordScheduleLockCost(System.nanoTime() - startTime);
     try {
       if (deleted) {
@@ -4705,7 +4888,7 @@ public class DataRegion implements IDataRegionForQuery {
       updateTsFileProcessorMetric(insertMultiTabletsNode, infoForMetrics);
 
     } finally {
-      writeUnlock();
+      unlockForInsert(insertStripes);
     }
 
     if (!insertMultiTabletsNode.getResults().isEmpty()) {
@@ -187,13 +187,13 @@ public class CompactionExceptionHandler {
       for (TsFileResource tsFileResource : sourceSeqResourceList) {
         if (!tsFileResource.isFileInList()) {
           seqTsFileResourceList.keepOrderInsert(tsFileResource);
-          TsFileResourceManager.getInstance().registerSealedTsFileResource(tsFileResource);
+          tsFileManager.registerSealedTsFileResource(tsFileResource);
         }
       }
       for (TsFileResource tsFileResource : sourceUnseqResourceList) {
         if (!tsFileResource.isFileInList()) {
           unseqTsFileResourceList.keepOrderInsert(tsFileResource);
-          TsFileResourceManager.getInstance().registerSealedTsFileResource(tsFileResource);
+          tsFileManager.registerSealedTsFileResource(tsFileResource);
         }
       }
     } finally {
@@ -36,6 +36,7 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.log
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.log.TsFileIdentifier;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.repair.RepairDataFileScanUtil;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.comparator.CompactionTaskScore;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileManager;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileRepairStatus;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
@@ -84,6 +85,7 @@ public abstract class AbstractCompactionTask {
   private boolean memoryAcquired = false;
   private boolean fileHandleAcquired = false;
   protected long compactionConfigVersion = Long.MAX_VALUE;
+  private volatile CompactionTaskScore score;
 
   protected AbstractCompactionTask(
       String storageGroupName,
@@ -234,6 +236,7 @@ public abstract class AbstractCompactionTask {
   public boolean start() {
     boolean isSuccess = false;
     summary.start();
+    summary.setScore(getScore());
     try {
       isSuccess = doCompaction();
     } finally {
@@ -449,6 +452,14 @@ public abstract class AbstractCompactionTask {
     return serialId;
   }
 
+  /** The estimated benefit and IO cost of the task, which is computed at the first call. */
+  public CompactionTaskScore getScore() {
+    if (score == null) {
+      score = CompactionTaskScore.estimate(this, tsFileManager);
+    }
+    return score;
+  }
+
   protected abstract void createSummary();
 
   public long getTemporalFileSize() {
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task;
 
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.comparator.CompactionTaskScore;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
@@ -42,6 +43,8 @@ public class CompactionTaskSummary {
   protected long rewritePointNum = 0;
   protected long temporalFileSize = 0;
   protected int temporalFileNum = 0;
+  protected double estimatedBenefit = 0;
+  protected long estimatedIOCost = 0;
   protected Map<TsFileID, Map<String, Long>> targetFileTableSizeMap = new HashMap<>();
 
   public void start() {
@@ -195,6 +198,19 @@ public class CompactionTaskSummary {
     return temporalFileNum;
   }
 
+  public void setScore(CompactionTaskScore score) {
+    this.estimatedBenefit = score.getBenefit();
+    this.estimatedIOCost = score.getIOCost();
+  }
+
+  public double getEstimatedBenefit() {
+    return estimatedBenefit;
+  }
+
+  public long getEstimatedIOCost() {
+    return estimatedIOCost;
+  }
+
   public void recordTargetTsFileTableSizeMap(
       TsFileResource resource, Map<String, Long> tableSizeMap) {
     this.targetFileTableSizeMap.put(resource.getTsFileID(), tableSizeMap);
@@ -210,7 +226,8 @@ public class CompactionTaskSummary {
     return String.format(
         "Task start time: %s, total process chunk num: %d, "
             + "directly flush chunk num: %d, merge chunk num: %d, deserialize chunk num: %d,"
-            + " directly flush page num: %d, total process point num: %d, rewrite point num: %d",
+            + " directly flush page num: %d, total process point num: %d, rewrite point num: %d,"
+            + " estimated benefit: %.1f, estimated IO cost: %d",
         startTimeInStr,
         processChunkNum,
         directlyFlushChunkNum,
@@ -218,6 +235,8 @@ public class CompactionTaskSummary {
         deserializeChunkCount,
         directlyFlushPageCount,
         processPointNum,
-        rewritePointNum);
+        rewritePointNum,
+        estimatedBenefit,
+        estimatedIOCost);
   }
 }
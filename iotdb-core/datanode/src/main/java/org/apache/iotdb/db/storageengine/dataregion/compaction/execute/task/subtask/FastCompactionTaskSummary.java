@@ -32,6 +32,8 @@ public class FastCompactionTaskSummary extends CompactionTaskSummary {
   public int pageFakeOverlap;
   public int pageNoneOverlapButDeserialize;
 
+  public long decodedTimePageCacheHit;
+
   public void increase(FastCompactionTaskSummary summary) {
     this.chunkNoneOverlap += summary.chunkNoneOverlap;
     this.chunkNoneOverlapButDeserialize += summary.chunkNoneOverlapButDeserialize;
@@ -40,6 +42,7 @@ public class FastCompactionTaskSummary extends CompactionTaskSummary {
     this.pageOverlapOrModified += summary.pageOverlapOrModified;
     this.pageFakeOverlap += summary.pageFakeOverlap;
     this.pageNoneOverlapButDeserialize += summary.pageNoneOverlapButDeserialize;
+    this.decodedTimePageCacheHit += summary.decodedTimePageCacheHit;
     this.processChunkNum += summary.processChunkNum;
     this.processPointNum += summary.processPointNum;
     this.directlyFlushChunkNum += summary.directlyFlushChunkNum;
@@ -53,13 +56,14 @@ public class FastCompactionTaskSummary extends CompactionTaskSummary {
         "CHUNK_NONE_OVERLAP num is %d, CHUNK_NONE_OVERLAP_BUT_DESERIALIZE num is %d,"
             + " CHUNK_OVERLAP_OR_MODIFIED num is %d, PAGE_NONE_OVERLAP num is %d,"
             + " PAGE_NONE_OVERLAP_BUT_DESERIALIZE num is %d, PAGE_OVERLAP_OR_MODIFIED num is %d,"
-            + " PAGE_FAKE_OVERLAP num is %d.",
+            + " PAGE_FAKE_OVERLAP num is %d, DECODED_TIME_PAGE_CACHE_HIT num is %d.",
         chunkNoneOverlap,
         chunkNoneOverlapButDeserialize,
         chunkOverlapOrModified,
         pageNoneOverlap,
         pageNoneOverlapButDeserialize,
         pageOverlapOrModified,
-        pageFakeOverlap);
+        pageFakeOverlap,
+        decodedTimePageCacheHit);
   }
 }
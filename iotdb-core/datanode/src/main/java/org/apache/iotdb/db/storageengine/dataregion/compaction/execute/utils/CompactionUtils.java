@@ -38,6 +38,7 @@ import org.apache.iotdb.db.queryengine.plan.analyze.schema.ISchemaFetcher;
 import org.apache.iotdb.db.schemaengine.table.DataNodeTableCache;
 import org.apache.iotdb.db.service.metrics.CompactionMetrics;
 import org.apache.iotdb.db.service.metrics.FileMetrics;
+import org.apache.iotdb.db.storageengine.buffer.ModificationCache;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.constant.CompactionTaskType;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
 import org.apache.iotdb.db.storageengine.dataregion.modification.DeletionPredicate;
@@ -428,6 +429,9 @@ public class CompactionUtils {
 
   public static PatternTreeMap<ModEntry, PatternTreeMapFactory.ModsSerializer>
       buildModEntryPatternTreeMap(TsFileResource resource) {
+    if (ModificationCache.isCacheEnable()) {
+      return ModificationCache.getInstance().get(resource);
+    }
     PatternTreeMap<ModEntry, PatternTreeMapFactory.ModsSerializer> patternTreeMap =
         PatternTreeMapFactory.getModsPatternTreeMap();
     TsFileResource.ModIterator modEntryIterator = resource.getModEntryIterator();
@@ -28,6 +28,7 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.subt
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.ModifiedStatus;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.AlignedSeriesBatchCompactionUtils;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.BatchCompactionPlan;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.BatchedCompactionAlignedChunkReader;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.CompactChunkPlan;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.FirstBatchCompactionAlignedChunkWriter;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.FollowingBatchCompactionAlignedChunkWriter;
@@ -35,14 +36,17 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.exe
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.fast.element.AlignedPageElement;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.fast.element.ChunkMetadataElement;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.fast.element.PageElement;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.fast.reader.CompactionAlignedChunkReader;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.writer.AbstractCompactionWriter;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.writer.flushcontroller.FollowedBatchedCompactionFlushController;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.utils.datastructure.PatternTreeMapFactory;
 
 import org.apache.tsfile.common.constant.TsFileConstant;
 import org.apache.tsfile.encrypt.EncryptUtils;
+import org.apache.tsfile.exception.StopReadTsFileByInterruptException;
 import org.apache.tsfile.exception.write.PageException;
 import org.apache.tsfile.file.metadata.AbstractAlignedChunkMetadata;
 import org.apache.tsfile.file.metadata.ChunkMetadata;
@@ -62,6 +66,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public class BatchedFastAlignedSeriesCompactionExecutor
     extends FastAlignedSeriesCompactionExecutor {
@@ -77,6 +84,7 @@ public class BatchedFastAlignedSeriesCompactionExecutor
   private final BatchCompactionPlan batchCompactionPlan;
   private final int batchSize =
       IoTDBDescriptor.getInstance().getConfig().getCompactionMaxAlignedSeriesNumInOneBatch();
+  private final int batchParallelism;
 
   public BatchedFastAlignedSeriesCompactionExecutor(
       AbstractCompactionWriter compactionWriter,
@@ -107,18 +115,19 @@ public class BatchedFastAlignedSeriesCompactionExecutor
         new AlignedSeriesBatchCompactionUtils.BatchColumnSelection(
             valueMeasurementSchemas, batchSize);
     this.sortedSourceFiles = sortedSourceFiles;
-    this.alignedChunkMetadataCache = new HashMap<>();
+    this.alignedChunkMetadataCache = new ConcurrentHashMap<>();
     this.batchCompactionPlan = new BatchCompactionPlan();
+    this.batchParallelism =
+        AlignedSeriesBatchCompactionUtils.getBatchParallelism(compactionWriter.getSubTaskNum());
   }
 
   private List<AbstractAlignedChunkMetadata> getAlignedChunkMetadataListBySelectedValueColumn(
-      TsFileResource tsFileResource, List<IMeasurementSchema> selectedValueMeasurementSchemas)
+      TsFileResource tsFileResource, List<Integer> selectedColumnIndexList)
       throws IOException, IllegalPathException {
     // 1. get Full AlignedChunkMetadata from cache
-    List<AbstractAlignedChunkMetadata> alignedChunkMetadataList = null;
-    if (alignedChunkMetadataCache.containsKey(tsFileResource)) {
-      alignedChunkMetadataList = alignedChunkMetadataCache.get(tsFileResource);
-    } else {
+    List<AbstractAlignedChunkMetadata> alignedChunkMetadataList =
+        alignedChunkMetadataCache.get(tsFileResource);
+    if (alignedChunkMetadataList == null) {
       alignedChunkMetadataList = getAlignedChunkMetadataList(tsFileResource);
       AlignedSeriesBatchCompactionUtils.markAlignedChunkHasDeletion(alignedChunkMetadataList);
       alignedChunkMetadataCache.put(tsFileResource, alignedChunkMetadataList);
@@ -129,7 +138,7 @@ public class BatchedFastAlignedSeriesCompactionExecutor
     for (AbstractAlignedChunkMetadata alignedChunkMetadata : alignedChunkMetadataList) {
       filteredAlignedChunkMetadataList.add(
           AlignedSeriesBatchCompactionUtils.filterAlignedChunkMetadataByIndex(
-              alignedChunkMetadata, batchColumnSelection.getSelectedColumnIndexList()));
+              alignedChunkMetadata, selectedColumnIndexList));
     }
     return filteredAlignedChunkMetadataList;
   }
@@ -142,22 +151,26 @@ public class BatchedFastAlignedSeriesCompactionExecutor
       return;
     }
     compactLeftBatches();
+    summary.decodedTimePageCacheHit += batchCompactionPlan.getDecodedTimePageCacheHitCount();
   }
 
   private void compactFirstBatch()
       throws PageException, IllegalPathException, IOException, WriteProcessException {
     List<IMeasurementSchema> selectedMeasurementSchemas;
+    List<Integer> selectedColumnIndexList;
     if (!batchColumnSelection.hasNext()) {
       if (ignoreAllNullRows) {
         return;
       }
       selectedMeasurementSchemas = Collections.singletonList(timeSchema);
+      selectedColumnIndexList = Collections.emptyList();
     } else {
       batchColumnSelection.next();
       selectedMeasurementSchemas =
           new ArrayList<>(batchColumnSelection.getCurrentSelectedColumnSchemaList().size() + 1);
       selectedMeasurementSchemas.add(timeSchema);
       selectedMeasurementSchemas.addAll(batchColumnSelection.getCurrentSelectedColumnSchemaList());
+      selectedColumnIndexList = batchColumnSelection.getSelectedColumnIndexList();
     }
 
     FirstBatchFastAlignedSeriesCompactionExecutor executor =
@@ -170,6 +183,7 @@ public class BatchedFastAlignedSeriesCompactionExecutor
             deviceId,
             subTaskId,
             selectedMeasurementSchemas,
+            selectedColumnIndexList,
             summary,
             ignoreAllNullRows);
     executor.execute();
@@ -181,6 +195,8 @@ public class BatchedFastAlignedSeriesCompactionExecutor
 
   private void compactLeftBatches()
       throws PageException, IllegalPathException, IOException, WriteProcessException {
+    List<List<IMeasurementSchema>> leftBatchMeasurementSchemas = new ArrayList<>();
+    List<List<Integer>> leftBatchColumnIndexLists = new ArrayList<>();
     while (batchColumnSelection.hasNext()) {
       batchColumnSelection.next();
       List<IMeasurementSchema> currentBatchMeasurementSchemas =
@@ -188,19 +204,107 @@ public class BatchedFastAlignedSeriesCompactionExecutor
       currentBatchMeasurementSchemas.add(timeSchema);
       currentBatchMeasurementSchemas.addAll(
           batchColumnSelection.getCurrentSelectedColumnSchemaList());
-      FollowingBatchFastAlignedSeriesCompactionExecutor executor =
-          new FollowingBatchFastAlignedSeriesCompactionExecutor(
-              compactionWriter,
-              filterTimeseriesMetadataOffsetMap(currentBatchMeasurementSchemas),
-              readerCacheMap,
-              modificationCacheMap,
-              sortedSourceFiles,
-              deviceId,
-              subTaskId,
-              currentBatchMeasurementSchemas,
-              summary,
-              ignoreAllNullRows);
-      executor.execute();
+      leftBatchMeasurementSchemas.add(currentBatchMeasurementSchemas);
+      leftBatchColumnIndexLists.add(batchColumnSelection.getSelectedColumnIndexList());
+    }
+
+    int parallelism = Math.min(batchParallelism, leftBatchMeasurementSchemas.size());
+    if (parallelism <= 1) {
+      for (int i = 0; i < leftBatchMeasurementSchemas.size(); i++) {
+        compactFollowingBatch(
+            leftBatchMeasurementSchemas.get(i),
+            leftBatchColumnIndexLists.get(i),
+            subTaskId,
+            summary);
+      }
+      return;
+    }
+
+    // the time chunks of the device have been compacted by the first batch, so that the following
+    // batches only write value chunks, which can be done in parallel by the sub compaction threads
+    List<Future<Void>> futures = new ArrayList<>(parallelism);
+    List<FastCompactionTaskSummary> batchSummaries = new ArrayList<>(parallelism);
+    try {
+      for (int i = 0; i < parallelism; i++) {
+        int batchSubTaskId = i;
+        FastCompactionTaskSummary batchSummary = new FastCompactionTaskSummary();
+        batchSummaries.add(batchSummary);
+        futures.add(
+            CompactionTaskManager.getInstance()
+                .submitSubTask(
+                    () -> {
+                      for (int j = batchSubTaskId;
+                          j < leftBatchMeasurementSchemas.size();
+                          j += parallelism) {
+                        compactFollowingBatch(
+                            leftBatchMeasurementSchemas.get(j),
+                            leftBatchColumnIndexLists.get(j),
+                            batchSubTaskId,
+                            batchSummary);
+                      }
+                      return null;
+                    }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StopReadTsFileByInterruptException();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof PageException) {
+        throw (PageException) cause;
+      } else if (cause instanceof WriteProcessException) {
+        throw (WriteProcessException) cause;
+      } else if (cause instanceof IllegalPathException) {
+        throw (IllegalPathException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException("[Compaction] Batched aligned series compaction meet errors ", e);
+    } finally {
+      abortAllBatches(futures);
+    }
+    for (FastCompactionTaskSummary batchSummary : batchSummaries) {
+      summary.increase(batchSummary);
+    }
+  }
+
+  private void compactFollowingBatch(
+      List<IMeasurementSchema> currentBatchMeasurementSchemas,
+      List<Integer> selectedColumnIndexList,
+      int batchSubTaskId,
+      FastCompactionTaskSummary batchSummary)
+      throws PageException, IllegalPathException, IOException, WriteProcessException {
+    FollowingBatchFastAlignedSeriesCompactionExecutor executor =
+        new FollowingBatchFastAlignedSeriesCompactionExecutor(
+            compactionWriter,
+            filterTimeseriesMetadataOffsetMap(currentBatchMeasurementSchemas),
+            readerCacheMap,
+            modificationCacheMap,
+            sortedSourceFiles,
+            deviceId,
+            batchSubTaskId,
+            currentBatchMeasurementSchemas,
+            selectedColumnIndexList,
+            batchSummary,
+            ignoreAllNullRows);
+    executor.execute();
+  }
+
+  private void abortAllBatches(List<Future<Void>> futures) {
+    for (Future<Void> future : futures) {
+      future.cancel(true);
+    }
+    for (Future<Void> future : futures) {
+      try {
+        future.get();
+      } catch (Exception ignored) {
+        // the error has been thrown by the first failed batch
+      }
     }
   }
 
@@ -219,6 +323,8 @@ public class BatchedFastAlignedSeriesCompactionExecutor
   private class FirstBatchFastAlignedSeriesCompactionExecutor
       extends FastAlignedSeriesCompactionExecutor {
 
+    private final List<Integer> selectedColumnIndexList;
+
     public FirstBatchFastAlignedSeriesCompactionExecutor(
         AbstractCompactionWriter compactionWriter,
         Map<String, Map<TsFileResource, Pair<Long, Long>>> timeseriesMetadataOffsetMap,
@@ -229,6 +335,7 @@ public class BatchedFastAlignedSeriesCompactionExecutor
         IDeviceID deviceId,
         int subTaskId,
         List<IMeasurementSchema> measurementSchemas,
+        List<Integer> selectedColumnIndexList,
         FastCompactionTaskSummary summary,
         boolean ignoreAllNullRows) {
       super(
@@ -242,6 +349,7 @@ public class BatchedFastAlignedSeriesCompactionExecutor
           measurementSchemas,
           summary,
           ignoreAllNullRows);
+      this.selectedColumnIndexList = selectedColumnIndexList;
       isBatchedCompaction = true;
     }
 
@@ -269,7 +377,22 @@ public class BatchedFastAlignedSeriesCompactionExecutor
     @Override
     protected List<AbstractAlignedChunkMetadata> getAlignedChunkMetadataList(
         TsFileResource resource) throws IOException, IllegalPathException {
-      return getAlignedChunkMetadataListBySelectedValueColumn(resource, measurementSchemas);
+      return getAlignedChunkMetadataListBySelectedValueColumn(resource, selectedColumnIndexList);
+    }
+
+    @Override
+    protected CompactionAlignedChunkReader createAlignedChunkReader(
+        ChunkMetadataElement chunkMetadataElement, Chunk timeChunk, List<Chunk> valueChunks) {
+      if (batchParallelism <= 1) {
+        return super.createAlignedChunkReader(chunkMetadataElement, timeChunk, valueChunks);
+      }
+      return new BatchedCompactionAlignedChunkReader(
+          timeChunk,
+          valueChunks,
+          ignoreAllNullRows,
+          batchCompactionPlan,
+          chunkMetadataElement.fileElement.resource.getTsFilePath(),
+          chunkMetadataElement.chunkMetadata.getOffsetOfChunkHeader());
     }
 
     @Override
@@ -327,6 +450,7 @@ public class BatchedFastAlignedSeriesCompactionExecutor
   private class FollowingBatchFastAlignedSeriesCompactionExecutor
       extends FastAlignedSeriesCompactionExecutor {
 
+    private final List<Integer> selectedColumnIndexList;
     private FollowedBatchedCompactionFlushController flushController;
 
     public FollowingBatchFastAlignedSeriesCompactionExecutor(
@@ -339,6 +463,7 @@ public class BatchedFastAlignedSeriesCompactionExecutor
         IDeviceID deviceId,
         int subTaskId,
         List<IMeasurementSchema> measurementSchemas,
+        List<Integer> selectedColumnIndexList,
         FastCompactionTaskSummary summary,
         boolean ignoreAllNullRows) {
       super(
@@ -352,6 +477,7 @@ public class BatchedFastAlignedSeriesCompactionExecutor
           measurementSchemas,
           summary,
           ignoreAllNullRows);
+      this.selectedColumnIndexList = selectedColumnIndexList;
       isBatchedCompaction = true;
     }
 
@@ -389,7 +515,22 @@ public class BatchedFastAlignedSeriesCompactionExecutor
     @Override
     protected List<AbstractAlignedChunkMetadata> getAlignedChunkMetadataList(
         TsFileResource resource) throws IOException, IllegalPathException {
-      return getAlignedChunkMetadataListBySelectedValueColumn(resource, measurementSchemas);
+      return getAlignedChunkMetadataListBySelectedValueColumn(resource, selectedColumnIndexList);
+    }
+
+    @Override
+    protected CompactionAlignedChunkReader createAlignedChunkReader(
+        ChunkMetadataElement chunkMetadataElement, Chunk timeChunk, List<Chunk> valueChunks) {
+      if (batchParallelism <= 1) {
+        return super.createAlignedChunkReader(chunkMetadataElement, timeChunk, valueChunks);
+      }
+      return new BatchedCompactionAlignedChunkReader(
+          timeChunk,
+          valueChunks,
+          ignoreAllNullRows,
+          batchCompactionPlan,
+          chunkMetadataElement.fileElement.resource.getTsFilePath(),
+          chunkMetadataElement.chunkMetadata.getOffsetOfChunkHeader());
     }
 
     @Override
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils;
 
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.ModifiedStatus;
 
 import org.apache.tsfile.file.metadata.AbstractAlignedChunkMetadata;
@@ -42,6 +43,18 @@ public class AlignedSeriesBatchCompactionUtils {
 
   private AlignedSeriesBatchCompactionUtils() {}
 
+  /**
+   * The number of batches of an aligned device compacted in parallel, which is limited by the
+   * number of sub compaction threads.
+   */
+  public static int getBatchParallelism(int subTaskNum) {
+    return Math.max(
+        1,
+        Math.min(
+            IoTDBDescriptor.getInstance().getConfig().getCompactionAlignedSeriesBatchParallelism(),
+            subTaskNum));
+  }
+
   public static void markAlignedChunkHasDeletion(
       LinkedList<Pair<TsFileSequenceReader, List<AbstractAlignedChunkMetadata>>>
           readerAndChunkMetadataList) {
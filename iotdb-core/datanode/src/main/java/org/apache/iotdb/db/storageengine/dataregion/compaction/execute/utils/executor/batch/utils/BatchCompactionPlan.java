@@ -29,20 +29,30 @@ import org.apache.tsfile.read.common.TimeRange;
 import org.apache.tsfile.utils.Pair;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class BatchCompactionPlan {
   public static long maxCachedTimeChunksSize = 2 * 1024 * 1024;
+  public static long maxCachedDecodedTimePagesSize = 4 * 1024 * 1024;
   private final List<CompactChunkPlan> compactChunkPlans = new ArrayList<>();
   private final Map<String, Map<TimeRange, ModifiedStatus>> alignedPageModifiedStatusCache =
       new HashMap<>();
   // key is <filename, chunk offset in file>
   private final Map<Pair<String, Long>, Chunk> cachedTimeChunks = new HashMap<>();
   private long cachedTimeChunkSize = 0;
+  // key is <filename, time chunk offset in file>, value is the timestamps of each page by its start
+  // time, which are decoded by the first batch and shared by the following batches
+  private final Map<Pair<String, Long>, Map<Long, long[]>> cachedDecodedTimePages =
+      new ConcurrentHashMap<>();
+  private final AtomicLong cachedDecodedTimePageSize = new AtomicLong(0);
+  private final AtomicLong decodedTimePageCacheHitCount = new AtomicLong(0);
 
   public Chunk getTimeChunkFromCache(TsFileSequenceReader reader, ChunkMetadata chunkMetadata)
       throws IOException {
@@ -51,9 +61,18 @@ public class BatchCompactionPlan {
     Chunk chunk = cachedTimeChunks.get(key);
     if (chunk == null) {
       chunk = reader.readMemChunk(chunkMetadata);
+      chunk.getData().rewind();
+      return chunk;
     }
-    chunk.getData().rewind();
-    return chunk;
+    // the following batches may read the cached chunk in parallel
+    ByteBuffer data = chunk.getData().duplicate();
+    data.rewind();
+    return new Chunk(
+        chunk.getHeader(),
+        data,
+        chunk.getDeleteIntervalList(),
+        chunk.getChunkStatistic(),
+        chunk.getEncryptParam());
   }
 
   public void addTimeChunkToCache(String file, long offset, Chunk chunk) {
@@ -71,6 +90,35 @@ public class BatchCompactionPlan {
     cachedTimeChunkSize += chunk.getHeader().getDataSize();
   }
 
+  public long[] getDecodedTimePageFromCache(String file, long chunkOffset, long pageStartTime) {
+    Map<Long, long[]> decodedTimePages = cachedDecodedTimePages.get(new Pair<>(file, chunkOffset));
+    long[] timestamps = decodedTimePages == null ? null : decodedTimePages.get(pageStartTime);
+    if (timestamps != null) {
+      decodedTimePageCacheHitCount.incrementAndGet();
+    }
+    return timestamps;
+  }
+
+  public void addDecodedTimePageToCache(
+      String file, long chunkOffset, long pageStartTime, long[] timestamps) {
+    long size = (long) timestamps.length * Long.BYTES;
+    // the batches may add pages in parallel, so the size is reserved before the page is added
+    long cachedSize;
+    do {
+      cachedSize = cachedDecodedTimePageSize.get();
+      if (cachedSize + size > maxCachedDecodedTimePagesSize) {
+        return;
+      }
+    } while (!cachedDecodedTimePageSize.compareAndSet(cachedSize, cachedSize + size));
+    if (cachedDecodedTimePages
+            .computeIfAbsent(new Pair<>(file, chunkOffset), k -> new ConcurrentHashMap<>())
+            .putIfAbsent(pageStartTime, timestamps)
+        != null) {
+      // the page has been added by another batch
+      cachedDecodedTimePageSize.addAndGet(-size);
+    }
+  }
+
   public void recordCompactedChunk(CompactChunkPlan compactChunkPlan) {
     compactChunkPlans.add(compactChunkPlan);
   }
@@ -108,6 +156,20 @@ public class BatchCompactionPlan {
     return maxCachedTimeChunksSize;
   }
 
+  @TestOnly
+  public static void setMaxCachedDecodedTimePagesSize(long size) {
+    maxCachedDecodedTimePagesSize = size;
+  }
+
+  @TestOnly
+  public static long getMaxCachedDecodedTimePagesSize() {
+    return maxCachedDecodedTimePagesSize;
+  }
+
+  public long getDecodedTimePageCacheHitCount() {
+    return decodedTimePageCacheHitCount.get();
+  }
+
   @Override
   public String toString() {
     return compactChunkPlans.toString();
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils;
+
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.fast.reader.CompactionAlignedChunkReader;
+
+import org.apache.tsfile.encrypt.IDecryptor;
+import org.apache.tsfile.file.header.PageHeader;
+import org.apache.tsfile.read.common.Chunk;
+import org.apache.tsfile.read.common.TimeRange;
+import org.apache.tsfile.read.reader.page.TimePageReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * The aligned chunk reader of batched compaction, the time pages are decoded once and shared by all
+ * the batches of the device through {@link BatchCompactionPlan}.
+ */
+public class BatchedCompactionAlignedChunkReader extends CompactionAlignedChunkReader {
+
+  private final BatchCompactionPlan batchCompactionPlan;
+  private final String file;
+  private final long timeChunkOffset;
+  private final List<TimeRange> timeDeleteIntervalList;
+
+  public BatchedCompactionAlignedChunkReader(
+      Chunk timeChunk,
+      List<Chunk> valueChunkList,
+      boolean ignoreAllNullRows,
+      BatchCompactionPlan batchCompactionPlan,
+      String file,
+      long timeChunkOffset) {
+    super(timeChunk, valueChunkList, ignoreAllNullRows);
+    this.batchCompactionPlan = batchCompactionPlan;
+    this.file = file;
+    this.timeChunkOffset = timeChunkOffset;
+    this.timeDeleteIntervalList = timeChunk.getDeleteIntervalList();
+  }
+
+  @Override
+  protected TimePageReader getTimePageReader(
+      PageHeader timePageHeader, ByteBuffer compressedTimePageData, IDecryptor decryptor)
+      throws IOException {
+    long[] timestamps =
+        batchCompactionPlan.getDecodedTimePageFromCache(
+            file, timeChunkOffset, timePageHeader.getStartTime());
+    if (timestamps == null) {
+      timestamps =
+          super.getTimePageReader(timePageHeader, compressedTimePageData, decryptor)
+              .getNextTimeBatch();
+      batchCompactionPlan.addDecodedTimePageToCache(
+          file, timeChunkOffset, timePageHeader.getStartTime(), timestamps);
+    }
+    DecodedTimePageReader decodedTimePageReader =
+        new DecodedTimePageReader(timePageHeader, timestamps);
+    decodedTimePageReader.setDeleteIntervalList(timeDeleteIntervalList);
+    return decodedTimePageReader;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils;
+
+import org.apache.tsfile.file.header.PageHeader;
+import org.apache.tsfile.read.reader.page.TimePageReader;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/** Read the timestamps of a time page which has been decoded by another batch. */
+public class DecodedTimePageReader extends TimePageReader {
+
+  private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
+  private final long[] timestamps;
+  private int index;
+
+  public DecodedTimePageReader(PageHeader pageHeader, long[] timestamps) {
+    super(pageHeader, EMPTY_BUFFER, null);
+    this.timestamps = timestamps;
+    this.index = 0;
+  }
+
+  @Override
+  public boolean hasNextTime() {
+    return index < timestamps.length;
+  }
+
+  @Override
+  public long nextTime() {
+    return timestamps[index++];
+  }
+
+  @Override
+  public long[] nextTimeBatch() {
+    long[] result = Arrays.copyOfRange(timestamps, index, timestamps.length);
+    index = timestamps.length;
+    return result;
+  }
+
+  @Override
+  public long[] getNextTimeBatch() {
+    return nextTimeBatch();
+  }
+}
@@ -353,7 +353,7 @@ public class FastAlignedSeriesCompactionExecutor extends SeriesCompactionExecuto
               alignedPageHeaders,
               timePages.get(i).right,
               alignedPageDatas,
-              new CompactionAlignedChunkReader(timeChunk, valueChunks, ignoreAllNullRows),
+              createAlignedChunkReader(chunkMetadataElement, timeChunk, valueChunks),
               chunkMetadataElement,
               i == timePages.size() - 1,
               isBatchedCompaction);
@@ -362,6 +362,11 @@ public class FastAlignedSeriesCompactionExecutor extends SeriesCompactionExecuto
     chunkMetadataElement.clearChunks();
   }
 
+  protected CompactionAlignedChunkReader createAlignedChunkReader(
+      ChunkMetadataElement chunkMetadataElement, Chunk timeChunk, List<Chunk> valueChunks) {
+    return new CompactionAlignedChunkReader(timeChunk, valueChunks, ignoreAllNullRows);
+  }
+
   @Override
   void readChunk(ChunkMetadataElement chunkMetadataElement) throws IOException {
     updateSummary(chunkMetadataElement, ChunkStatus.READ_IN);
@@ -120,12 +120,8 @@ public class CompactionAlignedChunkReader {
 
     // decrypt and uncompress time page data
     IDecryptor decryptor = IDecryptor.getDecryptor(encryptParam);
-    ByteBuffer uncompressedTimePageData =
-        decryptAndUncompressPageData(
-            timePageHeader, timeUnCompressor, compressedTimePageData, decryptor);
     TimePageReader timePageReader =
-        new TimePageReader(timePageHeader, uncompressedTimePageData, timeDecoder);
-    timePageReader.setDeleteIntervalList(timeDeleteIntervalList);
+        getTimePageReader(timePageHeader, compressedTimePageData, decryptor);
 
     // uncompress value page datas
     List<ValuePageReader> valuePageReaders = new ArrayList<>(valuePageHeaders.size());
@@ -155,4 +151,17 @@ public class CompactionAlignedChunkReader {
     return new CompactionAlignedPageLazyLoadPointReader(
         timePageReader, valuePageReaders, ignoreAllNullRows);
   }
+
+  /** Decrypt and uncompress the time page data. */
+  protected TimePageReader getTimePageReader(
+      PageHeader timePageHeader, ByteBuffer compressedTimePageData, IDecryptor decryptor)
+      throws IOException {
+    ByteBuffer uncompressedTimePageData =
+        decryptAndUncompressPageData(
+            timePageHeader, timeUnCompressor, compressedTimePageData, decryptor);
+    TimePageReader timePageReader =
+        new TimePageReader(timePageHeader, uncompressedTimePageData, timeDecoder);
+    timePageReader.setDeleteIntervalList(timeDeleteIntervalList);
+    return timePageReader;
+  }
 }
@@ -129,6 +129,10 @@ public abstract class AbstractCompactionWriter implements AutoCloseable {
 
   public abstract void endMeasurement(int subTaskId) throws IOException;
 
+  public int getSubTaskNum() {
+    return subTaskNum;
+  }
+
   public abstract void write(TimeValuePair timeValuePair, int subTaskId) throws IOException;
 
   public abstract void write(TsBlock tsBlock, int subTaskId) throws IOException;
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.io;
+
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.execution.schedule.DriverScheduler;
+import org.apache.iotdb.db.storageengine.dataregion.flush.FlushManager;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The disk bandwidth budget of compaction for each data directory, which is shared by the reads of
+ * the source files and the writes of the target files in the directory.
+ *
+ * <p>The budget shrinks when the foreground flushes and queries are busy, so that compaction leaves
+ * the disks to them, and it grows back to the configured rate when they are idle.
+ */
+public class CompactionIOBudget {
+
+  private static final long ADJUST_INTERVAL_IN_MS = 1000L;
+
+  // compaction still makes progress under a long-lasting foreground load
+  private static final double MIN_LOAD_FACTOR = 0.25;
+
+  // data_dir/{sequence|unsequence}/database/region/partition/tsfile
+  private static final int TSFILE_DEPTH_IN_DATA_DIR = 5;
+
+  private final Map<String, RateLimiter> dataDirRateLimiters = new ConcurrentHashMap<>();
+  private final DoubleSupplier foregroundLoadSupplier;
+
+  // bytes per second of each data directory, no limit if it is not positive
+  private volatile double ratePerDataDir;
+  private volatile double loadFactor = 1.0;
+  private volatile long lastAdjustTime = 0L;
+
+  public CompactionIOBudget(double ratePerDataDir) {
+    this(ratePerDataDir, CompactionIOBudget::getForegroundLoad);
+  }
+
+  @TestOnly
+  public CompactionIOBudget(double ratePerDataDir, DoubleSupplier foregroundLoadSupplier) {
+    this.ratePerDataDir = ratePerDataDir;
+    this.foregroundLoadSupplier = foregroundLoadSupplier;
+  }
+
+  /** Acquire the budget of reading or writing the given bytes of a TsFile. */
+  public void acquire(String tsFilePath, int byteNum) {
+    if (ratePerDataDir <= 0 || byteNum <= 0) {
+      return;
+    }
+    mayAdjust();
+    dataDirRateLimiters
+        .computeIfAbsent(
+            getDataDir(tsFilePath), k -> RateLimiter.create(ratePerDataDir * loadFactor))
+        .acquire(byteNum);
+  }
+
+  public void setRate(double ratePerDataDir) {
+    this.ratePerDataDir = ratePerDataDir;
+    applyRate();
+  }
+
+  /** Return the current rate of the data directory of the TsFile, or 0 if there is no limit. */
+  public double getRate(String tsFilePath) {
+    if (ratePerDataDir <= 0) {
+      return 0;
+    }
+    RateLimiter rateLimiter = dataDirRateLimiters.get(getDataDir(tsFilePath));
+    return rateLimiter == null ? ratePerDataDir * loadFactor : rateLimiter.getRate();
+  }
+
+  public double getLoadFactor() {
+    return loadFactor;
+  }
+
+  private void mayAdjust() {
+    long currentTime = System.currentTimeMillis();
+    if (currentTime - lastAdjustTime < ADJUST_INTERVAL_IN_MS) {
+      return;
+    }
+    synchronized (this) {
+      if (currentTime - lastAdjustTime < ADJUST_INTERVAL_IN_MS) {
+        return;
+      }
+      lastAdjustTime = currentTime;
+      double load = Math.min(1, Math.max(0, foregroundLoadSupplier.getAsDouble()));
+      loadFactor = Math.max(MIN_LOAD_FACTOR, 1 - load);
+      applyRate();
+    }
+  }
+
+  private void applyRate() {
+    if (ratePerDataDir <= 0) {
+      dataDirRateLimiters.clear();
+      return;
+    }
+    double rate = ratePerDataDir * loadFactor;
+    for (RateLimiter rateLimiter : dataDirRateLimiters.values()) {
+      if (Math.abs(rateLimiter.getRate() - rate) > 0.0001) {
+        rateLimiter.setRate(rate);
+      }
+    }
+  }
+
+  /**
+   * The load of the foreground in [0, 1], i.e. the larger one of the busy ratio of the flush
+   * threads and that of the query threads.
+   */
+  private static double getForegroundLoad() {
+    int flushThreadCount = IoTDBDescriptor.getInstance().getConfig().getFlushThreadCount();
+    int queryThreadCount = IoTDBDescriptor.getInstance().getMemoryConfig().getQueryThreadCount();
+    FlushManager flushManager = FlushManager.getInstance();
+    double flushLoad =
+        (double) (flushManager.getNumberOfWorkingTasks() + flushManager.getNumberOfPendingTasks())
+            / Math.max(1, flushThreadCount);
+    double queryLoad =
+        (double) DriverScheduler.getInstance().getReadyQueueTaskCount()
+            / Math.max(1, queryThreadCount);
+    return Math.max(flushLoad, queryLoad);
+  }
+
+  /** The data directory of the TsFile, which is its parent directory if it is not in one. */
+  public static String getDataDir(String tsFilePath) {
+    File file = new File(tsFilePath);
+    File dataDir = file.getParentFile();
+    for (int i = 1; i < TSFILE_DEPTH_IN_DATA_DIR && dataDir != null; i++) {
+      if (dataDir.getParentFile() == null) {
+        break;
+      }
+      dataDir = dataDir.getParentFile();
+    }
+    return dataDir == null ? tsFilePath : dataDir.getPath();
+  }
+}
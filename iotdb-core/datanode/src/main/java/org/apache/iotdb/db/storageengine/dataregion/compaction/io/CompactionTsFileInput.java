@@ -137,6 +137,7 @@ public class CompactionTsFileInput implements TsFileInput {
   private void acquireReadDataSizeWithCompactionReadRateLimiter(int readDataSize) {
     CompactionTaskManager.getInstance().getCompactionReadOperationRateLimiter().acquire(1);
     CompactionTaskManager.getInstance().getCompactionReadRateLimiter().acquire(readDataSize);
+    CompactionTaskManager.getInstance().getDataDirIOBudget().acquire(getFilePath(), readDataSize);
   }
 
   private void updateMetrics(long position, long totalSize) {
@@ -19,6 +19,8 @@
 
 package org.apache.iotdb.db.storageengine.dataregion.compaction.io;
 
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
+
 import com.google.common.util.concurrent.RateLimiter;
 import org.apache.tsfile.write.writer.TsFileOutput;
 
@@ -31,16 +33,21 @@ public class CompactionTsFileOutput extends OutputStream implements TsFileOutput
   private TsFileOutput output;
   private RateLimiter rateLimiter;
   private final int maxSizePerWrite;
+  // the path of the target file, whose data directory budget the writes acquire
+  private final String filePath;
+  private final CompactionIOBudget ioBudget;
 
-  public CompactionTsFileOutput(TsFileOutput output, RateLimiter rateLimiter) {
+  public CompactionTsFileOutput(TsFileOutput output, RateLimiter rateLimiter, String filePath) {
     this.output = output;
     this.rateLimiter = rateLimiter;
+    this.filePath = filePath;
+    this.ioBudget = CompactionTaskManager.getInstance().getDataDirIOBudget();
     this.maxSizePerWrite = (int) Math.min((long) rateLimiter.getRate(), Integer.MAX_VALUE);
   }
 
   @Override
   public void write(int b) throws IOException {
-    rateLimiter.acquire(1);
+    acquire(1);
     output.wrapAsStream().write(b);
   }
 
@@ -51,7 +58,7 @@ public class CompactionTsFileOutput extends OutputStream implements TsFileOutput
 
   @Override
   public void write(byte b) throws IOException {
-    rateLimiter.acquire(1);
+    acquire(1);
     output.write(b);
   }
 
@@ -94,10 +101,15 @@ public class CompactionTsFileOutput extends OutputStream implements TsFileOutput
   public void write(byte[] buf, int start, int length) throws IOException {
     while (length > 0) {
       int writeSize = Math.min(length, maxSizePerWrite);
-      rateLimiter.acquire(writeSize);
+      acquire(writeSize);
       output.wrapAsStream().write(buf, start, writeSize);
       start += writeSize;
       length -= writeSize;
     }
   }
+
+  private void acquire(int writeSize) {
+    rateLimiter.acquire(writeSize);
+    ioBudget.acquire(filePath, writeSize);
+  }
 }
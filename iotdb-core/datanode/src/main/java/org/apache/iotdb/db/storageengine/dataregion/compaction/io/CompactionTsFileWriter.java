@@ -71,7 +71,9 @@ public class CompactionTsFileWriter extends TsFileIOWriter {
     this.type = type;
     super.out =
         new CompactionTsFileOutput(
-            super.out, CompactionTaskManager.getInstance().getMergeWriteRateLimiter());
+            super.out,
+            CompactionTaskManager.getInstance().getMergeWriteRateLimiter(),
+            file.getPath());
   }
 
   public EncryptParameter getEncryptParameter() {
@@ -32,7 +32,10 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.constant.Compacti
 import org.apache.iotdb.db.storageengine.dataregion.compaction.constant.CompactionTaskType;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.AbstractCompactionTask;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.CompactionTaskSummary;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.io.CompactionIOBudget;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.comparator.CostAwareCompactionTaskComparatorImpl;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.comparator.DefaultCompactionTaskComparatorImpl;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constant.CompactionPriority;
 import org.apache.iotdb.db.utils.datastructure.FixedPriorityBlockingQueue;
 
 import com.google.common.util.concurrent.RateLimiter;
@@ -74,7 +77,10 @@ public class CompactionTaskManager implements IService {
 
   private final FixedPriorityBlockingQueue<AbstractCompactionTask> candidateCompactionTaskQueue =
       new CompactionTaskQueue(
-          config.getCandidateCompactionTaskQueueSize(), new DefaultCompactionTaskComparatorImpl());
+          config.getCandidateCompactionTaskQueueSize(),
+          config.getCompactionPriority() == CompactionPriority.COST_AWARE
+              ? new CostAwareCompactionTaskComparatorImpl()
+              : new DefaultCompactionTaskComparatorImpl());
   // <StorageGroup-DataRegionId,futureSet>, it is used to store all compaction tasks under each
   // virtualStorageGroup
   private final Map<String, Map<AbstractCompactionTask, Future<CompactionTaskSummary>>>
@@ -96,6 +102,8 @@ public class CompactionTaskManager implements IService {
           config.getCompactionReadThroughputMbPerSec() <= 0
               ? Double.MAX_VALUE
               : config.getCompactionReadThroughputMbPerSec() * 1024.0 * 1024.0);
+  private final CompactionIOBudget dataDirIOBudget =
+      new CompactionIOBudget(config.getCompactionDataDirThroughputMbPerSec() * 1024.0 * 1024.0);
 
   private volatile boolean init = false;
   private AtomicLong compactionConfigVersion = new AtomicLong(0);
@@ -269,6 +277,10 @@ public class CompactionTaskManager implements IService {
         && !isTaskRunning(compactionTask)
         && compactionTask.setSourceFilesToCompactionCandidate()
         && compactionTask.getCompactionConfigVersion() >= getCurrentCompactionConfigVersion()) {
+      if (config.getCompactionPriority() == CompactionPriority.COST_AWARE) {
+        // estimate the score before the queue compares the task with others under its lock
+        compactionTask.getScore();
+      }
       candidateCompactionTaskQueue.put(compactionTask);
       return true;
     }
@@ -294,6 +306,10 @@ public class CompactionTaskManager implements IService {
     return compactionReadOperationRateLimiter;
   }
 
+  public CompactionIOBudget getDataDirIOBudget() {
+    return dataDirIOBudget;
+  }
+
   public void setWriteMergeRate(final double throughputMbPerSec) {
     setRate(mergeWriteRateLimiter, throughputMbPerSec * 1024.0 * 1024.0);
   }
@@ -306,6 +322,10 @@ public class CompactionTaskManager implements IService {
     setRate(compactionReadThroughputRateLimiter, throughputMbPerSec * 1024.0 * 1024.0);
   }
 
+  public void setDataDirThroughputRate(final double throughputMbPerSec) {
+    dataDirIOBudget.setRate(throughputMbPerSec * 1024.0 * 1024.0);
+  }
+
   private void setRate(RateLimiter rateLimiter, double rate) {
     // if throughput = 0, disable rate limiting
     if (rate <= 0) {
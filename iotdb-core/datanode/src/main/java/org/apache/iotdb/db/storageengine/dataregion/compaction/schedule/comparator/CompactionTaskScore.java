@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.comparator;
+
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.AbstractCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.CrossSpaceCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.InnerSpaceCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.InsertionCrossSpaceCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.RepairUnsortedFileCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.SettleCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The expected query cost reduction of a compaction task against its IO cost.
+ *
+ * <p>The benefit is the number of file reads that the queries of each device save after the task,
+ * where the read of an unsequence file also counts the selected sequence files that it overlaps,
+ * since the query merges them. The numbers of files are used instead of the devices if the time
+ * index of a file has been degraded. The IO cost is the bytes read and written by the task.
+ */
+public class CompactionTaskScore {
+
+  public static final CompactionTaskScore NONE = new CompactionTaskScore(0, 0, 0);
+
+  private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+  private final double benefit;
+  private final long ioCost;
+  // the number of files in the time partition of the task, which queries of the partition read
+  private final int partitionFileNum;
+
+  public CompactionTaskScore(double benefit, long ioCost, int partitionFileNum) {
+    this.benefit = benefit;
+    this.ioCost = ioCost;
+    this.partitionFileNum = partitionFileNum;
+  }
+
+  public double getBenefit() {
+    return benefit;
+  }
+
+  public long getIOCost() {
+    return ioCost;
+  }
+
+  public int getPartitionFileNum() {
+    return partitionFileNum;
+  }
+
+  /** The benefit per megabyte of IO, tasks costing less than one megabyte count as one. */
+  public double getScore() {
+    return benefit / Math.max(1, ioCost / BYTES_PER_MB);
+  }
+
+  public static CompactionTaskScore estimate(
+      AbstractCompactionTask task, TsFileManager tsFileManager) {
+    // these tasks are ordered by their types instead
+    if (task instanceof RepairUnsortedFileCompactionTask || task instanceof SettleCompactionTask) {
+      return NONE;
+    }
+    int partitionFileNum =
+        tsFileManager == null
+            ? 0
+            : tsFileManager.getOrCreateSequenceListByTimePartition(task.getTimePartition()).size()
+                + tsFileManager
+                    .getOrCreateUnsequenceListByTimePartition(task.getTimePartition())
+                    .size();
+    if (task instanceof InsertionCrossSpaceCompactionTask) {
+      // the unsequence file is renamed into the sequence space without rewriting it
+      return new CompactionTaskScore(
+          estimateUnseqFileReads(task.getAllSourceTsFiles(), new ArrayList<>()),
+          0,
+          partitionFileNum);
+    }
+    if (task instanceof CrossSpaceCompactionTask) {
+      CrossSpaceCompactionTask crossTask = (CrossSpaceCompactionTask) task;
+      return new CompactionTaskScore(
+          estimateUnseqFileReads(
+              crossTask.getSelectedUnsequenceFiles(), crossTask.getSelectedSequenceFiles()),
+          2 * task.getSelectedFileSize(),
+          partitionFileNum);
+    }
+    if (task instanceof InnerSpaceCompactionTask) {
+      return new CompactionTaskScore(
+          estimateMergedFileReads(
+              ((InnerSpaceCompactionTask) task).getSelectedTsFileResourceList()),
+          2 * task.getSelectedFileSize(),
+          partitionFileNum);
+    }
+    return NONE;
+  }
+
+  /** The file reads saved by merging the files into one. */
+  private static double estimateMergedFileReads(List<TsFileResource> resources) {
+    Map<IDeviceID, Integer> deviceFileNum = new HashMap<>();
+    for (TsFileResource resource : resources) {
+      ITimeIndex timeIndex = resource.getTimeIndex();
+      if (!(timeIndex instanceof ArrayDeviceTimeIndex)) {
+        return Math.max(0, resources.size() - 1);
+      }
+      for (IDeviceID device : ((ArrayDeviceTimeIndex) timeIndex).getDevices()) {
+        deviceFileNum.merge(device, 1, Integer::sum);
+      }
+    }
+    double fileReads = 0;
+    for (int fileNum : deviceFileNum.values()) {
+      fileReads += fileNum - 1;
+    }
+    return fileReads;
+  }
+
+  /** The file reads saved by removing the unsequence files which overlap the sequence files. */
+  private static double estimateUnseqFileReads(
+      List<TsFileResource> unseqResources, List<TsFileResource> seqResources) {
+    List<ArrayDeviceTimeIndex> seqTimeIndexes = new ArrayList<>(seqResources.size());
+    for (TsFileResource seqResource : seqResources) {
+      ITimeIndex timeIndex = seqResource.getTimeIndex();
+      if (!(timeIndex instanceof ArrayDeviceTimeIndex)) {
+        return (double) unseqResources.size() * (1 + seqResources.size());
+      }
+      seqTimeIndexes.add((ArrayDeviceTimeIndex) timeIndex);
+    }
+    double fileReads = 0;
+    for (TsFileResource unseqResource : unseqResources) {
+      ITimeIndex timeIndex = unseqResource.getTimeIndex();
+      if (!(timeIndex instanceof ArrayDeviceTimeIndex)) {
+        fileReads += 1 + seqResources.size();
+        continue;
+      }
+      ArrayDeviceTimeIndex unseqTimeIndex = (ArrayDeviceTimeIndex) timeIndex;
+      for (IDeviceID device : unseqTimeIndex.getDevices()) {
+        fileReads++;
+        long startTime = unseqTimeIndex.getStartTime(device).orElse(Long.MIN_VALUE);
+        long endTime = unseqTimeIndex.getEndTime(device).orElse(Long.MAX_VALUE);
+        for (ArrayDeviceTimeIndex seqTimeIndex : seqTimeIndexes) {
+          if (seqTimeIndex.getStartTime(device).orElse(Long.MAX_VALUE) <= endTime
+              && seqTimeIndex.getEndTime(device).orElse(Long.MIN_VALUE) >= startTime) {
+            fileReads++;
+          }
+        }
+      }
+    }
+    return fileReads;
+  }
+}
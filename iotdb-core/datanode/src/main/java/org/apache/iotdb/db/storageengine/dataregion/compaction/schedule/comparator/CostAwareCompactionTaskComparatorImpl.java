@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.comparator;
+
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.AbstractCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.CrossSpaceCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.InnerSpaceCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.RepairUnsortedFileCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.SettleCompactionTask;
+
+/**
+ * Order the inner and cross space compaction tasks by their {@link CompactionTaskScore}, i.e. the
+ * file reads that queries save per megabyte of IO. The other tasks are ordered as {@link
+ * DefaultCompactionTaskComparatorImpl} does.
+ */
+public class CostAwareCompactionTaskComparatorImpl extends DefaultCompactionTaskComparatorImpl {
+
+  @Override
+  public int compare(AbstractCompactionTask o1, AbstractCompactionTask o2) {
+    if (!isScored(o1) || !isScored(o2)) {
+      return super.compare(o1, o2);
+    }
+    CompactionTaskScore score1 = o1.getScore();
+    CompactionTaskScore score2 = o2.getScore();
+
+    // If the scores of the two compaction tasks differ by more than 10%,
+    // we prefer to execute task with larger score
+    double value1 = score1.getScore();
+    double value2 = score2.getScore();
+    if (10 * Math.abs(value1 - value2) > Math.max(value1, value2)) {
+      return Double.compare(value2, value1);
+    }
+
+    // we prefer the task in the time partition with more files,
+    // because the queries of the partition read more files
+    if (score1.getPartitionFileNum() != score2.getPartitionFileNum()) {
+      return score2.getPartitionFileNum() - score1.getPartitionFileNum();
+    }
+    return super.compare(o1, o2);
+  }
+
+  private static boolean isScored(AbstractCompactionTask task) {
+    if (task instanceof RepairUnsortedFileCompactionTask || task instanceof SettleCompactionTask) {
+      return false;
+    }
+    return task instanceof InnerSpaceCompactionTask || task instanceof CrossSpaceCompactionTask;
+  }
+}
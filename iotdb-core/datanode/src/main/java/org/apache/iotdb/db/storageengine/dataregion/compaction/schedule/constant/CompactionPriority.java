@@ -22,5 +22,6 @@ package org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constan
 public enum CompactionPriority {
   INNER_CROSS,
   CROSS_INNER,
-  BALANCE
+  BALANCE,
+  COST_AWARE
 }
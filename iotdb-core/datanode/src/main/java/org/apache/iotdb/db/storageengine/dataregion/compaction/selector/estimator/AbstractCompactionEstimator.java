@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.CompactionUtils;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.AlignedSeriesBatchCompactionUtils;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.BatchCompactionPlan;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduleContext;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
@@ -100,7 +101,13 @@ public abstract class AbstractCompactionEstimator {
               ((double) SystemInfo.getInstance().getMemorySizeForCompaction()
                   / IoTDBDescriptor.getInstance().getConfig().getCompactionThreadCount()
                   * IoTDBDescriptor.getInstance().getConfig().getChunkMetadataSizeProportion())
-          + BatchCompactionPlan.maxCachedTimeChunksSize;
+          + BatchCompactionPlan.maxCachedTimeChunksSize
+          // the decoded time pages are only cached when the batches are compacted in parallel
+          + (AlignedSeriesBatchCompactionUtils.getBatchParallelism(
+                      IoTDBDescriptor.getInstance().getConfig().getSubCompactionTaskNum())
+                  > 1
+              ? BatchCompactionPlan.maxCachedDecodedTimePagesSize
+              : 0);
 
   protected abstract long calculatingMetadataMemoryCost(CompactionTaskInfo taskInfo);
 
@@ -20,6 +20,7 @@
 package org.apache.iotdb.db.storageengine.dataregion.compaction.selector.estimator;
 
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.AlignedSeriesBatchCompactionUtils;
 
 class CompactionTaskMetadataInfo {
   public long metadataMemCost;
@@ -39,6 +40,12 @@ class CompactionTaskMetadataInfo {
         compactionMaxAlignedSeriesNumInOneBatch <= 0
             ? Integer.MAX_VALUE
             : compactionMaxAlignedSeriesNumInOneBatch;
-    return Math.max(compactionMaxAlignedSeriesNumInOneBatch, subTaskNum);
+    // the batches of an aligned device may be compacted in parallel by the sub tasks
+    long maxConcurrentAlignedSeriesNum =
+        (long) compactionMaxAlignedSeriesNumInOneBatch
+            * (hasConcurrentSubTask
+                ? AlignedSeriesBatchCompactionUtils.getBatchParallelism(subTaskNum)
+                : 1);
+    return (int) Math.max(Math.min(maxConcurrentAlignedSeriesNum, Integer.MAX_VALUE), subTaskNum);
   }
 }
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.storageengine.dataregion.compaction.selector.estimator;
 
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.executor.batch.utils.AlignedSeriesBatchCompactionUtils;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduleContext;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
@@ -62,11 +63,16 @@ public class FastCompactionInnerCompactionEstimator extends AbstractInnerSpaceEs
       return taskInfo.getModificationFileSize();
     }
     int batchSize = config.getCompactionMaxAlignedSeriesNumInOneBatch();
+    // the batches of an aligned device may be compacted in parallel
     long maxConcurrentSeriesNum =
         Math.max(
             config.getSubCompactionTaskNum(),
             Math.min(
-                batchSize <= 0 ? Integer.MAX_VALUE : batchSize,
+                batchSize <= 0
+                    ? Integer.MAX_VALUE
+                    : (long) batchSize
+                        * AlignedSeriesBatchCompactionUtils.getBatchParallelism(
+                            config.getSubCompactionTaskNum()),
                 taskInfo.getMaxConcurrentSeriesNum()));
     long averageChunkSize = taskInfo.getTotalFileSize() / taskInfo.getTotalChunkNum();
 
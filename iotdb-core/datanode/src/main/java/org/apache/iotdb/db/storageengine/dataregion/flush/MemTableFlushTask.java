@@ -24,8 +24,10 @@ import org.apache.iotdb.commons.service.metric.enums.Tag;
 import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.runtime.FlushRunTimeException;
 import org.apache.iotdb.db.service.metrics.WritingMetrics;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.flush.pool.FlushEncodingPoolManager;
 import org.apache.iotdb.db.storageengine.dataregion.flush.pool.FlushSubTaskPoolManager;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.AlignedWritableMemChunk;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.IMemTable;
@@ -43,8 +45,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
@@ -53,18 +57,26 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * flush task to flush one memtable using a pipeline model to flush, which is sort memtable ->
- * encoding -> write to disk (io task)
+ * encoding -> write to disk (io task). When flush_encoding_thread_count is larger than 1, series
+ * are sorted and encoded in parallel by {@link FlushEncodingPoolManager}, and the encoded chunks
+ * are still sent to the io task in the order of chunk groups and series.
  */
 public class MemTableFlushTask {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(MemTableFlushTask.class);
   private static final FlushSubTaskPoolManager SUB_TASK_POOL_MANAGER =
       FlushSubTaskPoolManager.getInstance();
+  private static final FlushEncodingPoolManager ENCODING_POOL_MANAGER =
+      FlushEncodingPoolManager.getInstance();
   private static final WritingMetrics WRITING_METRICS = WritingMetrics.getInstance();
   private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  // the end of the encoded chunks of a series in parallel encoding
+  private static final Object ENCODED_SERIES_END = new Object();
+  private static final long WAIT_ENCODING_INTERVAL_IN_MS = 100;
   private final int MAX_NUMBER_OF_POINTS_IN_PAGE =
       TSFileDescriptor.getInstance().getConfig().getMaxNumberOfPointsInPage();
 
@@ -88,6 +100,15 @@ public class MemTableFlushTask {
   private volatile long memSerializeTime = 0L;
   private volatile long ioTime = 0L;
 
+  private final int encodingParallelism = config.getFlushEncodingThreadCount();
+  // max number of series being encoded or waiting to be sent to the io task
+  private final int maxPendingEncodingTaskNum = encodingParallelism * 2;
+  // the sort and encoding time of all the series, which may be spent by multiple threads
+  private final LongAdder sortTime = new LongAdder();
+  private final LongAdder encodingTime = new LongAdder();
+  // time of waiting for the encoding of the next series in order, only used by parallel encoding
+  private long waitEncodingTime = 0L;
+
   private final BatchEncodeInfo encodeInfo;
   private long[] times;
 
@@ -107,17 +128,7 @@ public class MemTableFlushTask {
     this.dataRegionId = dataRegionId;
     this.encodingTaskFuture = SUB_TASK_POOL_MANAGER.submit(encodingTask);
     this.ioTaskFuture = SUB_TASK_POOL_MANAGER.submit(ioTask);
-
-    long MAX_NUMBER_OF_POINTS_IN_CHUNK = config.getTargetChunkPointNum();
-    long TARGET_CHUNK_SIZE = config.getTargetChunkSize();
-    this.encodeInfo =
-        new BatchEncodeInfo(
-            0,
-            0,
-            0,
-            MAX_NUMBER_OF_POINTS_IN_PAGE,
-            MAX_NUMBER_OF_POINTS_IN_CHUNK,
-            TARGET_CHUNK_SIZE);
+    this.encodeInfo = newBatchEncodeInfo();
     LOGGER.debug(
         "flush task of database {} memtable is created, flushing to file {}.",
         storageGroup,
@@ -140,16 +151,17 @@ public class MemTableFlushTask {
 
     long estimatedTemporaryMemSize = 0L;
     if (SystemInfo.getInstance().isEncodingFasterThanIo()) {
+      // encoded chunks of the pending encoding tasks are also held in memory
       estimatedTemporaryMemSize =
           memTable.getSeriesNumber() == 0
               ? 0
               : memTable.memSize()
                   / memTable.getSeriesNumber()
-                  * config.getIoTaskQueueSizeForFlushing();
+                  * (config.getIoTaskQueueSizeForFlushing()
+                      + (isParallelEncoding() ? maxPendingEncodingTaskNum : 0));
       SystemInfo.getInstance().applyTemporaryMemoryForFlushing(estimatedTemporaryMemSize);
     }
     long start = System.currentTimeMillis();
-    long sortTime = 0;
 
     // for map do not use get(key) to iterate
     Map<IDeviceID, IWritableMemChunkGroup> memTableMap = memTable.getMemTableMap();
@@ -166,30 +178,23 @@ public class MemTableFlushTask {
       List<String> seriesInOrder = new ArrayList<>(value.keySet());
       Collections.sort(seriesInOrder);
       for (String seriesId : seriesInOrder) {
-        long startTime = System.currentTimeMillis();
         IWritableMemChunk series = value.get(seriesId);
         if (series.count() == 0) {
           continue;
         }
         /*
-         * sort task (first task of flush pipeline)
+         * sort task (first task of flush pipeline), it's done together with encoding if the
+         * encoding is parallel
          */
-        series.sortTvListForFlush();
-        long subTaskTime = System.currentTimeMillis() - startTime;
-        sortTime += subTaskTime;
-        WRITING_METRICS.recordFlushSubTaskCost(WritingMetrics.SORT_TASK, subTaskTime);
+        if (!isParallelEncoding()) {
+          sort(series);
+        }
         encodingTaskQueue.put(series);
       }
 
       encodingTaskQueue.put(new EndChunkGroupIoTask());
     }
     encodingTaskQueue.put(new TaskEnd());
-    LOGGER.debug(
-        "Database {} memtable flushing into file {}: data sort time cost {} ms.",
-        storageGroup,
-        writer.getFile().getName(),
-        sortTime);
-    WRITING_METRICS.recordFlushCost(WritingMetrics.FLUSH_STAGE_SORT, sortTime);
 
     try {
       encodingTaskFuture.get();
@@ -200,6 +205,12 @@ public class MemTableFlushTask {
       }
       throw e;
     }
+    LOGGER.debug(
+        "Database {} memtable flushing into file {}: data sort time cost {} ms.",
+        storageGroup,
+        writer.getFile().getName(),
+        sortTime.sum());
+    WRITING_METRICS.recordFlushCost(WritingMetrics.FLUSH_STAGE_SORT, sortTime.sum());
 
     ioTaskFuture.get();
 
@@ -239,44 +250,10 @@ public class MemTableFlushTask {
               "Database {} memtable flushing to file {} starts to encoding data.",
               storageGroup,
               writer.getFile().getName());
-          while (true) {
-
-            Object task;
-            try {
-              task = encodingTaskQueue.take();
-            } catch (InterruptedException e1) {
-              LOGGER.error("Take task into ioTaskQueue Interrupted");
-              Thread.currentThread().interrupt();
-              break;
-            }
-            if (task instanceof StartFlushGroupIOTask || task instanceof EndChunkGroupIoTask) {
-              try {
-                ioTaskQueue.put(task);
-              } catch (
-                  @SuppressWarnings("squid:S2142")
-                  InterruptedException e) {
-                LOGGER.error(
-                    "Database {} memtable flushing to file {}, encoding task is interrupted.",
-                    storageGroup,
-                    writer.getFile().getName(),
-                    e);
-                // generally it is because the thread pool is shutdown so the task should be aborted
-                break;
-              }
-            } else if (task instanceof TaskEnd) {
-              break;
-            } else {
-              long starTime = System.currentTimeMillis();
-              IWritableMemChunk writableMemChunk = (IWritableMemChunk) task;
-              if (writableMemChunk instanceof AlignedWritableMemChunk && times == null) {
-                times = new long[MAX_NUMBER_OF_POINTS_IN_PAGE];
-              }
-              writableMemChunk.encode(ioTaskQueue, encodeInfo, times);
-              writableMemChunk.releaseTemporaryTvListForFlush();
-              long subTaskTime = System.currentTimeMillis() - starTime;
-              WRITING_METRICS.recordFlushSubTaskCost(WritingMetrics.ENCODING_TASK, subTaskTime);
-              memSerializeTime += subTaskTime;
-            }
+          if (isParallelEncoding()) {
+            encodeInParallel();
+          } else {
+            encodeSerially();
           }
           try {
             ioTaskQueue.put(new TaskEnd());
@@ -290,10 +267,223 @@ public class MemTableFlushTask {
                   databaseName ->
                       recordFlushPointsMetricInternal(
                           memTable.getTotalPointsNum(), databaseName, dataRegionId));
-          WRITING_METRICS.recordFlushCost(WritingMetrics.FLUSH_STAGE_ENCODING, memSerializeTime);
+          WRITING_METRICS.recordFlushCost(WritingMetrics.FLUSH_STAGE_ENCODING, encodingTime.sum());
         }
       };
 
+  @SuppressWarnings("squid:S135")
+  private void encodeSerially() {
+    while (true) {
+
+      Object task;
+      try {
+        task = encodingTaskQueue.take();
+      } catch (InterruptedException e1) {
+        LOGGER.error("Take task into ioTaskQueue Interrupted");
+        Thread.currentThread().interrupt();
+        break;
+      }
+      if (task instanceof StartFlushGroupIOTask || task instanceof EndChunkGroupIoTask) {
+        try {
+          ioTaskQueue.put(task);
+        } catch (
+            @SuppressWarnings("squid:S2142")
+            InterruptedException e) {
+          LOGGER.error(
+              "Database {} memtable flushing to file {}, encoding task is interrupted.",
+              storageGroup,
+              writer.getFile().getName(),
+              e);
+          // generally it is because the thread pool is shutdown so the task should be aborted
+          break;
+        }
+      } else if (task instanceof TaskEnd) {
+        break;
+      } else {
+        long starTime = System.currentTimeMillis();
+        IWritableMemChunk writableMemChunk = (IWritableMemChunk) task;
+        if (writableMemChunk instanceof AlignedWritableMemChunk && times == null) {
+          times = new long[MAX_NUMBER_OF_POINTS_IN_PAGE];
+        }
+        writableMemChunk.encode(ioTaskQueue, encodeInfo, times);
+        writableMemChunk.releaseTemporaryTvListForFlush();
+        long subTaskTime = System.currentTimeMillis() - starTime;
+        WRITING_METRICS.recordFlushSubTaskCost(WritingMetrics.ENCODING_TASK, subTaskTime);
+        encodingTime.add(subTaskTime);
+        memSerializeTime += subTaskTime;
+      }
+    }
+  }
+
+  /**
+   * Sort and encode series by {@link FlushEncodingPoolManager}. The results are sent to the io task
+   * in the same order as the tasks are taken from encodingTaskQueue, so the order of chunk groups
+   * and chunks in the TsFile is the same as serial encoding.
+   */
+  private void encodeInParallel() {
+    // markers of chunk groups and futures of encoded series, in the order of encodingTaskQueue
+    Deque<Object> pendingTasks = new ArrayDeque<>();
+    int pendingEncodingTaskNum = 0;
+    long startTime = System.currentTimeMillis();
+    try {
+      while (true) {
+        Object task = encodingTaskQueue.take();
+        if (task instanceof TaskEnd) {
+          break;
+        }
+        if (task instanceof IWritableMemChunk) {
+          IWritableMemChunk writableMemChunk = (IWritableMemChunk) task;
+          EncodingSeries encodingSeries = new EncodingSeries();
+          encodingSeries.future =
+              ENCODING_POOL_MANAGER.submit(
+                  () -> sortAndEncode(writableMemChunk, encodingSeries.encodedChunks));
+          pendingTasks.add(encodingSeries);
+          pendingEncodingTaskNum++;
+        } else {
+          pendingTasks.add(task);
+        }
+        // the encoding result is held in memory until it's sent, so the number is limited
+        while (pendingEncodingTaskNum >= maxPendingEncodingTaskNum) {
+          pendingEncodingTaskNum -= sendPendingTasks(pendingTasks, true);
+        }
+        pendingEncodingTaskNum -= sendPendingTasks(pendingTasks, false);
+      }
+      while (!pendingTasks.isEmpty()) {
+        sendPendingTasks(pendingTasks, true);
+      }
+    } catch (InterruptedException e) {
+      LOGGER.error(
+          "Database {} memtable flushing to file {}, encoding task is interrupted.",
+          storageGroup,
+          writer.getFile().getName(),
+          e);
+      cancelPendingTasks(pendingTasks);
+      Thread.currentThread().interrupt();
+      return;
+    } catch (ExecutionException e) {
+      cancelPendingTasks(pendingTasks);
+      throw new FlushRunTimeException(e);
+    } catch (FlushRunTimeException e) {
+      cancelPendingTasks(pendingTasks);
+      throw e;
+    }
+    // the encoding cost is shared by multiple threads, so the elapsed time is compared with io time
+    memSerializeTime = System.currentTimeMillis() - startTime;
+    WRITING_METRICS.recordFlushCost(WritingMetrics.FLUSH_STAGE_WAIT_ENCODING, waitEncodingTime);
+  }
+
+  /**
+   * Send the encoded chunks at the head of pendingTasks to the io task. Only the chunks of the
+   * first pending series can be sent, the encoding of the other series blocks once their queues are
+   * full.
+   *
+   * @param waitForHead whether to wait if the first pending series has not been encoded
+   * @return the number of encoded series sent
+   */
+  private int sendPendingTasks(Deque<Object> pendingTasks, boolean waitForHead)
+      throws InterruptedException, ExecutionException {
+    int sentEncodingTaskNum = 0;
+    while (!pendingTasks.isEmpty()) {
+      Object task = pendingTasks.peek();
+      if (task instanceof EncodingSeries) {
+        EncodingSeries encodingSeries = (EncodingSeries) task;
+        boolean wait = waitForHead && sentEncodingTaskNum == 0;
+        Object encodedChunk;
+        while (true) {
+          encodedChunk = encodingSeries.encodedChunks.poll();
+          if (encodedChunk == null) {
+            if (!wait) {
+              break;
+            }
+            long waitStartTime = System.currentTimeMillis();
+            encodedChunk =
+                encodingSeries.encodedChunks.poll(
+                    WAIT_ENCODING_INTERVAL_IN_MS, TimeUnit.MILLISECONDS);
+            waitEncodingTime += System.currentTimeMillis() - waitStartTime;
+            if (encodedChunk == null) {
+              if (encodingSeries.future.isDone() && encodingSeries.encodedChunks.isEmpty()) {
+                // the encoding ended without ENCODED_SERIES_END, so it was interrupted
+                encodingSeries.future.get();
+                throw new FlushRunTimeException(
+                    new InterruptedException("The encoding of a series is interrupted"));
+              }
+              continue;
+            }
+          }
+          if (encodedChunk == ENCODED_SERIES_END) {
+            break;
+          }
+          ioTaskQueue.put(encodedChunk);
+        }
+        if (encodedChunk != ENCODED_SERIES_END) {
+          break;
+        }
+        // throw the exception of encoding if there is any
+        encodingSeries.future.get();
+        sentEncodingTaskNum++;
+      } else {
+        ioTaskQueue.put(task);
+      }
+      pendingTasks.poll();
+    }
+    return sentEncodingTaskNum;
+  }
+
+  private void cancelPendingTasks(Deque<Object> pendingTasks) {
+    for (Object task : pendingTasks) {
+      if (task instanceof EncodingSeries) {
+        ((EncodingSeries) task).future.cancel(true);
+      }
+    }
+    pendingTasks.clear();
+  }
+
+  private void sortAndEncode(
+      IWritableMemChunk writableMemChunk, BlockingQueue<Object> encodedChunks) {
+    try {
+      sort(writableMemChunk);
+      long startTime = System.currentTimeMillis();
+      long[] timeBuffer =
+          writableMemChunk instanceof AlignedWritableMemChunk
+              ? new long[MAX_NUMBER_OF_POINTS_IN_PAGE]
+              : null;
+      writableMemChunk.encode(encodedChunks, newBatchEncodeInfo(), timeBuffer);
+      writableMemChunk.releaseTemporaryTvListForFlush();
+      long subTaskTime = System.currentTimeMillis() - startTime;
+      WRITING_METRICS.recordFlushSubTaskCost(WritingMetrics.ENCODING_TASK, subTaskTime);
+      encodingTime.add(subTaskTime);
+    } finally {
+      try {
+        encodedChunks.put(ENCODED_SERIES_END);
+      } catch (InterruptedException e) {
+        // the flush is aborted
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void sort(IWritableMemChunk writableMemChunk) {
+    long startTime = System.currentTimeMillis();
+    writableMemChunk.sortTvListForFlush();
+    long subTaskTime = System.currentTimeMillis() - startTime;
+    WRITING_METRICS.recordFlushSubTaskCost(WritingMetrics.SORT_TASK, subTaskTime);
+    sortTime.add(subTaskTime);
+  }
+
+  private boolean isParallelEncoding() {
+    return encodingParallelism > 1;
+  }
+
+  private BatchEncodeInfo newBatchEncodeInfo() {
+    return new BatchEncodeInfo(
+        0,
+        0,
+        0,
+        MAX_NUMBER_OF_POINTS_IN_PAGE,
+        config.getTargetChunkPointNum(),
+        config.getTargetChunkSize());
+  }
+
   public static void recordFlushPointsMetricInternal(
       long totalPointsNum, String storageGroupName, String dataRegionId) {
     long currentTime = CommonDateTimeUtils.currentTime();
@@ -371,6 +561,14 @@ public class MemTableFlushTask {
         WRITING_METRICS.recordFlushCost(WritingMetrics.FLUSH_STAGE_IO, ioTime);
       };
 
+  /** The encoded chunks of a series being encoded, which end with ENCODED_SERIES_END. */
+  private static class EncodingSeries {
+
+    private final BlockingQueue<Object> encodedChunks =
+        new LinkedBlockingQueue<>(config.getIoTaskQueueSizeForFlushing());
+    private Future<?> future;
+  }
+
   static class TaskEnd {
 
     TaskEnd() {}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.storageengine.dataregion.flush.pool;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.rescon.memory.AbstractPoolManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Bounded pool shared by all the flush tasks to sort and encode series in parallel. */
+@SuppressWarnings("squid:S6548")
+public class FlushEncodingPoolManager extends AbstractPoolManager {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FlushEncodingPoolManager.class);
+
+  private FlushEncodingPoolManager() {
+    int threadCnt = IoTDBDescriptor.getInstance().getConfig().getFlushEncodingThreadCount();
+    pool =
+        IoTDBThreadPoolFactory.newFixedThreadPool(
+            threadCnt, ThreadName.FLUSH_ENCODING_TASK.getName());
+  }
+
+  public static FlushEncodingPoolManager getInstance() {
+    return InstanceHolder.instance;
+  }
+
+  @Override
+  public Logger getLogger() {
+    return LOGGER;
+  }
+
+  @Override
+  public String getName() {
+    return "flush encoding task";
+  }
+
+  @Override
+  public void start() {
+    if (pool == null) {
+      int threadCnt = IoTDBDescriptor.getInstance().getConfig().getFlushEncodingThreadCount();
+      pool =
+          IoTDBThreadPoolFactory.newFixedThreadPool(
+              threadCnt, ThreadName.FLUSH_ENCODING_TASK.getName());
+    }
+    LOGGER.info("Flush encoding task manager started.");
+  }
+
+  @Override
+  public void stop() {
+    super.stop();
+    LOGGER.info("Flush encoding task manager stopped");
+  }
+
+  private static class InstanceHolder {
+
+    private InstanceHolder() {
+      // allowed to do nothing
+    }
+
+    private static FlushEncodingPoolManager instance = new FlushEncodingPoolManager();
+  }
+}
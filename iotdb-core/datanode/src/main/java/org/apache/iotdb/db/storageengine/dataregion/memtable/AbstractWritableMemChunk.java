@@ -37,6 +37,7 @@ import org.apache.tsfile.write.schema.IMeasurementSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
@@ -48,6 +49,7 @@ public abstract class AbstractWritableMemChunk implements IWritableMemChunk {
   protected static long MAX_WAIT_QUERY_MS = 60 * 1000L;
 
   protected TVList workingListForFlush;
+  protected List<TVList> sortedListForFlush;
 
   /**
    * Release the TVList if there is no query on it. Otherwise, it should set the first query as the
@@ -201,10 +203,18 @@ public abstract class AbstractWritableMemChunk implements IWritableMemChunk {
 
   @Override
   public void sortTvListForFlush() {
-    TVList workingList = getWorkingTVList();
+    // the lists sealed for the queries may be unsorted
+    List<TVList> sortedLists = new ArrayList<>();
+    for (TVList tvList : getSortedList()) {
+      sortedLists.add(sortTvListForFlush(tvList));
+    }
+    sortedListForFlush = sortedLists;
+    workingListForFlush = sortTvListForFlush(getWorkingTVList());
+  }
+
+  private TVList sortTvListForFlush(TVList workingList) {
     if (workingList.isSorted()) {
-      workingListForFlush = workingList;
-      return;
+      return workingList;
     }
 
     /*
@@ -231,13 +241,15 @@ public abstract class AbstractWritableMemChunk implements IWritableMemChunk {
     } finally {
       workingList.unlockQueryList();
     }
-    workingListForFlush =
+    TVList listForFlush =
         needCloneTimesAndIndicesInWorkingTVList ? workingList.cloneForFlushSort() : workingList;
-    workingListForFlush.sort();
+    listForFlush.sort();
+    return listForFlush;
   }
 
   @Override
   public void releaseTemporaryTvListForFlush() {
+    sortedListForFlush = null;
     workingListForFlush = null;
   }
 
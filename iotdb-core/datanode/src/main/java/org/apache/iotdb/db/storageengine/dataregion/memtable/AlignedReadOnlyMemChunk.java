@@ -50,8 +50,10 @@ import org.apache.tsfile.write.schema.IMeasurementSchema;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class AlignedReadOnlyMemChunk extends ReadOnlyMemChunk {
   private final String timeChunkName;
@@ -114,10 +116,15 @@ public class AlignedReadOnlyMemChunk extends ReadOnlyMemChunk {
 
   @Override
   public void sortTvLists() {
+    Set<TVList> tvListsToCopy = new HashSet<>();
     for (Map.Entry<TVList, Integer> entry : getAligendTvListQueryMap().entrySet()) {
       AlignedTVList alignedTvList = (AlignedTVList) entry.getKey();
       int queryRowCount = entry.getValue();
       if (!alignedTvList.isSorted() && queryRowCount > alignedTvList.seqRowCount()) {
+        if (!canSortInPlace(alignedTvList)) {
+          tvListsToCopy.add(alignedTvList);
+          continue;
+        }
         // sort() returns the current row count
         // TVList may grow between prepareTvListMapForQuery and actual query execution(now).
         // The queryRowCount recorded here is only a snapshot taken during prepareTvListMapForQuery
@@ -144,6 +151,7 @@ public class AlignedReadOnlyMemChunk extends ReadOnlyMemChunk {
         }
       }
     }
+    alignedTvListQueryMap = replaceWithSortedCopies(alignedTvListQueryMap, tvListsToCopy);
   }
 
   @Override
@@ -379,10 +387,15 @@ public class AlignedReadOnlyMemChunk extends ReadOnlyMemChunk {
 
   @Override
   public IPointReader getPointReader() {
+    Set<TVList> tvListsToCopy = new HashSet<>();
     for (Map.Entry<TVList, Integer> entry : alignedTvListQueryMap.entrySet()) {
       AlignedTVList alignedTvList = (AlignedTVList) entry.getKey();
       int queryLength = entry.getValue();
       if (!alignedTvList.isSorted() && queryLength > alignedTvList.seqRowCount()) {
+        if (!canSortInPlace(alignedTvList)) {
+          tvListsToCopy.add(alignedTvList);
+          continue;
+        }
         entry.setValue(alignedTvList.sort());
         long alignedTvListRamSize = alignedTvList.calculateRamSize();
         alignedTvList.lockQueryList();
@@ -401,6 +414,7 @@ public class AlignedReadOnlyMemChunk extends ReadOnlyMemChunk {
         }
       }
     }
+    alignedTvListQueryMap = replaceWithSortedCopies(alignedTvListQueryMap, tvListsToCopy);
     TsBlock tsBlock = buildTsBlock();
     return tsBlock.getTsBlockAlignedRowIterator();
   }
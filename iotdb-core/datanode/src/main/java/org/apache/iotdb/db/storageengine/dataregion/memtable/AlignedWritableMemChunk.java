@@ -58,6 +58,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.iotdb.db.storageengine.rescon.memory.PrimitiveArrayManager.ARRAY_SIZE;
@@ -97,7 +98,7 @@ public class AlignedWritableMemChunk extends AbstractWritableMemChunk {
       dataTypes.add(schemaList.get(i).getType());
     }
     this.list = AlignedTVList.newAlignedList(dataTypes);
-    this.sortedList = new ArrayList<>();
+    this.sortedList = new CopyOnWriteArrayList<>();
     this.ignoreAllNullRows = !isTableModel;
     this.encryptParameter = encryptParameter;
   }
@@ -119,7 +120,7 @@ public class AlignedWritableMemChunk extends AbstractWritableMemChunk {
     }
     this.list = list;
     this.dataTypes = list.getTsDataTypes();
-    this.sortedList = new ArrayList<>();
+    this.sortedList = new CopyOnWriteArrayList<>();
     this.ignoreAllNullRows = !isTableModel;
     this.encryptParameter = encryptParameter;
   }
@@ -224,6 +225,19 @@ public class AlignedWritableMemChunk extends AbstractWritableMemChunk {
     this.dataTypes = list.getTsDataTypes();
   }
 
+  @Override
+  public boolean sealWorkingTVList() {
+    if (TVLIST_SORT_THRESHOLD == 0) {
+      // only the working list is flushed
+      return false;
+    }
+    sortedList.add(list);
+    this.sortedRowCount += list.rowCount();
+    this.list = AlignedTVList.newAlignedList(new ArrayList<>(dataTypes));
+    this.dataTypes = list.getTsDataTypes();
+    return true;
+  }
+
   @Override
   public void writeAlignedPoints(
       long insertTime, Object[] objectValue, List<IMeasurementSchema> schemaList) {
@@ -369,20 +383,22 @@ public class AlignedWritableMemChunk extends AbstractWritableMemChunk {
     // timestamp: 1 bitmap: 011
     // timestamp: 2 bitmap: 101
     // timestamp: 4 bitmap: 110
+    // timestampsList is null if the list keeps its timestamp arrays in direct memory
     List<long[]> timestampsList = alignedTVList.getTimestamps();
     List<int[]> indicesList = alignedTVList.getIndices();
+    int timestampArrayNum = alignedTVList.getTimestampArrayNum();
     int row = -1;
-    for (int i = 0; i < timestampsList.size(); i++) {
-      long[] timestamps = timestampsList.get(i);
+    for (int i = 0; i < timestampArrayNum; i++) {
+      long[] timestamps = timestampsList == null ? null : timestampsList.get(i);
       int[] indices = indicesList == null ? null : indicesList.get(i);
-      int limit = (i == timestampsList.size() - 1) ? rowCount - i * ARRAY_SIZE : ARRAY_SIZE;
+      int limit = (i == timestampArrayNum - 1) ? rowCount - i * ARRAY_SIZE : ARRAY_SIZE;
       for (int j = 0; j < limit; j++) {
         row++;
         // the row is deleted
         if (allValueColDeletedMap != null && allValueColDeletedMap.isMarked(row)) {
           continue;
         }
-        long timestamp = timestamps[j];
+        long timestamp = timestamps != null ? timestamps[j] : alignedTVList.getTime(row);
         if (globalTimeFilter != null && !globalTimeFilter.satisfy(timestamp, null)) {
           continue;
         }
@@ -791,7 +807,10 @@ public class AlignedWritableMemChunk extends AbstractWritableMemChunk {
         new AlignedChunkWriterImpl(schemaList, encryptParameter);
 
     // create MergeSortAlignedTVListIterator.
-    List<AlignedTVList> alignedTvLists = new ArrayList<>(sortedList);
+    List<AlignedTVList> alignedTvLists = new ArrayList<>();
+    for (TVList tvList : sortedListForFlush) {
+      alignedTvLists.add((AlignedTVList) tvList);
+    }
     alignedTvLists.add((AlignedTVList) workingListForFlush);
     List<Integer> columnIndexList = buildColumnIndexList(schemaList);
     MemPointIterator timeValuePairIterator =
@@ -931,7 +950,7 @@ public class AlignedWritableMemChunk extends AbstractWritableMemChunk {
       schemaList.add(schema);
     }
     int sortedListSize = stream.readInt();
-    List<AlignedTVList> sortedList = new ArrayList<>();
+    List<AlignedTVList> sortedList = new CopyOnWriteArrayList<>();
     for (int i = 0; i < sortedListSize; i++) {
       AlignedTVList tvList = AlignedTVList.deserialize(stream);
       sortedList.add(tvList);
@@ -131,5 +131,13 @@ public interface IWritableMemChunk extends WALEntryValue {
 
   void setWorkingTVList(TVList list);
 
+  /**
+   * Move the working TVList to the sorted lists without sorting it, and start a new working TVList.
+   * The queries sort the sealed list by themselves, so that they do not block the writers.
+   *
+   * @return false if the working TVList can not be sealed, since the sorted lists are not used
+   */
+  boolean sealWorkingTVList();
+
   void setEncryptParameter(EncryptParameter encryptParameter);
 }
@@ -51,8 +51,11 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * ReadOnlyMemChunk is a snapshot of the working MemTable and flushing memtable in the memory used
@@ -132,10 +135,15 @@ public class ReadOnlyMemChunk {
   }
 
   public void sortTvLists() {
+    Set<TVList> tvListsToCopy = new HashSet<>();
     for (Map.Entry<TVList, Integer> entry : getTvListQueryMap().entrySet()) {
       TVList tvList = entry.getKey();
       int queryRowCount = entry.getValue();
       if (!tvList.isSorted() && queryRowCount > tvList.seqRowCount()) {
+        if (!canSortInPlace(tvList)) {
+          tvListsToCopy.add(tvList);
+          continue;
+        }
         entry.setValue(tvList.sort());
         long tvListRamSize = tvList.calculateRamSize();
         tvList.lockQueryList();
@@ -153,6 +161,57 @@ public class ReadOnlyMemChunk {
         }
       }
     }
+    tvListQueryMap = replaceWithSortedCopies(tvListQueryMap, tvListsToCopy);
+  }
+
+  /**
+   * A sealed TVList can not be sorted in place if the queries started before it was sealed are
+   * still reading it in the unsorted order.
+   */
+  protected boolean canSortInPlace(TVList tvList) {
+    tvList.lockQueryList();
+    try {
+      return tvList.canSortInPlace(context);
+    } finally {
+      tvList.unlockQueryList();
+    }
+  }
+
+  /** Replace the TVLists by their sorted copies, which are owned and released by this query. */
+  protected Map<TVList, Integer> replaceWithSortedCopies(
+      Map<TVList, Integer> tvListQueryMap, Set<TVList> tvListsToCopy) {
+    if (tvListsToCopy.isEmpty()) {
+      return tvListQueryMap;
+    }
+    Map<TVList, Integer> copyQueryMap = new LinkedHashMap<>();
+    Map<TVList, Integer> newTvListQueryMap = new LinkedHashMap<>();
+    for (Map.Entry<TVList, Integer> entry : tvListQueryMap.entrySet()) {
+      TVList tvList = entry.getKey();
+      if (!tvListsToCopy.contains(tvList)) {
+        newTvListQueryMap.put(tvList, entry.getValue());
+        continue;
+      }
+      TVList copy = tvList.clone();
+      int rowCount = copy.sort();
+      long copyRamSize = copy.calculateRamSize();
+      copy.lockQueryList();
+      try {
+        copy.getQueryContextSet().add(context);
+        if (context instanceof FragmentInstanceContext) {
+          ((FragmentInstanceContext) context)
+              .getMemoryReservationContext()
+              .reserveMemoryCumulatively(copyRamSize);
+          copy.setReservedMemoryBytes(copyRamSize);
+        }
+        copy.setOwnerQuery(context);
+      } finally {
+        copy.unlockQueryList();
+      }
+      copyQueryMap.put(copy, rowCount);
+      newTvListQueryMap.put(copy, rowCount);
+    }
+    context.addTVListToSet(copyQueryMap);
+    return newTvListQueryMap;
   }
 
   public void initChunkMetaFromTvLists(Filter globalTimeFilter) {
@@ -289,10 +348,15 @@ public class ReadOnlyMemChunk {
 
   @TestOnly
   public IPointReader getPointReader() {
+    Set<TVList> tvListsToCopy = new HashSet<>();
     for (Map.Entry<TVList, Integer> entry : tvListQueryMap.entrySet()) {
       TVList tvList = entry.getKey();
       int queryLength = entry.getValue();
       if (!tvList.isSorted() && queryLength > tvList.seqRowCount()) {
+        if (!canSortInPlace(tvList)) {
+          tvListsToCopy.add(tvList);
+          continue;
+        }
         entry.setValue(tvList.sort());
         long tvListRamSize = tvList.calculateRamSize();
         tvList.lockQueryList();
@@ -310,6 +374,7 @@ public class ReadOnlyMemChunk {
         }
       }
     }
+    tvListQueryMap = replaceWithSortedCopies(tvListQueryMap, tvListsToCopy);
     TsBlock tsBlock = buildTsBlock();
     return tsBlock.getTsBlockSingleColumnIterator();
   }
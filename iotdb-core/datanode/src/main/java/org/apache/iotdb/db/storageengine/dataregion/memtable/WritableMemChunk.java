@@ -53,6 +53,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.apache.iotdb.db.utils.MemUtils.getBinarySize;
 
@@ -76,14 +77,14 @@ public class WritableMemChunk extends AbstractWritableMemChunk {
   public WritableMemChunk(IMeasurementSchema schema) {
     this.schema = schema;
     this.list = TVList.newList(schema.getType());
-    this.sortedList = new ArrayList<>();
+    this.sortedList = new CopyOnWriteArrayList<>();
     this.encryptParameter = EncryptUtils.getEncryptParameter();
   }
 
   public WritableMemChunk(IMeasurementSchema schema, EncryptParameter encryptParameter) {
     this.schema = schema;
     this.list = TVList.newList(schema.getType());
-    this.sortedList = new ArrayList<>();
+    this.sortedList = new CopyOnWriteArrayList<>();
     this.encryptParameter = encryptParameter;
   }
 
@@ -100,6 +101,18 @@ public class WritableMemChunk extends AbstractWritableMemChunk {
     this.list = TVList.newList(schema.getType());
   }
 
+  @Override
+  public boolean sealWorkingTVList() {
+    if (TVLIST_SORT_THRESHOLD == 0) {
+      // only the working list is flushed
+      return false;
+    }
+    sortedList.add(list);
+    this.sortedRowCount += list.rowCount();
+    this.list = TVList.newList(schema.getType());
+    return true;
+  }
+
   @Override
   public void writeNonAlignedPoint(long insertTime, Object objectValue) {
     switch (schema.getType()) {
@@ -483,7 +496,7 @@ public class WritableMemChunk extends AbstractWritableMemChunk {
     }
 
     // create MultiTvListIterator. It need not handle float/double precision here.
-    List<TVList> tvLists = new ArrayList<>(sortedList);
+    List<TVList> tvLists = new ArrayList<>(sortedListForFlush);
     tvLists.add(workingListForFlush);
     MemPointIterator timeValuePairIterator =
         MemPointIteratorFactory.create(
@@ -550,7 +563,7 @@ public class WritableMemChunk extends AbstractWritableMemChunk {
     WritableMemChunk memChunk = new WritableMemChunk();
     memChunk.schema = MeasurementSchema.deserializeFrom(stream);
     int sortedListSize = stream.readInt();
-    memChunk.sortedList = new ArrayList<>();
+    memChunk.sortedList = new CopyOnWriteArrayList<>();
     for (int i = 0; i < sortedListSize; i++) {
       TVList tvList = TVList.deserialize(stream);
       memChunk.sortedList.add(tvList);
@@ -597,15 +610,17 @@ public class WritableMemChunk extends AbstractWritableMemChunk {
       return Optional.empty();
     }
 
+    // timestampsList is null if the list keeps its timestamp arrays in direct memory
     List<long[]> timestampsList = tvlist.getTimestamps();
     List<BitMap> bitMaps = tvlist.getBitMap();
     List<int[]> indicesList = tvlist.getIndices();
-    for (int i = 0; i < timestampsList.size(); i++) {
-      long[] timestamps = timestampsList.get(i);
+    int timestampArrayNum = tvlist.getTimestampArrayNum();
+    for (int i = 0; i < timestampArrayNum; i++) {
+      long[] timestamps = timestampsList == null ? null : timestampsList.get(i);
       BitMap bitMap = bitMaps == null ? null : bitMaps.get(i);
       int[] indices = indicesList == null ? null : indicesList.get(i);
       int limit =
-          (i == timestampsList.size() - 1)
+          (i == timestampArrayNum - 1)
               ? rowCount - i * PrimitiveArrayManager.ARRAY_SIZE
               : PrimitiveArrayManager.ARRAY_SIZE;
       for (int j = 0; j < limit; j++) {
@@ -613,7 +628,10 @@ public class WritableMemChunk extends AbstractWritableMemChunk {
             && (indices == null ? bitMap.isMarked(j) : tvlist.isNullValue(indices[j]))) {
           continue;
         }
-        long curTime = timestamps[j];
+        long curTime =
+            timestamps != null
+                ? timestamps[j]
+                : tvlist.getTime(i * PrimitiveArrayManager.ARRAY_SIZE + j);
         if (deletionList != null && !deletionList.isEmpty()) {
           if (!tvlist.isSorted()) {
             deletionCursor[0] = 0;
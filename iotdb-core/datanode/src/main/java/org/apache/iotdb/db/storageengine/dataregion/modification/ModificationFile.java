@@ -28,6 +28,8 @@ import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Modification
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.ModificationFileV1;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,6 +77,12 @@ public class ModificationFile implements AutoCloseable {
   private final boolean updateMetrics;
   private boolean removed = false;
 
+  /**
+   * Increased when the content of the file is changed other than appending, i.e. when the file is
+   * truncated, compacted or removed, so that the readers caching the content know it is stale.
+   */
+  private volatile long rewriteVersion = 0;
+
   private Set<ModificationFile> cascadeFiles = null;
 
   public ModificationFile(String filePath, boolean updateModMetrics) {
@@ -173,6 +181,17 @@ public class ModificationFile implements AutoCloseable {
     return new ModIterator(offset);
   }
 
+  /**
+   * Iterate the entries in [offset, endOffset), where endOffset should be a file length got before.
+   */
+  public ModIterator getModIterator(long offset, long endOffset) throws IOException {
+    return new ModIterator(offset, endOffset);
+  }
+
+  public long getRewriteVersion() {
+    return rewriteVersion;
+  }
+
   public List<ModEntry> getAllMods() throws IOException {
     return getAllMods(0);
   }
@@ -264,15 +283,28 @@ public class ModificationFile implements AutoCloseable {
   }
 
   public class ModIterator implements Iterator<ModEntry>, AutoCloseable {
-    private InputStream inputStream;
+    private CountingInputStream inputStream;
     private ModEntry nextEntry;
+    // the end offset of the last entry read
+    private long readOffset;
 
     public ModIterator(long offset) throws IOException {
-      if (!fileExists) {
+      this(offset, Long.MAX_VALUE);
+    }
+
+    public ModIterator(long offset, long endOffset) throws IOException {
+      readOffset = offset;
+      if (!fileExists || offset >= endOffset) {
         return;
       }
-      this.inputStream = new BufferedInputStream(Files.newInputStream(file.toPath()), 64 * 1024);
+      InputStream fileInputStream = Files.newInputStream(file.toPath());
+      if (endOffset != Long.MAX_VALUE) {
+        fileInputStream = ByteStreams.limit(fileInputStream, endOffset);
+      }
+      this.inputStream =
+          new CountingInputStream(new BufferedInputStream(fileInputStream, 64 * 1024));
       long skipped = inputStream.skip(offset);
+      readOffset = skipped;
       if (skipped != offset) {
         LOGGER.warn(
             "Fail to read Mod file {}, expecting offset {}, actually skipped {}",
@@ -297,6 +329,14 @@ public class ModificationFile implements AutoCloseable {
       }
     }
 
+    /**
+     * The end offset of the last entry read, which is less than the end offset of iteration if the
+     * iteration stops at an incomplete or unreadable entry.
+     */
+    public long getReadOffset() {
+      return readOffset;
+    }
+
     @Override
     public boolean hasNext() {
       if (inputStream == null) {
@@ -305,6 +345,7 @@ public class ModificationFile implements AutoCloseable {
       if (nextEntry == null) {
         try {
           nextEntry = ModEntry.createFrom(inputStream);
+          readOffset = inputStream.getCount();
         } catch (EOFException e) {
           close();
         } catch (IOException e) {
@@ -341,6 +382,7 @@ public class ModificationFile implements AutoCloseable {
       }
       fileExists = false;
       removed = true;
+      rewriteVersion++;
     } finally {
       lock.writeLock().unlock();
     }
@@ -381,6 +423,7 @@ public class ModificationFile implements AutoCloseable {
       if (channel != null) {
         channel.truncate(size);
       }
+      rewriteVersion++;
     } finally {
       lock.writeLock().unlock();
     }
@@ -414,6 +457,7 @@ public class ModificationFile implements AutoCloseable {
         fileExists = true;
         // rename new mods file to origin name
         Files.move(new File(newModsFileName).toPath(), file.toPath());
+        rewriteVersion++;
         LOGGER.info("{} settle successful", file);
 
         if (getFileLength() > COMPACT_THRESHOLD) {
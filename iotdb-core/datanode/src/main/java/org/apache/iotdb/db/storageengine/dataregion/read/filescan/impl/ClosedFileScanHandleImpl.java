@@ -86,7 +86,7 @@ public class ClosedFileScanHandleImpl implements IFileScanHandle {
     curFileModEntries =
         curFileModEntries != null
             ? curFileModEntries
-            : queryContext.loadAllModificationsFromDisk(tsFileResource);
+            : queryContext.loadAllModifications(tsFileResource);
     List<ModEntry> modifications = queryContext.getPathModifications(curFileModEntries, deviceID);
     List<TimeRange> timeRangeList =
         modifications.stream().map(ModEntry::getTimeRange).collect(Collectors.toList());
@@ -99,7 +99,7 @@ public class ClosedFileScanHandleImpl implements IFileScanHandle {
     curFileModEntries =
         curFileModEntries != null
             ? curFileModEntries
-            : queryContext.loadAllModificationsFromDisk(tsFileResource);
+            : queryContext.loadAllModifications(tsFileResource);
     Map<String, List<TimeRange>> modificationTimeRange = deviceToModifications.get(deviceID);
     if (modificationTimeRange != null && modificationTimeRange.containsKey(timeSeriesName)) {
       return ModificationUtils.isPointDeleted(timestamp, modificationTimeRange.get(timeSeriesName));
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk;
+
+import org.apache.iotdb.commons.exception.IoTDBIORuntimeException;
+import org.apache.iotdb.db.storageengine.buffer.DecodedPageCache;
+import org.apache.iotdb.db.storageengine.buffer.DecodedPageCache.DecodedPageCacheKey;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.read.common.Chunk;
+import org.apache.tsfile.read.common.TimeRange;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.read.reader.IPageReader;
+import org.apache.tsfile.read.reader.chunk.AbstractChunkReader;
+import org.apache.tsfile.read.reader.chunk.ChunkReader;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * To read one non-aligned chunk on disk through {@link DecodedPageCache}. Pages are decoded without
+ * any filter or deletion so that one decoded page can be shared by all queries, the filter and the
+ * deletions of the current query are applied on the cached page by {@link MemPageReader}.
+ */
+public class DecodedPageChunkReader extends AbstractChunkReader {
+
+  /**
+   * @param rawChunk the chunk without delete intervals, all pages of it should be kept
+   * @param deleteIntervalList the sorted delete intervals of this chunk in the current query
+   */
+  public DecodedPageChunkReader(
+      Chunk rawChunk,
+      TsFileID tsFileID,
+      long offsetOfChunkHeader,
+      String measurementUid,
+      List<TimeRange> deleteIntervalList,
+      Filter globalTimeFilter,
+      LongConsumer filteredRowsRecorder)
+      throws IOException {
+    super(Long.MIN_VALUE, globalTimeFilter, filteredRowsRecorder);
+    initAllPageReaders(rawChunk, tsFileID, offsetOfChunkHeader, measurementUid, deleteIntervalList);
+  }
+
+  private void initAllPageReaders(
+      Chunk rawChunk,
+      TsFileID tsFileID,
+      long offsetOfChunkHeader,
+      String measurementUid,
+      List<TimeRange> deleteIntervalList)
+      throws IOException {
+    TSDataType dataType = rawChunk.getHeader().getDataType();
+    // raw chunk has neither filter nor deletion, so the index of page reader is the page index
+    List<IPageReader> rawPageReaders = new ChunkReader(rawChunk).loadPageReaderList();
+    for (int pageIndex = 0; pageIndex < rawPageReaders.size(); pageIndex++) {
+      IPageReader rawPageReader = rawPageReaders.get(pageIndex);
+      Statistics<? extends Serializable> statistics = rawPageReader.getStatistics();
+      long startTime = statistics.getStartTime();
+      long endTime = statistics.getEndTime();
+      if (queryFilter != null && !queryFilter.satisfyStartEndTime(startTime, endTime)) {
+        continue;
+      }
+
+      boolean deleted = false;
+      boolean modified = false;
+      if (deleteIntervalList != null) {
+        for (TimeRange range : deleteIntervalList) {
+          if (range.contains(startTime, endTime)) {
+            deleted = true;
+            break;
+          }
+          if (range.overlaps(new TimeRange(startTime, endTime))) {
+            modified = true;
+          }
+        }
+      }
+      if (deleted) {
+        continue;
+      }
+
+      MemPageReader pageReader =
+          new MemPageReader(
+              new DecodedPageSupplier(
+                  new DecodedPageCacheKey(tsFileID, offsetOfChunkHeader, pageIndex),
+                  rawPageReader,
+                  dataType,
+                  modified ? deleteIntervalList : Collections.emptyList()),
+              pageIndex,
+              dataType,
+              measurementUid,
+              statistics,
+              queryFilter);
+      pageReader.setModified(modified);
+      pageReaderList.add(pageReader);
+    }
+  }
+
+  /** Get the decoded page from {@link DecodedPageCache} and remove the deleted points of it. */
+  private static class DecodedPageSupplier implements Supplier<TsBlock> {
+
+    private final DecodedPageCacheKey key;
+    private final IPageReader rawPageReader;
+    private final TSDataType dataType;
+    private final List<TimeRange> deleteIntervalList;
+
+    private DecodedPageSupplier(
+        DecodedPageCacheKey key,
+        IPageReader rawPageReader,
+        TSDataType dataType,
+        List<TimeRange> deleteIntervalList) {
+      this.key = key;
+      this.rawPageReader = rawPageReader;
+      this.dataType = dataType;
+      this.deleteIntervalList = deleteIntervalList;
+    }
+
+    @Override
+    public TsBlock get() {
+      TsBlock tsBlock;
+      try {
+        tsBlock = DecodedPageCache.getInstance().get(key, rawPageReader);
+      } catch (IOException e) {
+        throw new IoTDBIORuntimeException(e);
+      }
+      return deleteIntervalList.isEmpty() ? tsBlock : removeDeletedPoints(tsBlock);
+    }
+
+    // the cached TsBlock is shared by queries, so we always copy the remaining points out of it
+    private TsBlock removeDeletedPoints(TsBlock tsBlock) {
+      TsBlockBuilder builder =
+          new TsBlockBuilder(tsBlock.getPositionCount(), Collections.singletonList(dataType));
+      Column timeColumn = tsBlock.getTimeColumn();
+      int deleteCursor = 0;
+      for (int row = 0; row < tsBlock.getPositionCount(); row++) {
+        long time = timeColumn.getLong(row);
+        while (deleteCursor < deleteIntervalList.size()
+            && deleteIntervalList.get(deleteCursor).getMax() < time) {
+          deleteCursor++;
+        }
+        if (deleteCursor < deleteIntervalList.size()
+            && deleteIntervalList.get(deleteCursor).contains(time)) {
+          continue;
+        }
+        builder.getTimeColumnBuilder().writeLong(time);
+        for (int column = 0; column < tsBlock.getValueColumnCount(); column++) {
+          Column valueColumn = tsBlock.getColumn(column);
+          ColumnBuilder valueBuilder = builder.getColumnBuilder(column);
+          if (valueColumn.isNull(row)) {
+            valueBuilder.appendNull();
+          } else {
+            valueBuilder.write(valueColumn, row);
+          }
+        }
+        builder.declarePosition();
+      }
+      return builder.build();
+    }
+  }
+}
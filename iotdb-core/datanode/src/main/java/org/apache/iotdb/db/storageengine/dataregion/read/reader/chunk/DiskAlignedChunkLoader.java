@@ -19,6 +19,8 @@
 
 package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk;
 
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
@@ -56,6 +58,7 @@ public class DiskAlignedChunkLoader implements IChunkLoader {
 
   private static final SeriesScanCostMetricSet SERIES_SCAN_COST_METRIC_SET =
       SeriesScanCostMetricSet.getInstance();
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
 
   public DiskAlignedChunkLoader(
       QueryContext context, TsFileResource resource, boolean ignoreAllNullRows) {
@@ -82,6 +85,7 @@ public class DiskAlignedChunkLoader implements IChunkLoader {
       AbstractAlignedChunkMetadata alignedChunkMetadata =
           (AbstractAlignedChunkMetadata) chunkMetaData;
       ChunkMetadata timeChunkMetadata = (ChunkMetadata) alignedChunkMetadata.getTimeChunkMetadata();
+      loadChunksCoalesced(timeChunkMetadata, alignedChunkMetadata.getValueChunkMetadataList());
       Chunk timeChunk =
           ChunkCache.getInstance()
               .get(
@@ -139,6 +143,31 @@ public class DiskAlignedChunkLoader implements IChunkLoader {
     }
   }
 
+  /** Read the time chunk and the value chunks into ChunkCache by as few disk reads as possible. */
+  private void loadChunksCoalesced(
+      IChunkMetadata timeChunkMetadata, List<IChunkMetadata> valueChunkMetadataList) {
+    if (CONFIG.getChunkReadCoalesceMaxDistanceInByte() <= 0) {
+      return;
+    }
+    List<ChunkCache.ChunkCacheKey> chunkCacheKeys =
+        new ArrayList<>(valueChunkMetadataList.size() + 1);
+    chunkCacheKeys.add(getChunkCacheKey(timeChunkMetadata));
+    for (IChunkMetadata valueChunkMetadata : valueChunkMetadataList) {
+      if (valueChunkMetadata != null) {
+        chunkCacheKeys.add(getChunkCacheKey(valueChunkMetadata));
+      }
+    }
+    ChunkCache.getInstance().loadCoalesced(chunkCacheKeys, context);
+  }
+
+  private ChunkCache.ChunkCacheKey getChunkCacheKey(IChunkMetadata chunkMetadata) {
+    return new ChunkCache.ChunkCacheKey(
+        resource.getTsFilePath(),
+        resource.getTsFileID(),
+        chunkMetadata.getOffsetOfChunkHeader(),
+        resource.isClosed());
+  }
+
   public TsFileID getTsFileID() {
     return resource.getTsFileID();
   }
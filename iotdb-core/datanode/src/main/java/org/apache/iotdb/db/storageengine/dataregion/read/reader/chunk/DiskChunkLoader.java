@@ -23,6 +23,7 @@ import org.apache.iotdb.db.exception.ChunkTypeInconsistentException;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
+import org.apache.iotdb.db.storageengine.buffer.DecodedPageCache;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.utils.ObjectTypeUtils;
@@ -77,6 +78,9 @@ public class DiskChunkLoader implements IChunkLoader {
       throws IOException {
     long t1 = System.nanoTime();
     try {
+      // OBJECT pages are decoded with a region specific decoder, so we don't cache them
+      boolean useDecodedPageCache =
+          DecodedPageCache.isCacheEnable() && chunkMetaData.getDataType() != TSDataType.OBJECT;
       Chunk chunk =
           ChunkCache.getInstance()
               .get(
@@ -85,7 +89,8 @@ public class DiskChunkLoader implements IChunkLoader {
                       resource.getTsFileID(),
                       chunkMetaData.getOffsetOfChunkHeader(),
                       resource.isClosed()),
-                  chunkMetaData.getDeleteIntervalList(),
+                  // decoded pages are shared by queries, deletions are applied after decoding
+                  useDecodedPageCache ? null : chunkMetaData.getDeleteIntervalList(),
                   chunkMetaData.getStatistics(),
                   context);
       byte chunkType = chunk.getHeader().getChunkType();
@@ -104,10 +109,19 @@ public class DiskChunkLoader implements IChunkLoader {
 
       long t2 = System.nanoTime();
       IChunkReader chunkReader =
-          new ChunkReader(
-              chunk,
-              globalTimeFilter,
-              this.context.getQueryStatistics()::addFilteredRowsOfPageLevel);
+          useDecodedPageCache
+              ? new DecodedPageChunkReader(
+                  chunk,
+                  tsFileID,
+                  chunkMetaData.getOffsetOfChunkHeader(),
+                  chunkMetaData.getMeasurementUid(),
+                  chunkMetaData.getDeleteIntervalList(),
+                  globalTimeFilter,
+                  this.context.getQueryStatistics()::addFilteredRowsOfPageLevel)
+              : new ChunkReader(
+                  chunk,
+                  globalTimeFilter,
+                  this.context.getQueryStatistics()::addFilteredRowsOfPageLevel);
       SeriesScanCostMetricSet.getInstance()
           .recordSeriesScanCost(INIT_CHUNK_READER_NONALIGNED_DISK, System.nanoTime() - t2);
 
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.tsfile;
+
+import org.apache.tsfile.read.common.TimeRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable interval index over the tsfiles of one {@link TsFileResourceList}, which selects the
+ * files whose time range may overlap with the time ranges of a query in O(log n + k) instead of
+ * checking every file of the time partition.
+ *
+ * <p>Closed files are indexed by [fileStartTime, fileEndTime]. The time range of an unclosed file
+ * keeps growing while it is written, so unclosed files (and files with a broken time range) are
+ * always selected and left to {@link TsFileResource#isSatisfied} as before. The selected files are
+ * only candidates, the caller should still check them one by one.
+ */
+public class TsFileIntervalIndex {
+
+  // modification version of the TsFileResourceList when this index is built
+  private final long version;
+
+  // all files in the order of the TsFileResourceList
+  private final TsFileResource[] resources;
+
+  // positions of the files that should always be selected
+  private final int[] alwaysSelectedPositions;
+
+  // closed files sorted by start time
+  private final long[] startTimes;
+  private final int[] sortedPositions;
+
+  // a segment tree storing the max end time of the sorted closed files, leaves start at leafOffset
+  private final long[] maxEndTimes;
+  private final int leafOffset;
+
+  TsFileIntervalIndex(List<TsFileResource> resourceList, long version) {
+    this.version = version;
+    this.resources = resourceList.toArray(new TsFileResource[0]);
+
+    List<Integer> alwaysSelected = new ArrayList<>();
+    List<Integer> indexed = new ArrayList<>();
+    long[] fileStartTimes = new long[resources.length];
+    long[] fileEndTimes = new long[resources.length];
+    for (int i = 0; i < resources.length; i++) {
+      TsFileResource resource = resources[i];
+      if (!resource.isClosed()) {
+        alwaysSelected.add(i);
+        continue;
+      }
+      fileStartTimes[i] = resource.getFileStartTime();
+      fileEndTimes[i] = resource.getFileEndTime();
+      if (fileStartTimes[i] > fileEndTimes[i]) {
+        alwaysSelected.add(i);
+      } else {
+        indexed.add(i);
+      }
+    }
+    indexed.sort((a, b) -> Long.compare(fileStartTimes[a], fileStartTimes[b]));
+
+    this.alwaysSelectedPositions = alwaysSelected.stream().mapToInt(Integer::intValue).toArray();
+    this.sortedPositions = indexed.stream().mapToInt(Integer::intValue).toArray();
+    this.startTimes = new long[sortedPositions.length];
+
+    int offset = 1;
+    while (offset < sortedPositions.length) {
+      offset <<= 1;
+    }
+    this.leafOffset = offset;
+    this.maxEndTimes = new long[offset << 1];
+    Arrays.fill(maxEndTimes, Long.MIN_VALUE);
+    for (int i = 0; i < sortedPositions.length; i++) {
+      startTimes[i] = fileStartTimes[sortedPositions[i]];
+      maxEndTimes[offset + i] = fileEndTimes[sortedPositions[i]];
+    }
+    for (int node = offset - 1; node > 0; node--) {
+      maxEndTimes[node] = Math.max(maxEndTimes[node << 1], maxEndTimes[(node << 1) + 1]);
+    }
+  }
+
+  long getVersion() {
+    return version;
+  }
+
+  public int size() {
+    return resources.length;
+  }
+
+  /**
+   * @param timeRanges time ranges of the query, {@code null} means all time
+   * @return files which may overlap with any of the time ranges, in the order of the list
+   */
+  public List<TsFileResource> query(List<TimeRange> timeRanges) {
+    if (timeRanges == null) {
+      return new ArrayList<>(Arrays.asList(resources));
+    }
+    if (resources.length == 0) {
+      return new ArrayList<>();
+    }
+    PositionCollector collector = new PositionCollector(alwaysSelectedPositions);
+    for (TimeRange timeRange : timeRanges) {
+      // only the files starting before the end of the range may overlap with it
+      int limit = upperBound(timeRange.getMax());
+      if (limit > 0) {
+        collect(1, 0, leafOffset, limit, timeRange.getMin(), collector);
+      }
+    }
+    return collector.toResources();
+  }
+
+  /** collect files in [0, limit) of the sorted closed files whose end time >= minEndTime */
+  private void collect(
+      int node,
+      int nodeStart,
+      int nodeEnd,
+      int limit,
+      long minEndTime,
+      PositionCollector collector) {
+    if (nodeStart >= limit || maxEndTimes[node] < minEndTime) {
+      return;
+    }
+    if (nodeEnd - nodeStart == 1) {
+      collector.add(sortedPositions[nodeStart]);
+      return;
+    }
+    int middle = (nodeStart + nodeEnd) >>> 1;
+    collect(node << 1, nodeStart, middle, limit, minEndTime, collector);
+    collect((node << 1) + 1, middle, nodeEnd, limit, minEndTime, collector);
+  }
+
+  /** number of the sorted closed files whose start time <= time */
+  private int upperBound(long time) {
+    int low = 0;
+    int high = startTimes.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (startTimes[middle] <= time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private class PositionCollector {
+
+    private int[] positions;
+    private int size;
+
+    private PositionCollector(int[] initialPositions) {
+      this.positions = Arrays.copyOf(initialPositions, Math.max(initialPositions.length, 16));
+      this.size = initialPositions.length;
+    }
+
+    private void add(int position) {
+      if (size == positions.length) {
+        positions = Arrays.copyOf(positions, size << 1);
+      }
+      positions[size++] = position;
+    }
+
+    private List<TsFileResource> toResources() {
+      if (size == 0) {
+        return Collections.emptyList();
+      }
+      // one file may be selected by more than one time range
+      Arrays.sort(positions, 0, size);
+      List<TsFileResource> result = new ArrayList<>(size);
+      int last = -1;
+      for (int i = 0; i < size; i++) {
+        if (positions[i] != last) {
+          last = positions[i];
+          result.add(resources[last]);
+        }
+      }
+      return result;
+    }
+  }
+}
@@ -20,12 +20,16 @@
 package org.apache.iotdb.db.storageengine.dataregion.tsfile;
 
 import org.apache.iotdb.commons.utils.TimePartitionUtils;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.pipe.resource.PipeDataNodeResourceManager;
+import org.apache.iotdb.db.queryengine.metric.QueryExecutionMetricSet;
+import org.apache.iotdb.db.queryengine.metric.QueryResourceMetricSet;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModFileManagement;
 import org.apache.iotdb.db.storageengine.dataregion.modification.PartitionLevelModFileManager;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndexCacheRecorder;
 import org.apache.iotdb.db.storageengine.rescon.memory.TsFileResourceManager;
 
+import org.apache.tsfile.read.common.TimeRange;
 import org.apache.tsfile.read.filter.basic.Filter;
 import org.apache.tsfile.utils.Pair;
 
@@ -42,7 +46,15 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import static org.apache.iotdb.db.queryengine.metric.QueryExecutionMetricSet.SELECT_QUERY_RESOURCE_BY_INDEX;
+import static org.apache.iotdb.db.queryengine.metric.QueryResourceMetricSet.TSFILE_INDEX_SIZE;
+
 public class TsFileManager {
+  private static final QueryResourceMetricSet QUERY_RESOURCE_METRIC_SET =
+      QueryResourceMetricSet.getInstance();
+  private static final QueryExecutionMetricSet QUERY_EXECUTION_METRIC_SET =
+      QueryExecutionMetricSet.getInstance();
+
   private final String storageGroupName;
   private String dataRegionId;
   private final String dataRegionSysDir;
@@ -104,38 +116,75 @@ public class TsFileManager {
   /**
    * don't need to acquire lock again, caller should guarantee the lock has been acquired
    *
+   * <p>Files of each time partition are selected by its {@link TsFileIntervalIndex}, so the files
+   * that definitely don't overlap with the time filter are skipped without being checked one by
+   * one.
+   *
    * @return left is seq resource list, right is unSeq resource list
    */
   public Pair<List<TsFileResource>, List<TsFileResource>> getAllTsFileListForQuery(
       List<Long> timePartitions, Filter timeFilter) {
+    long startTime = System.nanoTime();
+    List<TimeRange> timeRanges = getTimeRanges(timeFilter);
     List<TsFileResource> seq = new ArrayList<>();
     List<TsFileResource> unSeq = new ArrayList<>();
+    int indexSize = 0;
     if (timePartitions == null) {
       for (Map.Entry<Long, TsFileResourceList> entry : sequenceFiles.entrySet()) {
         if (TimePartitionUtils.satisfyTimePartition(timeFilter, entry.getKey())) {
-          seq.addAll(entry.getValue().getArrayList());
+          indexSize += selectByIntervalIndex(entry.getValue(), timeRanges, seq);
         }
       }
       for (Map.Entry<Long, TsFileResourceList> entry : unsequenceFiles.entrySet()) {
         if (TimePartitionUtils.satisfyTimePartition(timeFilter, entry.getKey())) {
-          unSeq.addAll(entry.getValue().getArrayList());
+          indexSize += selectByIntervalIndex(entry.getValue(), timeRanges, unSeq);
         }
       }
     } else {
       for (Long timePartitionId : timePartitions) {
         TsFileResourceList tsFileResources = sequenceFiles.get(timePartitionId);
         if (tsFileResources != null) {
-          seq.addAll(tsFileResources.getArrayList());
+          indexSize += selectByIntervalIndex(tsFileResources, timeRanges, seq);
         }
         tsFileResources = unsequenceFiles.get(timePartitionId);
         if (tsFileResources != null) {
-          unSeq.addAll(tsFileResources.getArrayList());
+          indexSize += selectByIntervalIndex(tsFileResources, timeRanges, unSeq);
         }
       }
     }
+    QUERY_RESOURCE_METRIC_SET.recordQueryResourceNum(TSFILE_INDEX_SIZE, indexSize);
+    QUERY_EXECUTION_METRIC_SET.recordExecutionCost(
+        SELECT_QUERY_RESOURCE_BY_INDEX, System.nanoTime() - startTime);
     return new Pair<>(seq, unSeq);
   }
 
+  /**
+   * @return {@code null} if all files should be selected
+   */
+  private static List<TimeRange> getTimeRanges(Filter timeFilter) {
+    if (timeFilter == null) {
+      return null;
+    }
+    try {
+      return timeFilter.getTimeRanges();
+    } catch (UnsupportedOperationException e) {
+      // the filter contains value filter, we cannot get the time ranges of it
+      return null;
+    }
+  }
+
+  /**
+   * @return the number of files in the index
+   */
+  private static int selectByIntervalIndex(
+      TsFileResourceList tsFileResources,
+      List<TimeRange> timeRanges,
+      List<TsFileResource> selected) {
+    TsFileIntervalIndex index = tsFileResources.getIntervalIndex();
+    selected.addAll(index.query(timeRanges));
+    return index.size();
+  }
+
   public List<TsFileResource> getTsFileListSnapshot(long timePartition, boolean sequence) {
     readLock();
     try {
@@ -303,8 +352,19 @@ public class TsFileManager {
   private void registerTsFileResourceToResourceManager(TsFileResource resource) {
     TsFileResourceStatus status = resource.getStatus();
     if (status != TsFileResourceStatus.UNCLOSED && status != TsFileResourceStatus.DELETED) {
-      TsFileResourceManager.getInstance().registerSealedTsFileResource(resource);
+      registerSealedTsFileResource(resource);
+    }
+  }
+
+  /**
+   * Register the sealed TsFile of this data region to the TsFileResourceManager, whose devices are
+   * shared with the other TsFiles of the region if enabled.
+   */
+  public void registerSealedTsFileResource(TsFileResource resource) {
+    if (IoTDBDescriptor.getInstance().getConfig().isEnableSharedDeviceDictionary()) {
+      resource.shareDevicesInDataRegion(Integer.parseInt(dataRegionId));
     }
+    TsFileResourceManager.getInstance().registerSealedTsFileResource(resource);
   }
 
   /** This method is called after compaction to update memory. */
@@ -328,7 +388,7 @@ public class TsFileManager {
       }
       for (TsFileResource resource : targetFileResources) {
         if (!resource.isDeleted()) {
-          TsFileResourceManager.getInstance().registerSealedTsFileResource(resource);
+          registerSealedTsFileResource(resource);
           if (resource.isSeq()) {
             sequenceFiles
                 .computeIfAbsent(timePartition, t -> new TsFileResourceList())
@@ -44,6 +44,8 @@ import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Modification
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.ModificationFileV1;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DeviceIdDictionaryManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DictionaryDeviceTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.PlainDeviceTimeIndex;
@@ -499,6 +501,10 @@ public class TsFileResource implements PersistentResource, Cloneable {
     return prepareModFileForWrite();
   }
 
+  public long getSharedModFileOffset() {
+    return sharedModFileOffset;
+  }
+
   public ModificationFile getSharedModFile() {
     if (!useSharedModFile) {
       return null;
@@ -762,6 +768,22 @@ public class TsFileResource implements PersistentResource, Cloneable {
     timeIndex.close();
   }
 
+  /**
+   * Keep the devices of the sealed TsFile as the ordinals in the dictionary of the given data
+   * region, which shall be the region owning the TsFile.
+   */
+  public void shareDevicesInDataRegion(int dataRegionId) {
+    ITimeIndex current = timeIndex;
+    if (current.getTimeIndexType() != ITimeIndex.ARRAY_DEVICE_TIME_INDEX_TYPE
+        || current instanceof DictionaryDeviceTimeIndex) {
+      return;
+    }
+    timeIndex =
+        DictionaryDeviceTimeIndex.of(
+            (ArrayDeviceTimeIndex) current,
+            DeviceIdDictionaryManager.getInstance().getDictionary(dataRegionId));
+  }
+
   public TsFileProcessor getProcessor() {
     return processor;
   }
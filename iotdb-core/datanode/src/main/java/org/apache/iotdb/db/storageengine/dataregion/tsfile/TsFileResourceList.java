@@ -40,6 +40,10 @@ public class TsFileResourceList implements List<TsFileResource> {
   private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
   private int count = 0;
 
+  // increased by every modification of the list, used to find out the stale interval index
+  private long version = 0;
+  private volatile TsFileIntervalIndex intervalIndex;
+
   /**
    * Insert a new node before an existing node
    *
@@ -59,6 +63,7 @@ public class TsFileResourceList implements List<TsFileResource> {
     }
     node.prev = newNode;
     count++;
+    version++;
   }
 
   /**
@@ -77,6 +82,7 @@ public class TsFileResourceList implements List<TsFileResource> {
     }
     node.next = newNode;
     count++;
+    version++;
   }
 
   @Override
@@ -126,6 +132,7 @@ public class TsFileResourceList implements List<TsFileResource> {
       header = newNode;
       tail = newNode;
       count++;
+      version++;
     } else {
       insertAfter(tail, newNode);
     }
@@ -147,6 +154,7 @@ public class TsFileResourceList implements List<TsFileResource> {
       header = newNode;
       tail = newNode;
       count++;
+      version++;
     } else {
       TsFileNameGenerator.TsFileName newTsFileName =
           TsFileNameGenerator.getTsFileName(newNode.getTsFile().getName());
@@ -221,6 +229,7 @@ public class TsFileResourceList implements List<TsFileResource> {
     tsFileResource.prev = null;
     tsFileResource.next = null;
     count--;
+    version++;
     return true;
   }
 
@@ -246,6 +255,7 @@ public class TsFileResourceList implements List<TsFileResource> {
     header = null;
     tail = null;
     count = 0;
+    version++;
   }
 
   @Override
@@ -363,6 +373,20 @@ public class TsFileResourceList implements List<TsFileResource> {
     return list;
   }
 
+  /**
+   * Get the interval index of the files in this list, the index is rebuilt lazily after the list is
+   * modified. The caller should hold the read lock of the TsFileManager to make sure the list is
+   * not modified concurrently.
+   */
+  public TsFileIntervalIndex getIntervalIndex() {
+    TsFileIntervalIndex index = intervalIndex;
+    if (index == null || index.getVersion() != version) {
+      index = new TsFileIntervalIndex(getArrayList(), version);
+      intervalIndex = index;
+    }
+    return index;
+  }
+
   private class TsFileIterator implements Iterator<TsFileResource> {
     List<TsFileResource> tsFileResourceList;
     int currentIndex = 0;
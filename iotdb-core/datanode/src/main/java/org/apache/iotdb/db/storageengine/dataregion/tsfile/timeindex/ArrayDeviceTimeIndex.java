@@ -94,6 +94,12 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
     updateMinStartTimeAndMaxEndTime();
   }
 
+  /** For the subclasses which keep the devices and the times by themselves. */
+  protected ArrayDeviceTimeIndex(long minStartTime, long maxEndTime) {
+    this.minStartTime = minStartTime;
+    this.maxEndTime = maxEndTime;
+  }
+
   @Override
   public void serialize(OutputStream outputStream) throws IOException {
     ReadWriteIOUtils.write(ARRAY_DEVICE_TIME_INDEX_TYPE, outputStream);
@@ -300,7 +306,7 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
     }
   }
 
-  private long getTimePartitionWithCheck() throws PartitionViolationException {
+  protected long getTimePartitionWithCheck() throws PartitionViolationException {
     Long partitionId = null;
 
     for (final int index : deviceToIndex.values()) {
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.utils.RamUsageEstimator;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The devices of a data region interned as ordinals, which are shared by the {@link
+ * ArrayDeviceTimeIndex}es of the sealed TsFiles in the region, so that each of them only stores the
+ * ordinals of its devices instead of a map from the devices.
+ *
+ * <p>The ordinal of a device never changes, and the devices are never removed until the region is
+ * deleted.
+ */
+public class DeviceIdDictionary {
+
+  private static final int INIT_ARRAY_SIZE = 64;
+
+  private final Map<IDeviceID, Integer> deviceToOrdinal = new ConcurrentHashMap<>();
+
+  private volatile IDeviceID[] devices = new IDeviceID[INIT_ARRAY_SIZE];
+
+  private int size = 0;
+
+  /** Return the ordinal of the device, or -1 if the device is not in the dictionary. */
+  public int getOrdinal(IDeviceID deviceID) {
+    Integer ordinal = deviceToOrdinal.get(deviceID);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  public int getOrCreateOrdinal(IDeviceID deviceID) {
+    Integer ordinal = deviceToOrdinal.get(deviceID);
+    return ordinal == null ? createOrdinal(deviceID) : ordinal;
+  }
+
+  private synchronized int createOrdinal(IDeviceID deviceID) {
+    Integer ordinal = deviceToOrdinal.get(deviceID);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    if (size == devices.length) {
+      devices = Arrays.copyOf(devices, devices.length * 2);
+    }
+    devices[size] = deviceID;
+    deviceToOrdinal.put(deviceID, size);
+    return size++;
+  }
+
+  /** The interned device of the ordinal got from this dictionary. */
+  public IDeviceID getDevice(int ordinal) {
+    return devices[ordinal];
+  }
+
+  public int size() {
+    return deviceToOrdinal.size();
+  }
+
+  public long calculateRamSize() {
+    return RamUsageEstimator.sizeOfMap(
+            deviceToOrdinal, RamUsageEstimator.shallowSizeOfInstance(Integer.class))
+        + RamUsageEstimator.shallowSizeOf(devices);
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex;
+
+import org.apache.iotdb.db.storageengine.rescon.memory.TsFileResourceManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** The {@link DeviceIdDictionary}s of the data regions on this DataNode. */
+public class DeviceIdDictionaryManager {
+
+  private final Map<Integer, DeviceIdDictionary> dictionaryMap = new ConcurrentHashMap<>();
+
+  private DeviceIdDictionaryManager() {
+    // singleton
+  }
+
+  public DeviceIdDictionary getDictionary(int dataRegionId) {
+    return dictionaryMap.computeIfAbsent(dataRegionId, id -> new DeviceIdDictionary());
+  }
+
+  /**
+   * The dictionary is still referenced by the time indexes using it, thus it is released after all
+   * of them are released, while the memory charged for it is released now.
+   */
+  public void removeDictionary(int dataRegionId) {
+    DeviceIdDictionary dictionary = dictionaryMap.remove(dataRegionId);
+    if (dictionary != null) {
+      TsFileResourceManager.getInstance().releaseDeviceIdDictionary(dictionary);
+    }
+  }
+
+  public static DeviceIdDictionaryManager getInstance() {
+    return DeviceIdDictionaryManagerHolder.INSTANCE;
+  }
+
+  private static class DeviceIdDictionaryManagerHolder {
+
+    private static final DeviceIdDictionaryManager INSTANCE = new DeviceIdDictionaryManager();
+
+    private DeviceIdDictionaryManagerHolder() {}
+  }
+}
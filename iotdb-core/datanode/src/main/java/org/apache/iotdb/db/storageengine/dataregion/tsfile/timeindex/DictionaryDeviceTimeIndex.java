@@ -0,0 +1,485 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
+import org.apache.iotdb.commons.utils.TimePartitionUtils;
+import org.apache.iotdb.db.exception.load.PartitionViolationException;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.RamUsageEstimator;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The {@link ArrayDeviceTimeIndex} of a sealed TsFile, which keeps the devices as the sorted
+ * ordinals in the {@link DeviceIdDictionary} of its data region instead of a map, and finds a
+ * device by binary search.
+ *
+ * <p>It is serialized in the same format as {@link ArrayDeviceTimeIndex}, where the index of a
+ * device is its position in the sorted ordinals.
+ */
+public class DictionaryDeviceTimeIndex extends ArrayDeviceTimeIndex {
+
+  private static final long INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(DictionaryDeviceTimeIndex.class)
+          + RamUsageEstimator.shallowSizeOfInstance(Entries.class);
+
+  private final DeviceIdDictionary dictionary;
+
+  /**
+   * The arrays are replaced together when a device is added, so that the readers always see the
+   * ordinals and the times of the same devices.
+   */
+  private volatile Entries entries;
+
+  private DictionaryDeviceTimeIndex(
+      DeviceIdDictionary dictionary, Entries entries, long minStartTime, long maxEndTime) {
+    super(minStartTime, maxEndTime);
+    this.dictionary = dictionary;
+    this.entries = entries;
+  }
+
+  /** Build the index with the same devices and times as the given one. */
+  public static DictionaryDeviceTimeIndex of(
+      ArrayDeviceTimeIndex timeIndex, DeviceIdDictionary dictionary) {
+    Map<IDeviceID, Integer> deviceToIndex = timeIndex.deviceToIndex;
+    // the high 32 bits are the ordinal and the low 32 bits are the index in the given one
+    long[] ordinalAndIndexes = new long[deviceToIndex.size()];
+    int i = 0;
+    for (Map.Entry<IDeviceID, Integer> entry : deviceToIndex.entrySet()) {
+      ordinalAndIndexes[i++] =
+          ((long) dictionary.getOrCreateOrdinal(entry.getKey()) << 32) | entry.getValue();
+    }
+    Arrays.sort(ordinalAndIndexes);
+
+    int[] ordinals = new int[ordinalAndIndexes.length];
+    long[] startTimes = new long[ordinalAndIndexes.length];
+    long[] endTimes = new long[ordinalAndIndexes.length];
+    for (i = 0; i < ordinalAndIndexes.length; i++) {
+      int index = (int) ordinalAndIndexes[i];
+      ordinals[i] = (int) (ordinalAndIndexes[i] >>> 32);
+      startTimes[i] = timeIndex.startTimes[index];
+      endTimes[i] = timeIndex.endTimes[index];
+    }
+    return new DictionaryDeviceTimeIndex(
+        dictionary,
+        new Entries(ordinals, startTimes, endTimes),
+        timeIndex.getMinStartTime(),
+        timeIndex.getMaxEndTime());
+  }
+
+  public DeviceIdDictionary getDictionary() {
+    return dictionary;
+  }
+
+  @Override
+  public void serialize(OutputStream outputStream) throws IOException {
+    Entries current = entries;
+    ReadWriteIOUtils.write(ARRAY_DEVICE_TIME_INDEX_TYPE, outputStream);
+    int deviceNum = current.ordinals.length;
+
+    ReadWriteIOUtils.write(deviceNum, outputStream);
+    for (int i = 0; i < deviceNum; i++) {
+      ReadWriteIOUtils.write(current.startTimes[i], outputStream);
+      ReadWriteIOUtils.write(current.endTimes[i], outputStream);
+    }
+
+    for (int i = 0; i < deviceNum; i++) {
+      dictionary.getDevice(current.ordinals[i]).serialize(outputStream);
+      ReadWriteIOUtils.write(i, outputStream);
+    }
+  }
+
+  @Override
+  public ArrayDeviceTimeIndex deserialize(
+      InputStream inputStream, IDeviceID.Deserializer deserializer) throws IOException {
+    // the serialized index does not belong to any data region, thus it is not in a dictionary
+    return new ArrayDeviceTimeIndex().deserialize(inputStream, deserializer);
+  }
+
+  @Override
+  public ArrayDeviceTimeIndex deserialize(ByteBuffer buffer) {
+    return new ArrayDeviceTimeIndex().deserialize(buffer);
+  }
+
+  @Override
+  public void close() {
+    // the arrays are always trimmed
+  }
+
+  @Override
+  public Set<IDeviceID> getDevices() {
+    return new DeviceSet(entries);
+  }
+
+  @Override
+  public Set<IDeviceID> getDevices(String tsFilePath, TsFileResource tsFileResource) {
+    return getDevices();
+  }
+
+  @Override
+  public Set<IDeviceID> getDevices(
+      String tsFilePath, TsFileResource tsFileResource, RateLimiter limiter) {
+    return getDevices();
+  }
+
+  /** The returned map is built on each call, the index of a device is its position. */
+  @Override
+  public Map<IDeviceID, Integer> getDeviceToIndex() {
+    int[] ordinals = entries.ordinals;
+    Map<IDeviceID, Integer> deviceToIndexMap = new HashMap<>(ordinals.length * 4 / 3 + 1);
+    for (int i = 0; i < ordinals.length; i++) {
+      deviceToIndexMap.put(dictionary.getDevice(ordinals[i]), i);
+    }
+    return deviceToIndexMap;
+  }
+
+  @Override
+  public long[] getEndTimes() {
+    return entries.endTimes;
+  }
+
+  @Override
+  public long[] getStartTimes() {
+    return entries.startTimes;
+  }
+
+  @Override
+  public boolean endTimeEmpty() {
+    for (long endTime : entries.endTimes) {
+      if (endTime != Long.MIN_VALUE) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean stillLives(long ttlLowerBound) {
+    if (ttlLowerBound == Long.MAX_VALUE) {
+      return true;
+    }
+    for (long endTime : entries.endTimes) {
+      // the file cannot be deleted if any device still lives
+      if (endTime >= ttlLowerBound) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The dictionary is shared by the region, thus it is not counted here but charged once for the
+   * region by TsFileResourceManager.
+   */
+  @Override
+  public long calculateRamSize() {
+    Entries current = entries;
+    return INSTANCE_SIZE
+        + RamUsageEstimator.sizeOf(current.ordinals)
+        + RamUsageEstimator.sizeOf(current.startTimes)
+        + RamUsageEstimator.sizeOf(current.endTimes);
+  }
+
+  private int indexOf(Entries current, IDeviceID deviceId) {
+    int ordinal = dictionary.getOrdinal(deviceId);
+    return ordinal < 0 ? -1 : Math.max(Arrays.binarySearch(current.ordinals, ordinal), -1);
+  }
+
+  /**
+   * Add a device which is not in the index. The times are updated under the same lock, otherwise an
+   * update to the arrays being replaced here is lost.
+   */
+  private synchronized void addDevice(IDeviceID deviceId, long startTime, long endTime) {
+    Entries current = entries;
+    int ordinal = dictionary.getOrCreateOrdinal(deviceId);
+    int position = Arrays.binarySearch(current.ordinals, ordinal);
+    if (position >= 0) {
+      // added by another thread
+      current.startTimes[position] = Math.min(current.startTimes[position], startTime);
+      current.endTimes[position] = Math.max(current.endTimes[position], endTime);
+      return;
+    }
+    position = -position - 1;
+    int length = current.ordinals.length;
+    int[] ordinals = new int[length + 1];
+    long[] startTimes = new long[length + 1];
+    long[] endTimes = new long[length + 1];
+    System.arraycopy(current.ordinals, 0, ordinals, 0, position);
+    System.arraycopy(current.startTimes, 0, startTimes, 0, position);
+    System.arraycopy(current.endTimes, 0, endTimes, 0, position);
+    ordinals[position] = ordinal;
+    startTimes[position] = startTime;
+    endTimes[position] = endTime;
+    System.arraycopy(current.ordinals, position, ordinals, position + 1, length - position);
+    System.arraycopy(current.startTimes, position, startTimes, position + 1, length - position);
+    System.arraycopy(current.endTimes, position, endTimes, position + 1, length - position);
+    entries = new Entries(ordinals, startTimes, endTimes);
+  }
+
+  @Override
+  public long getTimePartition(String tsFilePath) {
+    Entries current = entries;
+    if (current.ordinals.length > 0) {
+      return TimePartitionUtils.getTimePartitionId(current.startTimes[0]);
+    }
+    return super.getTimePartition(tsFilePath);
+  }
+
+  @Override
+  protected long getTimePartitionWithCheck() throws PartitionViolationException {
+    Entries current = entries;
+    Long partitionId = null;
+
+    for (int i = 0; i < current.ordinals.length; i++) {
+      final long startTimePartitionId =
+          TimePartitionUtils.getTimePartitionId(current.startTimes[i]);
+      final long endTimePartitionId = TimePartitionUtils.getTimePartitionId(current.endTimes[i]);
+
+      if (startTimePartitionId != endTimePartitionId) {
+        throw new PartitionViolationException();
+      }
+
+      if (partitionId == null) {
+        partitionId = startTimePartitionId;
+        continue;
+      }
+
+      if (partitionId != startTimePartitionId) {
+        throw new PartitionViolationException();
+      }
+    }
+
+    // Just in case
+    if (partitionId == null) {
+      throw new PartitionViolationException();
+    }
+
+    return partitionId;
+  }
+
+  @Override
+  public synchronized void updateStartTime(IDeviceID deviceId, long time) {
+    Entries current = entries;
+    int index = indexOf(current, deviceId);
+    if (index < 0) {
+      addDevice(deviceId, time, Long.MIN_VALUE);
+    } else if (time < current.startTimes[index]) {
+      current.startTimes[index] = time;
+    }
+    minStartTime = Math.min(minStartTime, time);
+  }
+
+  @Override
+  public synchronized void updateEndTime(IDeviceID deviceId, long time) {
+    Entries current = entries;
+    int index = indexOf(current, deviceId);
+    if (index < 0) {
+      addDevice(deviceId, Long.MAX_VALUE, time);
+    } else if (time > current.endTimes[index]) {
+      current.endTimes[index] = time;
+    }
+    maxEndTime = Math.max(maxEndTime, time);
+  }
+
+  @Override
+  public synchronized void putStartTime(IDeviceID deviceId, long time) {
+    Entries current = entries;
+    int index = indexOf(current, deviceId);
+    if (index < 0) {
+      addDevice(deviceId, time, Long.MIN_VALUE);
+    } else {
+      current.startTimes[index] = time;
+    }
+    minStartTime = Math.min(minStartTime, time);
+  }
+
+  @Override
+  public synchronized void putEndTime(IDeviceID deviceId, long time) {
+    Entries current = entries;
+    int index = indexOf(current, deviceId);
+    if (index < 0) {
+      addDevice(deviceId, Long.MAX_VALUE, time);
+    } else {
+      current.endTimes[index] = time;
+    }
+    maxEndTime = Math.max(maxEndTime, time);
+  }
+
+  @Override
+  public Optional<Long> getStartTime(IDeviceID deviceId) {
+    Entries current = entries;
+    int index = indexOf(current, deviceId);
+    return index < 0 ? Optional.empty() : Optional.of(current.startTimes[index]);
+  }
+
+  @Override
+  public Optional<Long> getEndTime(IDeviceID deviceId) {
+    Entries current = entries;
+    int index = indexOf(current, deviceId);
+    return index < 0 ? Optional.empty() : Optional.of(current.endTimes[index]);
+  }
+
+  @Override
+  public boolean checkDeviceIdExist(IDeviceID deviceId) {
+    return indexOf(entries, deviceId) >= 0;
+  }
+
+  @Override
+  public boolean definitelyNotContains(IDeviceID device) {
+    return indexOf(entries, device) < 0;
+  }
+
+  @Override
+  public boolean isDeviceAlive(IDeviceID device, long ttl) {
+    if (ttl == Long.MAX_VALUE) {
+      return true;
+    }
+    Entries current = entries;
+    int index = indexOf(current, device);
+    return index >= 0 && current.endTimes[index] >= CommonDateTimeUtils.currentTime() - ttl;
+  }
+
+  @Override
+  public long[] getStartAndEndTime(IDeviceID deviceId) {
+    Entries current = entries;
+    int index = indexOf(current, deviceId);
+    return index < 0 ? null : new long[] {current.startTimes[index], current.endTimes[index]};
+  }
+
+  @Override
+  public Pair<Long, Long> getPossibleStartTimeAndEndTime(
+      PartialPath devicePattern, Set<IDeviceID> deviceMatchInfo) {
+    Entries current = entries;
+    boolean hasMatchedDevice = false;
+    long startTime = Long.MAX_VALUE;
+    long endTime = Long.MIN_VALUE;
+    for (int i = 0; i < current.ordinals.length; i++) {
+      IDeviceID device = dictionary.getDevice(current.ordinals[i]);
+      try {
+        if (!deviceMatchInfo.contains(device)) {
+          if (!devicePattern.matchFullPath(new PartialPath(device))) {
+            continue;
+          }
+          deviceMatchInfo.add(device);
+        }
+        hasMatchedDevice = true;
+        startTime = Math.min(startTime, current.startTimes[i]);
+        endTime = Math.max(endTime, current.endTimes[i]);
+      } catch (IllegalPathException e) {
+        // won't reach here
+      }
+    }
+
+    return hasMatchedDevice ? new Pair<>(startTime, endTime) : null;
+  }
+
+  @Override
+  public String toString() {
+    Entries current = entries;
+    StringBuilder builder = new StringBuilder();
+    builder.append(" DeviceNum = ").append(current.ordinals.length);
+    builder.append(" Devices = [");
+    for (int i = 0; i < current.ordinals.length; i++) {
+      builder
+          .append(" device = ")
+          .append(dictionary.getDevice(current.ordinals[i]))
+          .append(", index = ")
+          .append(i);
+    }
+    builder.append("]");
+    builder.append(" StartTimes = ").append(Arrays.toString(current.startTimes));
+    builder.append(" EndTimes = ").append(Arrays.toString(current.endTimes));
+    return builder.toString();
+  }
+
+  private static class Entries {
+
+    /** The ordinals of the devices in the dictionary, in ascending order. */
+    private final int[] ordinals;
+
+    private final long[] startTimes;
+    private final long[] endTimes;
+
+    private Entries(int[] ordinals, long[] startTimes, long[] endTimes) {
+      this.ordinals = ordinals;
+      this.startTimes = startTimes;
+      this.endTimes = endTimes;
+    }
+  }
+
+  /** A view of the devices in the entries, which is not changed by the added devices. */
+  private class DeviceSet extends AbstractSet<IDeviceID> {
+
+    private final Entries snapshot;
+
+    private DeviceSet(Entries snapshot) {
+      this.snapshot = snapshot;
+    }
+
+    @Override
+    public Iterator<IDeviceID> iterator() {
+      return new Iterator<IDeviceID>() {
+        private int position = 0;
+
+        @Override
+        public boolean hasNext() {
+          return position < snapshot.ordinals.length;
+        }
+
+        @Override
+        public IDeviceID next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return dictionary.getDevice(snapshot.ordinals[position++]);
+        }
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof IDeviceID && indexOf(snapshot, (IDeviceID) o) >= 0;
+    }
+
+    @Override
+    public int size() {
+      return snapshot.ordinals.length;
+    }
+  }
+}
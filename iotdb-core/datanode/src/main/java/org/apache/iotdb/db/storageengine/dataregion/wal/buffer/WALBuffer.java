@@ -52,16 +52,21 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -117,6 +122,15 @@ public class WALBuffer extends AbstractWALBuffer {
   protected volatile WALFileStatus currentFileStatus;
   // single thread to serialize WALEntry to workingBuffer
   private final ExecutorService serializeThread;
+  // threads to serialize WALEntries in parallel for serializeThread, null if only 1 thread is
+  // configured
+  private final ExecutorService serializeHelperThreads;
+  // max number of WALEntries serialized by serializeHelperThreads but not copied to workingBuffer
+  private final int maxPendingSerializeTaskNum;
+  // whether serializeThread has taken WALEntries which are not handed over to syncBufferThread
+  private volatile boolean isSerializing = false;
+  // number of SyncBufferTasks submitted but not finished, including rolling log writer
+  private final AtomicInteger unfinishedSyncTaskNum = new AtomicInteger(0);
   // single thread to sync syncingBuffer to disk
   private final ExecutorService syncBufferThread;
 
@@ -139,6 +153,17 @@ public class WALBuffer extends AbstractWALBuffer {
     currentFileStatus = WALFileStatus.CONTAINS_NONE_SEARCH_INDEX;
     allocateBuffers();
     currentWALFileWriter.setCompressedByteBuffer(compressedByteBuffer);
+    int serializeThreadCount = config.getWalSerializeThreadCount();
+    if (serializeThreadCount > 1) {
+      serializeHelperThreads =
+          IoTDBThreadPoolFactory.newFixedThreadPool(
+              serializeThreadCount,
+              ThreadName.WAL_SERIALIZE_HELPER.getName() + "(node-" + identifier + ")");
+      maxPendingSerializeTaskNum = serializeThreadCount * 2;
+    } else {
+      serializeHelperThreads = null;
+      maxPendingSerializeTaskNum = 0;
+    }
     serializeThread =
         IoTDBThreadPoolFactory.newSingleThreadExecutor(
             ThreadName.WAL_SERIALIZE.getName() + "(node-" + identifier + ")");
@@ -224,17 +249,42 @@ public class WALBuffer extends AbstractWALBuffer {
     WALFlushListener rollWALFileWriterListener = null;
   }
 
-  /** This task serializes WALEntry to workingBuffer and will call fsync at last. */
+  /** WALEntry being serialized by serializeHelperThreads. */
+  private static class SerializingWALEntry {
+    private final WALEntry walEntry;
+    private final int serializedSize;
+    private final Future<ByteBuffer> serializedBuffer;
+
+    private SerializingWALEntry(
+        WALEntry walEntry, int serializedSize, Future<ByteBuffer> serializedBuffer) {
+      this.walEntry = walEntry;
+      this.serializedSize = serializedSize;
+      this.serializedBuffer = serializedBuffer;
+    }
+  }
+
+  /**
+   * This task serializes WALEntry to workingBuffer and will call fsync at last. If
+   * serializeHelperThreads exists, WALEntries are serialized by them in parallel, and this task
+   * copies the serialized bytes to workingBuffer in the arrival order of WALEntries, so the layout
+   * of wal files and the order of search indexes are the same as serializing them one by one.
+   */
   private class SerializeTask implements Runnable {
     private final ByteBufferView byteBufferView = new ByteBufferView();
     private final SerializeInfo info = new SerializeInfo();
     private int totalSize = 0;
+    // serialized size of pendingEntries, counted when they are taken so that the write batch is cut
+    // at the same WALEntry as serializing them one by one
+    private int pendingSize = 0;
+    // WALEntries being serialized by serializeHelperThreads, in their arrival order
+    private final Deque<SerializingWALEntry> pendingEntries = new ArrayDeque<>();
 
     @Override
     public void run() {
       try {
         serialize();
       } finally {
+        isSerializing = false;
         if (!isClosed) {
           serializeThread.submit(new SerializeTask());
         }
@@ -247,6 +297,7 @@ public class WALBuffer extends AbstractWALBuffer {
       long start = System.nanoTime();
       try {
         WALEntry firstWALEntry = walEntries.take();
+        isSerializing = true;
         boolean returnFlag = handleWALEntry(firstWALEntry);
         if (returnFlag) {
           WRITING_METRICS.recordSerializeWALEntryTotalCost(System.nanoTime() - start);
@@ -259,7 +310,7 @@ public class WALBuffer extends AbstractWALBuffer {
       }
 
       // try to get more WALEntries with blocking interface to enlarge write batch
-      while (totalSize < ONE_THIRD_WAL_BUFFER_SIZE * FSYNC_BUFFER_RATIO) {
+      while (totalSize + pendingSize < ONE_THIRD_WAL_BUFFER_SIZE * FSYNC_BUFFER_RATIO) {
         WALEntry walEntry = null;
         try {
           // for better fsync performance, wait a while to enlarge write batch
@@ -285,6 +336,7 @@ public class WALBuffer extends AbstractWALBuffer {
           return;
         }
       }
+      copyAllPendingEntries();
       WRITING_METRICS.recordSerializeWALEntryTotalCost(System.nanoTime() - start);
 
       // call fsync at last and set fsyncListeners
@@ -315,6 +367,72 @@ public class WALBuffer extends AbstractWALBuffer {
         return;
       }
 
+      // memTable snapshot may be huge, serialize it into workingBuffer directly
+      if (serializeHelperThreads == null
+          || walEntry.getType() == WALEntryType.MEMORY_TABLE_SNAPSHOT) {
+        copyAllPendingEntries();
+        serializeToWorkingBuffer(walEntry);
+        return;
+      }
+
+      int serializedSize = walEntry.serializedSize();
+      pendingSize += serializedSize;
+      pendingEntries.add(
+          new SerializingWALEntry(
+              walEntry,
+              serializedSize,
+              serializeHelperThreads.submit(
+                  () -> serializeToHeapBuffer(walEntry, serializedSize))));
+      copyPendingEntries(pendingEntries.size() >= maxPendingSerializeTaskNum);
+    }
+
+    /**
+     * Copy serialized WALEntries to workingBuffer in their arrival order, stop at the first one not
+     * serialized yet.
+     *
+     * @param waitForHead whether to wait until the first pending WALEntry is serialized
+     */
+    private void copyPendingEntries(boolean waitForHead) {
+      while (!pendingEntries.isEmpty()
+          && (waitForHead || pendingEntries.peek().serializedBuffer.isDone())) {
+        copyToWorkingBuffer(pendingEntries.poll());
+        waitForHead = false;
+      }
+    }
+
+    private void copyAllPendingEntries() {
+      while (!pendingEntries.isEmpty()) {
+        copyToWorkingBuffer(pendingEntries.poll());
+      }
+    }
+
+    private void copyToWorkingBuffer(SerializingWALEntry entry) {
+      pendingSize -= entry.serializedSize;
+      ByteBuffer serializedBuffer;
+      long startTime = System.nanoTime();
+      try {
+        serializedBuffer = entry.serializedBuffer.get();
+      } catch (ExecutionException e) {
+        logger.error(
+            "Fail to serialize WALEntry to wal node-{}'s buffer, discard it.",
+            identifier,
+            e.getCause());
+        entry.walEntry.getWalFlushListener().fail(e);
+        return;
+      } catch (InterruptedException e) {
+        logger.warn("Interrupted when waiting for serializing WALEntry, discard it.");
+        Thread.currentThread().interrupt();
+        entry.walEntry.getWalFlushListener().fail(e);
+        return;
+      } finally {
+        WRITING_METRICS.recordWaitSerializeWALEntryCost(System.nanoTime() - startTime);
+      }
+      int size = serializedBuffer.position();
+      byteBufferView.put(serializedBuffer.array(), 0, size);
+      updateInfo(entry.walEntry, size);
+    }
+
+    private void serializeToWorkingBuffer(WALEntry walEntry) {
       int startPosition = byteBufferView.position();
       int size;
       try {
@@ -326,6 +444,11 @@ public class WALBuffer extends AbstractWALBuffer {
         walEntry.getWalFlushListener().fail(e);
         return;
       }
+      updateInfo(walEntry, size);
+    }
+
+    /** Update search index and related info after walEntry is written to workingBuffer. */
+    private void updateInfo(WALEntry walEntry, int size) {
       // parse search index
       long searchIndex = DEFAULT_SEARCH_INDEX;
       if (walEntry.getType().needSearch()) {
@@ -358,6 +481,7 @@ public class WALBuffer extends AbstractWALBuffer {
      *     should be ended.
      */
     private boolean handleSignalEntry(WALSignalEntry walSignalEntry) {
+      copyAllPendingEntries();
       switch (walSignalEntry.getType()) {
         case ROLL_WAL_LOG_WRITER_SIGNAL:
           if (logger.isDebugEnabled()) {
@@ -421,10 +545,14 @@ public class WALBuffer extends AbstractWALBuffer {
 
     @Override
     public void put(byte[] src) {
-      int offset = 0;
+      put(src, 0, src.length);
+    }
+
+    private void put(byte[] src, int offset, int length) {
+      int end = offset + length;
       while (true) {
         int leftCapacity = workingBuffer.remaining();
-        int needCapacity = src.length - offset;
+        int needCapacity = end - offset;
         if (leftCapacity >= needCapacity) {
           workingBuffer.put(src, offset, needCapacity);
           break;
@@ -478,9 +606,101 @@ public class WALBuffer extends AbstractWALBuffer {
     }
   }
 
+  /** Serialize walEntry into a heap buffer, called by serializeHelperThreads. */
+  private static ByteBuffer serializeToHeapBuffer(WALEntry walEntry, int serializedSize) {
+    HeapByteBufferView heapByteBufferView = new HeapByteBufferView(serializedSize);
+    walEntry.serialize(heapByteBufferView);
+    return heapByteBufferView.buffer;
+  }
+
+  /** This view writes to a heap buffer, which will be expanded when there is no enough space. */
+  private static class HeapByteBufferView extends IWALByteBufferView {
+    private static final int MIN_CAPACITY = 64;
+
+    private ByteBuffer buffer;
+
+    private HeapByteBufferView(int initialCapacity) {
+      buffer = ByteBuffer.allocate(Math.max(initialCapacity, MIN_CAPACITY));
+    }
+
+    private void ensureEnoughSpace(int bytesNum) {
+      if (buffer.remaining() < bytesNum) {
+        int newCapacity = Math.max(buffer.capacity() * 2, buffer.position() + bytesNum);
+        ByteBuffer newBuffer = ByteBuffer.allocate(newCapacity);
+        buffer.flip();
+        newBuffer.put(buffer);
+        buffer = newBuffer;
+      }
+    }
+
+    @Override
+    public void write(int b) {
+      put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b) {
+      put(b);
+    }
+
+    @Override
+    public void put(byte b) {
+      ensureEnoughSpace(Byte.BYTES);
+      buffer.put(b);
+    }
+
+    @Override
+    public void put(byte[] src) {
+      ensureEnoughSpace(src.length);
+      buffer.put(src);
+    }
+
+    @Override
+    public void putChar(char value) {
+      ensureEnoughSpace(Character.BYTES);
+      buffer.putChar(value);
+    }
+
+    @Override
+    public void putShort(short value) {
+      ensureEnoughSpace(Short.BYTES);
+      buffer.putShort(value);
+    }
+
+    @Override
+    public void putInt(int value) {
+      ensureEnoughSpace(Integer.BYTES);
+      buffer.putInt(value);
+    }
+
+    @Override
+    public void putLong(long value) {
+      ensureEnoughSpace(Long.BYTES);
+      buffer.putLong(value);
+    }
+
+    @Override
+    public void putFloat(float value) {
+      ensureEnoughSpace(Float.BYTES);
+      buffer.putFloat(value);
+    }
+
+    @Override
+    public void putDouble(double value) {
+      ensureEnoughSpace(Double.BYTES);
+      buffer.putDouble(value);
+    }
+
+    @Override
+    public int position() {
+      return buffer.position();
+    }
+  }
+
   /** Notice: this method only called when buffer is exhausted by SerializeTask. */
   private void syncWorkingBuffer(long searchIndex, WALFileStatus fileStatus) {
     switchWorkingBufferToFlushing();
+    unfinishedSyncTaskNum.incrementAndGet();
     syncBufferThread.submit(new SyncBufferTask(searchIndex, fileStatus, false));
     currentFileStatus = WALFileStatus.CONTAINS_NONE_SEARCH_INDEX;
   }
@@ -488,6 +708,7 @@ public class WALBuffer extends AbstractWALBuffer {
   /** Notice: this method only called at the last of SerializeTask. */
   private void fsyncWorkingBuffer(long searchIndex, WALFileStatus fileStatus, SerializeInfo info) {
     switchWorkingBufferToFlushing();
+    unfinishedSyncTaskNum.incrementAndGet();
     syncBufferThread.submit(new SyncBufferTask(searchIndex, fileStatus, true, info));
     currentFileStatus = WALFileStatus.CONTAINS_NONE_SEARCH_INDEX;
   }
@@ -537,6 +758,14 @@ public class WALBuffer extends AbstractWALBuffer {
 
     @Override
     public void run() {
+      try {
+        sync();
+      } finally {
+        unfinishedSyncTaskNum.decrementAndGet();
+      }
+    }
+
+    private void sync() {
       final long startTime = System.nanoTime();
 
       makeMemTableCheckpoints();
@@ -703,6 +932,9 @@ public class WALBuffer extends AbstractWALBuffer {
       }
       shutdownThread(serializeThread, ThreadName.WAL_SERIALIZE);
     }
+    if (serializeHelperThreads != null) {
+      shutdownThread(serializeHelperThreads, ThreadName.WAL_SERIALIZE_HELPER);
+    }
     if (syncBufferThread != null) {
       shutdownThread(syncBufferThread, ThreadName.WAL_SYNC);
     }
@@ -742,7 +974,11 @@ public class WALBuffer extends AbstractWALBuffer {
   public boolean isAllWALEntriesConsumed() {
     buffersLock.lock();
     try {
-      return walEntries.isEmpty() && workingBuffer.position() == 0 && syncingBuffer == null;
+      return walEntries.isEmpty()
+          && !isSerializing
+          && unfinishedSyncTaskNum.get() == 0
+          && workingBuffer.position() == 0
+          && syncingBuffer == null;
     } finally {
       buffersLock.unlock();
     }
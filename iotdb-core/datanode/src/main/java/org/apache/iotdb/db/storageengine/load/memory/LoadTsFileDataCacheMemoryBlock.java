@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.storageengine.load.memory;
 
+import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.exception.load.LoadRuntimeOutOfMemoryException;
 
 import org.slf4j.Logger;
@@ -122,6 +123,11 @@ public class LoadTsFileDataCacheMemoryBlock extends LoadTsFileAbstractMemoryBloc
     return limitedMemorySizeInBytes.get();
   }
 
+  @TestOnly
+  public long getUsedMemoryInBytes() {
+    return memoryUsageInBytes.get();
+  }
+
   @Override
   public String toString() {
     return "LoadTsFileDataCacheMemoryBlock{"
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.rescon.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pool of fixed-size long arrays living in direct memory. Arrays are carved from large slabs so
+ * that each of them does not need its own direct buffer and cleaner, and released arrays are kept
+ * for reuse. At most maxFreeArrays released arrays are kept: once a slab has no array in use and
+ * the pool holds more free arrays than that, the slab is dropped from the pool, and its direct
+ * memory is freed when GC collects it.
+ */
+public class OffHeapLongArrayPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OffHeapLongArrayPool.class);
+
+  private final int arraySize;
+  private final int arraysPerSlab;
+  private final long maxFreeArrays;
+
+  // slab of each array carved by this pool, LongBuffer#equals compares the content
+  private final Map<LongBuffer, Slab> slabOfArray = new IdentityHashMap<>();
+  // slabs having free arrays, arrays are allocated from the first of them
+  private final Set<Slab> slabsWithFreeArrays = new LinkedHashSet<>();
+  private long freeArrayCount = 0;
+  private long slabCount = 0;
+
+  public OffHeapLongArrayPool(int arraySize, int arraysPerSlab, long maxFreeArrays) {
+    this.arraySize = arraySize;
+    this.arraysPerSlab = arraysPerSlab;
+    this.maxFreeArrays = maxFreeArrays;
+  }
+
+  public synchronized LongBuffer allocate() {
+    if (slabsWithFreeArrays.isEmpty()) {
+      allocateSlab();
+    }
+    Slab slab = slabsWithFreeArrays.iterator().next();
+    LongBuffer array = slab.freeArrays.poll();
+    if (slab.freeArrays.isEmpty()) {
+      slabsWithFreeArrays.remove(slab);
+    }
+    freeArrayCount--;
+    return array;
+  }
+
+  public synchronized void release(LongBuffer array) {
+    Slab slab = slabOfArray.get(array);
+    if (slab == null) {
+      // the slab has been dropped by clear()
+      return;
+    }
+    slab.freeArrays.add(array);
+    slabsWithFreeArrays.add(slab);
+    freeArrayCount++;
+    if (slab.freeArrays.size() == arraysPerSlab && freeArrayCount > maxFreeArrays) {
+      freeSlab(slab);
+    }
+  }
+
+  private void allocateSlab() {
+    int arrayBytes = arraySize * Long.BYTES;
+    ByteBuffer buffer =
+        ByteBuffer.allocateDirect(arrayBytes * arraysPerSlab).order(ByteOrder.nativeOrder());
+    Slab slab = new Slab(arraysPerSlab);
+    for (int i = 0; i < arraysPerSlab; i++) {
+      // Buffer#position and Buffer#limit return Buffer before Java 9
+      buffer.limit((i + 1) * arrayBytes);
+      buffer.position(i * arrayBytes);
+      LongBuffer array = buffer.slice().order(ByteOrder.nativeOrder()).asLongBuffer();
+      slab.freeArrays.add(array);
+      slabOfArray.put(array, slab);
+    }
+    slabsWithFreeArrays.add(slab);
+    freeArrayCount += arraysPerSlab;
+    slabCount++;
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Allocated off-heap slab for long arrays, total size: {} bytes",
+          getAllocatedMemoryInBytes());
+    }
+  }
+
+  private void freeSlab(Slab slab) {
+    for (LongBuffer array : slab.freeArrays) {
+      slabOfArray.remove(array);
+    }
+    slabsWithFreeArrays.remove(slab);
+    freeArrayCount -= arraysPerSlab;
+    slabCount--;
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(
+          "Freed off-heap slab for long arrays, total size: {} bytes", getAllocatedMemoryInBytes());
+    }
+  }
+
+  public synchronized long getAllocatedMemoryInBytes() {
+    return slabCount * arraysPerSlab * arraySize * Long.BYTES;
+  }
+
+  public synchronized long getFreeMemoryInBytes() {
+    return freeArrayCount * arraySize * Long.BYTES;
+  }
+
+  public synchronized void clear() {
+    slabOfArray.clear();
+    slabsWithFreeArrays.clear();
+    freeArrayCount = 0;
+    slabCount = 0;
+  }
+
+  private static class Slab {
+
+    private final ArrayDeque<LongBuffer> freeArrays;
+
+    private Slab(int arraysPerSlab) {
+      this.freeArrays = new ArrayDeque<>(arraysPerSlab);
+    }
+  }
+}
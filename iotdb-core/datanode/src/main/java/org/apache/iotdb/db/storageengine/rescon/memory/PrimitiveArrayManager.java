@@ -32,6 +32,7 @@ import org.apache.tsfile.write.UnSupportedDataTypeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.LongBuffer;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLong;
@@ -66,6 +67,19 @@ public class PrimitiveArrayManager {
   private static final double POOLED_ARRAYS_MEMORY_THRESHOLD =
       POOLED_ARRAYS_MEMORY_BLOCK.getTotalMemorySizeInBytes() / AMPLIFICATION_FACTOR;
 
+  /** number of timestamp arrays carved from one direct memory slab */
+  private static final int OFF_HEAP_ARRAYS_PER_SLAB = 256;
+
+  /**
+   * timestamp arrays of TVLists in direct memory, at most POOLED_ARRAYS_MEMORY_THRESHOLD of free
+   * arrays are kept in it
+   */
+  private static final OffHeapLongArrayPool OFF_HEAP_TIME_ARRAYS =
+      new OffHeapLongArrayPool(
+          ARRAY_SIZE,
+          OFF_HEAP_ARRAYS_PER_SLAB,
+          (long) (POOLED_ARRAYS_MEMORY_THRESHOLD / ARRAY_SIZE / Long.BYTES));
+
   /** TSDataType#serialize() -> ArrayDeque<Array>, VECTOR and UNKNOWN are ignored */
   private static final ArrayDeque[] POOLED_ARRAYS = new ArrayDeque[TSDataType.values().length];
 
@@ -294,8 +308,38 @@ public class PrimitiveArrayManager {
     }
   }
 
+  public static boolean isOffHeapTimeArrayEnabled() {
+    return CONFIG.isEnableOffHeapTVListTimestamps();
+  }
+
+  /**
+   * Get or allocate a timestamp array of TVList in direct memory, only used if
+   * enable_off_heap_tvlist_timestamps is set.
+   *
+   * @return a timestamp array of {@link #ARRAY_SIZE}
+   */
+  public static LongBuffer allocateOffHeapTimeArray() {
+    StorageEngineMemoryMetrics.getInstance().incPamAllocation();
+    return OFF_HEAP_TIME_ARRAYS.allocate();
+  }
+
+  /**
+   * This method is called when bringing back timestamp array in direct memory
+   *
+   * @param array timestamp array got from {@link #allocateOffHeapTimeArray()}
+   */
+  public static void releaseOffHeapTimeArray(LongBuffer array) {
+    StorageEngineMemoryMetrics.getInstance().incPamRelease();
+    OFF_HEAP_TIME_ARRAYS.release(array);
+  }
+
+  public static long getOffHeapMemoryInBytes() {
+    return OFF_HEAP_TIME_ARRAYS.getAllocatedMemoryInBytes();
+  }
+
   public static void close() {
     init();
+    OFF_HEAP_TIME_ARRAYS.clear();
   }
 
   /**
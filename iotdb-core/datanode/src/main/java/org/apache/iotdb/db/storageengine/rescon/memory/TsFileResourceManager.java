@@ -25,11 +25,16 @@ import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DeviceIdDictionary;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DictionaryDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.TimeIndexLevel;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.TreeSet;
 
 public class TsFileResourceManager {
@@ -45,6 +50,9 @@ public class TsFileResourceManager {
   private final TreeSet<TsFileResource> sealedTsFileResources =
       new TreeSet<>(TsFileResource::compareIndexDegradePriority);
 
+  /** the memory charged for the device dictionaries shared by the time indexes of each region */
+  private final Map<DeviceIdDictionary, Long> dictionaryRamSizes = new IdentityHashMap<>();
+
   // degraded time index number
   private long degradedTimeIndexNum = 0;
 
@@ -72,10 +80,34 @@ public class TsFileResourceManager {
     if (!sealedTsFileResources.contains(tsFileResource)) {
       sealedTsFileResources.add(tsFileResource);
       memoryBlock.forceAllocateWithoutLimitation(tsFileResource.calculateRamSize());
+      chargeDeviceIdDictionary(tsFileResource.getTimeIndex());
       chooseTsFileResourceToDegrade();
     }
   }
 
+  /**
+   * The dictionary is not counted by the time indexes sharing it, thus it is charged once for its
+   * region, and the devices added since the last charge are charged when a TsFile is registered.
+   */
+  private void chargeDeviceIdDictionary(ITimeIndex timeIndex) {
+    if (!(timeIndex instanceof DictionaryDeviceTimeIndex)) {
+      return;
+    }
+    DeviceIdDictionary dictionary = ((DictionaryDeviceTimeIndex) timeIndex).getDictionary();
+    long ramSize = dictionary.calculateRamSize();
+    Long chargedRamSize = dictionaryRamSizes.put(dictionary, ramSize);
+    memoryBlock.forceAllocateWithoutLimitation(
+        chargedRamSize == null ? ramSize : ramSize - chargedRamSize);
+  }
+
+  /** release the memory charged for the dictionary when its region is deleted */
+  public synchronized void releaseDeviceIdDictionary(DeviceIdDictionary dictionary) {
+    Long chargedRamSize = dictionaryRamSizes.remove(dictionary);
+    if (chargedRamSize != null) {
+      memoryBlock.release(chargedRamSize);
+    }
+  }
+
   /** delete the TsFileResource in PriorityQueue when the source file is deleted */
   public synchronized void removeTsFileResource(TsFileResource tsFileResource) {
     if (sealedTsFileResources.contains(tsFileResource)) {
@@ -151,6 +183,7 @@ public class TsFileResourceManager {
   @TestOnly
   public synchronized void clear() {
     this.sealedTsFileResources.clear();
+    this.dictionaryRamSizes.clear();
     this.memoryBlock.setUsedMemoryInBytes(0);
     this.degradedTimeIndexNum = 0;
   }
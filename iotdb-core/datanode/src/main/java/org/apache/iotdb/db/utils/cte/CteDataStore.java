@@ -85,6 +85,10 @@ public class CteDataStore implements Accountable {
     return tableSchema;
   }
 
+  public int getCachedRows() {
+    return cachedRows;
+  }
+
   public List<Integer> getColumnIndex2TsBlockColumnIndexList() {
     return columnIndex2TsBlockColumnIndexList;
   }
@@ -154,6 +154,7 @@ public abstract class AlignedTVList extends TVList {
     }
     AlignedTVList alignedTvList = AlignedTVList.newAlignedList(new ArrayList<>(dataTypeList));
     alignedTvList.timestamps = this.timestamps;
+    alignedTvList.offHeapTimestamps = this.offHeapTimestamps;
     alignedTvList.indices = this.indices;
     alignedTvList.values = values;
     alignedTvList.bitMaps = bitMaps;
@@ -221,7 +222,7 @@ public abstract class AlignedTVList extends TVList {
     int elementIndex = rowCount % ARRAY_SIZE;
     maxTime = Math.max(maxTime, timestamp);
     minTime = Math.min(minTime, timestamp);
-    timestamps.get(arrayIndex)[elementIndex] = timestamp;
+    putTime(arrayIndex, elementIndex, timestamp);
     for (int i = 0; i < values.size(); i++) {
       Object columnValue = value[i];
       List<Object> columnValues = values.get(i);
@@ -388,9 +389,10 @@ public abstract class AlignedTVList extends TVList {
       }
       bitMaps = localBitMaps;
     }
-    List<Object> columnValue = new ArrayList<>(timestamps.size());
-    List<BitMap> columnBitMaps = new ArrayList<>(timestamps.size());
-    for (int i = 0; i < timestamps.size(); i++) {
+    int timestampArrayNum = getTimestampArrayNum();
+    List<Object> columnValue = new ArrayList<>(timestampArrayNum);
+    List<BitMap> columnBitMaps = new ArrayList<>(timestampArrayNum);
+    for (int i = 0; i < timestampArrayNum; i++) {
       switch (dataType) {
         case TEXT:
         case STRING:
@@ -428,7 +430,7 @@ public abstract class AlignedTVList extends TVList {
 
       // Eg2: If rowCount=4 and ARRAY_SIZE=2, we need to supply 2 bitmaps for the extending column.
       // These 2 bitmaps should mark all bits to represent 4 nulls.
-      if (i == timestamps.size() - 1 && rowCount % ARRAY_SIZE != 0) {
+      if (i == timestampArrayNum - 1 && rowCount % ARRAY_SIZE != 0) {
         bitMap.markRange(0, rowCount % ARRAY_SIZE);
       } else {
         bitMap.markAll();
@@ -883,7 +885,7 @@ public abstract class AlignedTVList extends TVList {
       int internalRemaining = ARRAY_SIZE - elementIdx;
       if (internalRemaining >= inputRemaining) {
         // the remaining inputs can fit the last array, copy all remaining inputs into last array
-        System.arraycopy(time, idx, timestamps.get(arrayIdx), elementIdx, inputRemaining);
+        putTimes(time, idx, arrayIdx, elementIdx, inputRemaining);
         arrayCopy(value, idx, arrayIdx, elementIdx, inputRemaining);
         for (int i = 0; i < inputRemaining; i++) {
           if (indices != null) {
@@ -896,7 +898,7 @@ public abstract class AlignedTVList extends TVList {
       } else {
         // the remaining inputs cannot fit the last array, fill the last array and create a new
         // one and enter the next loop
-        System.arraycopy(time, idx, timestamps.get(arrayIdx), elementIdx, internalRemaining);
+        putTimes(time, idx, arrayIdx, elementIdx, internalRemaining);
         arrayCopy(value, idx, arrayIdx, elementIdx, internalRemaining);
         for (int i = 0; i < internalRemaining; i++) {
           if (indices != null) {
@@ -1065,7 +1067,7 @@ public abstract class AlignedTVList extends TVList {
 
   @Override
   public synchronized long calculateRamSize() {
-    return timestamps.size() * alignedTvListArrayMemCost();
+    return getTimestampArrayNum() * alignedTvListArrayMemCost();
   }
 
   /**
@@ -104,10 +104,11 @@ public class BackwardSort extends QuickSort {
    */
   public int setBlockLength(List<long[]> timestamps, int step) {
     double overlap = 0;
-    long last_time = timestamps.get(0)[0];
+    long last_time = getFirstTime(timestamps, 0);
     int i = step, blocks = 0;
-    while (i < timestamps.size()) {
-      long cur_time = timestamps.get(i)[0];
+    int arrayNum = tvList.getTimestampArrayNum();
+    while (i < arrayNum) {
+      long cur_time = getFirstTime(timestamps, i);
       if (last_time > cur_time) {
         overlap += 1;
       }
@@ -128,6 +129,13 @@ public class BackwardSort extends QuickSort {
     return setBlockLength(timestamps, mul * step);
   }
 
+  // timestamps is null if the list keeps its timestamp arrays in direct memory
+  private long getFirstTime(List<long[]> timestamps, int arrayIndex) {
+    return timestamps != null
+        ? timestamps.get(arrayIndex)[0]
+        : tvList.getTime(arrayIndex * ARRAY_SIZE);
+  }
+
   /**
    * Backward merge the blocks to reduce repetitive moves.
    *
@@ -44,6 +44,7 @@ import org.apache.tsfile.write.chunk.IChunkWriter;
 
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -64,6 +65,9 @@ public abstract class TVList implements WALEntryValue {
   // list of timestamp array, add 1 when expanded -> data point timestamp array
   // index relation: arrayIndex -> elementIndex
   protected List<long[]> timestamps;
+  // timestamp arrays in direct memory, used instead of timestamps if
+  // enable_off_heap_tvlist_timestamps is set when the list is created
+  protected List<LongBuffer> offHeapTimestamps;
   protected int rowCount;
   // the count of sequential part started from the beginning
   protected int seqRowCount;
@@ -91,6 +95,15 @@ public abstract class TVList implements WALEntryValue {
   // Reserved memory by the query. Ensure to acquire queryListLock before update.
   protected long reservedMemoryBytes = 0L;
 
+  // whether the list is handed over to the queries, no more rows are appended after it is sealed.
+  // Ensure to acquire queryListLock before access.
+  private boolean sealed = false;
+
+  // the queries using this list when it is sealed, they may read the rows in the unsorted order,
+  // so that the list must not be sorted in place by other queries until they are all released.
+  // Ensure to acquire queryListLock before access.
+  private Set<QueryContext> queryContextSetBeforeSeal = Collections.emptySet();
+
   protected boolean sorted = true;
   protected long maxTime;
   protected long minTime;
@@ -107,7 +120,11 @@ public abstract class TVList implements WALEntryValue {
   protected TSDataType dataType;
 
   protected TVList() {
-    timestamps = new ArrayList<>(getDefaultArrayNum());
+    if (PrimitiveArrayManager.isOffHeapTimeArrayEnabled()) {
+      offHeapTimestamps = new ArrayList<>(getDefaultArrayNum());
+    } else {
+      timestamps = new ArrayList<>(getDefaultArrayNum());
+    }
     rowCount = 0;
     seqRowCount = 0;
     maxTime = Long.MIN_VALUE;
@@ -166,7 +183,7 @@ public abstract class TVList implements WALEntryValue {
   }
 
   public synchronized long calculateRamSize() {
-    return timestamps.size() * tvListArrayMemCost();
+    return getTimestampArrayNum() * tvListArrayMemCost();
   }
 
   public synchronized boolean isSorted() {
@@ -222,6 +239,9 @@ public abstract class TVList implements WALEntryValue {
     }
     int arrayIndex = index / ARRAY_SIZE;
     int elementIndex = index % ARRAY_SIZE;
+    if (offHeapTimestamps != null) {
+      return offHeapTimestamps.get(arrayIndex).get(elementIndex);
+    }
     return timestamps.get(arrayIndex)[elementIndex];
   }
 
@@ -336,11 +356,11 @@ public abstract class TVList implements WALEntryValue {
     }
     int arrayIndex = index / ARRAY_SIZE;
     int elementIndex = index % ARRAY_SIZE;
-    timestamps.get(arrayIndex)[elementIndex] = timestamp;
+    putTime(arrayIndex, elementIndex, timestamp);
     // prepare indices for sorting
     if (indices == null) {
       indices = new ArrayList<>(getDefaultArrayNum());
-      for (int i = 0; i < timestamps.size(); i++) {
+      for (int i = 0; i < getTimestampArrayNum(); i++) {
         indices.add((int[]) getPrimitiveArraysByType(TSDataType.INT32));
         int offset = i * ARRAY_SIZE;
         Arrays.setAll(indices.get(i), j -> offset + j);
@@ -375,7 +395,7 @@ public abstract class TVList implements WALEntryValue {
     // init bitMap if doesn't have
     if (bitMap == null) {
       List<BitMap> localBitMap = new ArrayList<>(getDefaultArrayNum());
-      for (int i = 0; i < timestamps.size(); i++) {
+      for (int i = 0; i < getTimestampArrayNum(); i++) {
         localBitMap.add(new BitMap(ARRAY_SIZE));
       }
       bitMap = localBitMap;
@@ -554,9 +574,19 @@ public abstract class TVList implements WALEntryValue {
 
   // common clone for both TVList and AlignedTVList
   protected void cloneAs(TVList cloneList) {
-    // clone timestamps
-    for (long[] timestampArray : timestamps) {
-      cloneList.timestamps.add(cloneTime(timestampArray));
+    // clone timestamps, the cloned list always keeps them on heap
+    cloneList.offHeapTimestamps = null;
+    cloneList.timestamps = new ArrayList<>(getTimestampArrayNum());
+    if (offHeapTimestamps != null) {
+      for (LongBuffer timestampArray : offHeapTimestamps) {
+        long[] cloneArray = new long[ARRAY_SIZE];
+        timestampArray.duplicate().get(cloneArray);
+        cloneList.timestamps.add(cloneArray);
+      }
+    } else {
+      for (long[] timestampArray : timestamps) {
+        cloneList.timestamps.add(cloneTime(timestampArray));
+      }
     }
     // clone indices
     if (indices != null) {
@@ -580,6 +610,8 @@ public abstract class TVList implements WALEntryValue {
     minTime = Long.MAX_VALUE;
     queryContextSet.clear();
     ownerQuery = null;
+    sealed = false;
+    queryContextSetBeforeSeal = Collections.emptySet();
     clearTime();
     clearValue();
     clearIndices();
@@ -593,6 +625,12 @@ public abstract class TVList implements WALEntryValue {
       }
       timestamps.clear();
     }
+    if (offHeapTimestamps != null) {
+      for (LongBuffer dataArray : offHeapTimestamps) {
+        PrimitiveArrayManager.releaseOffHeapTimeArray(dataArray);
+      }
+      offHeapTimestamps.clear();
+    }
   }
 
   protected abstract void clearValue();
@@ -615,7 +653,11 @@ public abstract class TVList implements WALEntryValue {
   protected void checkExpansion() {
     if ((rowCount % ARRAY_SIZE) == 0) {
       expandValues();
-      timestamps.add((long[]) getPrimitiveArraysByType(TSDataType.INT64));
+      if (offHeapTimestamps != null) {
+        offHeapTimestamps.add(PrimitiveArrayManager.allocateOffHeapTimeArray());
+      } else {
+        timestamps.add((long[]) getPrimitiveArraysByType(TSDataType.INT64));
+      }
     }
   }
 
@@ -629,6 +671,37 @@ public abstract class TVList implements WALEntryValue {
     return cloneArray;
   }
 
+  public int getTimestampArrayNum() {
+    return offHeapTimestamps != null ? offHeapTimestamps.size() : timestamps.size();
+  }
+
+  protected void putTime(int arrayIndex, int elementIndex, long timestamp) {
+    if (offHeapTimestamps != null) {
+      offHeapTimestamps.get(arrayIndex).put(elementIndex, timestamp);
+    } else {
+      timestamps.get(arrayIndex)[elementIndex] = timestamp;
+    }
+  }
+
+  /**
+   * Copy timestamps into the timestamp array of arrayIndex, starting from elementIndex.
+   *
+   * @param time source timestamps
+   * @param offset start position in time
+   * @param arrayIndex index of the timestamp array to be copied into
+   * @param elementIndex start position in the timestamp array
+   * @param length number of timestamps to be copied
+   */
+  protected void putTimes(long[] time, int offset, int arrayIndex, int elementIndex, int length) {
+    if (offHeapTimestamps != null) {
+      LongBuffer duplicate = offHeapTimestamps.get(arrayIndex).duplicate();
+      duplicate.position(elementIndex);
+      duplicate.put(time, offset, length);
+    } else {
+      System.arraycopy(time, offset, timestamps.get(arrayIndex), elementIndex, length);
+    }
+  }
+
   void updateMinMaxTimeAndSorted(long[] time, int start, int end) {
     int length = time.length;
     long inPutMinTime = Long.MAX_VALUE;
@@ -752,6 +825,10 @@ public abstract class TVList implements WALEntryValue {
     return timestamps;
   }
 
+  public List<LongBuffer> getOffHeapTimestamps() {
+    return offHeapTimestamps;
+  }
+
   public List<int[]> getIndices() {
     return indices;
   }
@@ -768,6 +845,38 @@ public abstract class TVList implements WALEntryValue {
     return queryContextSet;
   }
 
+  /**
+   * Mark the working list as sealed when it is handed over to the queries. Ensure to acquire
+   * queryListLock before calling.
+   */
+  public void seal() {
+    sealed = true;
+    if (!queryContextSet.isEmpty()) {
+      queryContextSetBeforeSeal = new HashSet<>(queryContextSet);
+    }
+  }
+
+  public boolean isSealed() {
+    return sealed;
+  }
+
+  /**
+   * Whether the query can sort the list in place, i.e. no other query started before the list was
+   * sealed is still using it. Ensure to acquire queryListLock before calling.
+   */
+  public boolean canSortInPlace(QueryContext context) {
+    if (queryContextSetBeforeSeal.isEmpty()) {
+      return true;
+    }
+    queryContextSetBeforeSeal.retainAll(queryContextSet);
+    for (QueryContext queryContext : queryContextSetBeforeSeal) {
+      if (queryContext != context) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public List<BitMap> getBitMap() {
     return bitMap;
   }
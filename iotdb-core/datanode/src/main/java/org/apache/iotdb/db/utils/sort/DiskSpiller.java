@@ -37,6 +37,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 public abstract class DiskSpiller {
@@ -63,7 +64,7 @@ public abstract class DiskSpiller {
     folderCreated = true;
   }
 
-  private void spill(List<TsBlock> tsBlocks) throws IOException, IoTDBException {
+  private void spill(Iterator<TsBlock> tsBlocks) throws IOException, IoTDBException {
     if (!folderCreated) {
       createFolder(folderPath);
     }
@@ -94,8 +95,16 @@ public abstract class DiskSpiller {
       tsBlocks.add(buildSortedTsBlock(tsBlockBuilder));
     }
 
+    spillSortedTsBlocks(tsBlocks.iterator());
+  }
+
+  /**
+   * Spill TsBlocks which are already sorted into a new file, the TsBlocks can be built lazily by
+   * the iterator to avoid holding all of them in memory.
+   */
+  public void spillSortedTsBlocks(Iterator<TsBlock> sortedTsBlocks) throws IoTDBException {
     try {
-      spill(tsBlocks);
+      spill(sortedTsBlocks);
     } catch (IOException e) {
       throw new IoTDBException(
           "Create file error: " + filePrefix + (fileIndex - 1) + FILE_SUFFIX,
@@ -106,7 +115,7 @@ public abstract class DiskSpiller {
 
   protected abstract TsBlock buildSortedTsBlock(TsBlockBuilder resultBuilder);
 
-  private void writeData(List<TsBlock> sortedData, String fileName) throws IoTDBException {
+  private void writeData(Iterator<TsBlock> sortedData, String fileName) throws IoTDBException {
     Path filePath = Paths.get(fileName);
     // for stream sort we may reuse the previous tmp file name, so we need TRUNCATE_EXISTING and
     // CREATE
@@ -116,7 +125,8 @@ public abstract class DiskSpiller {
             StandardOpenOption.WRITE,
             StandardOpenOption.TRUNCATE_EXISTING,
             StandardOpenOption.CREATE)) {
-      for (TsBlock tsBlock : sortedData) {
+      while (sortedData.hasNext()) {
+        TsBlock tsBlock = sortedData.next();
         ByteBuffer tsBlockBuffer = serde.serialize(tsBlock);
         ByteBuffer length = ByteBuffer.allocate(4);
         length.putInt(tsBlockBuffer.capacity());
@@ -181,4 +191,20 @@ public abstract class DiskSpiller {
   public void reset() {
     fileIndex = 0;
   }
+
+  /** Delete the spilled files, the readers of them should have been closed. */
+  public void deleteSpilledFiles() throws IoTDBException {
+    List<String> filePaths = getFilePaths();
+    fileIndex = 0;
+    for (String filePath : filePaths) {
+      try {
+        Files.deleteIfExists(Paths.get(filePath));
+      } catch (IOException e) {
+        throw new IoTDBException(
+            "Can't delete intermediate sorted data file: " + filePath,
+            e,
+            TSStatusCode.INTERNAL_SERVER_ERROR.getStatusCode());
+      }
+    }
+  }
 }
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.exchange;
+
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.TsBlockSerde;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+public class TsBlockExchangeCodecTest {
+
+  private final TsBlockSerde serde = new TsBlockSerde();
+
+  private final TsBlockExchangeCodec codec = TsBlockExchangeCodec.getInstance();
+
+  @Test
+  public void testCompressedRoundTrip() throws IOException {
+    final TsBlock tsBlock = createTsBlock(1000);
+    for (final CompressionType type :
+        new CompressionType[] {CompressionType.LZ4, CompressionType.ZSTD, CompressionType.SNAPPY}) {
+      final ByteBuffer serialized = serde.serialize(tsBlock);
+      final int rawSize = serialized.remaining();
+      final ByteBuffer encoded = codec.encode(serialized, type);
+      Assert.assertTrue(encoded.remaining() < rawSize);
+
+      final TsBlock decoded = serde.deserialize(codec.decode(encoded));
+      Assert.assertEquals(tsBlock.getPositionCount(), decoded.getPositionCount());
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        Assert.assertEquals(tsBlock.getTimeByIndex(i), decoded.getTimeByIndex(i));
+        Assert.assertEquals(tsBlock.getColumn(0).getLong(i), decoded.getColumn(0).getLong(i));
+      }
+    }
+  }
+
+  @Test
+  public void testUncompressed() throws IOException {
+    final ByteBuffer serialized = serde.serialize(createTsBlock(1000));
+    Assert.assertSame(serialized, codec.encode(serialized, CompressionType.UNCOMPRESSED));
+    // TsBlocks from DataNodes of older versions are never compressed
+    Assert.assertSame(serialized, codec.decode(serialized));
+
+    // compressing an empty TsBlock saves nothing
+    final ByteBuffer empty = serde.serialize(createTsBlock(0));
+    Assert.assertSame(empty, codec.encode(empty, CompressionType.LZ4));
+  }
+
+  private TsBlock createTsBlock(final int positionCount) {
+    final TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(TSDataType.INT64));
+    final ColumnBuilder timeColumnBuilder = builder.getTimeColumnBuilder();
+    final ColumnBuilder valueColumnBuilder = builder.getValueColumnBuilders()[0];
+    for (int i = 0; i < positionCount; i++) {
+      timeColumnBuilder.writeLong(i);
+      valueColumnBuilder.writeLong(i % 10);
+      builder.declarePosition();
+    }
+    return builder.build();
+  }
+}
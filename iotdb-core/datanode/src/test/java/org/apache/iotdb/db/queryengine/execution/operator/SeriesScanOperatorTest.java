@@ -23,6 +23,8 @@ import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.IFullPath;
 import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
 import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
 import org.apache.iotdb.db.queryengine.common.QueryId;
@@ -30,9 +32,12 @@ import org.apache.iotdb.db.queryengine.execution.driver.DriverContext;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceStateMachine;
 import org.apache.iotdb.db.queryengine.execution.operator.source.SeriesScanOperator;
+import org.apache.iotdb.db.queryengine.execution.operator.source.SeriesScanReadAheadExecutor;
+import org.apache.iotdb.db.queryengine.execution.operator.source.SeriesScanUtil;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
 import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
 import org.apache.iotdb.db.storageengine.dataregion.read.reader.series.SeriesReaderTestUtil;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
@@ -42,6 +47,8 @@ import io.airlift.units.Duration;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.exception.write.WriteProcessException;
 import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.TsFileSequenceReader;
+import org.apache.tsfile.read.common.Path;
 import org.apache.tsfile.read.common.block.TsBlock;
 import org.apache.tsfile.read.common.block.column.IntColumn;
 import org.apache.tsfile.write.schema.IMeasurementSchema;
@@ -54,11 +61,13 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -84,6 +93,133 @@ public class SeriesScanOperatorTest {
 
   @Test
   public void batchTest() throws Exception {
+    checkSeriesScan();
+  }
+
+  @Test
+  public void readAheadTest() throws Exception {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    int readAheadFileNum = config.getSeriesScanReadAheadFileNum();
+    ExecutorService instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    try {
+      config.setSeriesScanReadAheadFileNum(2);
+      ChunkCache.getInstance().clear();
+      FragmentInstanceContext fragmentInstanceContext =
+          createInstanceContext("read-ahead", instanceNotificationExecutor);
+      SeriesScanUtil seriesScanUtil = createSeriesScanUtil(fragmentInstanceContext);
+
+      // unpacking the first seq file reads the next two seq files ahead
+      assertTrue(seriesScanUtil.hasNextFile().orElse(false));
+      waitReadAheadTasks();
+      // the scan has not read any chunk yet, so these chunks are loaded by the read-ahead
+      assertTrue(ChunkCache.getInstance().contains(getFirstChunkCacheKey(seqResources.get(1))));
+      assertTrue(ChunkCache.getInstance().contains(getFirstChunkCacheKey(seqResources.get(2))));
+      fragmentInstanceContext.getStateMachine().finished();
+
+      // the scan gets the chunks read ahead from the cache
+      checkSeriesScan();
+    } finally {
+      config.setSeriesScanReadAheadFileNum(readAheadFileNum);
+      instanceNotificationExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void readAheadAfterScanClosedTest() throws Exception {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    int readAheadFileNum = config.getSeriesScanReadAheadFileNum();
+    ExecutorService instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    CountDownLatch blockingTaskStarted =
+        new CountDownLatch(config.getSeriesScanReadAheadThreadCount());
+    CountDownLatch blockingTaskReleased = new CountDownLatch(1);
+    try {
+      config.setSeriesScanReadAheadFileNum(2);
+      ChunkCache.getInstance().clear();
+
+      // occupy all read-ahead threads, so that the read-ahead tasks of the scan are queued
+      FragmentInstanceContext blockingContext =
+          createInstanceContext("blocking", instanceNotificationExecutor);
+      for (int i = 0; i < config.getSeriesScanReadAheadThreadCount(); i++) {
+        SeriesScanReadAheadExecutor.getInstance()
+            .submit(
+                blockingContext,
+                () -> {
+                  blockingTaskStarted.countDown();
+                  blockingTaskReleased.await();
+                });
+      }
+      assertTrue(blockingTaskStarted.await(10, TimeUnit.SECONDS));
+
+      FragmentInstanceContext fragmentInstanceContext =
+          createInstanceContext("closed", instanceNotificationExecutor);
+      SeriesScanUtil seriesScanUtil = createSeriesScanUtil(fragmentInstanceContext);
+      assertTrue(seriesScanUtil.hasNextFile().orElse(false));
+      assertTrue(SeriesScanReadAheadExecutor.getInstance().getPendingTaskCount() > 0);
+
+      // the scan is closed before its read-ahead tasks run, then they read nothing
+      fragmentInstanceContext.getStateMachine().cancel();
+      blockingTaskReleased.countDown();
+      waitReadAheadTasks();
+      assertFalse(ChunkCache.getInstance().contains(getFirstChunkCacheKey(seqResources.get(1))));
+      assertFalse(ChunkCache.getInstance().contains(getFirstChunkCacheKey(seqResources.get(2))));
+      blockingContext.getStateMachine().finished();
+    } finally {
+      blockingTaskReleased.countDown();
+      config.setSeriesScanReadAheadFileNum(readAheadFileNum);
+      instanceNotificationExecutor.shutdown();
+    }
+  }
+
+  private FragmentInstanceContext createInstanceContext(
+      String instanceId, ExecutorService instanceNotificationExecutor) {
+    FragmentInstanceId fragmentInstanceId =
+        new FragmentInstanceId(new PlanFragmentId(new QueryId("stub_query"), 0), instanceId);
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(fragmentInstanceId, instanceNotificationExecutor);
+    return createFragmentInstanceContext(fragmentInstanceId, stateMachine);
+  }
+
+  private SeriesScanUtil createSeriesScanUtil(FragmentInstanceContext fragmentInstanceContext) {
+    SeriesScanOptions.Builder scanOptionsBuilder = new SeriesScanOptions.Builder();
+    scanOptionsBuilder.withAllSensors(Sets.newHashSet("sensor0"));
+    SeriesScanUtil seriesScanUtil =
+        new SeriesScanUtil(
+            new NonAlignedFullPath(
+                IDeviceID.Factory.DEFAULT_FACTORY.create(SERIES_SCAN_OPERATOR_TEST_SG + ".device0"),
+                new MeasurementSchema("sensor0", TSDataType.INT32)),
+            Ordering.ASC,
+            scanOptionsBuilder.build(),
+            fragmentInstanceContext);
+    seriesScanUtil.initQueryDataSource(new QueryDataSource(seqResources, unSeqResources));
+    return seriesScanUtil;
+  }
+
+  private ChunkCache.ChunkCacheKey getFirstChunkCacheKey(TsFileResource resource)
+      throws IOException {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(resource.getTsFilePath())) {
+      long offsetOfChunkHeader =
+          reader
+              .getChunkMetadataList(
+                  new Path(SERIES_SCAN_OPERATOR_TEST_SG + ".device0", "sensor0", true))
+              .get(0)
+              .getOffsetOfChunkHeader();
+      return new ChunkCache.ChunkCacheKey(
+          resource.getTsFilePath(), resource.getTsFileID(), offsetOfChunkHeader, true);
+    }
+  }
+
+  private void waitReadAheadTasks() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (SeriesScanReadAheadExecutor.getInstance().getPendingTaskCount() > 0
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(0, SeriesScanReadAheadExecutor.getInstance().getPendingTaskCount());
+  }
+
+  private void checkSeriesScan() throws Exception {
     ExecutorService instanceNotificationExecutor =
         IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
     try {
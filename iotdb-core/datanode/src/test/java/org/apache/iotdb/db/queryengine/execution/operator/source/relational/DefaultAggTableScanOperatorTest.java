@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source.relational;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.commons.schema.table.column.TsTableColumnCategory;
+import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.execution.aggregation.timerangeiterator.TableSingleTimeWindowIterator;
+import org.apache.iotdb.db.queryengine.execution.driver.DriverContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.queryengine.execution.fragment.QueryStatistics;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.AbstractAggTableScanOperator.AbstractAggTableScanOperatorParameter;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.CountAccumulator;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.TableAggregator;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
+import org.apache.iotdb.db.queryengine.plan.relational.metadata.AlignedDeviceEntry;
+import org.apache.iotdb.db.queryengine.plan.relational.metadata.ColumnSchema;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.Symbol;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.node.AggregationNode;
+import org.apache.iotdb.db.storageengine.buffer.BloomFilterCache;
+import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
+import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.utils.CompactionTestFileWriter;
+import org.apache.iotdb.db.storageengine.dataregion.modification.TreeDeletionEntry;
+import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
+import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.db.utils.constant.TestConstant;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.read.common.TimeRange;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.type.TypeFactory;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class DefaultAggTableScanOperatorTest {
+
+  private static final String MEASUREMENT = "s1";
+
+  private TsFileResource resource;
+
+  @After
+  public void tearDown() throws IOException {
+    if (resource != null) {
+      resource.remove();
+    }
+    FileReaderManager.getInstance().closeAndRemoveAllOpenedReaders();
+    ChunkCache.getInstance().clear();
+    TimeSeriesMetadataCache.getInstance().clear();
+    BloomFilterCache.getInstance().clear();
+    EnvironmentUtils.cleanAllDir();
+  }
+
+  @Test
+  public void testPagesFromStatistics() throws Exception {
+    // the deletion is only in the last page, so the other pages are not modified
+    resource =
+        prepareFile(
+            new TimeRange[] {
+              new TimeRange(0, 99), new TimeRange(100, 199), new TimeRange(200, 299)
+            },
+            new TimeRange(250, 250));
+    QueryStatistics queryStatistics = countAndCheck(299);
+    assertEquals(2, queryStatistics.getAggregationPagesFromStatisticsCount().get());
+    assertEquals(1, queryStatistics.getAggregationPagesDecodedCount().get());
+  }
+
+  @Test
+  public void testModifiedPage() throws Exception {
+    resource = prepareFile(new TimeRange[] {new TimeRange(0, 99)}, new TimeRange(50, 50));
+    QueryStatistics queryStatistics = countAndCheck(99);
+    assertEquals(0, queryStatistics.getAggregationPagesFromStatisticsCount().get());
+    assertEquals(1, queryStatistics.getAggregationPagesDecodedCount().get());
+  }
+
+  private TsFileResource prepareFile(TimeRange[] pageTimeRanges, TimeRange deletion)
+      throws Exception {
+    TsFileResource tsFileResource =
+        new TsFileResource(new File(TestConstant.getTestTsFilePath("root.testsg", 0, 0, 1)));
+    if (!tsFileResource.getTsFile().getParentFile().exists()) {
+      tsFileResource.getTsFile().getParentFile().mkdirs();
+    }
+    try (CompactionTestFileWriter writer = new CompactionTestFileWriter(tsFileResource)) {
+      writer.startChunkGroup("d0");
+      writer.generateSimpleAlignedSeriesToCurrentDevice(
+          Collections.singletonList(MEASUREMENT),
+          new TimeRange[][] {pageTimeRanges},
+          TSEncoding.PLAIN,
+          CompressionType.UNCOMPRESSED);
+      writer.endChunkGroup();
+      writer.endFile();
+    }
+    tsFileResource
+        .getModFileForWrite()
+        .write(new TreeDeletionEntry(new MeasurementPath("root.testsg.d0", MEASUREMENT), deletion));
+    tsFileResource.getModFileForWrite().close();
+    tsFileResource.setStatusForTest(TsFileResourceStatus.NORMAL);
+    return tsFileResource;
+  }
+
+  /** Count s1 of root.testsg.d0 by the operator, and return the statistics of the query. */
+  private QueryStatistics countAndCheck(long expectedCount) throws Exception {
+    ExecutorService instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    try {
+      FragmentInstanceId instanceId =
+          new FragmentInstanceId(new PlanFragmentId(new QueryId("stub_query"), 0), "stub-instance");
+      FragmentInstanceStateMachine stateMachine =
+          new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+      FragmentInstanceContext fragmentInstanceContext =
+          createFragmentInstanceContext(instanceId, stateMachine);
+      DriverContext driverContext = new DriverContext(fragmentInstanceContext, 0);
+      PlanNodeId planNodeId = new PlanNodeId("1");
+      driverContext.addOperatorContext(
+          1, planNodeId, DefaultAggTableScanOperator.class.getSimpleName());
+
+      SeriesScanOptions.Builder scanOptionsBuilder = new SeriesScanOptions.Builder();
+      scanOptionsBuilder.withAllSensors(new HashSet<>(Arrays.asList(MEASUREMENT, "")));
+      AbstractAggTableScanOperatorParameter parameter =
+          new AbstractAggTableScanOperatorParameter(
+              planNodeId,
+              driverContext.getOperatorContexts().get(0),
+              Collections.singletonList(
+                  new ColumnSchema(
+                      MEASUREMENT,
+                      TypeFactory.getType(TSDataType.INT64),
+                      false,
+                      TsTableColumnCategory.FIELD)),
+              new int[] {0},
+              Collections.singletonList(
+                  new AlignedDeviceEntry(
+                      IDeviceID.Factory.DEFAULT_FACTORY.create("root.testsg.d0"), new Binary[0])),
+              1,
+              scanOptionsBuilder.build(),
+              Collections.singletonList(MEASUREMENT),
+              new HashSet<>(Arrays.asList(MEASUREMENT, "")),
+              Collections.singletonList(new MeasurementSchema(MEASUREMENT, TSDataType.INT64)),
+              Collections.singletonList(
+                  new TableAggregator(
+                      new CountAccumulator(),
+                      AggregationNode.Step.SINGLE,
+                      TSDataType.INT64,
+                      Collections.singletonList(0),
+                      OptionalInt.empty())),
+              null,
+              null,
+              new TableSingleTimeWindowIterator(new TimeRange(Long.MIN_VALUE, Long.MAX_VALUE)),
+              true,
+              true,
+              Collections.singletonList(0),
+              "time",
+              Collections.singletonList(new Symbol(MEASUREMENT)));
+      DefaultAggTableScanOperator operator = new DefaultAggTableScanOperator(parameter);
+      operator.initQueryDataSource(
+          new QueryDataSource(Collections.singletonList(resource), Collections.emptyList()));
+
+      long count = 0;
+      int rowCount = 0;
+      while (!operator.isFinished()) {
+        if (operator.hasNext()) {
+          TsBlock tsBlock = operator.next();
+          if (tsBlock != null) {
+            for (int i = 0; i < tsBlock.getPositionCount(); i++, rowCount++) {
+              assertFalse(tsBlock.getColumn(0).isNull(i));
+              count = tsBlock.getColumn(0).getLong(i);
+            }
+          }
+        }
+      }
+      operator.close();
+      assertEquals(1, rowCount);
+      assertEquals(expectedCount, count);
+      return fragmentInstanceContext.getQueryStatistics();
+    } finally {
+      instanceNotificationExecutor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source.relational;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.execution.driver.DriverContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.queryengine.execution.operator.Operator;
+import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.GroupedAggregator;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.HashAggregationOperator;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.builder.SpillableHashAggregationBuilder;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.node.AggregationNode;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.RunLengthEncodedColumn;
+import org.apache.tsfile.read.common.type.IntType;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+
+import static org.apache.iotdb.commons.udf.builtin.relational.TableBuiltinAggregationFunction.COUNT;
+import static org.apache.iotdb.commons.udf.builtin.relational.TableBuiltinAggregationFunction.SUM;
+import static org.apache.iotdb.commons.udf.builtin.relational.TableBuiltinAggregationFunction.getAggregationTypeByFuncName;
+import static org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.apache.iotdb.db.queryengine.execution.operator.source.relational.AbstractTableScanOperator.TIME_COLUMN_TEMPLATE;
+import static org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.AccumulatorFactory.createGroupedAccumulator;
+import static org.apache.iotdb.db.queryengine.execution.operator.source.relational.aggregation.grouped.hash.GroupByHash.DEFAULT_GROUP_NUMBER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HashAggregationOperatorTest {
+
+  private static final String SPILL_FOLDER =
+      "target" + File.separator + "hashAggregationSpill" + File.separator;
+
+  private static final int BLOCK_NUM = 5;
+  private static final int ROWS_PER_BLOCK = 2000;
+  private static final int GROUP_NUM = 3000;
+
+  @After
+  public void tearDown() {
+    FileUtils.deleteFileOrDirectory(new File(SPILL_FOLDER), true);
+  }
+
+  @Test
+  public void testSpill() throws Exception {
+    Map<Integer, String> expected = execute(false, Long.MAX_VALUE, AggregationNode.Step.SINGLE);
+    assertEquals(GROUP_NUM, expected.size());
+    assertEquals(expected, execute(true, Long.MAX_VALUE, AggregationNode.Step.SINGLE));
+    // every TsBlock of input is spilled because of the tiny memory limit
+    assertEquals(expected, execute(true, 1, AggregationNode.Step.SINGLE));
+    assertTrue(new File(SPILL_FOLDER).exists());
+  }
+
+  @Test
+  public void testSpillPartialAggregation() throws Exception {
+    Map<Integer, String> expected = execute(false, Long.MAX_VALUE, AggregationNode.Step.PARTIAL);
+    assertEquals(expected, execute(true, 1, AggregationNode.Step.PARTIAL));
+  }
+
+  @Test
+  public void testResetSpilledBuilder() throws Exception {
+    Map<Integer, String> expected = execute(false, Long.MAX_VALUE, AggregationNode.Step.SINGLE);
+    DriverContext driverContext = createDriverContext();
+    SpillableHashAggregationBuilder builder =
+        new SpillableHashAggregationBuilder(
+            createAggregators(AggregationNode.Step.SINGLE),
+            AggregationNode.Step.SINGLE,
+            DEFAULT_GROUP_NUMBER,
+            Collections.singletonList(IntType.INT32),
+            Collections.singletonList(0),
+            driverContext.getOperatorContexts().get(1),
+            1,
+            SPILL_FOLDER);
+    try {
+      Operator child = buildChild(driverContext.getOperatorContexts().get(0));
+      builder.processBlock(child.next());
+      builder.processBlock(child.next());
+      assertTrue(listSpilledFiles().length > 0);
+
+      // the spilled groups are dropped, and the builder can be reused
+      builder.reset();
+      assertEquals(0, listSpilledFiles().length);
+      child = buildChild(driverContext.getOperatorContexts().get(0));
+      while (child.hasNext()) {
+        builder.processBlock(child.next());
+      }
+      Map<Integer, String> result = new TreeMap<>();
+      while (!builder.finished()) {
+        collectResult(builder.buildResult(), result);
+      }
+      assertEquals(expected, result);
+    } finally {
+      builder.close();
+    }
+    assertEquals(0, listSpilledFiles().length);
+  }
+
+  private File[] listSpilledFiles() {
+    File[] files = new File(SPILL_FOLDER).listFiles();
+    return files == null ? new File[0] : files;
+  }
+
+  // group key is row % GROUP_NUM, the result is group key -> sum(value),count(value)
+  private Map<Integer, String> execute(
+      boolean spillEnabled, long memoryLimit, AggregationNode.Step step) throws Exception {
+    DriverContext driverContext = createDriverContext();
+    Map<Integer, String> result = new TreeMap<>();
+    try (HashAggregationOperator aggregationOperator =
+        new HashAggregationOperator(
+            driverContext.getOperatorContexts().get(1),
+            buildChild(driverContext.getOperatorContexts().get(0)),
+            Collections.singletonList(IntType.INT32),
+            Collections.singletonList(0),
+            createAggregators(step),
+            step,
+            DEFAULT_GROUP_NUMBER,
+            Long.MAX_VALUE,
+            spillEnabled,
+            memoryLimit,
+            SPILL_FOLDER)) {
+      while (aggregationOperator.hasNext()) {
+        aggregationOperator.isBlocked().get();
+        collectResult(aggregationOperator.next(), result);
+      }
+    }
+    return result;
+  }
+
+  private void collectResult(TsBlock tsBlock, Map<Integer, String> result) {
+    if (tsBlock == null) {
+      return;
+    }
+    for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+      String previous =
+          result.put(
+              tsBlock.getColumn(0).getInt(i),
+              tsBlock.getColumn(1).getDouble(i) + "," + tsBlock.getColumn(2).getLong(i));
+      // each group should be output only once
+      assertEquals(null, previous);
+    }
+  }
+
+  private DriverContext createDriverContext() {
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(
+            instanceId,
+            IoTDBThreadPoolFactory.newFixedThreadPool(
+                1, "hashAggregationOperator-test-instance-notification"));
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(instanceId, stateMachine);
+    DriverContext driverContext = new DriverContext(fragmentInstanceContext, 0);
+    driverContext.addOperatorContext(
+        1, new PlanNodeId("1"), TableScanOperator.class.getSimpleName());
+    driverContext.addOperatorContext(
+        2, new PlanNodeId("2"), HashAggregationOperator.class.getSimpleName());
+    return driverContext;
+  }
+
+  private List<GroupedAggregator> createAggregators(AggregationNode.Step step) {
+    return ImmutableList.of(
+        new GroupedAggregator(
+            createGroupedAccumulator(
+                SUM.getFunctionName(),
+                getAggregationTypeByFuncName(SUM.getFunctionName()),
+                Collections.singletonList(TSDataType.INT64),
+                Collections.emptyList(),
+                Collections.emptyMap(),
+                true,
+                false),
+            step,
+            TSDataType.DOUBLE,
+            TSDataType.DOUBLE,
+            Collections.singletonList(1),
+            OptionalInt.empty()),
+        new GroupedAggregator(
+            createGroupedAccumulator(
+                COUNT.getFunctionName(),
+                getAggregationTypeByFuncName(COUNT.getFunctionName()),
+                Collections.singletonList(TSDataType.INT64),
+                Collections.emptyList(),
+                Collections.emptyMap(),
+                true,
+                false),
+            step,
+            TSDataType.INT64,
+            TSDataType.INT64,
+            Collections.singletonList(1),
+            OptionalInt.empty()));
+  }
+
+  private Operator buildChild(OperatorContext operatorContext) {
+    return new Operator() {
+      private int index = 0;
+
+      @Override
+      public OperatorContext getOperatorContext() {
+        return operatorContext;
+      }
+
+      @Override
+      public TsBlock next() {
+        TsBlockBuilder builder =
+            new TsBlockBuilder(ImmutableList.of(TSDataType.INT32, TSDataType.INT64));
+        ColumnBuilder[] columnBuilders = builder.getValueColumnBuilders();
+        for (int i = 0; i < ROWS_PER_BLOCK; i++) {
+          int row = index * ROWS_PER_BLOCK + i;
+          columnBuilders[0].writeInt(row % GROUP_NUM);
+          columnBuilders[1].writeLong(row);
+          builder.declarePosition();
+        }
+        index++;
+        return builder.build(
+            new RunLengthEncodedColumn(TIME_COLUMN_TEMPLATE, builder.getPositionCount()));
+      }
+
+      @Override
+      public boolean hasNext() {
+        return index < BLOCK_NUM;
+      }
+
+      @Override
+      public void close() {}
+
+      @Override
+      public boolean isFinished() {
+        return !hasNext();
+      }
+
+      @Override
+      public long calculateMaxPeekMemory() {
+        return 0;
+      }
+
+      @Override
+      public long calculateMaxReturnSize() {
+        return 0;
+      }
+
+      @Override
+      public long calculateRetainedSizeAfterCallingNext() {
+        return 0;
+      }
+
+      @Override
+      public long ramBytesUsed() {
+        return 0;
+      }
+    };
+  }
+}
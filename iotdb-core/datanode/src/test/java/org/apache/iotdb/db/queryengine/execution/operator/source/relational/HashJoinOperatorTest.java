@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source.relational;
+
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.execution.driver.DriverContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.queryengine.execution.operator.Operator;
+import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
+import org.apache.iotdb.db.queryengine.plan.planner.memory.ThreadSafeMemoryReservationManager;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.RunLengthEncodedColumn;
+import org.apache.tsfile.read.common.type.BinaryType;
+import org.apache.tsfile.utils.Binary;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.iotdb.db.queryengine.execution.operator.source.relational.AbstractTableScanOperator.TIME_COLUMN_TEMPLATE;
+import static org.junit.Assert.assertEquals;
+
+public class HashJoinOperatorTest {
+
+  // left table
+  // device, s1
+  // d2,     1
+  // null,   2
+  // d1,     3
+  // ----------- TsBlock-1
+  // d3,     4
+  // d1,     5
+  // ----------- TsBlock-2
+  private static final String[][] LEFT_DEVICES = {{"d2", null, "d1"}, {"d3", "d1"}};
+  private static final int[][] LEFT_VALUES = {{1, 2, 3}, {4, 5}};
+
+  // right table
+  // device, s2
+  // d1,     10
+  // null,   20
+  // ----------- TsBlock-1
+  // d2,     30
+  // d1,     40
+  // ----------- TsBlock-2
+  private static final String[][] RIGHT_DEVICES = {{"d1", null}, {"d2", "d1"}};
+  private static final int[][] RIGHT_VALUES = {{10, 20}, {30, 40}};
+
+  @Test
+  public void testInnerJoin() throws Exception {
+    // result keeps the order of left table, matched right rows are in their input order
+    List<String> result = execute(false, RIGHT_DEVICES, RIGHT_VALUES);
+    assertEquals(Arrays.asList("1,30", "3,10", "3,40", "5,10", "5,40"), result);
+  }
+
+  @Test
+  public void testLeftJoin() throws Exception {
+    List<String> result = execute(true, RIGHT_DEVICES, RIGHT_VALUES);
+    assertEquals(Arrays.asList("1,30", "2,null", "3,10", "3,40", "4,null", "5,10", "5,40"), result);
+  }
+
+  @Test
+  public void testEmptyBuildSide() throws Exception {
+    assertEquals(Collections.emptyList(), execute(false, new String[0][], new int[0][]));
+    assertEquals(
+        Arrays.asList("1,null", "2,null", "3,null", "4,null", "5,null"),
+        execute(true, new String[0][], new int[0][]));
+  }
+
+  private List<String> execute(boolean outerJoin, String[][] rightDevices, int[][] rightValues)
+      throws Exception {
+    FragmentInstanceContext fragmentInstanceContext = Mockito.mock(FragmentInstanceContext.class);
+    Mockito.when(fragmentInstanceContext.getMemoryReservationContext())
+        .thenReturn(new ThreadSafeMemoryReservationManager(new QueryId("1"), "test"));
+    DriverContext driverContext = Mockito.mock(DriverContext.class);
+    Mockito.when(driverContext.getFragmentInstanceContext()).thenReturn(fragmentInstanceContext);
+    OperatorContext operatorContext = Mockito.mock(OperatorContext.class);
+    Mockito.when(operatorContext.getDriverContext()).thenReturn(driverContext);
+    Operator leftChild = buildChild(operatorContext, LEFT_DEVICES, LEFT_VALUES);
+    Operator rightChild = buildChild(operatorContext, rightDevices, rightValues);
+
+    List<String> result = new ArrayList<>();
+    try (HashJoinOperator hashJoinOperator =
+        new HashJoinOperator(
+            operatorContext,
+            leftChild,
+            new int[] {0},
+            new int[] {1},
+            rightChild,
+            new int[] {0},
+            new int[] {1},
+            Collections.singletonList(BinaryType.TEXT),
+            outerJoin,
+            Arrays.asList(TSDataType.INT32, TSDataType.INT32))) {
+      while (hashJoinOperator.hasNext()) {
+        hashJoinOperator.isBlocked().get();
+        TsBlock tsBlock = hashJoinOperator.next();
+        if (tsBlock == null) {
+          continue;
+        }
+        for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+          result.add(
+              tsBlock.getColumn(0).getInt(i)
+                  + ","
+                  + (tsBlock.getColumn(1).isNull(i) ? "null" : tsBlock.getColumn(1).getInt(i)));
+        }
+      }
+    }
+    return result;
+  }
+
+  private Operator buildChild(OperatorContext operatorContext, String[][] devices, int[][] values) {
+    return new Operator() {
+      private int index = 0;
+
+      @Override
+      public OperatorContext getOperatorContext() {
+        return operatorContext;
+      }
+
+      @Override
+      public TsBlock next() {
+        TsBlockBuilder builder =
+            new TsBlockBuilder(Arrays.asList(TSDataType.TEXT, TSDataType.INT32));
+        for (int i = 0; i < devices[index].length; i++) {
+          if (devices[index][i] == null) {
+            builder.getColumnBuilder(0).appendNull();
+          } else {
+            builder
+                .getColumnBuilder(0)
+                .writeBinary(new Binary(devices[index][i], StandardCharsets.UTF_8));
+          }
+          builder.getColumnBuilder(1).writeInt(values[index][i]);
+          builder.declarePosition();
+        }
+        return builder.build(
+            new RunLengthEncodedColumn(TIME_COLUMN_TEMPLATE, devices[index++].length));
+      }
+
+      @Override
+      public boolean hasNext() {
+        return index < devices.length;
+      }
+
+      @Override
+      public void close() {}
+
+      @Override
+      public boolean isFinished() {
+        return !hasNext();
+      }
+
+      @Override
+      public long calculateMaxPeekMemory() {
+        return 0;
+      }
+
+      @Override
+      public long calculateMaxReturnSize() {
+        return 0;
+      }
+
+      @Override
+      public long calculateRetainedSizeAfterCallingNext() {
+        return 0;
+      }
+
+      @Override
+      public long ramBytesUsed() {
+        return 0;
+      }
+    };
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl;
+
+import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.IDualKeyCache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class S3FIFOCacheEntryManagerTest {
+
+  private static final String FIRST_KEY = "root.db";
+
+  private static final int HOT_KEY_NUM = 1000;
+
+  @Test
+  public void testScanResistance() {
+    final IDualKeyCache<String, Integer, Integer> s3FIFOCache =
+        createCacheHoldingHotKeys(DualKeyCachePolicy.S3FIFO);
+    final IDualKeyCache<String, Integer, Integer> fifoCache =
+        createCacheHoldingHotKeys(DualKeyCachePolicy.FIFO);
+    for (final IDualKeyCache<String, Integer, Integer> cache :
+        new IDualKeyCache[] {s3FIFOCache, fifoCache}) {
+      // access the hot keys repeatedly, and then scan many cold keys once
+      for (int round = 0; round < 3; round++) {
+        for (int i = 0; i < HOT_KEY_NUM; i++) {
+          cache.get(FIRST_KEY, i);
+        }
+      }
+      for (int i = HOT_KEY_NUM; i < 20 * HOT_KEY_NUM; i++) {
+        cache.update(FIRST_KEY, i, i, value -> 0, true);
+      }
+    }
+
+    Assert.assertTrue(countCachedHotKeys(s3FIFOCache) > HOT_KEY_NUM * 0.9);
+    Assert.assertTrue(countCachedHotKeys(fifoCache) < HOT_KEY_NUM * 0.1);
+    Assert.assertTrue(s3FIFOCache.stats().evictionCount() > 0);
+  }
+
+  @Test
+  public void testInvalidate() {
+    final IDualKeyCache<String, Integer, Integer> cache =
+        createCacheHoldingHotKeys(DualKeyCachePolicy.S3FIFO);
+    for (int i = 0; i < HOT_KEY_NUM; i += 2) {
+      cache.invalidate(FIRST_KEY, i);
+    }
+    for (int i = 0; i < HOT_KEY_NUM; i++) {
+      if (i % 2 == 0) {
+        Assert.assertNull(cache.get(FIRST_KEY, i));
+      } else {
+        Assert.assertEquals(i, cache.get(FIRST_KEY, i).intValue());
+      }
+    }
+    Assert.assertEquals(HOT_KEY_NUM / 2, cache.stats().entriesCount());
+    Assert.assertEquals(HOT_KEY_NUM / 2, cache.stats().hitCount());
+    Assert.assertEquals(HOT_KEY_NUM / 2, cache.stats().missCount());
+
+    // invalidated entries shall never be evicted
+    for (int i = HOT_KEY_NUM; i < 20 * HOT_KEY_NUM; i++) {
+      cache.update(FIRST_KEY, i, i, value -> 0, true);
+    }
+    cache.invalidateAll();
+    Assert.assertEquals(0, cache.stats().entriesCount());
+  }
+
+  private IDualKeyCache<String, Integer, Integer> createCacheHoldingHotKeys(
+      final DualKeyCachePolicy policy) {
+    // each entry takes more than 100 bytes, the threshold is 80% of the capacity
+    final IDualKeyCache<String, Integer, Integer> cache =
+        new DualKeyCacheBuilder<String, Integer, Integer>()
+            .cacheEvictionPolicy(policy)
+            .memoryCapacity(2 * HOT_KEY_NUM * 100)
+            .firstKeySizeComputer(key -> 100)
+            .secondKeySizeComputer(key -> 50)
+            .valueSizeComputer(value -> 50)
+            .build();
+    for (int i = 0; i < HOT_KEY_NUM; i++) {
+      cache.update(FIRST_KEY, i, i, value -> 0, true);
+    }
+    Assert.assertEquals(HOT_KEY_NUM, cache.stats().entriesCount());
+    return cache;
+  }
+
+  private int countCachedHotKeys(final IDualKeyCache<String, Integer, Integer> cache) {
+    int count = 0;
+    for (int i = 0; i < HOT_KEY_NUM; i++) {
+      if (cache.get(FIRST_KEY, i) != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -19,8 +19,15 @@
 
 package org.apache.iotdb.db.queryengine.plan.relational.analyzer;
 
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.LogicalQueryPlan;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNode;
+import org.apache.iotdb.db.queryengine.plan.relational.metadata.DeviceEntry;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.PlanTester;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.node.DeviceTableScanNode;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.ArithmeticBinaryExpression;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.ComparisonExpression;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.FunctionCall;
@@ -31,9 +38,14 @@ import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.SymbolReference;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import org.apache.tsfile.file.metadata.IDeviceID;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanAssert.assertPlan;
 import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanMatchPattern.aggregation;
@@ -43,6 +55,7 @@ import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions
 import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanMatchPattern.exchange;
 import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanMatchPattern.expression;
 import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanMatchPattern.filter;
+import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanMatchPattern.limit;
 import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanMatchPattern.mergeSort;
 import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanMatchPattern.output;
 import static org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanMatchPattern.project;
@@ -55,6 +68,8 @@ import static org.apache.iotdb.db.queryengine.plan.relational.planner.node.Aggre
 import static org.apache.iotdb.db.queryengine.plan.relational.sql.ast.ArithmeticBinaryExpression.Operator.ADD;
 import static org.apache.iotdb.db.queryengine.plan.relational.sql.ast.ArithmeticBinaryExpression.Operator.MULTIPLY;
 import static org.apache.iotdb.db.queryengine.plan.relational.sql.ast.ComparisonExpression.Operator.LESS_THAN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 // This test covers the remaining DistributionPlan cases that TSBSTest doesn't cover
 public class AggregationTest {
@@ -515,6 +530,82 @@ public class AggregationTest {
                     ImmutableSet.of("s2", "tag3")))));
   }
 
+  @Test
+  public void splitScanByDevicesTest() {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    DataNodeMemoryConfig memoryConfig = IoTDBDescriptor.getInstance().getMemoryConfig();
+    int maxTableScanSplitNumPerRegion = config.getMaxTableScanSplitNumPerRegion();
+    int tableScanSplitMinDeviceNum = config.getTableScanSplitMinDeviceNum();
+    int queryThreadCount = memoryConfig.getQueryThreadCount();
+    try {
+      config.setMaxTableScanSplitNumPerRegion(2);
+      config.setTableScanSplitMinDeviceNum(1);
+      memoryConfig.setQueryThreadCount(16);
+      PlanTester planTester = new PlanTester();
+      planTester.createPlan("SELECT count(s2) FROM table1");
+
+      // the devices of each of the 3 regions are split into 2 scans
+      // Output - Aggregation(FINAL) - Collect - 6 * Exchange
+      assertPlan(
+          planTester.getFragmentPlan(0),
+          output(
+              aggregation(
+                  singleGroupingSet(),
+                  ImmutableMap.of(
+                      Optional.empty(), aggregationFunction("count", ImmutableList.of("count_1"))),
+                  ImmutableList.of(),
+                  Optional.empty(),
+                  FINAL,
+                  collect(
+                      exchange(), exchange(), exchange(), exchange(), exchange(), exchange()))));
+
+      // - Aggregation(INTERMEDIATE) - AggTableScan
+      Map<TRegionReplicaSet, Integer> regionSplitNum = new HashMap<>();
+      Map<TRegionReplicaSet, Set<IDeviceID>> regionDevices = new HashMap<>();
+      for (int i = 1; i <= 6; i++) {
+        PlanNode fragmentPlan = planTester.getFragmentPlan(i);
+        assertPlan(
+            fragmentPlan,
+            aggregation(
+                singleGroupingSet(),
+                ImmutableMap.of(
+                    Optional.of("count_1"),
+                    aggregationFunction("count", ImmutableList.of("count_0"))),
+                ImmutableList.of(),
+                Optional.empty(),
+                INTERMEDIATE,
+                aggregationTableScan(
+                    singleGroupingSet(),
+                    ImmutableList.of(), // UnStreamable
+                    Optional.empty(),
+                    PARTIAL,
+                    "testdb.table1",
+                    ImmutableList.of("count_0"),
+                    ImmutableSet.of("s2"))));
+        DeviceTableScanNode scanNode = (DeviceTableScanNode) fragmentPlan.getChildren().get(0);
+        regionSplitNum.merge(scanNode.getRegionReplicaSet(), 1, Integer::sum);
+        Set<IDeviceID> devices =
+            regionDevices.computeIfAbsent(scanNode.getRegionReplicaSet(), k -> new HashSet<>());
+        for (DeviceEntry deviceEntry : scanNode.getDeviceEntries()) {
+          // each device of a region is scanned by only one split
+          assertTrue(devices.add(deviceEntry.getDeviceID()));
+        }
+      }
+      assertEquals(3, regionSplitNum.size());
+      regionSplitNum.values().forEach(splitNum -> assertEquals(2, (int) splitNum));
+
+      // the limit of the scan is applied to all the devices, so the scan is not split
+      planTester.createPlan("SELECT s2 FROM table1 limit 10");
+      assertPlan(
+          planTester.getFragmentPlan(0),
+          output(limit(10, collect(exchange(), exchange(), exchange()))));
+    } finally {
+      config.setMaxTableScanSplitNumPerRegion(maxTableScanSplitNumPerRegion);
+      config.setTableScanSplitMinDeviceNum(tableScanSplitMinDeviceNum);
+      memoryConfig.setQueryThreadCount(queryThreadCount);
+    }
+  }
+
   @Test
   public void syntacticSugarTest() {
     PlanTester planTester = new PlanTester();
@@ -45,6 +45,9 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -559,6 +562,55 @@ public class TableDeviceSchemaCacheTest {
         cache.getLastEntry(database1, convertTagValuesToDeviceID(table1, device0), "s2"));
   }
 
+  @Test
+  public void testLastCacheSnapshot() throws IOException {
+    final TableDeviceSchemaCache cache = TableDeviceSchemaCache.getInstance();
+    final IDeviceID deviceID =
+        convertTagValuesToDeviceID(table1, new String[] {"hebei", "p_1", "d_0"});
+
+    final TimeValuePair tv0 = new TimeValuePair(0L, new TsPrimitiveType.TsInt(0));
+    final TimeValuePair tv1 = new TimeValuePair(1L, TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE);
+    updateLastCache4Query(
+        cache,
+        database1,
+        deviceID,
+        new String[] {"s0", "", "s1"},
+        new TimeValuePair[] {tv0, tv1, TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR});
+
+    final Map<String, Map<Integer, Long>> stamps = new HashMap<>();
+    stamps.put(database1, Collections.singletonMap(1, 100L));
+
+    final File snapshotFile = Files.createTempFile("last_cache", ".snapshot").toFile();
+    try {
+      final LastCacheSnapshotManager manager = new LastCacheSnapshotManager(snapshotFile);
+      manager.snapshot(stamps);
+      cache.invalidateAll();
+
+      // the data region has changed since the snapshot
+      manager.load(Collections.singletonMap(database1, Collections.singletonMap(1, 101L)));
+      Assert.assertNull(cache.getLastEntry(database1, deviceID, "s0"));
+
+      manager.load(stamps);
+      Assert.assertEquals(tv0, cache.getLastEntry(database1, deviceID, "s0"));
+      final TimeValuePair timeOnly = cache.getLastEntry(database1, deviceID, "");
+      Assert.assertEquals(1L, timeOnly.getTimestamp());
+      Assert.assertSame(TableDeviceLastCache.EMPTY_PRIMITIVE_TYPE, timeOnly.getValue());
+      Assert.assertSame(
+          TableDeviceLastCache.EMPTY_TIME_VALUE_PAIR,
+          cache.getLastEntry(database1, deviceID, "s1"));
+
+      // a corrupted snapshot is ignored
+      cache.invalidateAll();
+      final byte[] content = Files.readAllBytes(snapshotFile.toPath());
+      content[content.length / 2] ^= 1;
+      Files.write(snapshotFile.toPath(), content);
+      manager.load(stamps);
+      Assert.assertNull(cache.getLastEntry(database1, deviceID, "s0"));
+    } finally {
+      Files.deleteIfExists(snapshotFile.toPath());
+    }
+  }
+
   private void updateLastCache4Query(
       final TableDeviceSchemaCache cache,
       final String database,
@@ -24,6 +24,8 @@ package org.apache.iotdb.db.queryengine.plan.relational.planner;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.exception.IoTDBException;
 import org.apache.iotdb.commons.schema.column.ColumnHeader;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.protocol.session.SessionManager;
 import org.apache.iotdb.db.queryengine.common.QueryId;
 import org.apache.iotdb.db.queryengine.common.header.DatasetHeader;
@@ -31,7 +33,9 @@ import org.apache.iotdb.db.queryengine.plan.Coordinator;
 import org.apache.iotdb.db.queryengine.plan.execution.ExecutionResult;
 import org.apache.iotdb.db.queryengine.plan.execution.QueryExecution;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.LogicalQueryPlan;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNode;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.assertions.PlanMatchPattern;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.node.JoinNode;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.ComparisonExpression;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.Expression;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.LongLiteral;
@@ -44,6 +48,7 @@ import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.read.common.block.TsBlock;
 import org.apache.tsfile.read.common.block.column.LongColumn;
 import org.apache.tsfile.read.common.block.column.TimeColumn;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -322,6 +327,43 @@ public class CteMaterializerTest {
     assertPlan(logicalQueryPlan, output(explainAnalyze(cteScan)));
   }
 
+  @Test
+  public void testJoinWithCteUsesHashJoin() {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    long originalMaxRowsInHashJoinBuildSide = config.getMaxRowsInHashJoinBuildSide();
+    config.setMaxRowsInHashJoinBuildSide(100);
+    try {
+      // the materialized cte has 3 rows, so it is used as the build side of hash join
+      String sql =
+          "with cte1 as materialized (SELECT time, s1 FROM table1) "
+              + "select t.time, t.s1 from table1 t join cte1 on t.s1 = cte1.s1";
+      JoinNode joinNode = findJoinNode(planTester.createPlan(sql).getRootNode());
+      Assert.assertNotNull(joinNode);
+      Assert.assertTrue(joinNode.isHashJoin());
+
+      // the rows of a table scan are unknown, so merge sort join is used
+      sql = "select t1.time, t1.s1 from table1 t1 join table1 t2 on t1.s1 = t2.s1";
+      joinNode = findJoinNode(planTester.createPlan(sql).getRootNode());
+      Assert.assertNotNull(joinNode);
+      Assert.assertFalse(joinNode.isHashJoin());
+    } finally {
+      config.setMaxRowsInHashJoinBuildSide(originalMaxRowsInHashJoinBuildSide);
+    }
+  }
+
+  private JoinNode findJoinNode(PlanNode node) {
+    if (node instanceof JoinNode) {
+      return (JoinNode) node;
+    }
+    for (PlanNode child : node.getChildren()) {
+      JoinNode joinNode = findJoinNode(child);
+      if (joinNode != null) {
+        return joinNode;
+      }
+    }
+    return null;
+  }
+
   /**
    * This test primarily ensures code coverage: materializeCTE.handleCteExplainResults &
    * materializeCTE.fetchCteQueryResult
@@ -19,37 +19,90 @@
 
 package org.apache.iotdb.db.queryengine.plan.scheduler.load;
 
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
 import org.apache.iotdb.commons.client.IClientManager;
+import org.apache.iotdb.commons.partition.DataPartition;
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.common.MPPQueryContext;
 import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
+import org.apache.iotdb.db.queryengine.common.SessionInfo;
 import org.apache.iotdb.db.queryengine.execution.QueryStateMachine;
 import org.apache.iotdb.db.queryengine.plan.analyze.IPartitionFetcher;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.DistributedQueryPlan;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.FragmentInstance;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.PlanFragment;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.SubPlan;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.load.LoadSingleTsFileNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.load.LoadTsFilePieceNode;
+import org.apache.iotdb.db.queryengine.plan.scheduler.FragInstanceDispatchResult;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.load.memory.LoadTsFileDataCacheMemoryBlock;
+import org.apache.iotdb.db.storageengine.load.memory.LoadTsFileMemoryManager;
+import org.apache.iotdb.rpc.RpcUtils;
+import org.apache.iotdb.rpc.TSStatusCode;
 
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.read.common.Path;
+import org.apache.tsfile.write.TsFileWriter;
+import org.apache.tsfile.write.record.TSRecord;
+import org.apache.tsfile.write.record.datapoint.IntDataPoint;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class LoadTsFileSchedulerTest {
 
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+  private static final String TEST_DIR = "target" + File.separator + "LoadTsFileSchedulerTest";
+  private static final int TSFILE_NUM = 4;
+
   @Mock DistributedQueryPlan distributedQueryPlan;
   @Mock SubPlan subPlan;
   @Mock PlanFragment planFragment;
 
+  private int originalLoadTsFileParallelism;
+
   @Before
   public void before() {
     MockitoAnnotations.initMocks(this);
     when(distributedQueryPlan.getRootSubPlan()).thenReturn(subPlan);
     when(subPlan.getPlanFragment()).thenReturn(planFragment);
     when(planFragment.getId()).thenReturn(new PlanFragmentId("test", 0));
+    originalLoadTsFileParallelism = CONFIG.getLoadTsFileParallelism();
+  }
+
+  @After
+  public void after() {
+    CONFIG.setLoadTsFileParallelism(originalLoadTsFileParallelism);
+    FileUtils.deleteFileOrDirectory(new File(TEST_DIR));
   }
 
   @Test
@@ -67,4 +120,166 @@ public class LoadTsFileSchedulerTest {
     Assert.assertNull(t.getTotalCpuTime());
     Assert.assertNull(t.getFragmentInfo());
   }
+
+  @Test
+  public void testLoadTsFilesInParallel() throws Exception {
+    CONFIG.setLoadTsFileParallelism(TSFILE_NUM);
+    final List<LoadSingleTsFileNode> nodes = createNodes();
+    final LoadTsFileDispatcherImpl dispatcher = createDispatcher(null);
+    final QueryStateMachine stateMachine = mock(QueryStateMachine.class);
+    final LoadTsFileScheduler scheduler = createScheduler(stateMachine, dispatcher);
+
+    scheduler.start();
+
+    for (final LoadSingleTsFileNode node : nodes) {
+      verify(node).clean();
+    }
+    verify(dispatcher, atLeast(TSFILE_NUM)).dispatch(any(), any());
+    verify(dispatcher, atLeast(TSFILE_NUM)).dispatchCommand(any(), any());
+    verify(stateMachine).transitionToFinished();
+    verify(scheduler, never()).convertFailedTsFilesToTabletsAndRetry();
+  }
+
+  @Test
+  public void testLoadTsFilesInParallelWithFailedDispatch() throws Exception {
+    CONFIG.setLoadTsFileParallelism(TSFILE_NUM);
+    final List<LoadSingleTsFileNode> nodes = createNodes();
+    final LoadSingleTsFileNode failedNode = nodes.get(1);
+    final LoadTsFileDispatcherImpl dispatcher =
+        createDispatcher(failedNode.getTsFileResource().getTsFile());
+    final QueryStateMachine stateMachine = mock(QueryStateMachine.class);
+    final LoadTsFileScheduler scheduler = createScheduler(stateMachine, dispatcher);
+    doNothing().when(scheduler).convertFailedTsFilesToTabletsAndRetry();
+
+    scheduler.start();
+
+    for (final LoadSingleTsFileNode node : nodes) {
+      if (node == failedNode) {
+        verify(node, never()).clean();
+      } else {
+        verify(node).clean();
+      }
+    }
+    verify(scheduler).convertFailedTsFilesToTabletsAndRetry();
+    verify(stateMachine, never()).transitionToFinished();
+  }
+
+  @Test
+  public void testLoadTsFilesInParallelWithFullDataCacheMemoryBlock() throws Exception {
+    CONFIG.setLoadTsFileParallelism(TSFILE_NUM);
+    final List<LoadSingleTsFileNode> nodes = createNodes();
+    final LoadTsFileDispatcherImpl dispatcher = createDispatcher(null);
+    final QueryStateMachine stateMachine = mock(QueryStateMachine.class);
+
+    final LoadTsFileDataCacheMemoryBlock block =
+        LoadTsFileMemoryManager.getInstance().allocateDataCacheMemoryBlock();
+    // larger than any limit of the block, so that every chunk has to be dispatched at once
+    final long fullMemoryInBytes = Long.MAX_VALUE >> 2;
+    block.addMemoryUsage(fullMemoryInBytes);
+    try {
+      Assert.assertFalse(block.hasEnoughMemory());
+      createScheduler(stateMachine, dispatcher).start();
+
+      for (final LoadSingleTsFileNode node : nodes) {
+        verify(node).clean();
+      }
+      verify(stateMachine).transitionToFinished();
+      // the memory of all the dispatched pieces is released
+      Assert.assertEquals(fullMemoryInBytes, block.getUsedMemoryInBytes());
+    } finally {
+      block.reduceMemoryUsage(fullMemoryInBytes);
+      LoadTsFileMemoryManager.getInstance().releaseDataCacheMemoryBlock();
+    }
+  }
+
+  private LoadTsFileScheduler createScheduler(
+      final QueryStateMachine stateMachine, final LoadTsFileDispatcherImpl dispatcher) {
+    final MPPQueryContext queryContext = mock(MPPQueryContext.class);
+    final SessionInfo session = mock(SessionInfo.class);
+    when(session.getUserName()).thenReturn("root");
+    when(queryContext.getSession()).thenReturn(session);
+
+    final TRegionReplicaSet replicaSet =
+        new TRegionReplicaSet(
+            new TConsensusGroupId(TConsensusGroupType.DataRegion, 1), Collections.emptyList());
+    final DataPartition dataPartition = mock(DataPartition.class);
+    when(dataPartition.getDataRegionReplicaSetForWriting(
+            any(IDeviceID.class), any(TTimePartitionSlot.class)))
+        .thenReturn(replicaSet);
+    final IPartitionFetcher partitionFetcher = mock(IPartitionFetcher.class);
+    when(partitionFetcher.getOrCreateDataPartition(any(List.class), any()))
+        .thenReturn(dataPartition);
+
+    final LoadTsFileScheduler scheduler =
+        spy(
+            new LoadTsFileScheduler(
+                distributedQueryPlan,
+                queryContext,
+                stateMachine,
+                mock(IClientManager.class),
+                partitionFetcher,
+                false));
+    doReturn(dispatcher).when(scheduler).createDispatcher();
+    return scheduler;
+  }
+
+  /** Create a dispatcher which fails to dispatch the pieces of the given TsFile. */
+  private LoadTsFileDispatcherImpl createDispatcher(final File failedTsFile) {
+    final LoadTsFileDispatcherImpl dispatcher = mock(LoadTsFileDispatcherImpl.class);
+    when(dispatcher.dispatch(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final List<FragmentInstance> instances = invocation.getArgument(1);
+              final LoadTsFilePieceNode pieceNode =
+                  (LoadTsFilePieceNode) instances.get(0).getFragment().getPlanNodeTree();
+              return CompletableFuture.completedFuture(
+                  pieceNode.getTsFile().equals(failedTsFile)
+                      ? new FragInstanceDispatchResult(
+                          RpcUtils.getStatus(TSStatusCode.LOAD_FILE_ERROR, "dispatch failed"))
+                      : new FragInstanceDispatchResult(true));
+            });
+    when(dispatcher.dispatchCommand(any(), any()))
+        .thenAnswer(
+            invocation -> CompletableFuture.completedFuture(new FragInstanceDispatchResult(true)));
+    return dispatcher;
+  }
+
+  private List<LoadSingleTsFileNode> createNodes() throws Exception {
+    final List<FragmentInstance> instances = new ArrayList<>();
+    final List<LoadSingleTsFileNode> nodes = new ArrayList<>();
+    for (int i = 0; i < TSFILE_NUM; ++i) {
+      final File tsFile = new File(TEST_DIR, i + "-0-0-0.tsfile");
+      createTsFile(tsFile, "root.sg.d" + i);
+
+      final LoadSingleTsFileNode node = mock(LoadSingleTsFileNode.class);
+      when(node.getTsFileResource()).thenReturn(new TsFileResource(tsFile));
+      when(node.getPlanNodeId()).thenReturn(new PlanNodeId("load-" + i));
+      when(node.isTsFileEmpty()).thenReturn(false);
+      when(node.needDecodeTsFile(any())).thenReturn(true);
+      nodes.add(node);
+
+      final FragmentInstance instance = mock(FragmentInstance.class);
+      final PlanFragment fragment = mock(PlanFragment.class);
+      when(fragment.getPlanNodeTree()).thenReturn(node);
+      when(instance.getFragment()).thenReturn(fragment);
+      instances.add(instance);
+    }
+    when(distributedQueryPlan.getInstances()).thenReturn(instances);
+    return nodes;
+  }
+
+  private void createTsFile(final File tsFile, final String device) throws Exception {
+    if (!tsFile.getParentFile().exists()) {
+      Assert.assertTrue(tsFile.getParentFile().mkdirs());
+    }
+    try (final TsFileWriter writer = new TsFileWriter(tsFile)) {
+      writer.registerTimeseries(
+          new Path(device), new MeasurementSchema("s1", TSDataType.INT32, TSEncoding.PLAIN));
+      for (long time = 1; time <= 100; ++time) {
+        final TSRecord record = new TSRecord(device, time);
+        record.addTuple(new IntDataPoint("s1", (int) time));
+        writer.writeRecord(record);
+      }
+    }
+  }
 }
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.transformation.dag.column;
+
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.ArithmeticAdditionColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareEqualToColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareGreaterEqualColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareGreaterThanColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareLessEqualColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareLessThanColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.CompareNonEqualColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.LogicAndColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.binary.LogicOrColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.ConstantColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.IdentityColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.LeafColumnTransformer;
+import org.apache.iotdb.db.queryengine.transformation.dag.column.leaf.TimeColumnTransformer;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.DoubleColumn;
+import org.apache.tsfile.read.common.block.column.IntColumn;
+import org.apache.tsfile.read.common.block.column.LongColumn;
+import org.apache.tsfile.read.common.type.Type;
+import org.apache.tsfile.read.common.type.TypeFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+public class SelectionVectorFilterTest {
+
+  private static final Type BOOLEAN = TypeFactory.getType(TSDataType.BOOLEAN);
+  private static final Type INT32 = TypeFactory.getType(TSDataType.INT32);
+  private static final Type INT64 = TypeFactory.getType(TSDataType.INT64);
+  private static final Type DOUBLE = TypeFactory.getType(TSDataType.DOUBLE);
+
+  private static final int POSITION_COUNT = 100;
+
+  private TsBlock tsBlock;
+
+  private List<LeafColumnTransformer> leaves;
+
+  @Before
+  public void setUp() {
+    // column 0: INT32, every 7th row is null
+    // column 1: INT64, every 5th row is null
+    // column 2: DOUBLE, every 9th row is NaN and every 11th row is null
+    TsBlockBuilder builder =
+        new TsBlockBuilder(
+            POSITION_COUNT, Arrays.asList(TSDataType.INT32, TSDataType.INT64, TSDataType.DOUBLE));
+    ColumnBuilder[] columnBuilders = builder.getValueColumnBuilders();
+    for (int i = 0; i < POSITION_COUNT; i++) {
+      builder.getTimeColumnBuilder().writeLong(i * 10L);
+      if (i % 7 == 0) {
+        columnBuilders[0].appendNull();
+      } else {
+        columnBuilders[0].writeInt(i % 13);
+      }
+      if (i % 5 == 0) {
+        columnBuilders[1].appendNull();
+      } else {
+        columnBuilders[1].writeLong(i * 3L - 100);
+      }
+      if (i % 11 == 0) {
+        columnBuilders[2].appendNull();
+      } else {
+        columnBuilders[2].writeDouble(i % 9 == 0 ? Double.NaN : i * 0.5);
+      }
+      builder.declarePosition();
+    }
+    tsBlock = builder.build();
+    leaves = new ArrayList<>();
+  }
+
+  @Test
+  public void testCompare() {
+    List<BiFunction<ColumnTransformer, ColumnTransformer, ColumnTransformer>> compares =
+        Arrays.asList(
+            (l, r) -> new CompareGreaterThanColumnTransformer(BOOLEAN, l, r),
+            (l, r) -> new CompareGreaterEqualColumnTransformer(BOOLEAN, l, r),
+            (l, r) -> new CompareLessThanColumnTransformer(BOOLEAN, l, r),
+            (l, r) -> new CompareLessEqualColumnTransformer(BOOLEAN, l, r),
+            (l, r) -> new CompareEqualToColumnTransformer(BOOLEAN, l, r),
+            (l, r) -> new CompareNonEqualColumnTransformer(BOOLEAN, l, r));
+    for (BiFunction<ColumnTransformer, ColumnTransformer, ColumnTransformer> compare : compares) {
+      // column op constant
+      assertSameResult(() -> compare.apply(identity(INT32, 0), constant(INT32, 6)));
+      assertSameResult(() -> compare.apply(identity(INT64, 1), constant(INT64, 20)));
+      assertSameResult(() -> compare.apply(identity(DOUBLE, 2), constant(DOUBLE, 25.0)));
+      assertSameResult(() -> compare.apply(time(), constant(INT64, 500)));
+      // constant op column
+      assertSameResult(() -> compare.apply(constant(INT64, 20), identity(INT64, 1)));
+      assertSameResult(() -> compare.apply(constant(INT32, 6), identity(DOUBLE, 2)));
+      // null and NaN constant select nothing
+      assertSameResult(() -> compare.apply(identity(INT64, 1), constant(INT64, null)));
+      assertSameResult(() -> compare.apply(identity(INT32, 0), constant(DOUBLE, Double.NaN)));
+    }
+  }
+
+  @Test
+  public void testConjunction() {
+    assertSameResult(
+        () ->
+            and(
+                new CompareGreaterThanColumnTransformer(
+                    BOOLEAN, identity(INT64, 1), constant(INT64, 0)),
+                and(
+                    new CompareLessEqualColumnTransformer(
+                        BOOLEAN, identity(DOUBLE, 2), constant(DOUBLE, 40.0)),
+                    new CompareNonEqualColumnTransformer(
+                        BOOLEAN, identity(INT32, 0), constant(INT32, 3)))));
+  }
+
+  @Test
+  public void testRegion() {
+    // values of a region are not at the head of the arrays of its columns
+    tsBlock = tsBlock.getRegion(13, 50);
+    assertSameResult(
+        () ->
+            and(
+                new CompareGreaterThanColumnTransformer(
+                    BOOLEAN, identity(INT64, 1), constant(INT64, 0)),
+                new CompareLessThanColumnTransformer(BOOLEAN, time(), constant(INT64, 400))));
+  }
+
+  @Test
+  public void testUnsupportedFilter() {
+    Assert.assertNull(
+        SelectionVectorFilter.tryCreate(
+            new LogicOrColumnTransformer(
+                BOOLEAN,
+                new CompareGreaterThanColumnTransformer(
+                    BOOLEAN, identity(INT64, 1), constant(INT64, 0)),
+                new CompareLessThanColumnTransformer(
+                    BOOLEAN, identity(INT64, 1), constant(INT64, 10)))));
+    Assert.assertNull(
+        SelectionVectorFilter.tryCreate(
+            new CompareGreaterThanColumnTransformer(
+                BOOLEAN,
+                new ArithmeticAdditionColumnTransformer(
+                    INT64, identity(INT64, 1), constant(INT64, 1)),
+                constant(INT64, 0))));
+    Assert.assertNull(
+        SelectionVectorFilter.tryCreate(
+            new CompareGreaterThanColumnTransformer(
+                BOOLEAN, identity(INT64, 1), identity(INT32, 0))));
+  }
+
+  private void assertSameResult(FilterSupplier filterSupplier) {
+    ColumnTransformer filter = filterSupplier.get();
+    SelectionVectorFilter selectionVectorFilter = SelectionVectorFilter.tryCreate(filter);
+    Assert.assertNotNull(selectionVectorFilter);
+    int[] positions = new int[tsBlock.getPositionCount()];
+    int size = selectionVectorFilter.filter(tsBlock, positions);
+
+    // evaluate the ColumnTransformer tree
+    leaves.clear();
+    filter = filterSupplier.get();
+    filter.addReferenceCount();
+    for (LeafColumnTransformer leaf : leaves) {
+      leaf.initFromTsBlock(tsBlock);
+    }
+    filter.tryEvaluate();
+    Column filterColumn = filter.getColumn();
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+      if (!filterColumn.isNull(i) && filterColumn.getBoolean(i)) {
+        expected.add(i);
+      }
+    }
+
+    List<Integer> actual = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      actual.add(positions[i]);
+    }
+    Assert.assertEquals(expected, actual);
+  }
+
+  private ColumnTransformer and(ColumnTransformer left, ColumnTransformer right) {
+    left.addReferenceCount();
+    right.addReferenceCount();
+    return new LogicAndColumnTransformer(BOOLEAN, left, right);
+  }
+
+  private LeafColumnTransformer identity(Type type, int index) {
+    return addLeaf(new IdentityColumnTransformer(type, index));
+  }
+
+  private LeafColumnTransformer time() {
+    return addLeaf(new TimeColumnTransformer(INT64));
+  }
+
+  private LeafColumnTransformer constant(Type type, Number value) {
+    Column column;
+    Optional<boolean[]> isNull =
+        value == null ? Optional.of(new boolean[] {true}) : Optional.empty();
+    switch (type.getTypeEnum()) {
+      case INT32:
+        column = new IntColumn(1, isNull, new int[] {value == null ? 0 : value.intValue()});
+        break;
+      case INT64:
+        column = new LongColumn(1, isNull, new long[] {value == null ? 0 : value.longValue()});
+        break;
+      default:
+        column =
+            new DoubleColumn(1, isNull, new double[] {value == null ? 0 : value.doubleValue()});
+    }
+    return addLeaf(new ConstantColumnTransformer(type, column));
+  }
+
+  private LeafColumnTransformer addLeaf(LeafColumnTransformer leaf) {
+    leaf.addReferenceCount();
+    leaves.add(leaf);
+    return leaf;
+  }
+
+  @FunctionalInterface
+  private interface FilterSupplier {
+    ColumnTransformer get();
+  }
+}
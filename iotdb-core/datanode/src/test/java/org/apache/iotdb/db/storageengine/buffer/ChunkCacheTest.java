@@ -20,7 +20,10 @@
 package org.apache.iotdb.db.storageengine.buffer;
 
 import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.StorageEngineException;
+import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
@@ -133,6 +136,77 @@ public class ChunkCacheTest {
     }
   }
 
+  @Test
+  public void testLoadCoalesced() throws IOException {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    long maxDistance = config.getChunkReadCoalesceMaxDistanceInByte();
+    TsFileResource tsFileResource = seqResources.get(0);
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(tsFileResource.getTsFilePath())) {
+      config.setChunkReadCoalesceMaxDistanceInByte(1024 * 1024);
+      List<ChunkMetadata> chunkMetadataList = new ArrayList<>();
+      List<ChunkCache.ChunkCacheKey> chunkCacheKeys = new ArrayList<>();
+      for (Path path : reader.getAllPaths()) {
+        for (ChunkMetadata chunkMetadata : reader.getChunkMetadataList(path)) {
+          chunkMetadataList.add(chunkMetadata);
+          chunkCacheKeys.add(
+              new ChunkCache.ChunkCacheKey(
+                  tsFileResource.getTsFilePath(),
+                  tsFileResource.getTsFileID(),
+                  chunkMetadata.getOffsetOfChunkHeader(),
+                  true));
+        }
+      }
+      Assert.assertEquals(
+          1, ChunkReadPlanner.plan(chunkCacheKeys, 1024 * 1024, Integer.MAX_VALUE).size());
+
+      // two chunks are not read together
+      chunkCache.clear();
+      QueryContext queryContext = new QueryContext(1, false);
+      chunkCache.loadCoalesced(chunkCacheKeys.subList(0, 2), queryContext);
+      Assert.assertTrue(chunkCache.isEmpty());
+      Assert.assertEquals(0, queryContext.getQueryStatistics().getLoadChunkCoalescedCount().get());
+
+      // the last chunk is left to be read by itself
+      chunkCache.loadCoalesced(chunkCacheKeys, queryContext);
+      Assert.assertFalse(chunkCache.isEmpty());
+      Assert.assertEquals(
+          chunkCacheKeys.size() - 1,
+          queryContext.getQueryStatistics().getLoadChunkCoalescedCount().get());
+
+      for (int i = 0; i < chunkMetadataList.size(); i++) {
+        ChunkMetadata chunkMetadata = chunkMetadataList.get(i);
+        Chunk chunk =
+            chunkCache.get(
+                chunkCacheKeys.get(i),
+                chunkMetadata.getDeleteIntervalList(),
+                chunkMetadata.getStatistics());
+        Chunk expectedChunk = reader.readMemChunk(chunkMetadata);
+        Assert.assertEquals(
+            expectedChunk.getHeader().getDataSize(), chunk.getHeader().getDataSize());
+        Assert.assertEquals(expectedChunk.getData(), chunk.getData());
+      }
+    } finally {
+      config.setChunkReadCoalesceMaxDistanceInByte(maxDistance);
+    }
+  }
+
+  @Test
+  public void testChunkReadPlanner() {
+    List<ChunkCache.ChunkCacheKey> chunkCacheKeys = new ArrayList<>();
+    for (long offset : new long[] {500, 100, 200, 200, 1500, 1600, 1700, 1800}) {
+      chunkCacheKeys.add(new ChunkCache.ChunkCacheKey("", null, offset, true));
+    }
+    List<List<ChunkCache.ChunkCacheKey>> groups = ChunkReadPlanner.plan(chunkCacheKeys, 300, 250);
+    Assert.assertEquals(4, groups.size());
+    long[][] expectedOffsets = {{100, 200}, {500}, {1500, 1600, 1700}, {1800}};
+    for (int i = 0; i < groups.size(); i++) {
+      Assert.assertEquals(expectedOffsets[i].length, groups.get(i).size());
+      for (int j = 0; j < expectedOffsets[i].length; j++) {
+        Assert.assertEquals(expectedOffsets[i][j], groups.get(i).get(j).getOffsetOfChunkHeader());
+      }
+    }
+  }
+
   void prepareSeries() throws MetadataException {
     measurementSchemas = new MeasurementSchema[measurementNum];
     for (int i = 0; i < measurementNum; i++) {
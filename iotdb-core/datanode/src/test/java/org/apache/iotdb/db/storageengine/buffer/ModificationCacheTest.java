@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.buffer;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.commons.path.PatternTreeMap;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModificationFile;
+import org.apache.iotdb.db.storageengine.dataregion.modification.TreeDeletionEntry;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.utils.constant.TestConstant;
+import org.apache.iotdb.db.utils.datastructure.PatternTreeMapFactory.ModsSerializer;
+
+import org.apache.tsfile.external.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class ModificationCacheTest {
+
+  private final File dir =
+      new File(TestConstant.BASE_OUTPUT_PATH + File.separator + "modificationCache");
+
+  private TsFileResource resource;
+
+  @Before
+  public void setUp() {
+    Assert.assertTrue(dir.exists() || dir.mkdirs());
+    resource = new TsFileResource(new File(dir, "1-1-0-0.tsfile"));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    resource.getExclusiveModFile().close();
+    FileUtils.deleteDirectory(dir);
+  }
+
+  @Test
+  public void testAppendAndRewrite() throws IOException, IllegalPathException {
+    ModificationCache cache = new ModificationCache(1024 * 1024);
+    ModificationFile modFile = resource.getExclusiveModFile();
+    modFile.write(new TreeDeletionEntry(new MeasurementPath("root.sg.d1.s1"), 0, 100));
+
+    PatternTreeMap<ModEntry, ModsSerializer> tree1 = cache.get(resource);
+    Assert.assertEquals(1, tree1.getOverlapped(new MeasurementPath("root.sg.d1.s1")).size());
+    Assert.assertSame(tree1, cache.get(resource));
+    Assert.assertEquals(1, cache.getLoadCount());
+    Assert.assertEquals(1, cache.getHitCount());
+
+    // only the appended entry is read
+    modFile.write(new TreeDeletionEntry(new MeasurementPath("root.sg.d2.s1"), 0, 100));
+    PatternTreeMap<ModEntry, ModsSerializer> tree2 = cache.get(resource);
+    Assert.assertNotSame(tree1, tree2);
+    Assert.assertEquals(1, cache.getAppendLoadCount());
+    Assert.assertEquals(1, tree2.getOverlapped(new MeasurementPath("root.sg.d1.s1")).size());
+    Assert.assertEquals(1, tree2.getOverlapped(new MeasurementPath("root.sg.d2.s1")).size());
+    // the tree got before is not changed
+    Assert.assertTrue(tree1.getOverlapped(new MeasurementPath("root.sg.d2.s1")).isEmpty());
+
+    // the file is rewritten, even if it is not shorter than before
+    modFile.truncate(0);
+    modFile.write(new TreeDeletionEntry(new MeasurementPath("root.sg.d3.s1"), 0, 100));
+    modFile.write(new TreeDeletionEntry(new MeasurementPath("root.sg.d3.s2"), 0, 100));
+    PatternTreeMap<ModEntry, ModsSerializer> tree3 = cache.get(resource);
+    Assert.assertEquals(2, cache.getLoadCount());
+    Assert.assertTrue(tree3.getOverlapped(new MeasurementPath("root.sg.d1.s1")).isEmpty());
+    Assert.assertEquals(1, tree3.getOverlapped(new MeasurementPath("root.sg.d3.s1")).size());
+    Assert.assertEquals(1, tree3.getOverlapped(new MeasurementPath("root.sg.d3.s2")).size());
+  }
+
+  @Test
+  public void testIncompleteReadIsNotCached() throws IOException, IllegalPathException {
+    ModificationCache cache = new ModificationCache(1024 * 1024);
+    ModificationFile modFile = resource.getExclusiveModFile();
+    modFile.write(new TreeDeletionEntry(new MeasurementPath("root.sg.d1.s1"), 0, 100));
+    PatternTreeMap<ModEntry, ModsSerializer> tree = cache.get(resource);
+    Assert.assertEquals(1, tree.getOverlapped(new MeasurementPath("root.sg.d1.s1")).size());
+
+    // append a part of an entry, which cannot be read
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    new TreeDeletionEntry(new MeasurementPath("root.sg.d2.s1"), 0, 100).serialize(stream);
+    Files.write(
+        modFile.getFile().toPath(),
+        Arrays.copyOf(stream.toByteArray(), 5),
+        StandardOpenOption.APPEND);
+
+    // the failure is reported by every request instead of caching the entries read
+    for (int i = 0; i < 2; i++) {
+      try {
+        cache.get(resource);
+        Assert.fail();
+      } catch (UncheckedIOException e) {
+        // expected
+      }
+    }
+    Assert.assertEquals(2, cache.getAppendLoadCount());
+    Assert.assertEquals(0, cache.getHitCount());
+  }
+}
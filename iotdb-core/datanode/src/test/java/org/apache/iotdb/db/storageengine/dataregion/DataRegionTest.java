@@ -30,6 +30,7 @@ import org.apache.iotdb.commons.path.IFullPath;
 import org.apache.iotdb.commons.path.MeasurementPath;
 import org.apache.iotdb.commons.path.NonAlignedFullPath;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.utils.TimePartitionUtils;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.DataRegionException;
@@ -95,6 +96,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import static org.apache.iotdb.db.queryengine.plan.statement.StatementTestUtils.genInsertRowNode;
@@ -717,6 +720,56 @@ public class DataRegionTest {
     }
   }
 
+  @Test
+  public void testStripedInsertLock() throws Exception {
+    int defaultStripeNum = config.getDataRegionInsertLockStripeNum();
+    config.setDataRegionInsertLockStripeNum(4);
+    ExecutorService insertPool = Executors.newFixedThreadPool(4);
+    try {
+      dataRegion.syncDeleteDataFiles();
+      StorageEngine.getInstance().deleteDataRegion(new DataRegionId(0));
+      dataRegion = new DummyDataRegion(systemDir, storageGroup);
+      StorageEngine.getInstance().setDataRegion(new DataRegionId(0), dataRegion);
+
+      // each task writes its own time partition, two time partitions share one stripe
+      int timePartitionNum = 8;
+      long timePartitionInterval = TimePartitionUtils.getTimePartitionInterval();
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < timePartitionNum; i++) {
+        long startTime = i * timePartitionInterval;
+        futures.add(
+            insertPool.submit(
+                () -> {
+                  for (int j = 0; j < 100; j++) {
+                    TSRecord record = new TSRecord(deviceId, startTime + j);
+                    record.addTuple(
+                        DataPoint.getDataPoint(TSDataType.INT32, measurementId, String.valueOf(j)));
+                    dataRegion.insert(buildInsertRowNodeByTSRecord(record));
+                  }
+                  return null;
+                }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+
+      Assert.assertEquals(timePartitionNum, dataRegion.getWorkSequenceTsFileProcessors().size());
+      for (TsFileProcessor tsFileProcessor : dataRegion.getWorkSequenceTsFileProcessors()) {
+        Assert.assertEquals(100, tsFileProcessor.getWorkMemTable().getTotalPointsNum());
+      }
+      QueryDataSource queryDataSource =
+          dataRegion.query(
+              Collections.singletonList(nonAlignedFullPath), device, context, null, null);
+      Assert.assertEquals(timePartitionNum, queryDataSource.getSeqResources().size());
+
+      dataRegion.syncCloseAllWorkingTsFileProcessors();
+      Assert.assertTrue(dataRegion.getWorkSequenceTsFileProcessors().isEmpty());
+    } finally {
+      insertPool.shutdownNow();
+      config.setDataRegionInsertLockStripeNum(defaultStripeNum);
+    }
+  }
+
   @Test
   public void testAllMeasurementsFailedRecordSeqAndUnSeqSyncClose()
       throws WriteProcessException, QueryProcessException, IllegalPathException {
@@ -29,7 +29,9 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.Abst
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.CrossSpaceCompactionTask;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.InnerSpaceCompactionTask;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.SettleCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.io.CompactionIOBudget;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.comparator.CostAwareCompactionTaskComparatorImpl;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.comparator.DefaultCompactionTaskComparatorImpl;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constant.CompactionPriority;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.utils.CompactionConfigRestorer;
@@ -39,6 +41,7 @@ import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.utils.datastructure.FixedPriorityBlockingQueue;
 
 import com.google.common.collect.MinMaxPriorityQueue;
+import org.apache.tsfile.file.metadata.IDeviceID;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -490,6 +493,84 @@ public class CompactionTaskComparatorTest {
         candidateCompactionTaskQueue.take().getCompactionTaskType(), CompactionTaskType.INNER_SEQ);
   }
 
+  @Test
+  public void testCostAwareCompare() throws InterruptedException {
+    FixedPriorityBlockingQueue<AbstractCompactionTask> candidateCompactionTaskQueue =
+        new FixedPriorityBlockingQueue<>(1024, new CostAwareCompactionTaskComparatorImpl());
+
+    // the unsequence file overlaps both sequence files on 5 devices, so the benefit is 5 * 3
+    List<TsFileResource> seqResources = new ArrayList<>();
+    seqResources.add(createResourceWithDevices("1-1-0-0.tsfile", 100, 5, 0, 15));
+    seqResources.add(createResourceWithDevices("2-2-0-0.tsfile", 100, 5, 15, 30));
+    List<TsFileResource> unseqResources =
+        Collections.singletonList(createResourceWithDevices("3-3-0-0.tsfile", 100, 5, 10, 20));
+    AbstractCompactionTask crossTask =
+        new FakeCrossSpaceCompactionTask(
+            "fakeSg", 0, tsFileManager, seqResources, unseqResources, 0);
+    Assert.assertEquals(15, crossTask.getScore().getBenefit(), 0.0001);
+
+    // merging 3 files of 5 devices saves 5 * 2 file reads
+    List<TsFileResource> smallResources = new ArrayList<>();
+    List<TsFileResource> largeResources = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      smallResources.add(
+          createResourceWithDevices(
+              String.format("%d-%d-0-0.tsfile", 10 + i, 10 + i), 100, 5, i, i));
+      largeResources.add(
+          createResourceWithDevices(
+              String.format("%d-%d-0-0.tsfile", 20 + i, 20 + i), 10 * 1024 * 1024, 5, i, i));
+    }
+    AbstractCompactionTask smallInnerTask =
+        new FakedInnerSpaceCompactionTask("fakeSg", 0, tsFileManager, true, smallResources, 0);
+    AbstractCompactionTask largeInnerTask =
+        new FakedInnerSpaceCompactionTask("fakeSg", 0, tsFileManager, true, largeResources, 0);
+    Assert.assertEquals(10, smallInnerTask.getScore().getBenefit(), 0.0001);
+    Assert.assertEquals(60L * 1024 * 1024, largeInnerTask.getScore().getIOCost());
+
+    candidateCompactionTaskQueue.put(largeInnerTask);
+    candidateCompactionTaskQueue.put(smallInnerTask);
+    candidateCompactionTaskQueue.put(crossTask);
+    Assert.assertSame(crossTask, candidateCompactionTaskQueue.take());
+    Assert.assertSame(smallInnerTask, candidateCompactionTaskQueue.take());
+    Assert.assertSame(largeInnerTask, candidateCompactionTaskQueue.take());
+  }
+
+  @Test
+  public void testDataDirIOBudget() {
+    String tsFilePath =
+        String.join(File.separator, "data", "sequence", "root.sg", "0", "0", "1-1-0-0.tsfile");
+    Assert.assertEquals("data", CompactionIOBudget.getDataDir(tsFilePath));
+
+    AtomicInteger load = new AtomicInteger(0);
+    CompactionIOBudget ioBudget = new CompactionIOBudget(1000, () -> load.get() / 100.0);
+    ioBudget.acquire(tsFilePath, 1);
+    Assert.assertEquals(1000, ioBudget.getRate(tsFilePath), 0.0001);
+
+    // the budget shrinks under the foreground load, but not below a quarter of the rate
+    load.set(50);
+    ioBudget = new CompactionIOBudget(1000, () -> load.get() / 100.0);
+    ioBudget.acquire(tsFilePath, 1);
+    Assert.assertEquals(500, ioBudget.getRate(tsFilePath), 0.0001);
+    load.set(100);
+    ioBudget = new CompactionIOBudget(1000, () -> load.get() / 100.0);
+    ioBudget.acquire(tsFilePath, 1);
+    Assert.assertEquals(250, ioBudget.getRate(tsFilePath), 0.0001);
+
+    ioBudget.setRate(0);
+    Assert.assertEquals(0, ioBudget.getRate(tsFilePath), 0.0001);
+  }
+
+  private TsFileResource createResourceWithDevices(
+      String fileName, long fileSize, int deviceNum, long startTime, long endTime) {
+    TsFileResource resource = new FakedTsFileResource(new File(fileName), fileSize);
+    for (int i = 0; i < deviceNum; i++) {
+      IDeviceID device = IDeviceID.Factory.DEFAULT_FACTORY.create("root.sg.d" + i);
+      resource.updateStartTime(device, startTime);
+      resource.updateEndTime(device, endTime);
+    }
+    return resource;
+  }
+
   private static class FakedInnerSpaceCompactionTask extends InnerSpaceCompactionTask {
 
     public FakedInnerSpaceCompactionTask(
@@ -49,6 +49,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 public class BatchedAlignedSeriesFastInnerCompactionTest extends AbstractCompactionTest {
 
@@ -418,13 +419,75 @@ public class BatchedAlignedSeriesFastInnerCompactionTest extends AbstractCompact
     validate(targetResource);
   }
 
+  @Test
+  public void testCompactionBatchesInParallel() throws Exception {
+    int defaultParallelism =
+        IoTDBDescriptor.getInstance().getConfig().getCompactionAlignedSeriesBatchParallelism();
+    IoTDBDescriptor.getInstance().getConfig().setCompactionAlignedSeriesBatchParallelism(4);
+    try {
+      List<String> measurements =
+          Arrays.asList("s0", "s1", "s2", "s3", "s4", "s5", "s6", "s7", "s8");
+      TsFileResource unseqResource1 =
+          generateSingleAlignedSeriesFile(
+              "d0",
+              measurements,
+              new TimeRange[][] {
+                new TimeRange[] {new TimeRange(100, 200), new TimeRange(500, 600)}
+              },
+              TSEncoding.PLAIN,
+              CompressionType.LZ4,
+              Collections.nCopies(measurements.size(), false),
+              false);
+      unseqResource1
+          .getModFileForWrite()
+          .write(new TreeDeletionEntry(new MeasurementPath("root.testsg.d0", "s5"), 150));
+      unseqResource1.getModFileForWrite().close();
+      unseqResources.add(unseqResource1);
+
+      TsFileResource unseqResource2 =
+          generateSingleAlignedSeriesFile(
+              "d0",
+              measurements,
+              new TimeRange[] {new TimeRange(150, 550)},
+              TSEncoding.PLAIN,
+              CompressionType.LZ4,
+              Collections.nCopies(measurements.size(), false),
+              false);
+      unseqResources.add(unseqResource2);
+
+      TsFileResource unseqResource3 =
+          generateSingleAlignedSeriesFile(
+              "d0",
+              measurements,
+              new TimeRange[] {new TimeRange(100000, 200000)},
+              TSEncoding.PLAIN,
+              CompressionType.LZ4,
+              Collections.nCopies(measurements.size(), false),
+              false);
+      unseqResources.add(unseqResource3);
+
+      FastCompactionTaskSummary summary = new FastCompactionTaskSummary();
+      TsFileResource targetResource = performCompaction(summary);
+      validate(targetResource);
+      // the time pages decoded by the first batch are shared by the following batches
+      Assert.assertTrue(summary.decodedTimePageCacheHit > 0);
+    } finally {
+      IoTDBDescriptor.getInstance()
+          .getConfig()
+          .setCompactionAlignedSeriesBatchParallelism(defaultParallelism);
+    }
+  }
+
   private TsFileResource performCompaction() throws Exception {
+    return performCompaction(new FastCompactionTaskSummary());
+  }
+
+  private TsFileResource performCompaction(FastCompactionTaskSummary summary) throws Exception {
     tsFileManager.addAll(unseqResources, false);
     TsFileResource targetResource =
         TsFileNameGenerator.getInnerCompactionTargetFileResource(unseqResources, false);
 
     FastCompactionPerformer performer = new FastCompactionPerformer(false);
-    FastCompactionTaskSummary summary = new FastCompactionTaskSummary();
     performer.setSummary(summary);
     performer.setSourceFiles(unseqResources);
     performer.setTargetFiles(Collections.singletonList(targetResource));
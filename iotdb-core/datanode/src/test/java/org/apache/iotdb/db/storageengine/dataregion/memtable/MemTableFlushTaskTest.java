@@ -20,19 +20,30 @@
 package org.apache.iotdb.db.storageengine.dataregion.memtable;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.WriteProcessException;
 import org.apache.iotdb.db.storageengine.dataregion.flush.MemTableFlushTask;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.db.utils.constant.TestConstant;
 
 import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.ChunkGroupMetadata;
 import org.apache.tsfile.file.metadata.ChunkMetadata;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.tsfile.fileSystem.FSFactoryProducer;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+import org.apache.tsfile.write.schema.MeasurementSchema;
 import org.apache.tsfile.write.writer.RestorableTsFileIOWriter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.Assert.assertEquals;
@@ -161,4 +172,118 @@ public class MemTableFlushTaskTest {
     assertEquals(TSDataType.BOOLEAN, chunkMetaData.getDataType());
     assertEquals(endTime - startTime + 1, chunkMetaData.getNumOfPoints());
   }
+
+  @Test
+  public void testFlushMemTableWithParallelEncoding()
+      throws ExecutionException, InterruptedException, IllegalPathException {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    int originalEncodingThreadCount = config.getFlushEncodingThreadCount();
+    config.setFlushEncodingThreadCount(4);
+    try {
+      int deviceNum = 20;
+      int measurementNum = 10;
+      int pointNum = 1000;
+      for (int i = 0; i < deviceNum; i++) {
+        IDeviceID deviceId =
+            DeviceIDFactory.getInstance().getDeviceID(new PartialPath("root.sg.d" + i));
+        List<IMeasurementSchema> schemas = new ArrayList<>();
+        for (int j = 0; j < measurementNum; j++) {
+          schemas.add(new MeasurementSchema("s" + j, TSDataType.INT64, TSEncoding.PLAIN));
+        }
+        // write in reverse order so that each series needs to be sorted
+        for (long time = pointNum; time > 0; time--) {
+          Object[] values = new Object[measurementNum];
+          Arrays.fill(values, time);
+          memTable.write(deviceId, schemas, time, values);
+        }
+      }
+
+      new MemTableFlushTask(memTable, writer, storageGroup, dataRegionId).syncFlushMemTable();
+
+      // chunk groups and chunks are written in the same order as serial encoding
+      List<ChunkGroupMetadata> chunkGroupMetadataList = writer.getChunkGroupMetadataList();
+      assertEquals(deviceNum, chunkGroupMetadataList.size());
+      IDeviceID previousDevice = null;
+      for (ChunkGroupMetadata chunkGroupMetadata : chunkGroupMetadataList) {
+        if (previousDevice != null) {
+          assertTrue(previousDevice.compareTo(chunkGroupMetadata.getDevice()) < 0);
+        }
+        previousDevice = chunkGroupMetadata.getDevice();
+        List<ChunkMetadata> chunkMetadataList = chunkGroupMetadata.getChunkMetadataList();
+        assertEquals(measurementNum, chunkMetadataList.size());
+        for (int j = 1; j < measurementNum; j++) {
+          assertTrue(
+              chunkMetadataList
+                      .get(j - 1)
+                      .getMeasurementUid()
+                      .compareTo(chunkMetadataList.get(j).getMeasurementUid())
+                  < 0);
+        }
+        for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+          assertEquals(1, chunkMetadata.getStartTime());
+          assertEquals(pointNum, chunkMetadata.getEndTime());
+          assertEquals(pointNum, chunkMetadata.getNumOfPoints());
+        }
+      }
+    } finally {
+      config.setFlushEncodingThreadCount(originalEncodingThreadCount);
+    }
+  }
+
+  @Test
+  public void testFlushMemTableWithParallelEncodingAndBoundedQueue()
+      throws ExecutionException, InterruptedException, IllegalPathException {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    int originalEncodingThreadCount = config.getFlushEncodingThreadCount();
+    int originalIoTaskQueueSize = config.getIoTaskQueueSizeForFlushing();
+    long originalTargetChunkPointNum = config.getTargetChunkPointNum();
+    config.setFlushEncodingThreadCount(4);
+    // each series is encoded into more chunks than its queue can hold
+    config.setIoTaskQueueSizeForFlushing(1);
+    config.setTargetChunkPointNum(100);
+    try {
+      int deviceNum = 5;
+      int measurementNum = 4;
+      int pointNum = 1000;
+      for (int i = 0; i < deviceNum; i++) {
+        IDeviceID deviceId =
+            DeviceIDFactory.getInstance().getDeviceID(new PartialPath("root.sg.d" + i));
+        List<IMeasurementSchema> schemas = new ArrayList<>();
+        for (int j = 0; j < measurementNum; j++) {
+          schemas.add(new MeasurementSchema("s" + j, TSDataType.INT64, TSEncoding.PLAIN));
+        }
+        for (long time = 1; time <= pointNum; time++) {
+          Object[] values = new Object[measurementNum];
+          Arrays.fill(values, time);
+          memTable.write(deviceId, schemas, time, values);
+        }
+      }
+
+      new MemTableFlushTask(memTable, writer, storageGroup, dataRegionId).syncFlushMemTable();
+
+      List<ChunkGroupMetadata> chunkGroupMetadataList = writer.getChunkGroupMetadataList();
+      assertEquals(deviceNum, chunkGroupMetadataList.size());
+      for (ChunkGroupMetadata chunkGroupMetadata : chunkGroupMetadataList) {
+        List<ChunkMetadata> chunkMetadataList = chunkGroupMetadata.getChunkMetadataList();
+        assertTrue(chunkMetadataList.size() > measurementNum);
+        long[] pointNums = new long[measurementNum];
+        long[] lastEndTimes = new long[measurementNum];
+        for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+          int measurementIndex = Integer.parseInt(chunkMetadata.getMeasurementUid().substring(1));
+          // the chunks of a series are written in time order
+          assertTrue(lastEndTimes[measurementIndex] < chunkMetadata.getStartTime());
+          lastEndTimes[measurementIndex] = chunkMetadata.getEndTime();
+          pointNums[measurementIndex] += chunkMetadata.getNumOfPoints();
+        }
+        for (int j = 0; j < measurementNum; j++) {
+          assertEquals(pointNum, pointNums[j]);
+          assertEquals(pointNum, lastEndTimes[j]);
+        }
+      }
+    } finally {
+      config.setFlushEncodingThreadCount(originalEncodingThreadCount);
+      config.setIoTaskQueueSizeForFlushing(originalIoTaskQueueSize);
+      config.setTargetChunkPointNum(originalTargetChunkPointNum);
+    }
+  }
 }
@@ -42,6 +42,7 @@ import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.storageengine.rescon.memory.SystemInfo;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.db.utils.constant.TestConstant;
+import org.apache.iotdb.db.utils.datastructure.TVList;
 
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.external.commons.io.FileUtils;
@@ -73,6 +74,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.apache.iotdb.db.storageengine.dataregion.DataRegionTest.buildInsertRowNodeByTSRecord;
@@ -1020,6 +1027,153 @@ public class TsFileProcessorTest {
     Assert.assertEquals(memTable1.memSize(), memTable2.memSize());
   }
 
+  @Test
+  public void testConcurrentInsertTabletAndQuery() throws Exception {
+    int defaultTvListSortThreshold = config.getTvListSortThreshold();
+    int defaultTvListSealThreshold = config.getTvListSealThreshold();
+    // never hand over the working list when inserting, thus the sorted lists are all sealed ones
+    config.setTVListSortThreshold(Integer.MAX_VALUE);
+    config.setTvListSealThreshold(64);
+    ExecutorService executor = Executors.newFixedThreadPool(5);
+    try {
+      processor =
+          new TsFileProcessor(
+              storageGroup,
+              SystemFileFactory.INSTANCE.getFile(filePath),
+              sgInfo,
+              this::closeTsFileProcessor,
+              (tsFileProcessor, updateMap, systemFlushTime) -> {},
+              true);
+      TsFileProcessorInfo tsFileProcessorInfo = new TsFileProcessorInfo(sgInfo);
+      processor.setTsFileProcessorInfo(tsFileProcessorInfo);
+      this.sgInfo.initTsFileProcessorInfo(processor);
+      SystemInfo.getInstance().reportStorageGroupStatus(sgInfo, processor);
+      NonAlignedFullPath fullPath =
+          new NonAlignedFullPath(
+              IDeviceID.Factory.DEFAULT_FACTORY.create(deviceId),
+              new MeasurementSchema(measurementId, TSDataType.INT64, TSEncoding.PLAIN));
+
+      // the insertions and the queries exclude each other like the insert lock of DataRegion
+      ReentrantReadWriteLock insertLock = new ReentrantReadWriteLock();
+      int batchNum = 200;
+      int batchSize = 100;
+      AtomicBoolean inserting = new AtomicBoolean(true);
+      AtomicLong queryCount = new AtomicLong(0);
+      long startTime = System.currentTimeMillis();
+      Future<?> insertFuture =
+          executor.submit(
+              () -> {
+                try {
+                  for (int batch = 0; batch < batchNum; batch++) {
+                    InsertTabletNode insertTabletNode =
+                        genDescendingInsertTabletNode(batch * batchSize, batchSize);
+                    insertLock.writeLock().lock();
+                    try {
+                      processor.insertTablet(
+                          insertTabletNode,
+                          Collections.singletonList(new int[] {0, batchSize}),
+                          new TSStatus[batchSize],
+                          true,
+                          new long[5]);
+                    } finally {
+                      insertLock.writeLock().unlock();
+                    }
+                  }
+                } finally {
+                  inserting.set(false);
+                }
+                return null;
+              });
+      List<Future<?>> queryFutures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        queryFutures.add(
+            executor.submit(
+                () -> {
+                  while (inserting.get()) {
+                    checkQueryResult(fullPath, insertLock, batchSize, queryCount.incrementAndGet());
+                  }
+                  return null;
+                }));
+      }
+      insertFuture.get();
+      for (Future<?> queryFuture : queryFutures) {
+        queryFuture.get();
+      }
+      logger.info(
+          "Inserted {} rows with {} concurrent queries in {} ms",
+          batchNum * batchSize,
+          queryCount.get(),
+          System.currentTimeMillis() - startTime);
+
+      // the last batch is unsorted, so that the query seals it
+      assertEquals(
+          batchNum * batchSize,
+          checkQueryResult(fullPath, insertLock, batchSize, queryCount.incrementAndGet()));
+      assertFalse(
+          processor
+              .getWorkMemTable()
+              .getWritableMemChunk(fullPath.getDeviceId(), measurementId)
+              .getSortedList()
+              .isEmpty());
+
+      // flush the unsorted sealed lists
+      processor.syncClose();
+      try (TsFileSequenceReader reader = new TsFileSequenceReader(filePath);
+          TsFileReader readTsFile = new TsFileReader(reader)) {
+        QueryExpression queryExpression =
+            QueryExpression.create(
+                Collections.singletonList(new Path(deviceId, measurementId, false)), null);
+        QueryDataSet queryDataSet = readTsFile.query(queryExpression);
+        int num = 0;
+        while (queryDataSet.hasNext()) {
+          RowRecord rowRecord = queryDataSet.next();
+          assertEquals(num, rowRecord.getTimestamp());
+          assertEquals(num, rowRecord.getFields().get(0).getLongV());
+          num++;
+        }
+        assertEquals(batchNum * batchSize, num);
+      }
+    } finally {
+      executor.shutdownNow();
+      config.setTVListSortThreshold(defaultTvListSortThreshold);
+      config.setTvListSealThreshold(defaultTvListSealThreshold);
+    }
+  }
+
+  /** Query the memtable and check that the result is a sorted prefix of the inserted rows. */
+  private int checkQueryResult(
+      NonAlignedFullPath fullPath, ReentrantReadWriteLock insertLock, int batchSize, long queryId)
+      throws IOException, MetadataException {
+    ReleasableQueryContext queryContext = new ReleasableQueryContext(queryId);
+    List<TsFileResource> tsfileResourcesForQuery = new ArrayList<>();
+    insertLock.readLock().lock();
+    try {
+      processor.query(
+          Collections.singletonList(fullPath), queryContext, tsfileResourcesForQuery, null);
+    } finally {
+      insertLock.readLock().unlock();
+    }
+    int num = 0;
+    try {
+      if (tsfileResourcesForQuery.isEmpty()) {
+        return num;
+      }
+      for (ReadOnlyMemChunk chunk : tsfileResourcesForQuery.get(0).getReadOnlyMemChunk(fullPath)) {
+        IPointReader iterator = chunk.getPointReader();
+        while (iterator.hasNextTimeValuePair()) {
+          TimeValuePair timeValuePair = iterator.nextTimeValuePair();
+          assertEquals(num, timeValuePair.getTimestamp());
+          assertEquals(num, timeValuePair.getValue().getLong());
+          num++;
+        }
+      }
+      assertEquals(0, num % batchSize);
+      return num;
+    } finally {
+      queryContext.release();
+    }
+  }
+
   @Test
   public void testWriteAndClose()
       throws IOException, WriteProcessException, MetadataException, ExecutionException {
@@ -1089,6 +1243,51 @@ public class TsFileProcessorTest {
     }
   }
 
+  private InsertTabletNode genDescendingInsertTabletNode(long startTime, int rowCount)
+      throws IllegalPathException {
+    long[] times = new long[rowCount];
+    long[] values = new long[rowCount];
+    for (int r = 0; r < rowCount; r++) {
+      times[r] = startTime + rowCount - 1 - r;
+      values[r] = times[r];
+    }
+    InsertTabletNode insertTabletNode =
+        new InsertTabletNode(
+            new QueryId("test_write").genPlanNodeId(),
+            new PartialPath(deviceId),
+            false,
+            new String[] {measurementId},
+            new TSDataType[] {TSDataType.INT64},
+            times,
+            null,
+            new Object[] {values},
+            times.length);
+    insertTabletNode.setMeasurementSchemas(
+        new MeasurementSchema[] {
+          new MeasurementSchema(measurementId, TSDataType.INT64, TSEncoding.PLAIN)
+        });
+    return insertTabletNode;
+  }
+
+  /** Remove the query from the TVLists it reads like FragmentInstanceContext does. */
+  private static class ReleasableQueryContext extends QueryContext {
+
+    private ReleasableQueryContext(long queryId) {
+      super(queryId, false);
+    }
+
+    private void release() {
+      for (TVList tvList : tvListSet) {
+        tvList.lockQueryList();
+        try {
+          tvList.getQueryContextSet().remove(this);
+        } finally {
+          tvList.unlockQueryList();
+        }
+      }
+    }
+  }
+
   private InsertTabletNode genInsertTableNode(long startTime, boolean isAligned)
       throws IllegalPathException {
     String deviceId = "root.sg.device5";
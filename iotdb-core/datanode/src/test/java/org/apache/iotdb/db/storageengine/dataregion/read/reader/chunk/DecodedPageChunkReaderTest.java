@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk;
+
+import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.buffer.DecodedPageCache;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+import org.apache.iotdb.db.utils.constant.TestConstant;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.exception.write.WriteProcessException;
+import org.apache.tsfile.file.metadata.ChunkMetadata;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.read.TsFileSequenceReader;
+import org.apache.tsfile.read.common.Chunk;
+import org.apache.tsfile.read.common.Path;
+import org.apache.tsfile.read.common.TimeRange;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.read.filter.factory.TimeFilterApi;
+import org.apache.tsfile.read.reader.IPageReader;
+import org.apache.tsfile.write.TsFileWriter;
+import org.apache.tsfile.write.record.TSRecord;
+import org.apache.tsfile.write.record.datapoint.DataPoint;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class DecodedPageChunkReaderTest {
+
+  private static final String DEVICE = "root.sg1.d1";
+  private static final String MEASUREMENT = "s1";
+  private static final int POINT_NUM = 100;
+
+  private static final DataNodeMemoryConfig MEMORY_CONFIG =
+      IoTDBDescriptor.getInstance().getMemoryConfig();
+  private static double originDecodedPageCacheProportion;
+  private static long originChunkCacheMemorySize;
+  private static long originDecodedPageCacheMemorySize;
+
+  private final TsFileID tsFileID = new TsFileID(1, 0, 0, 1, 0);
+  private File file;
+
+  @BeforeClass
+  public static void setUpClass() {
+    originDecodedPageCacheProportion = MEMORY_CONFIG.getDecodedPageCacheProportion();
+    originChunkCacheMemorySize =
+        MEMORY_CONFIG.getChunkCacheMemoryManager().getTotalMemorySizeInBytes();
+    originDecodedPageCacheMemorySize =
+        MEMORY_CONFIG.getDecodedPageCacheMemoryManager().getTotalMemorySizeInBytes();
+    // the memory of the caches is carved when the config is loaded, so carve it again here, before
+    // DecodedPageCache is loaded
+    MEMORY_CONFIG.setDecodedPageCacheProportion(0.1);
+    long decodedPageCacheMemorySize =
+        (long) (originChunkCacheMemorySize * MEMORY_CONFIG.getDecodedPageCacheProportion());
+    MEMORY_CONFIG
+        .getChunkCacheMemoryManager()
+        .setTotalMemorySizeInBytes(originChunkCacheMemorySize - decodedPageCacheMemorySize);
+    MEMORY_CONFIG
+        .getDecodedPageCacheMemoryManager()
+        .setTotalMemorySizeInBytes(decodedPageCacheMemorySize);
+    Assert.assertTrue(DecodedPageCache.isCacheEnable());
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    MEMORY_CONFIG.setDecodedPageCacheProportion(originDecodedPageCacheProportion);
+    MEMORY_CONFIG
+        .getChunkCacheMemoryManager()
+        .setTotalMemorySizeInBytes(originChunkCacheMemorySize);
+    MEMORY_CONFIG
+        .getDecodedPageCacheMemoryManager()
+        .setTotalMemorySizeInBytes(originDecodedPageCacheMemorySize);
+  }
+
+  @Before
+  public void setUp() throws IOException, WriteProcessException {
+    file = new File(TestConstant.getTestTsFilePath("root.sg1", 0, 0, 1));
+    if (!file.getParentFile().exists()) {
+      Assert.assertTrue(file.getParentFile().mkdirs());
+    }
+    TsFileWriter writer = new TsFileWriter(file);
+    writer.registerTimeseries(
+        new Path(DEVICE),
+        new MeasurementSchema(
+            MEASUREMENT, TSDataType.INT64, TSEncoding.PLAIN, CompressionType.UNCOMPRESSED));
+    for (long i = 0; i < POINT_NUM; i++) {
+      TSRecord record = new TSRecord(DEVICE, i);
+      record.addTuple(DataPoint.getDataPoint(TSDataType.INT64, MEASUREMENT, String.valueOf(i)));
+      writer.writeRecord(record);
+    }
+    writer.close();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    DecodedPageCache.getInstance().clear();
+    EnvironmentUtils.cleanAllDir();
+  }
+
+  @Test
+  public void testReadWithDeletionAndFilter() throws IOException {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      ChunkMetadata chunkMetadata =
+          reader.getChunkMetadataList(new Path(DEVICE, MEASUREMENT, true)).get(0);
+      List<TimeRange> deleteIntervalList =
+          Arrays.asList(new TimeRange(10, 19), new TimeRange(50, 59));
+
+      // read all points except the deleted ones
+      TsBlock tsBlock =
+          readAll(reader, chunkMetadata, deleteIntervalList, null).get(0).getAllSatisfiedData();
+      Assert.assertEquals(POINT_NUM - 20, tsBlock.getPositionCount());
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        long time = tsBlock.getTimeByIndex(i);
+        Assert.assertFalse(time >= 10 && time <= 19 || time >= 50 && time <= 59);
+        Assert.assertEquals(time, tsBlock.getColumn(0).getLong(i));
+      }
+
+      // the decoded page is shared, the deletions of last query should not affect this one
+      List<IPageReader> pageReaders =
+          readAll(reader, chunkMetadata, Collections.emptyList(), TimeFilterApi.gtEq(90));
+      Assert.assertFalse(pageReaders.get(0).isModified());
+      tsBlock = pageReaders.get(0).getAllSatisfiedData();
+      Assert.assertEquals(10, tsBlock.getPositionCount());
+      Assert.assertEquals(90, tsBlock.getTimeByIndex(0));
+    }
+  }
+
+  @Test
+  public void testCacheHit() throws IOException {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      ChunkMetadata chunkMetadata =
+          reader.getChunkMetadataList(new Path(DEVICE, MEASUREMENT, true)).get(0);
+      DecodedPageCache cache = DecodedPageCache.getInstance();
+
+      long hitCount = cache.getHitCount();
+      TsBlock firstTsBlock =
+          readAll(reader, chunkMetadata, Collections.emptyList(), null)
+              .get(0)
+              .getAllSatisfiedData();
+      Assert.assertFalse(cache.isEmpty());
+      Assert.assertEquals(hitCount, cache.getHitCount());
+
+      TsBlock secondTsBlock =
+          readAll(reader, chunkMetadata, Collections.emptyList(), null)
+              .get(0)
+              .getAllSatisfiedData();
+      Assert.assertEquals(hitCount + 1, cache.getHitCount());
+      Assert.assertEquals(POINT_NUM, secondTsBlock.getPositionCount());
+      Assert.assertEquals(firstTsBlock.getPositionCount(), secondTsBlock.getPositionCount());
+      for (int i = 0; i < secondTsBlock.getPositionCount(); i++) {
+        Assert.assertEquals(firstTsBlock.getTimeByIndex(i), secondTsBlock.getTimeByIndex(i));
+        Assert.assertEquals(
+            firstTsBlock.getColumn(0).getLong(i), secondTsBlock.getColumn(0).getLong(i));
+      }
+    }
+  }
+
+  @Test
+  public void testNewDeletionOnCachedPage() throws IOException {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      ChunkMetadata chunkMetadata =
+          reader.getChunkMetadataList(new Path(DEVICE, MEASUREMENT, true)).get(0);
+      DecodedPageCache cache = DecodedPageCache.getInstance();
+
+      Assert.assertEquals(
+          POINT_NUM,
+          readAll(reader, chunkMetadata, Collections.emptyList(), null)
+              .get(0)
+              .getAllSatisfiedData()
+              .getPositionCount());
+
+      // the page is got from the cache, the deletion made after it is cached is still applied
+      long hitCount = cache.getHitCount();
+      List<IPageReader> pageReaders =
+          readAll(reader, chunkMetadata, Collections.singletonList(new TimeRange(10, 19)), null);
+      Assert.assertTrue(pageReaders.get(0).isModified());
+      TsBlock tsBlock = pageReaders.get(0).getAllSatisfiedData();
+      Assert.assertEquals(hitCount + 1, cache.getHitCount());
+      Assert.assertEquals(POINT_NUM - 10, tsBlock.getPositionCount());
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        long time = tsBlock.getTimeByIndex(i);
+        Assert.assertFalse(time >= 10 && time <= 19);
+        Assert.assertEquals(time, tsBlock.getColumn(0).getLong(i));
+      }
+    }
+  }
+
+  @Test
+  public void testSkipDeletedPage() throws IOException {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      ChunkMetadata chunkMetadata =
+          reader.getChunkMetadataList(new Path(DEVICE, MEASUREMENT, true)).get(0);
+      Assert.assertTrue(
+          readAll(
+                  reader,
+                  chunkMetadata,
+                  Collections.singletonList(new TimeRange(0, POINT_NUM)),
+                  null)
+              .isEmpty());
+      Assert.assertTrue(
+          readAll(reader, chunkMetadata, null, TimeFilterApi.gt(POINT_NUM)).isEmpty());
+    }
+  }
+
+  private List<IPageReader> readAll(
+      TsFileSequenceReader reader,
+      ChunkMetadata chunkMetadata,
+      List<TimeRange> deleteIntervalList,
+      Filter globalTimeFilter)
+      throws IOException {
+    Chunk rawChunk = reader.readMemChunk(chunkMetadata);
+    // chunk statistics is needed by the page header of a chunk with only one page
+    Chunk chunk =
+        new Chunk(
+            rawChunk.getHeader(),
+            rawChunk.getData(),
+            null,
+            chunkMetadata.getStatistics(),
+            rawChunk.getEncryptParam());
+    DecodedPageChunkReader chunkReader =
+        new DecodedPageChunkReader(
+            chunk,
+            tsFileID,
+            chunkMetadata.getOffsetOfChunkHeader(),
+            MEASUREMENT,
+            deleteIntervalList,
+            globalTimeFilter,
+            null);
+    return chunkReader.loadPageReaderList();
+  }
+}
@@ -22,12 +22,16 @@ package org.apache.iotdb.db.storageengine.dataregion.tsfile;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 import org.apache.iotdb.db.utils.constant.TestConstant;
 
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.common.TimeRange;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -323,4 +327,52 @@ public class TsFileResourceListTest {
     tsFileResourceList.keepOrderInsert(seqResources.get(0));
     Assert.assertEquals(seqResources, tsFileResourceList.getArrayList());
   }
+
+  @Test
+  public void testIntervalIndex() {
+    IDeviceID device = IDeviceID.Factory.DEFAULT_FACTORY.create("root.sg.d1");
+    TsFileResourceList tsFileResourceList = new TsFileResourceList();
+    // [0, 9] [10, 19] ... [90, 99], and one overlapped file [5, 95]
+    List<TsFileResource> tsFileResources = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      TsFileResource resource = generateTsFileResource(i);
+      resource.updateStartTime(device, i * 10L);
+      resource.updateEndTime(device, i * 10L + 9);
+      resource.setStatusForTest(TsFileResourceStatus.NORMAL);
+      tsFileResources.add(resource);
+      tsFileResourceList.add(resource);
+    }
+    TsFileResource overlapped = generateTsFileResource(10);
+    overlapped.updateStartTime(device, 5);
+    overlapped.updateEndTime(device, 95);
+    overlapped.setStatusForTest(TsFileResourceStatus.NORMAL);
+    tsFileResourceList.add(overlapped);
+
+    Assert.assertEquals(
+        Arrays.asList(tsFileResources.get(2), tsFileResources.get(3), overlapped),
+        tsFileResourceList
+            .getIntervalIndex()
+            .query(Collections.singletonList(new TimeRange(25, 30))));
+    Assert.assertEquals(
+        Arrays.asList(tsFileResources.get(0), tsFileResources.get(9)),
+        tsFileResourceList
+            .getIntervalIndex()
+            .query(Arrays.asList(new TimeRange(0, 1), new TimeRange(96, 200))));
+    Assert.assertTrue(
+        tsFileResourceList
+            .getIntervalIndex()
+            .query(Collections.singletonList(new TimeRange(100, 200)))
+            .isEmpty());
+    Assert.assertEquals(11, tsFileResourceList.getIntervalIndex().query(null).size());
+
+    // the index should be rebuilt after modification, unclosed files are always selected
+    TsFileResource unclosed = generateTsFileResource(11);
+    tsFileResourceList.add(unclosed);
+    tsFileResourceList.remove(overlapped);
+    Assert.assertEquals(
+        Arrays.asList(tsFileResources.get(2), unclosed),
+        tsFileResourceList
+            .getIntervalIndex()
+            .query(Collections.singletonList(new TimeRange(25, 26))));
+  }
 }
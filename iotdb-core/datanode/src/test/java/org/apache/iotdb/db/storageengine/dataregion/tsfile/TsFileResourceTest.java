@@ -20,6 +20,7 @@ package org.apache.iotdb.db.storageengine.dataregion.tsfile;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.MeasurementPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModificationFile;
 import org.apache.iotdb.db.storageengine.dataregion.modification.TreeDeletionEntry;
@@ -28,7 +29,10 @@ import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Modification
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.ModificationFileV1;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DeviceIdDictionaryManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DictionaryDeviceTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
+import org.apache.iotdb.db.storageengine.rescon.memory.TsFileResourceManager;
 import org.apache.iotdb.db.utils.constant.TestConstant;
 
 import org.apache.tsfile.external.commons.io.FileUtils;
@@ -39,8 +43,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -125,6 +131,112 @@ public class TsFileResourceTest {
     }
   }
 
+  @Test
+  public void testSharedDeviceDictionary() throws IOException {
+    boolean enableSharedDeviceDictionary =
+        IoTDBDescriptor.getInstance().getConfig().isEnableSharedDeviceDictionary();
+    // the TsFiles are shared in the data region of the TsFileManager whatever their directory is
+    File dir = new File(TestConstant.BASE_OUTPUT_PATH + File.separator + "dictionary");
+    File file1 = new File(dir, TsFileNameGenerator.generateNewTsFileName(1, 1, 0, 0));
+    File file2 = new File(dir, TsFileNameGenerator.generateNewTsFileName(2, 2, 0, 0));
+    TsFileManager tsFileManager = new TsFileManager("root.sg", "1", dir.getPath());
+    TsFileResourceManager resourceManager = TsFileResourceManager.getInstance();
+    long memCost = resourceManager.getTotalTimeIndexMemCost();
+    try {
+      Assert.assertTrue(dir.exists() || dir.mkdirs());
+      IoTDBDescriptor.getInstance().getConfig().setEnableSharedDeviceDictionary(true);
+
+      // sealed by closing
+      TsFileResource resource1 = new TsFileResource(file1);
+      for (int i = DEVICE_NUM - 1; i >= 0; i--) {
+        resource1.updateStartTime(Factory.DEFAULT_FACTORY.create("root.sg.d" + i), i);
+        resource1.updateEndTime(Factory.DEFAULT_FACTORY.create("root.sg.d" + i), i + 1);
+      }
+      resource1.closeWithoutSettingStatus();
+      resource1.serialize();
+      Assert.assertFalse(resource1.getTimeIndex() instanceof DictionaryDeviceTimeIndex);
+      tsFileManager.registerSealedTsFileResource(resource1);
+      Assert.assertTrue(resource1.getTimeIndex() instanceof DictionaryDeviceTimeIndex);
+
+      // sealed by deserializing
+      TsFileResource resource2 = new TsFileResource(file2);
+      resource2.setTimeIndex(tsFileResource.getTimeIndex());
+      resource2.serialize();
+      resource2 = new TsFileResource(file2);
+      resource2.deserialize();
+      tsFileManager.registerSealedTsFileResource(resource2);
+      Assert.assertTrue(resource2.getTimeIndex() instanceof DictionaryDeviceTimeIndex);
+
+      // the devices are shared by the TsFiles of the same data region
+      Map<IDeviceID, IDeviceID> devices = new HashMap<>();
+      resource1.getDevices().forEach(device -> devices.put(device, device));
+      Assert.assertEquals(deviceToIndex.keySet(), devices.keySet());
+      for (IDeviceID device : resource2.getDevices()) {
+        Assert.assertSame(devices.get(device), device);
+      }
+      Assert.assertTrue(
+          resource2.getTimeIndex().calculateRamSize()
+              < tsFileResource.getTimeIndex().calculateRamSize());
+
+      // deserialized into a plain index
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      resource2.getTimeIndex().serialize(outputStream);
+      ByteBuffer buffer = ByteBuffer.wrap(outputStream.toByteArray());
+      Assert.assertEquals(ITimeIndex.ARRAY_DEVICE_TIME_INDEX_TYPE, buffer.get());
+      ITimeIndex deserialized = resource2.getTimeIndex().deserialize(buffer);
+      Assert.assertEquals(ArrayDeviceTimeIndex.class, deserialized.getClass());
+      Assert.assertEquals(
+          deviceToIndex.keySet(), ((ArrayDeviceTimeIndex) deserialized).getDevices());
+
+      // the dictionary is charged once for the region
+      Assert.assertEquals(
+          memCost
+              + resource1.calculateRamSize()
+              + resource2.calculateRamSize()
+              + DeviceIdDictionaryManager.getInstance().getDictionary(1).calculateRamSize(),
+          resourceManager.getTotalTimeIndexMemCost());
+      resourceManager.removeTsFileResource(resource1);
+      resourceManager.removeTsFileResource(resource2);
+      DeviceIdDictionaryManager.getInstance().removeDictionary(1);
+      Assert.assertEquals(memCost, resourceManager.getTotalTimeIndexMemCost());
+
+      // a device added after sealing
+      IDeviceID newDevice = Factory.DEFAULT_FACTORY.create("root.sg.new");
+      resource1.updateStartTime(newDevice, 5);
+      resource1.updateEndTime(newDevice, 10);
+      Assert.assertEquals(DEVICE_NUM + 1, resource1.getDevices().size());
+      Assert.assertEquals(5, (long) resource1.getStartTime(newDevice).get());
+      Assert.assertEquals(10, (long) resource1.getEndTime(newDevice).get());
+      resource1.serialize();
+
+      // readable without the dictionary
+      IoTDBDescriptor.getInstance().getConfig().setEnableSharedDeviceDictionary(false);
+      TsFileResource resource3 = new TsFileResource(file1);
+      resource3.deserialize();
+      Assert.assertFalse(resource3.getTimeIndex() instanceof DictionaryDeviceTimeIndex);
+      Assert.assertEquals(DEVICE_NUM + 1, resource3.getDevices().size());
+      Assert.assertEquals(10, (long) resource3.getEndTime(newDevice).get());
+      for (int i = 0; i < DEVICE_NUM; i++) {
+        IDeviceID device = Factory.DEFAULT_FACTORY.create("root.sg.d" + i);
+        Assert.assertEquals(
+            tsFileResource.getStartTime(device).get(), resource2.getStartTime(device).get());
+        Assert.assertEquals(
+            tsFileResource.getEndTime(device).get(), resource2.getEndTime(device).get());
+        Assert.assertEquals(i, (long) resource3.getStartTime(device).get());
+        Assert.assertEquals(i + 1, (long) resource3.getEndTime(device).get());
+      }
+      Assert.assertFalse(
+          resource2.definitelyNotContains(Factory.DEFAULT_FACTORY.create("root.sg.d0")));
+      Assert.assertTrue(resource2.definitelyNotContains(newDevice));
+    } finally {
+      IoTDBDescriptor.getInstance()
+          .getConfig()
+          .setEnableSharedDeviceDictionary(enableSharedDeviceDictionary);
+      DeviceIdDictionaryManager.getInstance().removeDictionary(1);
+      FileUtils.deleteDirectory(dir);
+    }
+  }
+
   @Test
   public void testUpgradeModFileAsync()
       throws IllegalPathException, IOException, InterruptedException {
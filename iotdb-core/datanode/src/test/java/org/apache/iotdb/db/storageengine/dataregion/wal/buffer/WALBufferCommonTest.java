@@ -125,7 +125,7 @@ public abstract class WALBufferCommonTest {
     }
   }
 
-  private InsertRowNode getInsertRowNode(String devicePath, long time)
+  protected InsertRowNode getInsertRowNode(String devicePath, long time)
       throws IllegalPathException, QueryProcessException {
     TSDataType[] dataTypes =
         new TSDataType[] {
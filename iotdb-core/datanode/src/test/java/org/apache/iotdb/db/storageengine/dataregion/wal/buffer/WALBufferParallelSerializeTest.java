@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.storageengine.dataregion.wal.buffer;
+
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNode;
+import org.apache.iotdb.db.storageengine.dataregion.wal.io.WALReader;
+import org.apache.iotdb.db.storageengine.dataregion.wal.utils.WALFileUtils;
+import org.apache.iotdb.db.utils.EnvironmentUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class WALBufferParallelSerializeTest extends WALBufferCommonTest {
+  private int prevWalSerializeThreadCount;
+
+  @Before
+  public void setUp() throws Exception {
+    EnvironmentUtils.cleanDir(logDirectory);
+    prevWalSerializeThreadCount = config.getWalSerializeThreadCount();
+    config.setWalSerializeThreadCount(4);
+    super.setUp();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    super.tearDown();
+    config.setWalSerializeThreadCount(prevWalSerializeThreadCount);
+    EnvironmentUtils.cleanDir(logDirectory);
+  }
+
+  @Test
+  public void testKeepArrivalOrder() throws Exception {
+    int entryNum = 1000;
+    for (int i = 0; i < entryNum; ++i) {
+      InsertRowNode insertRowNode = getInsertRowNode(devicePath, i);
+      insertRowNode.setSearchIndex(i + 1);
+      walBuffer.write(new WALInfoEntry(0, insertRowNode));
+    }
+    while (!walBuffer.isAllWALEntriesConsumed()) {
+      Thread.sleep(100);
+    }
+    Thread.sleep(1_000);
+
+    File[] walFiles = WALFileUtils.listAllWALFiles(new File(logDirectory));
+    WALFileUtils.ascSortByVersionId(walFiles);
+    List<Long> times = new ArrayList<>();
+    for (File walFile : walFiles) {
+      try (WALReader walReader = new WALReader(walFile)) {
+        while (walReader.hasNext()) {
+          InsertRowNode insertRowNode = (InsertRowNode) walReader.next().getValue();
+          assertEquals(insertRowNode.getTime() + 1, insertRowNode.getSearchIndex());
+          times.add(insertRowNode.getTime());
+        }
+      }
+    }
+    assertEquals(entryNum, times.size());
+    for (int i = 0; i < entryNum; ++i) {
+      assertEquals(i, (long) times.get(i));
+    }
+  }
+}
@@ -18,6 +18,9 @@
  */
 package org.apache.iotdb.db.utils.datastructure;
 
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+
 import org.apache.tsfile.external.commons.lang3.ArrayUtils;
 import org.apache.tsfile.read.TimeValuePair;
 import org.apache.tsfile.utils.BitMap;
@@ -25,6 +28,7 @@ import org.apache.tsfile.utils.TsPrimitiveType.TsLong;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.LongBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -154,4 +158,46 @@ public class LongTVListTest {
       Assert.assertEquals(tvList.getTime((int) i), clonedTvList.getTime((int) i));
     }
   }
+
+  @Test
+  public void testOffHeapTimestamps() {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    boolean originalEnableOffHeap = config.isEnableOffHeapTVListTimestamps();
+    config.setEnableOffHeapTVListTimestamps(true);
+    try {
+      Random random = new Random();
+      LongTVList tvList = LongTVList.newList();
+      List<TimeValuePair> inputs = new ArrayList<>();
+      long[] times = new long[1000];
+      long[] values = new long[1000];
+      for (int i = 0; i < 1000; i++) {
+        times[i] = random.nextInt(10000);
+        values[i] = random.nextInt(10000);
+        inputs.add(new TimeValuePair(times[i], new TsLong(values[i])));
+      }
+      tvList.putLongs(times, values, null, 0, 1000);
+      for (long i = 0; i < 1000; i++) {
+        long time = random.nextInt(10000);
+        tvList.putLong(time, i);
+        inputs.add(new TimeValuePair(time, new TsLong(i)));
+      }
+      Assert.assertNull(tvList.getTimestamps());
+      for (LongBuffer timeArray : tvList.getOffHeapTimestamps()) {
+        Assert.assertTrue(timeArray.isDirect());
+      }
+
+      tvList.sort();
+      LongTVList clonedTvList = tvList.clone();
+      inputs.sort(TimeValuePair::compareTo);
+      for (int i = 0; i < tvList.rowCount; i++) {
+        Assert.assertEquals(inputs.get(i).getTimestamp(), tvList.getTime(i));
+        Assert.assertEquals(inputs.get(i).getValue().getLong(), tvList.getLong(i));
+        Assert.assertEquals(tvList.getTime(i), clonedTvList.getTime(i));
+      }
+      tvList.clear();
+      clonedTvList.clear();
+    } finally {
+      config.setEnableOffHeapTVListTimestamps(originalEnableOffHeap);
+    }
+  }
 }
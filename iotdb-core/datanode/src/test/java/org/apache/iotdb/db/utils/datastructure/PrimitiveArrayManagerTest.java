@@ -21,6 +21,7 @@ package org.apache.iotdb.db.utils.datastructure;
 
 import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.rescon.memory.OffHeapLongArrayPool;
 import org.apache.iotdb.db.storageengine.rescon.memory.PrimitiveArrayManager;
 import org.apache.iotdb.db.utils.TSDataTypeTestUtils;
 
@@ -29,6 +30,10 @@ import org.apache.tsfile.utils.Binary;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.apache.iotdb.db.storageengine.rescon.memory.PrimitiveArrayManager.ARRAY_SIZE;
 
 public class PrimitiveArrayManagerTest {
@@ -101,4 +106,62 @@ public class PrimitiveArrayManagerTest {
       }
     }
   }
+
+  @Test
+  public void testAllocateOffHeapTimeArray() {
+    LongBuffer first = PrimitiveArrayManager.allocateOffHeapTimeArray();
+    LongBuffer second = PrimitiveArrayManager.allocateOffHeapTimeArray();
+    Assert.assertTrue(first.isDirect());
+    Assert.assertEquals(ARRAY_SIZE, first.capacity());
+    Assert.assertTrue(PrimitiveArrayManager.getOffHeapMemoryInBytes() > 0);
+
+    // arrays carved from the same slab should not overlap
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      first.put(i, i);
+      second.put(i, -i - 1);
+    }
+    for (int i = 0; i < ARRAY_SIZE; i++) {
+      Assert.assertEquals(i, first.get(i));
+    }
+
+    // released array is reused
+    PrimitiveArrayManager.releaseOffHeapTimeArray(first);
+    long allocatedBytes = PrimitiveArrayManager.getOffHeapMemoryInBytes();
+    PrimitiveArrayManager.releaseOffHeapTimeArray(PrimitiveArrayManager.allocateOffHeapTimeArray());
+    Assert.assertEquals(allocatedBytes, PrimitiveArrayManager.getOffHeapMemoryInBytes());
+    PrimitiveArrayManager.releaseOffHeapTimeArray(second);
+  }
+
+  @Test
+  public void testFreeOffHeapSlabsAboveThreshold() {
+    OffHeapLongArrayPool pool = new OffHeapLongArrayPool(ARRAY_SIZE, 4, 4);
+    long slabBytes = 4L * ARRAY_SIZE * Long.BYTES;
+    List<LongBuffer> arrays = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      arrays.add(pool.allocate());
+    }
+    Assert.assertEquals(3 * slabBytes, pool.getAllocatedMemoryInBytes());
+    Assert.assertEquals(0, pool.getFreeMemoryInBytes());
+
+    // free arrays within the threshold are kept
+    for (int i = 0; i < 4; i++) {
+      pool.release(arrays.get(i));
+    }
+    Assert.assertEquals(3 * slabBytes, pool.getAllocatedMemoryInBytes());
+    Assert.assertEquals(slabBytes, pool.getFreeMemoryInBytes());
+
+    // a slab with no array in use is dropped once the free arrays exceed the threshold
+    for (int i = 4; i < 12; i++) {
+      pool.release(arrays.get(i));
+    }
+    Assert.assertEquals(slabBytes, pool.getAllocatedMemoryInBytes());
+    Assert.assertEquals(slabBytes, pool.getFreeMemoryInBytes());
+
+    // the kept slab is reused
+    for (int i = 0; i < 4; i++) {
+      pool.allocate();
+    }
+    Assert.assertEquals(slabBytes, pool.getAllocatedMemoryInBytes());
+    Assert.assertEquals(0, pool.getFreeMemoryInBytes());
+  }
 }
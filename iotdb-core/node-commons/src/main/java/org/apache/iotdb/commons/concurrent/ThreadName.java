@@ -30,6 +30,7 @@ public enum ThreadName {
   // -------------------------- QueryThread --------------------------
   QUERY_WORKER("Query-Worker-Thread"),
   QUERY_SENTINEL("Query-Sentinel-Thread"),
+  SERIES_SCAN_READ_AHEAD("Series-Scan-Read-Ahead"),
   TIMED_QUERY_SQL_COUNT("Timed-Query-SQL-Count"),
   FRAGMENT_INSTANCE_MANAGEMENT("Fragment-Instance-Management"),
   FRAGMENT_INSTANCE_NOTIFICATION("Fragment-Instance-Notification"),
@@ -53,6 +54,7 @@ public enum ThreadName {
   COMPACTION_SCHEDULE("Compaction-Schedule"),
   // -------------------------- Wal --------------------------
   WAL_SERIALIZE("WAL-Serialize"),
+  WAL_SERIALIZE_HELPER("WAL-Serialize-Helper"),
   WAL_SYNC("WAL-Sync"),
   WAL_DELETE("WAL-Delete"),
   WAL_RECOVER("WAL-Recover"),
@@ -60,6 +62,7 @@ public enum ThreadName {
   // -------------------------- Flush --------------------------
   FLUSH("Flush"),
   FLUSH_SUB_TASK("Flush-SubTask"),
+  FLUSH_ENCODING_TASK("Flush-EncodingTask"),
   FLUSH_TASK_SUBMIT("FlushTask-Submit-Pool"),
   TIMED_FLUSH_SEQ_MEMTABLE("Timed-Flush-Seq-Memtable"),
   TIMED_FLUSH_UNSEQ_MEMTABLE("Timed-Flush-Unseq-Memtable"),
@@ -72,6 +75,7 @@ public enum ThreadName {
   PBTREE_WORKER_POOL("PBTree-Worker-Pool"),
   GENERAL_REGION_ATTRIBUTE_SECURITY_SERVICE("General-Region-Attribute-Security-Service"),
   SCHEMA_PARALLEL_POOL("Schema-Parallel-Pool"),
+  LAST_CACHE_SNAPSHOT("Last-Cache-Snapshot"),
 
   // -------------------------- ClientService --------------------------
   CLIENT_RPC_SERVICE("ClientRPC-Service"),
@@ -155,6 +159,7 @@ public enum ThreadName {
   PIPE_PARALLEL_EXECUTION_POOL("Pipe-Parallel-Execution-Pool"),
   PIPE_TERMINATE_EXECUTION_POOL("Pipe-Terminate-Execution-Pool"),
   LOAD_DATATYPE_CONVERT_POOL("Load-Datatype-Convert-Pool"),
+  LOAD_TSFILE_POOL("Load-TsFile-Pool"),
   SUBSCRIPTION_EXECUTOR_POOL("Subscription-Executor-Pool"),
   SUBSCRIPTION_RUNTIME_META_SYNCER("Subscription-Runtime-Meta-Syncer"),
   WINDOW_EVALUATION_SERVICE("WindowEvaluationTaskPoolManager"),
@@ -216,6 +221,7 @@ public enum ThreadName {
           Arrays.asList(
               QUERY_WORKER,
               QUERY_SENTINEL,
+              SERIES_SCAN_READ_AHEAD,
               TIMED_QUERY_SQL_COUNT,
               FRAGMENT_INSTANCE_MANAGEMENT,
               FRAGMENT_INSTANCE_NOTIFICATION,
@@ -238,13 +244,20 @@ public enum ThreadName {
 
   private static final Set<ThreadName> walThreadNames =
       new HashSet<>(
-          Arrays.asList(WAL_SERIALIZE, WAL_SYNC, WAL_DELETE, WAL_RECOVER, TSFILE_RECOVER));
+          Arrays.asList(
+              WAL_SERIALIZE,
+              WAL_SERIALIZE_HELPER,
+              WAL_SYNC,
+              WAL_DELETE,
+              WAL_RECOVER,
+              TSFILE_RECOVER));
 
   private static final Set<ThreadName> flushThreadNames =
       new HashSet<>(
           Arrays.asList(
               FLUSH,
               FLUSH_SUB_TASK,
+              FLUSH_ENCODING_TASK,
               FLUSH_TASK_SUBMIT,
               TIMED_FLUSH_SEQ_MEMTABLE,
               TIMED_FLUSH_UNSEQ_MEMTABLE));
@@ -258,7 +271,8 @@ public enum ThreadName {
               PBTREE_FLUSH_MONITOR,
               PBTREE_WORKER_POOL,
               GENERAL_REGION_ATTRIBUTE_SECURITY_SERVICE,
-              SCHEMA_PARALLEL_POOL));
+              SCHEMA_PARALLEL_POOL,
+              LAST_CACHE_SNAPSHOT));
 
   private static final Set<ThreadName> clientServiceThreadNames =
       new HashSet<>(Arrays.asList(CLIENT_RPC_SERVICE, CLIENT_RPC_PROCESSOR));
@@ -87,6 +87,7 @@ public enum Metric {
   ACTIVE_MEMTABLE_COUNT("active_memtable_count"),
   ACTIVE_TIME_PARTITION_COUNT("active_time_partition_count"),
   MEMTABLE_LIVE_DURATION("memtable_live_duration"),
+  INSERT_LOCK_WAIT("insert_lock_wait"),
   PAM_ALLOCATED_COUNT("primitive_array_manager_allocated_count"),
   PAM_RELEASED_COUNT("primitive_array_manager_released_count"),
   PAM_ALLOCATED_FAILURE_COUNT("primitive_array_manager_allocated_failure_count"),
@@ -109,6 +110,7 @@ public enum Metric {
   CACHE("cache"),
   CACHE_HIT_RATE("cache_hit"),
   CACHE_ENTRIES_NUM("cache_entries_num"),
+  CACHE_POLICY("cache_policy"),
   QUANTITY("quantity"),
   LEADER_QUANTITY("leader_quantity"),
   SCHEMA_REGION("schema_region"),
@@ -118,6 +120,8 @@ public enum Metric {
   OPERATOR_EXECUTION_COST("operator_execution_cost"),
   OPERATOR_EXECUTION_COUNT("operator_execution_count"),
   SERIES_SCAN_COST("series_scan_cost"),
+  AGGREGATION_SCAN_PAGES("aggregation_scan_pages"),
+  COALESCED_CHUNK_READ("coalesced_chunk_read"),
   MEMORY_USAGE_MONITOR("memory_usage_monitor"),
   METRIC_LOAD_TIME_SERIES_METADATA("metric_load_time_series_metadata"),
   METRIC_QUERY_CACHE("metric_query_cache"),
@@ -130,6 +134,8 @@ public enum Metric {
   DATA_EXCHANGE_COST("data_exchange_cost"),
   DATA_EXCHANGE_COUNT("data_exchange_count"),
   DATA_EXCHANGE_SIZE("data_exchange_size"),
+  DATA_EXCHANGE_BYTES("data_exchange_bytes"),
+  DATA_EXCHANGE_CODEC_TIME("data_exchange_codec_time"),
   DRIVER_SCHEDULER("driver_scheduler"),
   COORDINATOR("coordinator"),
   FRAGMENT_INSTANCE_MANAGER("fragment_instance_manager"),
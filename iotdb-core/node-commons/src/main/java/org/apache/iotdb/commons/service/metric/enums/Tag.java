@@ -32,7 +32,8 @@ public enum Tag {
   CREATION_TIME("creation_time"),
   INDEX("index"),
   MODULE("module"),
-  LEVEL("level");
+  LEVEL("level"),
+  POLICY("policy");
 
   final String value;
 
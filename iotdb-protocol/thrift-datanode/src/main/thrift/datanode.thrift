@@ -90,6 +90,8 @@ struct TGetDataBlockRequest {
   3: required i32 endSequenceId
   // Index of upstream SinkChannel
   4: required i32 index
+  // Serialized CompressionType of the TsBlocks accepted by the requester, uncompressed if not set
+  5: optional i8 compressionType
 }
 
 struct TGetDataBlockResponse {
@@ -786,6 +788,8 @@ struct TQueryStatistics {
   50: i64 chunkIndexFilteredRows
   51: i64 pageIndexFilteredRows
   52: i64 rowScanFilteredRows
+
+  53: optional i64 loadChunkCoalescedCount
 }
 
 